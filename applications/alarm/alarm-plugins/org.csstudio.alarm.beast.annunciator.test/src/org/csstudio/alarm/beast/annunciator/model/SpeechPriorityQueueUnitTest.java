@@ -49,4 +49,38 @@ public class SpeechPriorityQueueUnitTest
         // Queue should now be empty
         assertEquals(0, q.size());
    }
+
+    /** Check capacity limit and replacement of keyed messages */
+    @Test
+    public void testCapacity()
+    {
+        Severity.initialize(Preferences.DEFAULT_SEVERITIES);
+        final SpeechPriorityQueue q = new SpeechPriorityQueue(3);
+
+        // Summary for an area is replaced by newer one
+        q.add(Severity.fromString("MINOR"), "5 alarms in Area1", "Area1");
+        q.add(Severity.fromString("INVALID"), "8 alarms in Area1", "Area1");
+        assertEquals(1, q.size());
+
+        // Beyond capacity, lowest severity is dropped
+        q.add(Severity.fromString("MINOR"), "Minor");
+        q.add(Severity.fromString("INFO"), "Info");
+        q.add(Severity.fromString("MAJOR"), "Major");
+        assertEquals(3, q.size());
+        assertEquals(1, q.takeDropped());
+        assertEquals(0, q.takeDropped());
+
+        // New message of lower severity is dropped
+        q.add(Severity.fromString("DEBUG"), "Debug");
+        assertEquals(1, q.takeDropped());
+
+        // Standout message is kept
+        q.add(Severity.fromString("DEBUG"), "!Important");
+        assertEquals(3, q.size());
+
+        assertEquals("8 alarms in Area1", q.poll().getMessage());
+        assertEquals("Major", q.poll().getMessage());
+        assertEquals("!Important", q.poll().getMessage());
+        assertEquals(0, q.size());
+    }
 }
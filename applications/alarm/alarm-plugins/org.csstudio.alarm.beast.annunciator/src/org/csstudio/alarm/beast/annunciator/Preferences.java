@@ -23,6 +23,7 @@ public class Preferences
 {
     final public static String MESSAGE_BUFFER = "message_buffer";
     final public static String THRESHOLD = "threshold";
+    final public static String QUEUE_CAPACITY = "queue_capacity";
     final public static String SEVERITIES = "jms_severity_priorities";
     final public static String TRANSLATIONS_FILE = "translations_file";
     final public static String TOPICS = "jms_topic";
@@ -57,6 +58,11 @@ public class Preferences
         return getInt(THRESHOLD, 3);
     }
 
+    public static int getQueueCapacity()
+    {
+        return getInt(QUEUE_CAPACITY, 100);
+    }
+
     public static int getRingBufferSize()
     {
         return getInt(MESSAGE_BUFFER, 50);
@@ -24,17 +24,29 @@ public class AnnunciationMessage implements Comparable<AnnunciationMessage>
     final private Severity severity;
     final private boolean standout;
     final private String message;
+    final private String key;
 
     /** Initialize a message-with-severity
      *  @param severity Severity of the message
      *  @param message  Message that was received with that severity
      */
     public AnnunciationMessage(final Severity severity, final String message)
+    {
+        this(severity, message, null);
+    }
+
+    /** Initialize a message-with-severity
+     *  @param severity Severity of the message
+     *  @param message  Message that was received with that severity
+     *  @param key Key of a message that replaces a queued message with the same key, or <code>null</code>
+     */
+    public AnnunciationMessage(final Severity severity, final String message, final String key)
     {
         this.time = TimestampFactory.now();
         this.severity = severity;
         this.standout = message.trim().startsWith(STANDOUT_PREFIX);
         this.message = message;
+        this.key = key;
     }
 
     /** @return <code>true</code> if this is a 'standout' message that must not be
@@ -63,6 +75,12 @@ public class AnnunciationMessage implements Comparable<AnnunciationMessage>
         return message;
     }
 
+    /** @return Key of a message that replaces a queued message with the same key, or <code>null</code> */
+    public String getKey()
+    {
+        return key;
+    }
+
     /** Compare by severity, but invert the order so that highest severity is
      *  queued first, not last
      */
@@ -20,6 +20,7 @@ import javax.jms.Session;
 import javax.jms.Topic;
 
 import org.csstudio.alarm.beast.annunciator.Activator;
+import org.csstudio.alarm.beast.annunciator.Preferences;
 import org.csstudio.logging.JMSLogMessage;
 import org.csstudio.platform.utility.jms.JMSConnectionFactory;
 import org.csstudio.platform.utility.jms.JMSConnectionListener;
@@ -47,7 +48,7 @@ public class JMSAnnunciator implements ExceptionListener, MessageListener
     /** Queue of prioritized received messages.
      *  onMessage will add messages received from JMS.
      */
-    final private SpeechPriorityQueue queue = new SpeechPriorityQueue();
+    final private SpeechPriorityQueue queue = new SpeechPriorityQueue(Preferences.getQueueCapacity());
 
     /** QueueManager thread picks messages off the queue for annunciation */
     private QueueManager queuemanager;
@@ -161,6 +162,8 @@ public class JMSAnnunciator implements ExceptionListener, MessageListener
         // Extract info from map:
         // 'TEXT' is actual message
         // 'SEVERITY' is optional severity name of the message
+        // 'NAME' is optional key, for example the area of an alarm flood summary,
+        //        so that a newer message replaces a queued one with the same key
          try
         {
              final String text = map.getString(JMSLogMessage.TEXT);
@@ -169,7 +172,7 @@ public class JMSAnnunciator implements ExceptionListener, MessageListener
              if (sevr_text == null)
                  sevr_text = "NONE";
              // Enqueue message text with severity
-             queue.add(Severity.fromString(sevr_text), text);
+             queue.add(Severity.fromString(sevr_text), text, map.getString(JMSLogMessage.NAME));
         }
         catch (JMSException ex)
         {
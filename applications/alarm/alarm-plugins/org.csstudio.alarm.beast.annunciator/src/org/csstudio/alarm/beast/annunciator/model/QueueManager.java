@@ -109,15 +109,16 @@ public class QueueManager implements Runnable
                     listener.performedAnnunciation(qc);
 
                     // See if the set threshold for messages waiting in the
-                    // queue has been exceeded.
-                    if (queue.size() > threshold)
+                    // queue has been exceeded, or messages were dropped
+                    // because the queue reached its capacity
+                    int flurry = queue.takeDropped();
+                    if (flurry > 0  ||  queue.size() > threshold)
                     {
-                        // Speak messages marked as 'standout'
-                        int flurry = 0;
+                        // Speak messages marked as 'standout' and summaries
                         while (queue.size() > 0)
                         {
                             qc = queue.poll();
-                            if (qc.isStandoutMessage())
+                            if (qc.isStandoutMessage()  ||  qc.getKey() != null)
                             {
                                 // Speak message off queue, then notify listener
                                 message = qc.getMessage();
@@ -7,6 +7,7 @@
  ******************************************************************************/
 package org.csstudio.alarm.beast.annunciator.model;
 
+import java.util.Iterator;
 import java.util.PriorityQueue;
 import java.util.logging.Level;
 
@@ -15,6 +16,12 @@ import org.csstudio.alarm.beast.annunciator.Activator;
 /** SpeechPriorityQueue class which implements a PriorityQueue but
  *  changes the add and poll routines.
  *  It uses the PriorityQueues size and clear routines.
+ *  <p>
+ *  Messages with a key replace a queued message with the same key,
+ *  for example an updated summary of an alarm flood.
+ *  When the queue reaches its capacity, the message with the lowest
+ *  severity is dropped, but 'standout' messages and messages with a key
+ *  are always kept.
  *
  *  @author Delphy Armstrong
  *  @author Kay Kasemir
@@ -34,21 +41,113 @@ public class SpeechPriorityQueue
     final private PriorityQueue<AnnunciationMessage> queue =
         new PriorityQueue<AnnunciationMessage>();
 
+    /** Maximum number of queued messages */
+    final private int capacity;
+
+    /** Number of messages that were dropped */
+    private int dropped = 0;
+
+    /** Initialize queue without capacity limit */
+    public SpeechPriorityQueue()
+    {
+        this(Integer.MAX_VALUE);
+    }
+
+    /** Initialize
+     *  @param capacity Maximum number of queued messages
+     */
+    public SpeechPriorityQueue(final int capacity)
+    {
+        this.capacity = capacity;
+    }
+
     /** Add item to the queue and notify everyone.
      *  @param severity Severity of the message
      *  @param message Message text
      */
     public void add(final Severity severity, final String message)
+    {
+        add(severity, message, null);
+    }
+
+    /** Add item to the queue and notify everyone.
+     *  @param severity Severity of the message
+     *  @param message Message text
+     *  @param key Key of a message that replaces a queued message with the same key, or <code>null</code>
+     */
+    public void add(final Severity severity, final String message, final String key)
     {
         // Wrap severity and message for queue insertion
-        final AnnunciationMessage item = new AnnunciationMessage(severity, message);
+        final AnnunciationMessage item = new AnnunciationMessage(severity, message, key);
         synchronized (queue)
         {
-            queue.add(item);
+            if (key != null)
+            {
+                final Iterator<AnnunciationMessage> iter = queue.iterator();
+                while (iter.hasNext())
+                    if (key.equals(iter.next().getKey()))
+                    {
+                        iter.remove();
+                        break;
+                    }
+            }
+            if (queue.size() >= capacity  &&  ! makeRoom(item))
+                ++dropped;
+            else
+                queue.add(item);
             queue.notifyAll();
         }
     }
 
+    /** Remove the lowest priority message to make room for a new one.
+     *  Caller must synchronize on queue.
+     *  @param item New item
+     *  @return <code>true</code> if there is room, <code>false</code> if new item should be dropped
+     */
+    private boolean makeRoom(final AnnunciationMessage item)
+    {
+        AnnunciationMessage lowest = null;
+        for (AnnunciationMessage queued : queue)
+            if (! isRetained(queued)  &&
+                (lowest == null  ||  queued.compareTo(lowest) > 0))
+                lowest = queued;
+        if (lowest == null)
+            // Only retained messages are queued. Keep them, drop new item unless it's also retained
+            return isRetained(item);
+        if (! isRetained(item)  &&  item.compareTo(lowest) >= 0)
+            // New item has no higher priority than what's queued
+            return false;
+        // Remove that exact item, not just any item of the same severity
+        final Iterator<AnnunciationMessage> iter = queue.iterator();
+        while (iter.hasNext())
+            if (iter.next() == lowest)
+            {
+                iter.remove();
+                break;
+            }
+        ++dropped;
+        return true;
+    }
+
+    /** @param item Message
+     *  @return <code>true</code> if message must not be dropped
+     */
+    private static boolean isRetained(final AnnunciationMessage item)
+    {
+        return item.isStandoutMessage()  ||  item.getKey() != null;
+    }
+
+    /** @return Number of messages that were dropped since the last call */
+    public int takeDropped()
+    {
+        synchronized (queue)
+        {
+            final int result = dropped;
+            dropped = 0;
+            return result;
+        }
+    }
+
     /** @return queue size. */
     public int size()
     {
@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.alarm.beast.msghist.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.text.SimpleDateFormat;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.csstudio.apputil.time.SecondsParser;
+import org.junit.Test;
+
+/** JUnit test of the Model merging new messages with cached ones
+ *
+ *  <p>Jobs are not scheduled. The test passes messages
+ *  to the job callbacks as if they had been read from the RDB.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class ModelUnitTest
+{
+    /** Model that keeps jobs instead of scheduling them */
+    private static class TestModel extends Model
+    {
+        final List<GetMessagesJob> jobs = new ArrayList<>();
+
+        TestModel(final int max_messages) throws Exception
+        {
+            super("url", "user", "password", "", max_messages, DateTimeFormatter.ISO_LOCAL_DATE_TIME, null);
+        }
+
+        @Override
+        void schedule(final GetMessagesJob job)
+        {
+            jobs.add(job);
+        }
+
+        GetMessagesJob lastJob()
+        {
+            return jobs.get(jobs.size() - 1);
+        }
+    }
+
+    /** @param id RDB ID
+     *  @param time Local time "HH:mm:ss" on 2026-01-01
+     *  @return Message as read from RDB, numbered 0
+     */
+    private static Message message(final int id, final String time) throws Exception
+    {
+        return new Message(0, id, new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").parse("2026-01-01 " + time),
+                           new HashMap<String, String>());
+    }
+
+    /** @param first Sequence number of first message
+     *  @param messages Page of messages, newest first
+     *  @return Messages numbered first, first+1, ... like the RDB reader does
+     */
+    private static List<Message> numbered(final int first, final Message... messages)
+    {
+        final List<Message> result = new ArrayList<>();
+        for (Message message : messages)
+            result.add(message.withSequence(first + result.size()));
+        return result;
+    }
+
+    /** Check IDs and sequence numbers of model messages */
+    private static void checkMessages(final Model model, final int... ids)
+    {
+        final Message[] messages = model.getMessages();
+        assertEquals(ids.length, messages.length);
+        for (int i=0; i<ids.length; ++i)
+        {
+            assertEquals("ID of message " + i, ids[i], messages[i].getId());
+            assertEquals("Sequence of message " + i, i + 1, messages[i].getSequence());
+        }
+    }
+
+    @Test
+    public void testMerge() throws Exception
+    {
+        final TestModel model = new TestModel(100);
+        model.setTimerange("2026-01-01 10:00:00", "2026-01-01 11:00:00");
+        assertEquals(1, model.jobs.size());
+        GetMessagesJob job = model.lastJob();
+        job.gotMessages(numbered(1, message(5, "10:05:00"), message(4, "10:04:00"), message(3, "10:03:00")));
+        job.gotMessages(numbered(4, message(2, "10:02:00"), message(1, "10:01:00")));
+        job.gotAllMessages(false);
+        checkMessages(model, 5, 4, 3, 2, 1);
+
+        // Later end time: Read only new messages, merge with cached ones
+        model.setTimerange("2026-01-01 10:00:00", "2026-01-01 11:30:00");
+        assertEquals(2, model.jobs.size());
+        job = model.lastJob();
+        final Message oldest_new = message(6, "10:06:00");
+        job.gotMessages(numbered(1, message(8, "10:08:00"), message(7, "10:07:00"), oldest_new));
+        // Cached messages are still shown until the merge is complete
+        checkMessages(model, 5, 4, 3, 2, 1);
+        job.gotAllMessages(false);
+        // New messages first, cached messages renumbered
+        checkMessages(model, 8, 7, 6, 5, 4, 3, 2, 1);
+        // 'Delta' of oldest new message refers to newest cached message
+        assertEquals(SecondsParser.formatSeconds(60.0), oldest_new.getProperty(Message.DELTA));
+
+        // Later start time: Cached messages before the start are dropped
+        model.setTimerange("2026-01-01 10:03:30", "2026-01-01 11:30:00");
+        assertEquals(3, model.jobs.size());
+        job = model.lastJob();
+        job.gotAllMessages(false);
+        checkMessages(model, 8, 7, 6, 5, 4);
+    }
+
+    @Test
+    public void testReplacedJob() throws Exception
+    {
+        final TestModel model = new TestModel(100);
+        model.setTimerange("2026-01-01 10:00:00", "2026-01-01 11:00:00");
+        final GetMessagesJob old_job = model.lastJob();
+        model.setTimerange("2026-01-01 09:00:00", "2026-01-01 11:00:00");
+        final GetMessagesJob job = model.lastJob();
+
+        // Messages of the replaced job are ignored
+        old_job.gotMessages(numbered(1, message(9, "10:09:00")));
+        old_job.gotAllMessages(false);
+        checkMessages(model);
+
+        job.gotMessages(numbered(1, message(2, "10:02:00"), message(1, "09:01:00")));
+        job.gotAllMessages(false);
+        checkMessages(model, 2, 1);
+    }
+
+    @Test
+    public void testLimit() throws Exception
+    {
+        final TestModel model = new TestModel(4);
+        model.setTimerange("2026-01-01 10:00:00", "2026-01-01 11:00:00");
+        GetMessagesJob job = model.lastJob();
+        job.gotMessages(numbered(1, message(5, "10:05:00"), message(4, "10:04:00"),
+                                 message(3, "10:03:00"), message(2, "10:02:00")));
+        job.gotAllMessages(true);
+        // Limit info as first and last message
+        Message[] messages = model.getMessages();
+        assertEquals(6, messages.length);
+        assertEquals(-1, messages[0].getId());
+        assertEquals(5, messages[1].getId());
+        assertEquals(2, messages[4].getId());
+        assertEquals(-1, messages[5].getId());
+
+        // Refresh without new messages uses the limited cache,
+        // which is still limited, without querying again
+        model.refresh();
+        assertEquals(2, model.jobs.size());
+        model.lastJob().gotAllMessages(false);
+        assertEquals(2, model.jobs.size());
+        messages = model.getMessages();
+        assertEquals(6, messages.length);
+        assertEquals(-1, messages[0].getId());
+        assertEquals(-1, messages[5].getId());
+
+        // New messages push cached ones beyond the limit
+        model.setTimerange("2026-01-01 10:00:00", "2026-01-01 11:30:00");
+        job = model.lastJob();
+        job.gotMessages(numbered(1, message(7, "10:07:00"), message(6, "10:06:00")));
+        job.gotAllMessages(false);
+        messages = model.getMessages();
+        assertEquals(6, messages.length);
+        assertEquals(-1, messages[0].getId());
+        assertEquals(7, messages[1].getId());
+        assertEquals(6, messages[2].getId());
+        assertEquals(5, messages[3].getId());
+        assertEquals(4, messages[4].getId());
+        assertEquals(4, messages[4].getSequence());
+        assertEquals(-1, messages[5].getId());
+
+        // Later start time drops the oldest messages, so the result is no longer limited
+        model.setTimerange("2026-01-01 10:04:30", "2026-01-01 11:30:00");
+        model.lastJob().gotAllMessages(false);
+        checkMessages(model, 7, 6, 5);
+        assertNull(model.getMessages()[0].getProperty(Message.DELTA));
+    }
+}
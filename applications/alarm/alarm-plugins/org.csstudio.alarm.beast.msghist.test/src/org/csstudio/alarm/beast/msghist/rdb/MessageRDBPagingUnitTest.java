@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.alarm.beast.msghist.rdb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+
+import org.csstudio.alarm.beast.msghist.model.Message;
+import org.csstudio.apputil.time.SecondsParser;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.Test;
+
+/** JUnit test of reading messages page by page,
+ *  using messages from memory instead of the RDB
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class MessageRDBPagingUnitTest
+{
+    /** Number of messages read from 'RDB', including those beyond the limit */
+    private int rows_read;
+
+    /** 'RDB' with messages ID 1 .. count, one per second, read newest first */
+    private MessageRDB.PageReader createReader(final int count)
+    {
+        return (before_id, limit, sequence) ->
+        {
+            final List<Message> page = new ArrayList<>();
+            for (int id = Math.min(count, before_id - 1);  id > 0  &&  page.size() < limit;  --id)
+                page.add(new Message(sequence + page.size(), id, new Date(id * 1000L),
+                                     new HashMap<String, String>()));
+            rows_read += page.size();
+            return page;
+        };
+    }
+
+    private void check(final int count, final int page_size, final int max_messages) throws Exception
+    {
+        final String info = count + " messages, page size " + page_size + ", limit " + max_messages;
+        rows_read = 0;
+        final List<List<Message>> pages = new ArrayList<>();
+        final boolean reached_limit = MessageRDB.readPages(new NullProgressMonitor(), max_messages, page_size,
+                                                           createReader(count), pages::add);
+        assertEquals(info, count > max_messages, reached_limit);
+
+        final List<Message> messages = new ArrayList<>();
+        for (List<Message> page : pages)
+        {
+            assertFalse(info, page.isEmpty());
+            messages.addAll(page);
+        }
+
+        // Newest messages up to the limit, numbered 1, 2, 3, ...
+        final int expected = Math.min(count, max_messages);
+        assertEquals(info, expected, messages.size());
+        for (int i=0; i<expected; ++i)
+        {
+            final Message message = messages.get(i);
+            assertEquals(info, count - i, message.getId());
+            assertEquals(info, i + 1, message.getSequence());
+            // 'Delta' is known unless this is the oldest message in the RDB
+            if (message.getId() > 1)
+                assertEquals(info + ", message " + message.getId(),
+                             SecondsParser.formatSeconds(1.0), message.getProperty(Message.DELTA));
+            else
+                assertNull(info, message.getProperty(Message.DELTA));
+        }
+
+        // Reads at most one message beyond the limit
+        assertTrue(info + ", read " + rows_read, rows_read <= expected + 1);
+    }
+
+    @Test
+    public void testPages() throws Exception
+    {
+        final int[] counts = { 0, 1, 2, 5, 9, 10, 11, 25 };
+        final int[] page_sizes = { 1, 2, 3, 5, 10, 100 };
+        final int[] limits = { 0, 1, 5, 9, 10, 11, 30 };
+        for (int count : counts)
+            for (int page_size : page_sizes)
+                for (int max_messages : limits)
+                    check(count, page_size, max_messages);
+    }
+
+    @Test
+    public void testCancel() throws Exception
+    {
+        final NullProgressMonitor monitor = new NullProgressMonitor();
+        final List<Message> messages = new ArrayList<>();
+        final boolean reached_limit = MessageRDB.readPages(monitor, 100, 3, createReader(20), page ->
+        {
+            messages.addAll(page);
+            monitor.setCanceled(true);
+        });
+        assertFalse(reached_limit);
+        // First page without its oldest message, which waits for the 'delta'
+        assertEquals(2, messages.size());
+        assertEquals(20, messages.get(0).getId());
+        assertEquals(19, messages.get(1).getId());
+    }
+}
@@ -31,6 +31,7 @@ public class Preferences {
     public static final String START = "start";
     public static final String END = "end";
     public static final String MAX_MESSAGES = "max_messages";
+    public static final String PAGE_SIZE = "page_size";
     public static final String AUTO_REFRESH_PERIOD = "auto_refresh_period";
     public static final String TIME_FORMAT = "time_format";
 
@@ -139,6 +140,19 @@ public class Preferences {
         return max_messages;
     }
 
+    /**
+     * Gets the number of messages to read per query page.
+     *
+     * @return the page size
+     */
+    public static int getPageSize() {
+        final IPreferencesService service = Platform.getPreferencesService();
+        int page_size = 1000;
+        if (service != null)
+            page_size = service.getInt(Activator.ID, Preferences.PAGE_SIZE, page_size, null);
+        return Math.max(1, page_size);
+    }
+
     /**
      * Gets the default auto refresh timer.
      *
@@ -8,7 +8,9 @@
 package org.csstudio.alarm.beast.msghist.gui;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.TimeUnit;
@@ -506,23 +508,21 @@ public class GUI extends Composite implements ModelListener {
 
                 // refresh table and keep selections
                 int[] tableSelectionIndices = table_viewer.getTable().getSelectionIndices();
-                Message[] messages = new Message[tableSelectionIndices.length];
+                Set<Integer> selectedIds = new HashSet<Integer>();
 
-                for (int i = 0; i < tableSelectionIndices.length; i++) {
-                    int index = tableSelectionIndices[i];
-                    messages[i] = (Message) table_viewer.getElementAt(index);
+                for (int index : tableSelectionIndices) {
+                    Message message = (Message) table_viewer.getElementAt(index);
+                    if (message != null)
+                        selectedIds.add(message.getId());
                 }
                 table_viewer.refresh();
 
-                if (messages.length != 0) {
+                if (!selectedIds.isEmpty()) {
                     List<Message> listMsgSelect = new ArrayList<Message>();
-                    Message[] msgModel = model.getMessages();
-                    for (int i = 0; i < msgModel.length; i++) {
-                        for (int j = 0; j < messages.length; j++) {
-                            if (msgModel[i].getId() == messages[j].getId())
-                                listMsgSelect.add(msgModel[i]);
-                        } // FOR messages
-                    } // FOR msgModel
+                    for (Message message : model.getMessages()) {
+                        if (selectedIds.contains(message.getId()))
+                            listMsgSelect.add(message);
+                    }
                     table_viewer.setSelection(new StructuredSelection(listMsgSelect), true);
                 }
                 restartAutoRefresh(autoRefreshCurrentPeriod, false);
@@ -9,6 +9,7 @@ package org.csstudio.alarm.beast.msghist.model;
 
 import java.time.format.DateTimeFormatter;
 import java.util.Calendar;
+import java.util.List;
 
 import org.csstudio.alarm.beast.msghist.rdb.MessageRDB;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -20,6 +21,8 @@ import org.eclipse.core.runtime.jobs.Job;
  * Background job for getting messages from RDB.
  * <p>
  * The job actually connects to the RDB each time and disconnects when done to avoid timeouts with a long running RDB connection.
+ * <p>
+ * Messages are read and passed on one page at a time, so the first messages can be shown while the query continues.
  *
  * @author Kay Kasemir
  * @author Borut Terpinc
@@ -33,7 +36,9 @@ abstract public class GetMessagesJob extends Job {
     final private Calendar start;
     final private Calendar end;
     final private MessagePropertyFilter[] filters;
+    final private int after_id;
     final private int max_messages;
+    final private int page_size;
     final private DateTimeFormatter date_format;
 
     /**
@@ -53,14 +58,18 @@ abstract public class GetMessagesJob extends Job {
      *            End time
      * @param filters
      *            Message filters
+     * @param after_id
+     *            Only get messages with ID above this one, -1 for all
      * @param max_messages
      *            Max. messages count
-     * @param shell
-     *            UI shell to display error dialog
+     * @param page_size
+     *            Number of messages to read per query
+     * @param date_format
+     *            Format for message time
      */
     public GetMessagesJob(final String url, final String user, final String password, final String schema,
-            final Calendar start, final Calendar end, final MessagePropertyFilter filters[], final int max_messages,
-            final DateTimeFormatter date_format) {
+            final Calendar start, final Calendar end, final MessagePropertyFilter filters[], final int after_id,
+            final int max_messages, final int page_size, final DateTimeFormatter date_format) {
         super("Get Messages from RDB");
         this.url = url;
         this.user = user;
@@ -69,7 +78,9 @@ abstract public class GetMessagesJob extends Job {
         this.start = start;
         this.end = end;
         this.filters = filters;
+        this.after_id = after_id;
         this.max_messages = max_messages;
+        this.page_size = page_size;
         this.date_format = date_format;
     }
 
@@ -78,9 +89,13 @@ abstract public class GetMessagesJob extends Job {
         MessageRDB rdb = null;
         try {
             rdb = new MessageRDB(url, user, password, schema);
-            final Message[] messages = rdb.getMessages(monitor, start, end, filters, max_messages, date_format);
+            final boolean reached_limit = rdb.readMessages(monitor, start, end, filters, after_id, max_messages,
+                    page_size, date_format, page -> {
+                        if (!monitor.isCanceled())
+                            gotMessages(page);
+                    });
             if (!monitor.isCanceled())
-                gotMessages(messages);
+                gotAllMessages(reached_limit);
         } catch (final Exception ex) {
             handleError("Message Database Error", ex);
         }
@@ -99,6 +114,19 @@ abstract public class GetMessagesJob extends Job {
      */
     abstract void handleError(final String message, final Exception ex);
 
-    /** Derived class must implement to handle received messages */
-    abstract void gotMessages(final Message[] messages);
+    /**
+     * Derived class must implement to handle received messages
+     *
+     * @param messages
+     *            Next page of messages, newest message first
+     */
+    abstract void gotMessages(final List<Message> messages);
+
+    /**
+     * Derived class must implement to handle end of query
+     *
+     * @param reached_limit
+     *            <code>true</code> if there were more than max. messages
+     */
+    abstract void gotAllMessages(final boolean reached_limit);
 }
@@ -51,6 +51,9 @@ public class Message implements IPropertySource
 
     final private int sequence, id;
 
+    /** Time when message was added to log */
+    final private Date datum;
+
     /** Map of property names and values */
     final private Map<String, String> properties;
 
@@ -61,12 +64,39 @@ public class Message implements IPropertySource
      */
     public Message(final int sequence,
             final int id, final Map<String, String> properties)
+    {
+        this(sequence, id, null, properties);
+    }
+
+    /** Constructor
+     *  @param sequence Sequence number
+     *  @param id ID from RDB
+     *  @param datum Time when message was added to log
+     *  @param properties Map of message properties
+     */
+    public Message(final int sequence,
+            final int id, final Date datum, final Map<String, String> properties)
     {
         this.sequence = sequence;
         this.id = id;
+        this.datum = datum;
         this.properties = properties;
     }
 
+    /** @param sequence Sequence number
+     *  @return Message with same ID and properties but new sequence number
+     */
+    Message withSequence(final int sequence)
+    {
+        return new Message(sequence, id, datum, properties);
+    }
+
+    /** @return Map of message properties */
+    Map<String, String> getPropertyMap()
+    {
+        return properties;
+    }
+
     /** Set 'delta'.
      *  Public, but really only meant to be called by code that
      *  constructs the message to overcome the problem that
@@ -87,6 +117,12 @@ public class Message implements IPropertySource
         return sequence;
     }
 
+    /** @return Time when message was added to log, <code>null</code> if not known */
+    public Date getDatum()
+    {
+        return datum;
+    }
+
     /** @return Message id (internal to RDB) */
     public int getId()
     {
@@ -8,11 +8,17 @@
 package org.csstudio.alarm.beast.msghist.model;
 
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 
 import org.csstudio.alarm.beast.msghist.Activator;
 import org.csstudio.alarm.beast.msghist.Preferences;
+import org.csstudio.alarm.beast.msghist.rdb.MessageRDB;
 import org.csstudio.apputil.time.StartEndTimeParser;
 import org.csstudio.ui.util.dialogs.ExceptionDetailsErrorDialog;
 import org.eclipse.swt.widgets.Shell;
@@ -21,6 +27,13 @@ import org.eclipse.swt.widgets.Shell;
  * Model of CSS log messages.
  * <p>
  * Handles async. database requests, notifies listeners on change.
+ * <p>
+ * Messages are received one page at a time, and listeners are notified
+ * as each page arrives.
+ * The messages of the last query are cached. When a refresh covers
+ * an overlapping, later time range with the same filters, only messages
+ * newer than the cached ones are read from the RDB and then merged with
+ * the cached messages that are still within the time range.
  *
  * @author Kay Kasemir
  * @author benhadj naceur @ sopra group - iter
@@ -37,8 +50,16 @@ public class Model {
     private String end_spec = Preferences.getDefaultEnd();
     private MessagePropertyFilter filters[] = new MessagePropertyFilter[0];
     private int max_messages;
+    private int page_size = Preferences.getPageSize();
     private DateTimeFormatter date_format;
     private GetMessagesJob message_job;
+    /** Messages of last query, newest first, without 'limit' info */
+    private List<Message> cache = Collections.emptyList();
+    /** Did the last query exceed max_messages, so older messages are missing from the cache? */
+    private boolean cache_limited;
+    private Calendar cache_start, cache_end;
+    private MessagePropertyFilter cache_filters[];
+    private int cache_max_messages;
     private Shell shell;
     private boolean errorCase;
 
@@ -172,14 +193,22 @@ public class Model {
 
         // Start new job
         final StartEndTimeParser times = new StartEndTimeParser(start_spec, end_spec);
-        message_job = new GetMessagesJob(url, user, password, schema, times.getStart(), times.getEnd(), filters,
-                max_messages, date_format) {
+        final Calendar start = times.getStart();
+        final Calendar end = times.getEnd();
+        // Can cached messages be used, only reading newer messages?
+        final List<Message> cached = canUseCache(start, end) ? cache : Collections.emptyList();
+        final int after_id = cached.isEmpty() ? -1 : cached.get(0).getId();
+        final List<Message> received = new ArrayList<>();
+        message_job = new GetMessagesJob(url, user, password, schema, start, end, filters,
+                after_id, max_messages, page_size, date_format) {
             @Override
-            void gotMessages(final Message[] messages) {
-                if (messages == null)
-                    return;
-                Model.this.messages = messages;
-                fireModelChanged();
+            void gotMessages(final List<Message> messages) {
+                handleMessages(this, received, cached, messages);
+            }
+
+            @Override
+            void gotAllMessages(final boolean reached_limit) {
+                handleEnd(this, received, cached, start, end, reached_limit);
             }
 
             @Override
@@ -209,7 +238,131 @@ public class Model {
             }
 
         };
-        message_job.schedule();
+        schedule(message_job);
+    }
+
+    /**
+     * Schedule job that reads messages
+     *
+     * @param job
+     *            Job to schedule
+     */
+    void schedule(final GetMessagesJob job) {
+        job.schedule();
+    }
+
+    /**
+     * Check if cached messages can be used for a new query
+     *
+     * @param start
+     *            Start time of new query
+     * @param end
+     *            End time of new query
+     * @return <code>true</code> if the new query only needs to read messages newer than the cached ones
+     */
+    private boolean canUseCache(final Calendar start, final Calendar end) {
+        // Filters are compared by identity, since they only change via setFilters()
+        return !cache.isEmpty() && cache_filters == filters && cache_max_messages == max_messages
+                && !start.before(cache_start) && !end.before(cache_end) && !start.after(cache_end);
+    }
+
+    /**
+     * Handle a page of received messages
+     *
+     * @param job
+     *            Job that received the messages
+     * @param received
+     *            Messages received so far by the job
+     * @param cached
+     *            Cached messages that will be merged at the end of the job
+     * @param messages
+     *            Newly received messages
+     */
+    private void handleMessages(final GetMessagesJob job, final List<Message> received, final List<Message> cached,
+            final List<Message> messages) {
+        synchronized (this) {
+            // Ignore messages from a job that has been replaced by a newer query
+            if (message_job != job)
+                return;
+            received.addAll(messages);
+            // When merging with cached messages, only update at the end
+            if (!cached.isEmpty())
+                return;
+            this.messages = received.toArray(new Message[received.size()]);
+        }
+        fireModelChanged();
+    }
+
+    /**
+     * Handle end of query
+     *
+     * @param job
+     *            Job that completed
+     * @param received
+     *            Messages received by the job
+     * @param cached
+     *            Cached messages to merge
+     * @param start
+     *            Start time of the query
+     * @param end
+     *            End time of the query
+     * @param reached_limit
+     *            Did the query exceed max_messages?
+     */
+    private void handleEnd(final GetMessagesJob job, final List<Message> received, final List<Message> cached,
+            final Calendar start, final Calendar end, final boolean reached_limit) {
+        synchronized (this) {
+            if (message_job != job)
+                return;
+            final List<Message> result = new ArrayList<>(received);
+            boolean limited = reached_limit;
+            if (!cached.isEmpty()) {
+                // Set 'delta' of oldest new message
+                if (!received.isEmpty()) {
+                    final Message oldest = received.get(received.size() - 1);
+                    oldest.setDelta(oldest.getDatum(), cached.get(0).getDatum());
+                }
+                // Add cached messages that are still in the time range
+                final Date start_date = start.getTime();
+                boolean used_all = true;
+                for (Message message : cached) {
+                    if (message.getDatum().before(start_date)) {
+                        used_all = false;
+                        break;
+                    }
+                    if (result.size() >= max_messages) {
+                        limited = true;
+                        used_all = false;
+                        break;
+                    }
+                    result.add(message.withSequence(result.size() + 1));
+                }
+                // Cache was missing older messages that may still be in the time range,
+                // so the result is just as limited as the cache
+                if (used_all && cache_limited)
+                    limited = true;
+            }
+            cache = result;
+            cache_limited = limited;
+            cache_start = start;
+            cache_end = end;
+            cache_filters = filters;
+            cache_max_messages = max_messages;
+            if (limited) {
+                // Add limit info both as the first and last messages,
+                // so user is more likely to see it.
+                // A dialog box is even harder to miss,
+                // but auto-refresh mode would result in either
+                // blocked updates or a profusion of message boxes.
+                final List<Message> shown = new ArrayList<>(result.size() + 2);
+                shown.add(MessageRDB.createLimitMessage(0, max_messages));
+                shown.addAll(result);
+                shown.add(MessageRDB.createLimitMessage(result.size() + 1, max_messages));
+                messages = shown.toArray(new Message[shown.size()]);
+            } else
+                messages = result.toArray(new Message[result.size()]);
+        }
+        fireModelChanged();
     }
 
     /** @return All model messages */
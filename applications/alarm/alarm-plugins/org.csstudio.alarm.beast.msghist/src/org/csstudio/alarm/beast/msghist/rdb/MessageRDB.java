@@ -13,10 +13,13 @@ import java.sql.ResultSet;
 import java.sql.Timestamp;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.csstudio.alarm.beast.msghist.Messages;
 import org.csstudio.alarm.beast.msghist.model.Message;
@@ -66,145 +69,238 @@ public class MessageRDB
      *  @param start Start time
      *  @param end End time
      *  @param filters Filters to use (not <code>null</code>).
-     *  @param max_properties Limit on the number of properties(!) retrieved.
-     *                        Unclear how many properties to expect per message,
-     *                        so this is a vague overload throttle.
-     *  @return Array of Messages or <code>null</code>
+     *  @param max_messages Limit on the number of messages retrieved.
+     *  @param date_format Format for the {@link Message#DATUM} property
+     *  @return Array of Messages
+     *  @see #readMessages(IProgressMonitor, Calendar, Calendar, MessagePropertyFilter[], int, int, int, DateTimeFormatter, Consumer)
      */
     public Message[] getMessages(
             final IProgressMonitor monitor,
             final Calendar start, final Calendar end,
             final MessagePropertyFilter filters[],
-            final int max_properties,
+            final int max_messages,
             final DateTimeFormatter date_format)  throws Exception
+    {
+        final List<Message> messages = new ArrayList<Message>();
+        final boolean reached_limit = readMessages(monitor, start, end, filters,
+                -1, max_messages, Math.max(1, Math.min(max_messages, 1000)), date_format,
+                messages::addAll);
+        if (reached_limit)
+        {   // Add this message both as the first and last messages,
+            // so user is more likely to see it.
+            messages.add(0, createLimitMessage(0, max_messages));
+            messages.add(createLimitMessage(messages.size(), max_messages));
+        }
+        // Convert to plain array
+        final Message[] ret_val = new Message[messages.size()];
+        return messages.toArray(ret_val);
+    }
+
+    /** Read messages from start to end time, maybe including filters,
+     *  one page at a time.
+     *  <p>
+     *  Messages are passed to the handler newest message first,
+     *  numbered 1, 2, 3, ...
+     *  The 'delta' of each message is set before it is passed on,
+     *  except for the oldest message because its predecessor is unknown.
+     *
+     *  @param monitor Used to display progress, also checked for cancellation
+     *  @param start Start time
+     *  @param end End time
+     *  @param filters Filters to use (not <code>null</code>).
+     *  @param after_id Only read messages with an ID above this one, -1 for all
+     *  @param max_messages Limit on the number of messages retrieved.
+     *  @param page_size Number of messages to read per query, must be positive
+     *  @param date_format Format for the {@link Message#DATUM} property
+     *  @param handler Will be called with each page of messages
+     *  @return <code>true</code> if there are more than <code>max_messages</code> messages
+     *  @throws Exception on error
+     */
+    public boolean readMessages(
+            final IProgressMonitor monitor,
+            final Calendar start, final Calendar end,
+            final MessagePropertyFilter filters[],
+            final int after_id,
+            final int max_messages,
+            final int page_size,
+            final DateTimeFormatter date_format,
+            final Consumer<List<Message>> handler)  throws Exception
     {
         monitor.beginTask("Reading Messages", IProgressMonitor.UNKNOWN);
-        final ArrayList<Message> messages = new ArrayList<Message>();
         // Create new select statement
-        final String sql_txt = sql.createSelect(rdb_util, filters);
+        final String sql_txt = sql.createPagedSelect(rdb_util, filters);
         final Connection connection = rdb_util.getConnection();
         connection.setReadOnly(true);
         final PreparedStatement statement =
                 connection.prepareStatement(sql_txt);
         try
         {
-            int parm = 1;
-            // Set start/end
-            statement.setTimestamp(parm++, new Timestamp(start.getTimeInMillis()));
-            statement.setTimestamp(parm++, new Timestamp(end.getTimeInMillis()));
-            // Set filter parameters
-            for (MessagePropertyFilter filter : filters)
-                statement.setString(parm++, filter.getPattern());
-            // Set query limit a bit higher than max_properties.
-            // This still limits the number of properties on the RDB side,
-            // but allows the following code to detect exhausting the limit.
-            statement.setInt(parm++, max_properties+10);
+            return readPages(monitor, max_messages, page_size,
+                (before_id, limit, sequence) ->
+                {
+                    int parm = 1;
+                    // Set start/end
+                    statement.setTimestamp(parm++, new Timestamp(start.getTimeInMillis()));
+                    statement.setTimestamp(parm++, new Timestamp(end.getTimeInMillis()));
+                    // Set ID range
+                    statement.setInt(parm++, after_id);
+                    statement.setInt(parm++, before_id);
+                    // Set filter parameters
+                    for (MessagePropertyFilter filter : filters)
+                        statement.setString(parm++, filter.getPattern());
+                    statement.setInt(parm++, limit);
+                    statement.setFetchSize(limit);
+
+                    final List<Message> page = new ArrayList<Message>(limit);
+                    final ResultSet result = statement.executeQuery();
+                    while (result.next())
+                        page.add(readMessage(result, sequence + page.size(), date_format));
+                    result.close();
+                    return page;
+                },
+                handler);
+        }
+        finally
+        {
+            statement.close();
+            monitor.done();
+        }
+    }
+
+    /** Reads one page of messages */
+    interface PageReader
+    {
+        /** @param before_id Only read messages with an ID below this one
+         *  @param limit Maximum number of messages to read
+         *  @param sequence Sequence number of the first message
+         *  @return Messages, newest message first, numbered from <code>sequence</code> on
+         *  @throws Exception on error
+         */
+        List<Message> readPage(int before_id, int limit, int sequence) throws Exception;
+    }
 
-            // One benchmark example:
-            // Query took <<1 second, but reading all the messages took ~30.
-            // Same result when only calling 'next',
-            // i.e. commenting the 'next' loop body.
-            // So the local lookup of properties and packing
-            // into a HashMap adds almost nothing to the overall time.
-            final ResultSet result = statement.executeQuery();
-            int sequence = 0;
-            // Initialize id and datum as "no current message"
-            int id = -1;
-            Date datum = null;
-            Date last_datum = null;
-            Message last_message = null;
-            Map<String, String> props = null;
-            int prop_count = 0;
-            while (!monitor.isCanceled()  &&  result.next())
+    /** Read messages one page at a time
+     *
+     *  @param monitor Checked for cancellation
+     *  @param max_messages Limit on the number of messages retrieved.
+     *  @param page_size Number of messages to read per page, must be positive
+     *  @param reader Reads one page
+     *  @param handler Will be called with each page of messages
+     *  @return <code>true</code> if there are more than <code>max_messages</code> messages
+     *  @throws Exception on error
+     *  @see #readMessages(IProgressMonitor, Calendar, Calendar, MessagePropertyFilter[], int, int, int, DateTimeFormatter, Consumer)
+     */
+    static boolean readPages(final IProgressMonitor monitor,
+                             final int max_messages,
+                             final int page_size,
+                             final PageReader reader,
+                             final Consumer<List<Message>> handler) throws Exception
+    {
+        int sequence = 0;
+        int before_id = Integer.MAX_VALUE;
+        // Last message of previous page, waiting for its 'delta'
+        Message last_message = null;
+        while (!monitor.isCanceled())
+        {
+            // Ask for one more than max_messages to detect exceeding the limit
+            final int limit = (int) Math.min(page_size, (long) max_messages - sequence + 1);
+            final List<Message> rows = reader.readPage(before_id, limit, sequence + 1);
+            final List<Message> page = new ArrayList<Message>(rows.size());
+            for (Message message : rows)
             {
-                // Fixed ID and DATUM
-                final int next_id = result.getInt(1);
-                final Date next_datum = result.getTimestamp(2);
-                // New message?
-                if (next_id != id)
-                {   // Does this conclude a previous message?
-                    if (props != null)
+                if (sequence >= max_messages)
+                {   // Limit exceeded, but row still provides the 'delta' of previous message
+                    if (last_message != null)
                     {
-                        final Message message = createMessage(++sequence, id, props);
-                        messages.add(message);
-                        // Maybe set the 'delta' of previous message
-                        if (last_message != null  &&  last_datum != null)
-                            last_message.setDelta(last_datum, datum);
-                        last_datum = datum;
-                        last_message = message;
-                        // Update monitor every 50 messages
-                        final int count = messages.size();
-                        if (count % 50 == 0)
-                            monitor.subTask(count + " messages...");
+                        last_message.setDelta(last_message.getDatum(), message.getDatum());
+                        page.add(last_message);
                     }
-                    // Construct new message and values
-                    props = new HashMap<String, String>();
-                    id = next_id;
-                    datum = next_datum;
-                    props.put(Message.DATUM, date_format.format(datum.toInstant()));
+                    if (! page.isEmpty())
+                        handler.accept(page);
+                    return true;
                 }
-                // Get Prop/Value from MESSAGE table
-                int res_idx = 3;
-                for (int i=0; i<sql.messagePropertyCount(); ++i)
-                    props.put(sql.getMessageProperty(i), result.getString(res_idx++));
-                // Prop/Value from MESSAGE_CONTENT table
-                final String prop = sql.getPropertyNameById(result.getInt(res_idx++));
-                final String value = result.getString(res_idx);
-                props.put(prop, value);
-                ++prop_count;
-            }
-            // No more results.
-            // Was another (partial) message assembled?
-            // This message may miss some properties because the RDB retrieval
-            // is limited by property max_properties...
-            if (props != null  &&  props.isEmpty() == false)
-            {
-                messages.add(createMessage(++sequence, id, props));
-                if (last_message != null  &&  last_datum != null)
-                    last_message.setDelta(last_datum, datum);
+                ++sequence;
+                // Set the 'delta' of previous message
+                if (last_message != null)
+                {
+                    last_message.setDelta(last_message.getDatum(), message.getDatum());
+                    page.add(last_message);
+                }
+                last_message = message;
             }
-
-            // Was readout stopped because we reached max. number of properties?
-            if (prop_count >= max_properties)
+            if (! page.isEmpty())
             {
-                props = new HashMap<String, String>();
-                props.put(Message.TYPE, "internal");
-                props.put(Message.SEVERITY, "FATAL");
-                props.put("TEXT",
-                        NLS.bind(Messages.ReachedMaxPropertiesFmt, max_properties));
-                // Add this message both as the first and last messages,
-                // so user is more likely to see it.
-                // A dialog box is even harder to miss,
-                // but auto-refresh mode would result in either
-                // blocked updates or a profusion of message boxes.
-                messages.add(0, createMessage(0, -1, props));
-                messages.add(createMessage(++sequence, -1, props));
+                handler.accept(page);
+                monitor.subTask(sequence + " messages...");
             }
+            // Fewer rows than requested means this was the last page
+            if (rows.size() < limit)
+                break;
+            before_id = last_message.getId();
         }
-        finally
+        // Pass the oldest message on
+        if (last_message != null  &&  !monitor.isCanceled())
+            handler.accept(Arrays.asList(last_message));
+        return false;
+    }
+
+    /** Read message from current row of paged select
+     *  @param result {@link ResultSet}
+     *  @param sequence Sequence number
+     *  @param date_format Format for the {@link Message#DATUM} property
+     *  @return Message or PVMessage
+     */
+    private Message readMessage(final ResultSet result, final int sequence,
+                                final DateTimeFormatter date_format) throws Exception
+    {
+        // Fixed ID and DATUM
+        final int id = result.getInt(1);
+        final Date datum = result.getTimestamp(2);
+        final Map<String, String> props = new HashMap<String, String>();
+        props.put(Message.DATUM, date_format.format(datum.toInstant()));
+        // Get Prop/Value from MESSAGE table
+        int res_idx = 3;
+        for (int i=0; i<sql.messagePropertyCount(); ++i)
+            props.put(sql.getMessageProperty(i), result.getString(res_idx++));
+        // Prop/Value from MESSAGE_CONTENT table
+        for (int i=0; i<sql.contentPropertyCount(); ++i)
         {
-            statement.close();
-            monitor.done();
+            final String value = result.getString(res_idx++);
+            if (value != null)
+                props.put(sql.getContentProperty(i), value);
         }
+        return createMessage(sequence, id, datum, props);
+    }
 
-        // Convert to plain array
-        final Message[] ret_val = new Message[messages.size()];
-        return messages.toArray(ret_val);
+    /** Create message that informs about reaching the message limit
+     *  @param sequence Sequence number
+     *  @param max_messages Message limit
+     *  @return Message
+     */
+    public static Message createLimitMessage(final int sequence, final int max_messages)
+    {
+        final Map<String, String> props = new HashMap<String, String>();
+        props.put(Message.TYPE, "internal");
+        props.put(Message.SEVERITY, "FATAL");
+        props.put("TEXT",
+                NLS.bind(Messages.ReachedMaxMessagesFmt, max_messages));
+        return new Message(sequence, -1, props);
     }
 
     /** Create Message or PVMessage
      *  @param sequence Sequence number
      *  @param id RDB ID
+     *  @param datum Time when message was added to log
      *  @param props Remaining properties
      *  @return Message or PVMessage
      */
     private Message createMessage(final int sequence, final int id,
-                                  final Map<String, String> props)
+                                  final Date datum, final Map<String, String> props)
     {
         // Is there a better way to determine which messages
         // have PVs and which don't??
         if ("alarm".equalsIgnoreCase(props.get(Message.TYPE)))
-            return new PVMessage(sequence, id, props);
-        return new Message(sequence, id, props);
+            return new PVMessage(sequence, id, datum, props);
+        return new Message(sequence, id, datum, props);
     }
 }
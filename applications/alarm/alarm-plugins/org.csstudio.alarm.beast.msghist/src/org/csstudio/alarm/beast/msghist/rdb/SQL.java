@@ -49,6 +49,12 @@ public class SQL
     final private HashMap<String, Integer> content_properties_by_name
         = new HashMap<String, Integer>();
 
+    /** IDs of properties that are MESSAGE_CONTENT rows,
+     *  in the order of the columns returned by the paged select
+     */
+    final private ArrayList<Integer> content_property_ids
+        = new ArrayList<Integer>();
+
     /** Construct SQL Statements for RDB
      *  @param rdb_util RDB/dialect to use
      *  @param schema Database schema ending in "." or "" if not used
@@ -118,6 +124,7 @@ public class SQL
                 final String name = result.getString(2);
                 content_properties_by_id.put(id, name);
                 content_properties_by_name.put(name, id);
+                content_property_ids.add(id);
             }
         }
         finally
@@ -153,6 +160,21 @@ public class SQL
         return message_properties[i];
     }
 
+    /** @return Number of properties held in MESSAGE_CONTENT */
+    public int contentPropertyCount()
+    {
+        return content_property_ids.size();
+    }
+
+    /** Get name of one of the properties held in MESSAGE_CONTENT
+     *  @param i Index 0 ... (contentPropertyCount() - 1)
+     *  @return Name of MESSAGE_CONTENT property
+     */
+    public String getContentProperty(final int i)
+    {
+        return content_properties_by_id.get(content_property_ids.get(i));
+    }
+
     /** For properties in MESSAGE_CONTENT, obtain their name by ID
      *  @param id RDB ID for the property
      *  @return Name of the property or <code>null</code>
@@ -175,79 +197,92 @@ public class SQL
         return id.intValue();
     }
 
-    /** Create "SELECT ... " which requires parameters
+    /** Create "SELECT ... " for one page of messages which requires parameters
      *  <ol>
      *  <li>Start time
      *  <li>End time
+     *  <li>Only messages with ID above this one
+     *  <li>Only messages with ID below this one
      *  <li>Value pattern for property filter 1
      *  <li>Value pattern for property filter 2
      *  <li>...
-     *  <li value=99>overall property count limit
+     *  <li value=99>Page size, i.e. max. number of messages
      *  </ol>
-     *  and returns the message
+     *  and returns one row per message, newest message first:
      *  <ol>
      *  <li>ID
      *  <li>Datum
      *  <li>First MESSAGE table property
      *  <li>Second MESSAGE table property
      *  <li>...
-     *  <li value=98>MESSAGE_CONTENT property ID
-     *  <li>MESSAGE_CONTENT property value
+     *  <li value=50>First MESSAGE_CONTENT property or <code>null</code>
+     *  <li>Second MESSAGE_CONTENT property or <code>null</code>
+     *  <li>...
      *  </ol>
+     *
+     *  <p>The next page is fetched by using the ID of the last
+     *  message as the upper ID limit, so each page is an index range scan
+     *  instead of skipping an increasing number of rows via OFFSET.
+     *  The MESSAGE_CONTENT rows are pivoted into columns by the RDB,
+     *  so the number of returned rows is the number of messages,
+     *  not the larger number of properties.
+     *
      *  @param rdb_util RDBUtil
-     *  @param schema Database schema ending in "." or "" if not used
      *  @param filters Filters to use (not <code>null</code>)
      *  @return SQL string
      */
-    String createSelect(final RDBUtil rdb_util,
+    String createPagedSelect(final RDBUtil rdb_util,
             final MessagePropertyFilter filters[]) throws Exception
     {
-        final StringBuffer sel = new StringBuffer();
-        sel.append("SELECT");
-        // .. all columns from MESSAGE
-        sel.append(" m.id, m.datum,");
+        // Select one page of messages from MESSAGE
+        final StringBuilder page = new StringBuilder();
+        page.append("SELECT m.id, m.datum");
         for (String msg_prop : message_properties)
-            sel.append(" m." + msg_prop + ",");
-        // .. and the properties from MESSAGE_CONTENT
-        sel.append(" c.msg_property_type_id p, c.value");
-        sel.append(" FROM " + getSchemaPrefix() + "message m, "
-                + getSchemaPrefix() + "message_content c");
-        // Set time range
-        sel.append(" WHERE m.datum BETWEEN ? AND ?");
-        // Join MESSAGE and ..CONTENT
-        sel.append(" AND m.id=c.message_id");
+            page.append(", m." + msg_prop);
+        page.append(" FROM " + getSchemaPrefix() + "message m");
+        // Set time and ID range
+        page.append(" WHERE m.datum BETWEEN ? AND ?");
+        page.append(" AND m.id > ? AND m.id < ?");
         // Some filters may be MESSAGE columns, rest is MESSAGE_CONTENT
         for (MessagePropertyFilter filter : filters)
         {
             if (isMessageProperty(filter.getProperty()))
             {   // Filter property is actually column of MESSAGE table
-                sel.append(" AND m." + filter.getProperty() + " LIKE ?");
+                page.append(" AND m." + filter.getProperty() + " LIKE ?");
             }
             else
             {   // Create MESSAGE_CONTENT sub-query for this property/value
                 final int id = getPropertyIdByName(filter.getProperty());
-                sel.append(" AND m.id IN (");
-                sel.append(" SELECT message_id");
-                sel.append(" FROM " + getSchemaPrefix() + "message_content");
-                sel.append(" WHERE msg_property_type_id=" + id
-                           + " AND value LIKE ?)");
+                page.append(" AND m.id IN (");
+                page.append(" SELECT message_id");
+                page.append(" FROM " + getSchemaPrefix() + "message_content");
+                page.append(" WHERE msg_property_type_id=" + id
+                            + " AND value LIKE ?)");
             }
         }
-        // Oracle limits result count via ROWNUM check within WHERE clause...
+        page.append(" ORDER BY m.id DESC");
+        // Oracle limits result count via ROWNUM check on the ordered sub-query,
+        // MySQL and PostgreSQL use designated LIMIT statement.
+        final String limited;
         if (rdb_util.getDialect() == Dialect.Oracle)
-            sel.append(" AND ROWNUM < ?");
-        sel.append(" ORDER BY m.id DESC");
-        // MySQL uses designated LIMIT statement instead.
-        if (rdb_util.getDialect() == Dialect.MySQL || rdb_util.getDialect() == Dialect.PostgreSQL)
-            sel.append(" LIMIT ?");
+            limited = "SELECT * FROM (" + page + ") WHERE ROWNUM <= ?";
+        else
+            limited = page + " LIMIT ?";
 
+        // Join with MESSAGE_CONTENT, one column per property
+        final StringBuilder sel = new StringBuilder();
+        sel.append("SELECT p.id, p.datum");
+        for (String msg_prop : message_properties)
+            sel.append(", p." + msg_prop);
+        for (Integer id : content_property_ids)
+            sel.append(", MAX(CASE WHEN c.msg_property_type_id=" + id + " THEN c.value END)");
+        sel.append(" FROM (" + limited + ") p");
+        sel.append(" LEFT JOIN " + getSchemaPrefix() + "message_content c");
+        sel.append(" ON c.message_id=p.id");
+        sel.append(" GROUP BY p.id, p.datum");
+        for (String msg_prop : message_properties)
+            sel.append(", p." + msg_prop);
+        sel.append(" ORDER BY p.id DESC");
         return sel.toString();
     }
-
-    /** Idea: Use the above to ONLY select from MESSAGE table, then
-     *  use separate query to select remaining properties for a message
-     *  SELECT msg_property_type_id, value
-     *  FROM message_content
-     *  WHERE message_id=?
-     */
 }
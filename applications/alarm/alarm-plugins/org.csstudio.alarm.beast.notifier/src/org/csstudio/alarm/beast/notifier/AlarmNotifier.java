@@ -10,6 +10,8 @@ package org.csstudio.alarm.beast.notifier;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 import org.csstudio.alarm.beast.Preferences;
@@ -51,6 +53,9 @@ public class AlarmNotifier {
 
     private boolean maintenanceMode = false;
 
+    /** Areas with an alarm flood reported by the alarm server */
+    final private Set<String> floodedAreas = ConcurrentHashMap.newKeySet();
+
     public AlarmNotifier(final String root_name,
             final IAlarmRDBHandler rdbHandler,
             final AutomatedActionFactory factory, final int timer_threshold)
@@ -114,11 +119,12 @@ public class AlarmNotifier {
                 && snapshot.getCurrentSeverity().equals(pv_history.getCurrentSeverity()))
             return;
         // Process automated actions of PV, recursing up to root
+        final boolean flooded = !floodedAreas.isEmpty() && floodedAreas.contains(getArea(pvItem));
         for (AlarmTreeItem item = pvItem;
              item != null  &&  !item.getPosition().equals(AlarmTreePosition.Root);
              item = item.getParent()) {
             for (AADataStructure aa : item.getAutomatedActions())
-                handleAutomatedAction(snapshot, item, aa);
+                handleAutomatedAction(snapshot, item, aa, flooded);
         }
 
         // When only notifying on escalation, and the current
@@ -130,8 +136,17 @@ public class AlarmNotifier {
             history.addSnapshot(snapshot);
     }
 
+    /** @return Name of the area that holds the item */
+    private static String getArea(final AlarmTreeItem item) {
+        AlarmTreeItem area = item;
+        while (area.getParent() != null
+                && !area.getPosition().equals(AlarmTreePosition.Area))
+            area = area.getParent();
+        return area.getName();
+    }
+
     private void handleAutomatedAction(PVSnapshot snapshot,
-            AlarmTreeItem aaItem, AADataStructure aa) {
+            AlarmTreeItem aaItem, AADataStructure aa, boolean flooded) {
         final ActionID naID = NotifierUtils.getActionID(aaItem, aa);
         AlarmHandler actionTask = workQueue.find(naID);
         if (actionTask != null) {
@@ -168,6 +183,14 @@ public class AlarmNotifier {
             if (debug) AlarmNotifierHistory.getInstance().addAction(newTask);
             return;
         }
+        // During an alarm flood, the server annunciates a summary for the area.
+        // Only schedule new actions with high priority, pending actions
+        // were updated above and will include the new alarms.
+        if (flooded && !workQueue.isAllowed(newTask)) {
+            Activator.getLogger().log(Level.INFO,
+                    "SUPPRESSED " + newTask.getInfos() + " during alarm flood");
+            return;
+        }
         if (!maintenanceMode
                 || (maintenanceMode && newTask.getPriority().equals(
                         EActionPriority.IMPORTANT))) {
@@ -180,6 +203,21 @@ public class AlarmNotifier {
         }
     }
 
+    /**
+     * Track areas with an alarm flood.
+     *
+     * @param area Name of area
+     * @param alarms Number of alarms since last update, 0 when flood ended
+     */
+    public void handleFloodUpdate(final String area, final int alarms) {
+        if (alarms > 0) {
+            if (floodedAreas.add(area))
+                Activator.getLogger().log(Level.WARNING, "Alarm flood in area " + area
+                        + ", only high priority actions are scheduled");
+        } else if (floodedAreas.remove(area))
+            Activator.getLogger().log(Level.INFO, "Alarm flood in area " + area + " ended");
+    }
+
     /**
      * Cancel all current running automated actions when a new configuration is
      * set.
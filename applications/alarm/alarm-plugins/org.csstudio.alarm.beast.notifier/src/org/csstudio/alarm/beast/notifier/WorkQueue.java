@@ -138,7 +138,7 @@ public class WorkQueue {
 
     // If overflow => schedule only Systems actions or PV with a severity
     // level higher or equal to the one defined as preference.
-    private boolean isAllowed(final AlarmHandler alarmHandler) {
+    boolean isAllowed(final AlarmHandler alarmHandler) {
         if (!alarmHandler.getItem().isPV()
                 || (alarmHandler.getItem().isPV() && alarmHandler.getPriority()
                         .compareTo(overflow_level) >= 0))
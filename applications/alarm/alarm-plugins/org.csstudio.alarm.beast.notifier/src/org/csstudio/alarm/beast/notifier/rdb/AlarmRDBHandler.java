@@ -9,12 +9,14 @@ package org.csstudio.alarm.beast.notifier.rdb;
 
 import java.util.logging.Level;
 
+import org.csstudio.alarm.beast.SeverityLevel;
 import org.csstudio.alarm.beast.TreeItem;
 import org.csstudio.alarm.beast.client.AlarmTreeItem;
 import org.csstudio.alarm.beast.client.AlarmTreePV;
 import org.csstudio.alarm.beast.notifier.Activator;
 import org.csstudio.alarm.beast.notifier.AlarmNotifier;
 import org.csstudio.alarm.beast.ui.clientmodel.AlarmClientModel;
+import org.csstudio.alarm.beast.ui.clientmodel.AlarmClientModelFloodListener;
 
 /**
  * Wrapper for alarm model.
@@ -22,7 +24,7 @@ import org.csstudio.alarm.beast.ui.clientmodel.AlarmClientModel;
  *
  */
 @SuppressWarnings("nls")
-public class AlarmRDBHandler implements IAlarmRDBHandler {
+public class AlarmRDBHandler implements IAlarmRDBHandler, AlarmClientModelFloodListener {
 
     /** Server for which we communicate */
     private AlarmNotifier notifier;
@@ -83,4 +85,10 @@ public class AlarmRDBHandler implements IAlarmRDBHandler {
         notifier.handleAlarmUpdate(pv);
     }
 
+    @Override
+    public void floodUpdate(AlarmClientModel model, String area, int alarms,
+            SeverityLevel severity) {
+        notifier.handleFloodUpdate(area, alarms);
+    }
+
 }
@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.alarm.beast.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.csstudio.alarm.beast.SeverityLevel;
+import org.junit.Test;
+
+/** JUnit test of the {@link AlarmEvaluationLanes}
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class AlarmEvaluationLanesUnitTest
+{
+    private AlarmPV createPV(final ServerTreeItem parent, final int id) throws Exception
+    {
+        final AlarmPV pv = new AlarmPV(null, parent, id, "pv" + id, "Test PV " + id,
+                true, false, false, 0, 0, 0, null,
+                SeverityLevel.OK, "", SeverityLevel.OK, "", "", Instant.now());
+        // Allow evaluations without connecting to the control system
+        pv.startEvaluation();
+        return pv;
+    }
+
+    private void awaitSeverity(final ServerTreeItem item, final SeverityLevel severity) throws Exception
+    {
+        final long end = System.currentTimeMillis() + 10000;
+        while (item.severity != severity  &&  System.currentTimeMillis() < end)
+            TimeUnit.MILLISECONDS.sleep(10);
+        assertEquals(severity, item.severity);
+    }
+
+    @Test
+    public void testOrderPerPV() throws Exception
+    {
+        final AlarmEvaluationLanes lanes = new AlarmEvaluationLanes(4);
+        final ServerTreeItem root = new ServerTreeItem(null, "root", 0, null);
+        final int PVS = 10, EVENTS = 1000;
+        final List<List<Integer>> received = new ArrayList<>();
+        final CountDownLatch done = new CountDownLatch(PVS * EVENTS);
+        for (int i=0; i<PVS; ++i)
+        {
+            final List<Integer> events = new ArrayList<>();
+            received.add(events);
+            final AlarmPV pv = createPV(root, i+1);
+            for (int e=0; e<EVENTS; ++e)
+            {
+                final int event = e;
+                lanes.execute(pv, () ->
+                {
+                    events.add(event);
+                    done.countDown();
+                });
+            }
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (List<Integer> events : received)
+        {
+            assertEquals(EVENTS, events.size());
+            for (int e=0; e<EVENTS; ++e)
+                assertEquals(e, events.get(e).intValue());
+        }
+        assertEquals(PVS * EVENTS, lanes.getProcessed());
+        lanes.dump(System.out);
+        lanes.shutdown();
+    }
+
+    @Test
+    public void testSeverityPropagation() throws Exception
+    {
+        final AlarmEvaluationLanes lanes = new AlarmEvaluationLanes(2);
+        final ServerTreeItem root = new ServerTreeItem(null, "root", 0, null);
+        final ServerTreeItem area = new ServerTreeItem(root, "area", 1, null);
+        final ServerTreeItem system = new ServerTreeItem(area, "system", 2, null);
+        final AlarmPV pv = createPV(system, 3);
+        createPV(system, 4);
+
+        pv.getAlarmLogic().computeNewState(new AlarmState(SeverityLevel.MAJOR, "Test", "42", Instant.now()));
+        lanes.maximizeSeverity(system);
+
+        final long end = System.currentTimeMillis() + 10000;
+        while (root.severity != SeverityLevel.MAJOR  &&  System.currentTimeMillis() < end)
+            TimeUnit.MILLISECONDS.sleep(10);
+        assertEquals(SeverityLevel.MAJOR, system.severity);
+        assertEquals(SeverityLevel.MAJOR, area.severity);
+        assertEquals(SeverityLevel.MAJOR, root.severity);
+        lanes.dump(System.out);
+        lanes.shutdown();
+    }
+
+    @Test
+    public void testSeverityChanged() throws Exception
+    {
+        final AlarmEvaluationLanes lanes = new AlarmEvaluationLanes(2);
+        final ServerTreeItem root = new ServerTreeItem(null, "root", 0, null);
+        final ServerTreeItem area = new ServerTreeItem(root, "area", 1, null);
+        final ServerTreeItem system = new ServerTreeItem(area, "system", 2, null);
+        final AlarmPV pv = createPV(system, 3);
+        final AlarmPV other = createPV(system, 4);
+
+        // Parents are updated right away
+        pv.getAlarmLogic().computeNewState(new AlarmState(SeverityLevel.MAJOR, "Test", "42", Instant.now()));
+        lanes.severityChanged(pv);
+        assertEquals(SeverityLevel.MAJOR, system.severity);
+        assertEquals(SeverityLevel.MAJOR, area.severity);
+        assertEquals(SeverityLevel.MAJOR, root.severity);
+
+        // Sibling in lower alarm doesn't change the maximum
+        other.getAlarmLogic().computeNewState(new AlarmState(SeverityLevel.MINOR, "Test", "1", Instant.now()));
+        lanes.severityChanged(other);
+        assertEquals(SeverityLevel.MINOR, other.counted_severity);
+        assertEquals(1, system.child_severities.getCount(SeverityLevel.MINOR));
+        assertEquals(SeverityLevel.MAJOR, system.severity);
+        assertEquals(SeverityLevel.MAJOR, root.severity);
+
+        // Latched alarm is acknowledged: Sibling determines the severity
+        pv.getAlarmLogic().computeNewState(new AlarmState(SeverityLevel.OK, "", "0", Instant.now()));
+        pv.getAlarmLogic().acknowledge(true);
+        lanes.severityChanged(pv);
+        assertEquals(SeverityLevel.MINOR, system.severity);
+        assertEquals(SeverityLevel.MINOR, root.severity);
+
+        // Disabled PV is no longer counted
+        other.getAlarmLogic().setEnabled(false);
+        lanes.severityChanged(other);
+        assertNull(other.counted_severity);
+        assertEquals(SeverityLevel.OK, root.severity);
+
+        // Full re-computation agrees with the counts
+        assertFalse(system.computeSeverity());
+        assertEquals(1, system.child_severities.getCount(SeverityLevel.OK));
+        assertEquals(0, system.child_severities.getCount(SeverityLevel.MINOR));
+        lanes.dump(System.out);
+        lanes.shutdown();
+    }
+
+    @Test
+    public void testStop() throws Exception
+    {
+        final AlarmEvaluationLanes lanes = new AlarmEvaluationLanes(1);
+        final ServerTreeItem root = new ServerTreeItem(null, "root", 0, null);
+        final AlarmPV pv = createPV(root, 1);
+        final AlarmPV other = createPV(root, 2);
+        final SeverityLevel initial = root.severity;
+
+        // Block the (only) lane with another PV while updates are queued
+        final CountDownLatch blocked = new CountDownLatch(1);
+        lanes.execute(other, () ->
+        {
+            try
+            {
+                blocked.await();
+            }
+            catch (InterruptedException ex)
+            {
+                // Ignore
+            }
+        });
+        final int UPDATES = 10;
+        for (int i=0; i<UPDATES; ++i)
+        {
+            final String value = Integer.toString(i);
+            lanes.execute(pv, () ->
+            {
+                pv.getAlarmLogic().computeNewState(new AlarmState(SeverityLevel.MAJOR, "Test", value, Instant.now()));
+                lanes.severityChanged(pv);
+            });
+        }
+
+        // Stop while updates are queued, then let the lane run
+        pv.stop();
+        blocked.countDown();
+        final long end = System.currentTimeMillis() + 10000;
+        while (lanes.getProcessed() < UPDATES + 1  &&  System.currentTimeMillis() < end)
+            TimeUnit.MILLISECONDS.sleep(10);
+        assertEquals(UPDATES + 1, lanes.getProcessed());
+
+        // Queued updates were skipped
+        assertEquals(SeverityLevel.OK, pv.getAlarmLogic().getAlarmState().getSeverity());
+        assertEquals(SeverityLevel.OK, pv.getAlarmLogic().getCurrentState().getSeverity());
+        assertNull(pv.counted_severity);
+        assertEquals(initial, root.severity);
+
+        // Updates queued after a re-start are handled
+        pv.startEvaluation();
+        lanes.execute(pv, () ->
+        {
+            pv.getAlarmLogic().computeNewState(new AlarmState(SeverityLevel.MAJOR, "Test", "42", Instant.now()));
+            lanes.severityChanged(pv);
+        });
+        awaitSeverity(root, SeverityLevel.MAJOR);
+        lanes.shutdown();
+    }
+}
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.alarm.beast.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.csstudio.alarm.beast.SeverityLevel;
+import org.junit.Test;
+
+/** JUnit test of the AlarmFloodDetector
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class AlarmFloodDetectorUnitTest implements AlarmFloodHandler
+{
+    private final List<String> events = new ArrayList<>();
+
+    @Override
+    public void floodSummary(final String area, final int alarms, final SeverityLevel severity)
+    {
+        final String event = alarms + " alarms in " + area + ", " + severity;
+        System.out.println(event);
+        events.add(event);
+    }
+
+    @Override
+    public void floodEnded(final String area)
+    {
+        final String event = "Flood in " + area + " ended";
+        System.out.println(event);
+        events.add(event);
+    }
+
+    @Test
+    public void testFlood()
+    {
+        final AlarmFloodDetector detector = new AlarmFloodDetector(3, 1000, this);
+        long now = 10000;
+
+        // Up to the threshold, alarms are annunciated
+        for (int i=0; i<3; ++i)
+            assertTrue(detector.alarm("Area1", SeverityLevel.MINOR, now += 10));
+        assertFalse(detector.isFlooded("Area1"));
+        assertEquals(0, events.size());
+
+        // Next alarm starts flood, with summary of all alarms in window
+        assertFalse(detector.alarm("Area1", SeverityLevel.MINOR, now += 10));
+        assertTrue(detector.isFlooded("Area1"));
+        assertEquals("4 alarms in Area1, MINOR", events.get(0));
+
+        // Other areas are not affected
+        assertTrue(detector.alarm("Area2", SeverityLevel.MAJOR, now));
+
+        // Further alarms are suppressed
+        assertFalse(detector.alarm("Area1", SeverityLevel.MAJOR, now += 10));
+        assertFalse(detector.alarm("Area1", SeverityLevel.MINOR, now += 10));
+        // .. and summarized once per window
+        detector.check(now);
+        assertEquals(1, events.size());
+        now += 900;
+        for (int i=0; i<3; ++i)
+            assertFalse(detector.alarm("Area1", SeverityLevel.MINOR, now += 10));
+        detector.check(now += 100);
+        assertTrue(detector.isFlooded("Area1"));
+        assertEquals("5 alarms in Area1, MAJOR", events.get(1));
+
+        // No further alarms: Flood ends
+        detector.check(now += 1000);
+        assertFalse(detector.isFlooded("Area1"));
+        assertEquals("Flood in Area1 ended", events.get(2));
+        assertEquals(3, events.size());
+
+        // Back to normal
+        assertTrue(detector.alarm("Area1", SeverityLevel.MINOR, now += 10));
+    }
+}
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.alarm.beast.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.csstudio.alarm.beast.SeverityLevel;
+import org.csstudio.alarm.beast.server.AlarmServer.Update;
+import org.junit.Test;
+
+/** JUnit test of the {@link AlarmStatePersistence}
+ *
+ *  <p>Writes to a test writer instead of the RDB.
+ *  The test calls flush() instead of waiting for the persistence thread.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class AlarmStatePersistenceUnitTest
+{
+    /** Writer that fails while 'fail' is set, remembering the last value written for each PV */
+    private static class TestWriter implements AlarmStateWriter
+    {
+        boolean fail = false;
+        final Map<String, String> states = new HashMap<>();
+        final Map<String, String> globals = new HashMap<>();
+        int writes = 0;
+
+        @Override
+        public void persistAllStates(final Collection<Update> updates, final int batchSize) throws Exception
+        {
+            write(states, updates);
+        }
+
+        @Override
+        public void persistGlobalUpdates(final Collection<Update> updates, final int batchSize) throws Exception
+        {
+            write(globals, updates);
+        }
+
+        private void write(final Map<String, String> written, final Collection<Update> updates) throws Exception
+        {
+            if (fail)
+                throw new Exception("Test RDB is down");
+            ++writes;
+            for (Update update : updates)
+                written.put(update.pv.getName(), update.value);
+        }
+    }
+
+    private final ServerTreeItem root = new ServerTreeItem(null, "root", 0, null);
+
+    private AlarmPV createPV(final int id) throws Exception
+    {
+        return new AlarmPV(null, root, id, "pv" + id, "Test PV " + id,
+                true, false, false, 0, 0, 0, null,
+                SeverityLevel.OK, "", SeverityLevel.OK, "", "", Instant.now());
+    }
+
+    private static Update update(final AlarmPV pv, final String value)
+    {
+        return new Update(pv, SeverityLevel.MAJOR, "HIHI", SeverityLevel.MAJOR, "HIHI", value, Instant.now());
+    }
+
+    /** @param writer Writer
+     *  @param journal Journal file or <code>null</code>
+     *  @return Persistence that only writes when the test calls flush()
+     */
+    private static AlarmStatePersistence createPersistence(final TestWriter writer, final File journal)
+    {
+        return new AlarmStatePersistence(null, writer, TimeUnit.HOURS.toMillis(1), 100, journal);
+    }
+
+    @Test
+    public void testRequeue() throws Exception
+    {
+        final AlarmPV pv1 = createPV(1), pv2 = createPV(2);
+        final TestWriter writer = new TestWriter();
+        final AlarmStatePersistence persistence = createPersistence(writer, null);
+
+        // Failed update is queued again
+        writer.fail = true;
+        persistence.queueState(update(pv1, "1"));
+        persistence.flush();
+        assertTrue(writer.states.isEmpty());
+
+        // .. but newer update replaces it
+        persistence.queueState(update(pv1, "2"));
+        persistence.queueState(update(pv2, "A"));
+        persistence.queueGlobal(update(pv1, "G"));
+        writer.fail = false;
+        persistence.flush();
+        assertEquals(2, writer.states.size());
+        assertEquals("2", writer.states.get("pv1"));
+        assertEquals("A", writer.states.get("pv2"));
+        assertEquals("G", writer.globals.get("pv1"));
+
+        // Update that fails while there is no newer one is written later
+        writer.fail = true;
+        persistence.queueState(update(pv2, "B"));
+        persistence.flush();
+        writer.fail = false;
+        persistence.flush();
+        assertEquals("B", writer.states.get("pv2"));
+
+        // Nothing left to write
+        final int writes = writer.writes;
+        persistence.flush();
+        assertEquals(writes, writer.writes);
+        persistence.close();
+    }
+
+    @Test
+    public void testJournal() throws Exception
+    {
+        final AlarmPV pv1 = createPV(1), pv2 = createPV(2), pv3 = createPV(3);
+        final Map<String, AlarmPV> pvs = new HashMap<>();
+        pvs.put(pv1.getName(), pv1);
+        pvs.put(pv2.getName(), pv2);
+        pvs.put(pv3.getName(), pv3);
+
+        final File journal = File.createTempFile("alarm_state_journal", ".dat");
+        journal.delete();
+        journal.deleteOnExit();
+
+        // Failed updates are saved in the journal
+        TestWriter writer = new TestWriter();
+        writer.fail = true;
+        AlarmStatePersistence persistence = createPersistence(writer, journal);
+        persistence.queueState(update(pv1, "1"));
+        persistence.queueState(update(pv2, "A"));
+        persistence.queueGlobal(update(pv3, "G"));
+        persistence.flush();
+        assertTrue(journal.exists());
+        final long initial_size = journal.length();
+
+        // Failing again doesn't re-write the journal
+        persistence.flush();
+        assertEquals(initial_size, journal.length());
+
+        // New update is appended
+        persistence.queueState(update(pv1, "2"));
+        persistence.flush();
+        final long appended = journal.length() - initial_size;
+        assertTrue(appended > 0);
+        assertTrue(appended < initial_size / 2);
+        persistence.close();
+        assertEquals(initial_size + appended, journal.length());
+
+        // After restart, the last journaled update of each PV is written,
+        // unless there is a newer one
+        writer = new TestWriter();
+        persistence = createPersistence(writer, journal);
+        persistence.queueState(update(pv2, "B"));
+        persistence.readJournal(pvs::get);
+        persistence.flush();
+        assertEquals(2, writer.states.size());
+        assertEquals("2", writer.states.get("pv1"));
+        assertEquals("B", writer.states.get("pv2"));
+        assertEquals("G", writer.globals.get("pv3"));
+
+        // Journal is removed once its updates have been written
+        assertFalse(journal.exists());
+        persistence.close();
+    }
+}
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.alarm.beast.server;
+
+import static org.csstudio.alarm.beast.server.Activator.logger;
+
+import java.io.PrintStream;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+import org.csstudio.alarm.beast.SeverityLevel;
+import org.csstudio.alarm.beast.TreeItem;
+
+/** Striped evaluation of alarm PVs
+ *
+ *  <p>Value updates, disconnects, filter changes and acknowledgements
+ *  of an {@link AlarmPV} are handled on one of several lanes,
+ *  selected by the PV's ID.
+ *  All events for one PV are thus processed in order on the same lane,
+ *  while different PVs are evaluated in parallel.
+ *
+ *  <p>The resulting change of severities up the alarm tree
+ *  is handled right away on the lane of the PV.
+ *  Each {@link ServerTreeItem} keeps {@link org.csstudio.alarm.beast.SeverityCounts} of its children,
+ *  so a child change is handled in constant time without iterating over all siblings,
+ *  and the change only propagates further up if the maximum
+ *  severity of the parent actually changed.
+ *  Lanes lock one parent item at a time while updating its counts.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class AlarmEvaluationLanes
+{
+    /** One lane: Single thread with queue and counters */
+    private static class Lane
+    {
+        final ThreadPoolExecutor executor;
+        final AtomicLong processed = new AtomicLong();
+        final AtomicLong max_queued = new AtomicLong();
+
+        Lane(final int index)
+        {
+            executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                                              new LinkedBlockingQueue<>(),
+                                              target ->
+            {
+                final Thread thread = new Thread(target, "AlarmLane" + index);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        void execute(final Runnable task)
+        {
+            executor.execute(() ->
+            {
+                try
+                {
+                    task.run();
+                }
+                catch (Throwable ex)
+                {
+                    logger.log(Level.WARNING, "Alarm evaluation error", ex);
+                }
+                processed.incrementAndGet();
+            });
+            final long queued = executor.getQueue().size();
+            long max = max_queued.get();
+            while (queued > max  &&  !max_queued.compareAndSet(max, queued))
+                max = max_queued.get();
+        }
+    }
+
+    final private Lane[] lanes;
+
+    /** Number of parent updates and of parents that changed their severity */
+    final private AtomicLong parent_updates = new AtomicLong(), parent_changes = new AtomicLong();
+
+    /** @param lane_count Number of lanes, 0 to use one per CPU core */
+    public AlarmEvaluationLanes(int lane_count)
+    {
+        if (lane_count <= 0)
+            lane_count = Runtime.getRuntime().availableProcessors();
+        lanes = new Lane[lane_count];
+        for (int i=0; i<lane_count; ++i)
+            lanes[i] = new Lane(i);
+        logger.log(Level.CONFIG, "Alarm evaluation uses {0} lanes", lane_count);
+    }
+
+    /** @return Number of lanes */
+    public int getLaneCount()
+    {
+        return lanes.length;
+    }
+
+    /** Evaluate something for a PV on its lane
+     *
+     *  <p>The task is skipped if the PV is stopped
+     *  before the task is executed.
+     *
+     *  @param pv PV that selects the lane
+     *  @param task Task to run
+     */
+    public void execute(final AlarmPV pv, final Runnable task)
+    {
+        final int generation = pv.getEvaluationGeneration();
+        lanes[Math.floorMod(pv.getID(), lanes.length)].execute(() -> pv.runEvaluation(generation, task));
+    }
+
+    /** Re-compute severity of an item from all its children, then update its parents
+     *  @param item Item that needs to re-compute its severity
+     */
+    public void maximizeSeverity(final ServerTreeItem item)
+    {
+        if (item.computeSeverity())
+        {
+            item.updateSeverityPV();
+            severityChanged(item);
+        }
+    }
+
+    /** Update the parent severities
+     *
+     *  <p>Called on the lane of a PV after its alarm state or enablement changed.
+     *  Updates the severity counts of the parent, then its parent, ...
+     *  as long as the maximum severity of a parent changes.
+     *
+     *  @param item {@link AlarmPV} or {@link ServerTreeItem} that changed its severity or enablement
+     */
+    public void severityChanged(TreeItem item)
+    {
+        TreeItem parent_item = item.getParent();
+        while (parent_item instanceof ServerTreeItem)
+        {
+            final ServerTreeItem parent = (ServerTreeItem) parent_item;
+            parent_updates.incrementAndGet();
+            synchronized (parent)
+            {
+                if (! parent.updateChild(item))
+                    return;
+                parent.updateSeverityPV();
+            }
+            parent_changes.incrementAndGet();
+            item = parent;
+            parent_item = item.getParent();
+        }
+    }
+
+    /** @return Total number of PV events processed by all lanes */
+    public long getProcessed()
+    {
+        long sum = 0;
+        for (Lane lane : lanes)
+            sum += lane.processed.get();
+        return sum;
+    }
+
+    /** @return Number of PV events currently queued on all lanes */
+    public int getQueued()
+    {
+        int sum = 0;
+        for (Lane lane : lanes)
+            sum += lane.executor.getQueue().size();
+        return sum;
+    }
+
+    /** Print lane statistics
+     *  @param out {@link PrintStream}
+     */
+    public void dump(final PrintStream out)
+    {
+        out.println("Alarm evaluation lanes:");
+        for (int i=0; i<lanes.length; ++i)
+            out.format("Lane %2d: %10d processed, %6d queued, %6d max. queued\n",
+                       i, lanes[i].processed.get(), lanes[i].executor.getQueue().size(), lanes[i].max_queued.get());
+        out.format("Severity propagation: %d parent updates, %d changed\n",
+                   parent_updates.get(), parent_changes.get());
+    }
+
+    /** Stop lane threads */
+    public void shutdown()
+    {
+        for (Lane lane : lanes)
+            lane.executor.shutdown();
+    }
+}
@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.alarm.beast.server;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.csstudio.alarm.beast.SeverityLevel;
+import org.csstudio.alarm.beast.TreeItem;
+
+/** Detect alarm floods per area
+ *
+ *  <p>Tracks the times of new alarms in each area
+ *  over a sliding window.
+ *  When more than the threshold number of alarms occur within the window,
+ *  the area is considered flooded:
+ *  Individual alarms are no longer annunciated,
+ *  instead the {@link AlarmFloodHandler} receives one summary
+ *  per window period.
+ *  The flood ends when the number of alarms in the window
+ *  drops to half the threshold.
+ *
+ *  @author agent
+ */
+public class AlarmFloodDetector
+{
+    /** Alarm info for one area */
+    private static class Area
+    {
+        /** Times of recent alarms, oldest first */
+        final ArrayDeque<Long> times = new ArrayDeque<>();
+
+        boolean flooded = false;
+
+        /** Alarms since last summary */
+        int suppressed = 0;
+
+        /** Highest severity of suppressed alarms */
+        SeverityLevel severity = SeverityLevel.OK;
+
+        /** Time of last summary */
+        long last_summary = 0;
+    }
+
+    final private int threshold;
+    final private long window_ms;
+    final private AlarmFloodHandler handler;
+
+    /** Areas by name */
+    final private Map<String, Area> areas = new HashMap<>();
+
+    /** Initialize
+     *  @param threshold Number of alarms within the window that start a flood
+     *  @param window_ms Duration of the sliding window in milliseconds
+     *  @param handler Who to notify
+     */
+    public AlarmFloodDetector(final int threshold, final long window_ms, final AlarmFloodHandler handler)
+    {
+        this.threshold = threshold;
+        this.window_ms = window_ms;
+        this.handler = handler;
+    }
+
+    /** @param pv Alarm PV
+     *  @return Name of the area, i.e. the element below the root, that holds the PV
+     */
+    public static String getArea(final AlarmPV pv)
+    {
+        TreeItem item = pv.getParent();
+        if (item == null)
+            return pv.getName();
+        while (item.getParent() != null  &&  item.getParent().getParent() != null)
+            item = item.getParent();
+        return item.getName();
+    }
+
+    /** Register a new alarm
+     *  @param area Name of area
+     *  @param severity Severity of the alarm
+     *  @param now Current time in milliseconds
+     *  @return <code>true</code> if alarm should be annunciated,
+     *          <code>false</code> if it's part of a flood
+     */
+    public boolean alarm(final String area, final SeverityLevel severity, final long now)
+    {
+        boolean start = false;
+        int count;
+        synchronized (this)
+        {
+            final Area info = areas.computeIfAbsent(area, name -> new Area());
+            prune(info, now);
+            info.times.add(now);
+            if (! info.flooded)
+            {
+                if (info.times.size() <= threshold)
+                    return true;
+                // Start of flood: Summarize alarms in window
+                info.flooded = true;
+                info.last_summary = now;
+                info.suppressed = 0;
+                info.severity = SeverityLevel.OK;
+                start = true;
+            }
+            else
+            {
+                ++info.suppressed;
+                if (severity.ordinal() > info.severity.ordinal())
+                    info.severity = severity;
+            }
+            count = info.times.size();
+        }
+        if (start)
+            handler.floodSummary(area, count, severity);
+        return false;
+    }
+
+    /** Check for pending summaries and flood ends.
+     *  To be called periodically.
+     *  @param now Current time in milliseconds
+     */
+    public void check(final long now)
+    {
+        final Map<String, Area> summaries = new HashMap<>();
+        final List<String> ended = new ArrayList<>();
+        synchronized (this)
+        {
+            final Iterator<Map.Entry<String, Area>> iter = areas.entrySet().iterator();
+            while (iter.hasNext())
+            {
+                final Map.Entry<String, Area> entry = iter.next();
+                final Area info = entry.getValue();
+                prune(info, now);
+                if (! info.flooded)
+                {
+                    if (info.times.isEmpty())
+                        iter.remove();
+                    continue;
+                }
+                final boolean end = info.times.size() <= threshold / 2;
+                if (info.suppressed > 0  &&  (end  ||  now - info.last_summary >= window_ms))
+                {
+                    final Area summary = new Area();
+                    summary.suppressed = info.suppressed;
+                    summary.severity = info.severity;
+                    summaries.put(entry.getKey(), summary);
+                    info.last_summary = now;
+                    info.suppressed = 0;
+                    info.severity = SeverityLevel.OK;
+                }
+                if (end)
+                {
+                    info.flooded = false;
+                    ended.add(entry.getKey());
+                }
+            }
+        }
+        // Notify outside of lock
+        for (Map.Entry<String, Area> entry : summaries.entrySet())
+            handler.floodSummary(entry.getKey(), entry.getValue().suppressed, entry.getValue().severity);
+        for (String area : ended)
+            handler.floodEnded(area);
+    }
+
+    /** @param area Name of area
+     *  @return <code>true</code> if area is currently flooded
+     */
+    public synchronized boolean isFlooded(final String area)
+    {
+        final Area info = areas.get(area);
+        return info != null  &&  info.flooded;
+    }
+
+    /** Remove alarm times that are outside of the window */
+    private void prune(final Area info, final long now)
+    {
+        final long oldest = now - window_ms;
+        while (! info.times.isEmpty()  &&  info.times.peekFirst() <= oldest)
+            info.times.removeFirst();
+    }
+}
@@ -0,0 +1,30 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.alarm.beast.server;
+
+import org.csstudio.alarm.beast.SeverityLevel;
+
+/** Interface used by {@link AlarmFloodDetector}
+ *  to send summaries for areas with an alarm flood
+ *
+ *  @author agent
+ */
+public interface AlarmFloodHandler
+{
+    /** Invoked when an area is flooded, then periodically while the flood persists
+     *  @param area Name of area
+     *  @param alarms Number of alarms since the last summary
+     *  @param severity Highest severity of those alarms
+     */
+    public void floodSummary(String area, int alarms, SeverityLevel severity);
+
+    /** Invoked when the alarm rate of an area dropped back down
+     *  @param area Name of area
+     */
+    public void floodEnded(String area);
+}
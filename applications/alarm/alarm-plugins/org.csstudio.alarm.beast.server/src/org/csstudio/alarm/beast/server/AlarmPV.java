@@ -54,6 +54,23 @@ public class AlarmPV extends TreeItem implements AlarmLogicListener, FilterListe
     /** Started when pv is created to check if it ever connects */
     private transient TimerTask connection_timeout_task = null;
 
+    /** Severity of this PV as counted by the parent, <code>null</code> when not counted.
+     *  Guarded by the parent item
+     */
+    transient SeverityLevel counted_severity = null;
+
+    /** Lock for the evaluation state, held while an evaluation runs */
+    final private transient Object evaluation_lock = new Object();
+
+    /** Is the PV started, so evaluations on its lane should run? */
+    private transient boolean evaluating = false;
+
+    /** Incremented by each start and stop, only while holding the <code>evaluation_lock</code>.
+     *  Evaluations queued before a stop are skipped,
+     *  even when the PV has been re-started by the time they are executed.
+     */
+    private volatile transient int evaluation_generation = 0;
+
     /** Filter that might be used to compute 'enabled' state;
      *  can be <code>null</code>
      */
@@ -156,6 +173,7 @@ public class AlarmPV extends TreeItem implements AlarmLogicListener, FilterListe
     /** Connect to control system */
     public void start() throws Exception
     {
+        startEvaluation();
         if (logic.isEnabled())
         {
             logger.log(Level.INFO, "Start {0}", getPathName());
@@ -196,13 +214,14 @@ public class AlarmPV extends TreeItem implements AlarmLogicListener, FilterListe
         else
             logger.log(Level.INFO, "Skipping disabled {0}", getPathName());
 
-        getParent().maximizeSeverity();
+        maximizeParentSeverity();
     }
 
     /** Disconnect from control system */
     public void stop()
     {
         logger.log(Level.INFO, "Stop {0}", getPathName());
+        stopEvaluation();
         final PV save_pv = pv.getAndSet(null);
 
         //the alarm pv has been stopped already
@@ -229,6 +248,67 @@ public class AlarmPV extends TreeItem implements AlarmLogicListener, FilterListe
         is_connected = false;
     }
 
+    /** Allow evaluations on the lane of this PV */
+    void startEvaluation()
+    {
+        synchronized (evaluation_lock)
+        {
+            evaluating = true;
+            ++evaluation_generation;
+        }
+    }
+
+    /** Skip all evaluations that are still queued on the lane of this PV.
+     *  Waits for an evaluation that is currently running.
+     */
+    void stopEvaluation()
+    {
+        synchronized (evaluation_lock)
+        {
+            evaluating = false;
+            ++evaluation_generation;
+        }
+    }
+
+    /** @return Current generation of start/stop, to be passed to {@link #runEvaluation(int, Runnable)} */
+    int getEvaluationGeneration()
+    {
+        return evaluation_generation;
+    }
+
+    /** Run an evaluation unless the PV was stopped since the evaluation was queued
+     *  @param generation Generation of start/stop when the evaluation was queued
+     *  @param task Evaluation to run
+     */
+    void runEvaluation(final int generation, final Runnable task)
+    {
+        synchronized (evaluation_lock)
+        {
+            if (evaluating  &&  generation == evaluation_generation)
+                task.run();
+        }
+    }
+
+    /** Evaluate alarm logic on the lane of this PV
+     *  @param task Task to run, directly if there is no server (JUnit test)
+     */
+    private void evaluate(final Runnable task)
+    {
+        if (server == null)
+            task.run();
+        else
+            server.getEvaluationLanes().execute(this, task);
+    }
+
+    /** Update severity up the alarm tree on the lane of this PV */
+    void maximizeParentSeverity()
+    {
+        if (server == null)
+            getParent().maximizeSeverity();
+        else
+            server.getEvaluationLanes().severityChanged(this);
+    }
+
     /** @return <code>true</code> if PV is connected */
     public boolean isConnected()
     {
@@ -241,7 +321,12 @@ public class AlarmPV extends TreeItem implements AlarmLogicListener, FilterListe
     {
         final boolean new_enable_state = value > 0.0;
         logger.log(Level.FINE, () -> getPathName() + " " + filter + " value " + value);
-        logic.setEnabled(new_enable_state);
+        evaluate(() ->
+        {
+            logic.setEnabled(new_enable_state);
+            // Disabled PVs are not included in the parent severity
+            maximizeParentSeverity();
+        });
     }
 
     /** Invoked by <code>connection_timer</code> when PV fails to connect
@@ -251,8 +336,11 @@ public class AlarmPV extends TreeItem implements AlarmLogicListener, FilterListe
     {
         final AlarmState received = new AlarmState(SeverityLevel.UNDEFINED,
             Messages.AlarmMessageNotConnected, "", Instant.now());
-        logic.computeNewState(received);
-        logger.log(Level.INFO, () -> getPathName() + " connection timed out -> " + logic);
+        evaluate(() ->
+        {
+            logic.computeNewState(received);
+            logger.log(Level.INFO, () -> getPathName() + " connection timed out -> " + logic);
+        });
     }
 
     /** @see PVListener */
@@ -268,17 +356,26 @@ public class AlarmPV extends TreeItem implements AlarmLogicListener, FilterListe
     {
         final AlarmState received = new AlarmState(SeverityLevel.UNDEFINED,
                 Messages.AlarmMessageDisconnected, "", Instant.now());
-        logic.computeNewState(received);
-        logger.log(Level.INFO, () -> getPathName() + " disconnected -> " + logic);
+        evaluate(() ->
+        {
+            logic.computeNewState(received);
+            logger.log(Level.INFO, () -> getPathName() + " disconnected -> " + logic);
 
-        getParent().maximizeSeverity();
+            maximizeParentSeverity();
+        });
     }
 
     /** @see PVListener */
     @Override
     public void valueChanged(final PV pv, final VType value)
-    {   // Inspect alarm state of received value
+    {
         is_connected = true;
+        evaluate(() -> handleValue(value));
+    }
+
+    /** @param value Received value, to be inspected for its alarm state */
+    private void handleValue(final VType value)
+    {   // Inspect alarm state of received value
         final SeverityLevel new_severity = VTypeHelper.decodeSeverity(value);
         final String new_message = VTypeHelper.getStatusMessage(value);
         final AlarmState received = new AlarmState(new_severity, new_message,
@@ -293,7 +390,20 @@ public class AlarmPV extends TreeItem implements AlarmLogicListener, FilterListe
             return;
 
         // Whenever logic computes new state, maximize up parent tree
-        getParent().maximizeSeverity();
+        maximizeParentSeverity();
+    }
+
+    /** Acknowledge or un-acknowledge on the lane of this PV
+     *  @param acknowledge Acknowledge, or un-acknowledge?
+     */
+    void acknowledge(final boolean acknowledge)
+    {
+        evaluate(() ->
+        {
+            logic.acknowledge(acknowledge);
+            // Likely changed the state, maximize up parent tree
+            maximizeParentSeverity();
+        });
     }
 
     /** AlarmLogicListener: {@inheritDoc} */
@@ -323,7 +433,7 @@ public class AlarmPV extends TreeItem implements AlarmLogicListener, FilterListe
         final String message = AnnunciationFormatter.format(description, level.getDisplayName(), value);
 
         if (server != null)
-            server.sendAnnunciation(level, message);
+            server.annunciateAlarm(this, level, message);
     }
 
     /** AlarmLogicListener: {@inheritDoc} */
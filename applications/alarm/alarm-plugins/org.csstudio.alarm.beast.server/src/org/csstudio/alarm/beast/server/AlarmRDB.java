@@ -13,15 +13,21 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.logging.Level;
 
+import org.csstudio.alarm.beast.Preferences;
 import org.csstudio.alarm.beast.SQL;
 import org.csstudio.alarm.beast.SeverityLevel;
 import org.csstudio.alarm.beast.TimestampHelper;
+import org.csstudio.alarm.beast.client.AADataStructure;
+import org.csstudio.alarm.beast.client.AlarmConfigurationBulkReader;
+import org.csstudio.alarm.beast.client.AlarmConfigurationSnapshot;
 import org.csstudio.alarm.beast.server.AlarmServer.Update;
 import org.csstudio.platform.utility.rdb.RDBUtil;
 
@@ -31,7 +37,7 @@ import org.csstudio.platform.utility.rdb.RDBUtil;
  *  @author Jaka Bobnar - RDB batching
  */
 @SuppressWarnings("nls")
-public class AlarmRDB
+public class AlarmRDB implements AlarmStateWriter
 {
     /** Automated action prefix for severity PV */
     private static final String SEVRPV = "sevrpv:";
@@ -39,14 +45,23 @@ public class AlarmRDB
     /** Alarm Server */
     final private AlarmServer server;
 
-    /** Connection to storage for configuration/state */
+    /** Connection to storage for configuration */
     final private RDBUtil rdb;
 
+    /** Separate connection for persisting alarm states.
+     *  While the RDB is unavailable, state persistence may block for a long time,
+     *  and it must not block configuration and enablement updates.
+     */
+    final private RDBUtil state_rdb;
+
+    /** Lock for persisting alarm states, guards state_rdb, state_connection and its statements */
+    final private Object state_lock = new Object();
+
     /** RDB SQL statements */
     final private SQL sql;
 
-    /** RDB connection. Used to check if the RDB reconnected */
-    private Connection connection;
+    /** State RDB connection. Used to check if the RDB reconnected */
+    private Connection state_connection;
 
     final private String root_name;
 
@@ -56,7 +71,24 @@ public class AlarmRDB
     /** Map of message strings and IDs in RDB */
     final private MessageMapping message_mapping;
 
-    /** Lazily (re-)created statement for updating the alarm state of a PV */
+    /** Map of message strings and IDs for persisting alarm states, using state_rdb */
+    final private MessageMapping state_message_mapping;
+
+    /** Number of PV states updated by one statement */
+    private static final int STATE_ROWS = 50;
+
+    /** Parameters per row of the PV state update */
+    private static final int STATE_PARAMS = 7;
+
+    /** IDs and values for updating the state of one PV */
+    private static class StateRow
+    {
+        int id, current_severity_id, current_message_id, severity_id, message_id;
+        String value;
+        Timestamp time;
+    }
+
+    /** Lazily (re-)created statement for updating the alarm state of STATE_ROWS PVs */
     private PreparedStatement updateStateStatement;
 
     /** Lazily (re-)created statement for updating the global alarm state of a PV */
@@ -69,7 +101,8 @@ public class AlarmRDB
         this.server = server;
         rdb = RDBUtil.connect(url, user, password, true);
         sql = new SQL(rdb, schema);
-        connection = rdb.getConnection();
+        state_rdb = RDBUtil.connect(url, user, password, true);
+        state_connection = state_rdb.getConnection();
         this.root_name = root_name;
         // Disable auto-reconnect: Slightly faster, and we just connected OK.
         rdb.setAutoReconnect(false);
@@ -77,6 +110,7 @@ public class AlarmRDB
         {
             severity_mapping = new SeverityMapping(rdb, sql);
             message_mapping = new MessageMapping(rdb, sql);
+            state_message_mapping = new MessageMapping(state_rdb, sql);
         }
         finally
         {
@@ -88,44 +122,20 @@ public class AlarmRDB
      *  @return Root element of the alarm tree hierarchy
      *  @throws Exception on error
      */
-    public ServerTreeItem readConfiguration() throws Exception
+    public synchronized ServerTreeItem readConfiguration() throws Exception
     {
         final Connection conn = rdb.getConnection();
         // Disabling the auto-reconnect is about 15% faster, and we don't
         // expect a timeout while we read the configuration.
         rdb.setAutoReconnect(false);
 
-        final PreparedStatement statement =
-            conn.prepareStatement(sql.sel_configuration_by_name);
-
-        // Get root element
-        final ServerTreeItem root;
-        try
-        {
-            statement.setString(1, root_name);
-            final ResultSet result = statement.executeQuery();
-            if (!result.next())
-                throw new Exception("Unknown alarm tree root " + root_name);
-            final int id = result.getInt(1);
-            result.close();
-            root = new ServerTreeItem(null, root_name, id, null);
-        }
-        finally
-        {
-            statement.close();
-        }
-
-        // Fetch children
-        final PreparedStatement sel_items_by_parent =
-            conn.prepareStatement(sql.sel_items_by_parent);
-        try
-        {
-            readChildren(root, sel_items_by_parent);
-        }
-        finally
-        {
-            sel_items_by_parent.close();
-        }
+        // Read complete configuration and alarm state in bulk
+        final AlarmConfigurationSnapshot snapshot =
+            new AlarmConfigurationBulkReader(rdb, sql, Preferences.getConfigCacheDirectory()).read(root_name);
+        if (snapshot == null)
+            throw new Exception("Unknown alarm tree root " + root_name);
+        final ServerTreeItem root = new ServerTreeItem(null, root_name, snapshot.getRoot().getID(), null);
+        addChildren(root, snapshot.getRoot(), snapshot, AlarmServerPreferences.getGlobalAlarmDelay());
 
         // In transactional mode (Connection.setAutoCommit(false)),
         // even SELECTs needed a commit() to end the transaction.
@@ -147,139 +157,91 @@ public class AlarmRDB
         return root;
     }
 
-    /** Read alarm tree hierarchy
+    /** Create alarm tree hierarchy
      *  @param parent Parent entry
-     *  @param sel_items_by_parent Prepared statement for fetching child elements
+     *  @param config Configuration of the parent entry
+     *  @param snapshot Configuration snapshot with PV states
+     *  @param global_delay Global alarm delay
      *  @throws Exception on error
      */
-    private void readChildren(final ServerTreeItem parent, final PreparedStatement sel_items_by_parent) throws Exception
+    private void addChildren(final ServerTreeItem parent,
+                             final AlarmConfigurationSnapshot.Item config,
+                             final AlarmConfigurationSnapshot snapshot,
+                             final int global_delay) throws Exception
     {
-        final PreparedStatement sel_actions = connection.prepareStatement(sql.sel_auto_actions_by_id);
-        final List<ServerTreeItem> recurse_items = new ArrayList<>();
-
-        sel_items_by_parent.setInt(1, parent.getID());
-        final ResultSet result = sel_items_by_parent.executeQuery();
-        try
+        for (AlarmConfigurationSnapshot.Item item : config.getChildren())
         {
-            while (result.next())
+            final int id = item.getID();
+            final String name = item.getName();
+            if (name == null)
+                throw new Exception("NULL component Name");
+            if (! item.isPV())
             {
-                final int id = result.getInt(1);
-                if (result.wasNull())
-                    throw new Exception("NULL component ID");
-                final String name = result.getString(17);
-                if (result.wasNull())
-                    throw new Exception("NULL component Name");
-                // Ignoring config. time from result.getTimestamp(2)
-
-                // Check PV's ID. If null, this is a component, not PV
-                final int pv_id = result.getInt(3);
-                if (result.wasNull())
+                // Check automated action 'sevrpv:' ...
+                String severity_pv = null;
+                for (AADataStructure aa : item.getAutomatedActions())
                 {
-                    // Check automated action 'sevrpv:' ...
-                    String severity_pv = null;
-                    sel_actions.setInt(1, id);
-                    try
-                    (
-                        final ResultSet act_res = sel_actions.executeQuery();
-                    )
+                    final String action = aa.getDetails();
+                    if (action != null  &&  action.startsWith(SEVRPV))
                     {
-                        while (act_res.next())
-                        {
-                            final String action = act_res.getString(2);
-                            if (action.startsWith(SEVRPV))
-                            {
-                                final String pv_name = action.substring(SEVRPV.length());
-                                if (severity_pv != null)
-                                    logger.log(Level.WARNING, "Multiple severity PVs for '" + name + "', '" +
-                                               severity_pv + "' as well as '" + pv_name + "'");
-                                severity_pv = pv_name;
-                            }
-                        }
+                        final String pv_name = action.substring(SEVRPV.length());
+                        if (severity_pv != null)
+                            logger.log(Level.WARNING, "Multiple severity PVs for '" + name + "', '" +
+                                       severity_pv + "' as well as '" + pv_name + "'");
+                        severity_pv = pv_name;
                     }
-
-                    final ServerTreeItem child = new ServerTreeItem(parent, name, id, severity_pv);
-                    recurse_items.add(child);
-                }
-                else
-                {   // Handle PV
-                    if (id != pv_id)
-                        throw new Exception("Internal RDB error: Item '" + name + "' as ID " + id + " but also PV ID " + pv_id);
-                    // Easy results
-                    String description = result.getString(4);
-                    // Description should not be empty
-                    if (result.wasNull() || description == null || description.length() <= 0)
-                        description = name;
-                    // Default to most features turned 'on'
-                    boolean enabled = result.getBoolean(5);
-                    if (result.wasNull())
-                        enabled = true;
-                    boolean annunciate = result.getBoolean(6);
-                    if (result.wasNull())
-                        annunciate = true;
-                    boolean latch = result.getBoolean(7);
-                    if (result.wasNull())
-                        latch = true;
-                    // 0/null/empty disables these features
-                    final int min_alarm_delay = result.getInt(8);
-                    final int count = result.getInt(9);
-                    final String filter = result.getString(10);
-
-                    // Decode current severity/status IDs, handling NULL as "Ok"
-                    int severity_id = result.getInt(11);
-                    final SeverityLevel current_severity = result.wasNull()
-                        ? SeverityLevel.OK
-                        : severity_mapping.getSeverityLevel(severity_id);
-
-                    int status_id = result.getInt(12);
-                    final String current_status = result.wasNull()
-                        ? ""
-                        : message_mapping.findMessageById(status_id);
-
-                    // Alarm severity/status
-                    severity_id = result.getInt(13);
-                    final SeverityLevel severity = result.wasNull()
-                        ? SeverityLevel.OK
-                        : severity_mapping.getSeverityLevel(severity_id);
-
-                    status_id = result.getInt(14);
-                    final String status = result.wasNull()
-                        ? ""
-                        : message_mapping.findMessageById(status_id);
-
-                    // Alarm value, time
-                    final String value = result.getString(15);
-
-                    final Timestamp time = result.getTimestamp(16);
-                    final Instant timestamp = result.wasNull()
-                        ? Instant.now()
-                        : TimestampHelper.toEPICSTime(time);
-
-                    final int global_delay = AlarmServerPreferences.getGlobalAlarmDelay();
-
-                    new AlarmPV(server, parent, id, name, description,
-                            enabled, latch, annunciate, min_alarm_delay, count, global_delay, filter,
-                            current_severity, current_status, severity, status, value, timestamp);
                 }
+                final ServerTreeItem child = new ServerTreeItem(parent, name, id, severity_pv);
+                addChildren(child, item, snapshot, global_delay);
+                continue;
+            }
+
+            // Handle PV
+            String description = item.getDescription();
+            // Description should not be empty
+            if (description == null || description.length() <= 0)
+                description = name;
+            // Default to most features turned 'on'
+            final boolean annunciate = item.getAnnunciate() == null ? true : item.getAnnunciate();
+            final boolean latch = item.getLatch() == null ? true : item.getLatch();
+            // 0/null/empty disables these features
+            final int min_alarm_delay = item.getDelay();
+            final int count = item.getCount();
+            final String filter = item.getFilter();
+
+            final AlarmConfigurationSnapshot.PVState state = snapshot.getState(id);
+            final boolean enabled = state == null ? true : state.isEnabled();
+
+            // Decode severity/status IDs, handling NULL as "Ok"
+            SeverityLevel current_severity = SeverityLevel.OK, severity = SeverityLevel.OK;
+            String current_status = "", status = "", value = null;
+            Instant timestamp = Instant.now();
+            if (state != null)
+            {
+                if (state.getCurrentSeverityID() != null)
+                    current_severity = severity_mapping.getSeverityLevel(state.getCurrentSeverityID());
+                if (state.getCurrentStatusID() != null)
+                    current_status = message_mapping.findMessageById(state.getCurrentStatusID());
+                if (state.getSeverityID() != null)
+                    severity = severity_mapping.getSeverityLevel(state.getSeverityID());
+                if (state.getStatusID() != null)
+                    status = message_mapping.findMessageById(state.getStatusID());
+                value = state.getValue();
+                if (state.getTime() != null)
+                    timestamp = TimestampHelper.toEPICSTime(state.getTime());
             }
-        }
-        finally
-        {
-            result.close();
-            sel_actions.close();
-        }
 
-        // Recurse to children
-        // Cannot do that inside the above while() because that would reuse
-        // the statement of the current ResultSet
-        for (ServerTreeItem child : recurse_items)
-            readChildren(child, sel_items_by_parent);
+            new AlarmPV(server, parent, id, name, description,
+                    enabled, latch, annunciate, min_alarm_delay, count, global_delay, filter,
+                    current_severity, current_status, severity, status, value, timestamp);
+        }
     }
 
     /** Read configuration for PV, update it from RDB
      *  @param pv AlarmPV to update
      *  @throws Exception on error
      */
-    public void readConfigurationUpdate(final AlarmPV pv) throws Exception
+    public synchronized void readConfigurationUpdate(final AlarmPV pv) throws Exception
     {
         final PreparedStatement statement =
             rdb.getConnection().prepareStatement(sql.sel_pv_by_id);
@@ -304,7 +266,7 @@ public class AlarmRDB
         }
     }
 
-    /** Write updated PV state to RDB
+    /** Map updated PV state to RDB IDs
      *  @param pv
      *  @param current_severity
      *  @param current_message
@@ -312,9 +274,10 @@ public class AlarmRDB
      *  @param message
      *  @param value
      *  @param timestamp
+     *  @return {@link StateRow}
      *  @throws Exception on error
      */
-    private void writeStateUpdate(final AlarmPV pv, final SeverityLevel current_severity,
+    private StateRow createStateRow(final AlarmPV pv, final SeverityLevel current_severity,
             String current_message, final SeverityLevel severity, String message,
             final String value, final Instant timestamp) throws Exception
     {
@@ -348,7 +311,7 @@ public class AlarmRDB
         }
         try
         {
-            current_message_id = message_mapping.findOrAddMessage(current_message);
+            current_message_id = state_message_mapping.findOrAddMessage(current_message);
         }
         catch (Exception ex)
         {
@@ -356,17 +319,19 @@ public class AlarmRDB
         }
         try
         {
-            message_id = message_mapping.findOrAddMessage(message);
+            message_id = state_message_mapping.findOrAddMessage(message);
         }
         catch (Exception ex)
         {
             throw new Exception("Failed to map alarm message " + message + ": " + ex.getMessage(), ex);
         }
 
-        updateStateStatement.setInt(1, current_severity_id);
-        updateStateStatement.setInt(2, current_message_id);
-        updateStateStatement.setInt(3, severity_id);
-        updateStateStatement.setInt(4, message_id);
+        final StateRow row = new StateRow();
+        row.id = pv.getID();
+        row.current_severity_id = current_severity_id;
+        row.current_message_id = current_message_id;
+        row.severity_id = severity_id;
+        row.message_id = message_id;
         //Truncate the value to avoid Truncation Exception thrown by some SQL Servers
         String newValue = value;
         if (newValue != null && newValue.length() > 100)
@@ -375,7 +340,7 @@ public class AlarmRDB
             Activator.getLogger().log(Level.WARNING,
                 "Value truncated. Too many characters: " + pv.getName() + "; " + Date.from(timestamp) + " " + value);
         }
-        updateStateStatement.setString(5, newValue);
+        row.value = newValue;
         Timestamp sql_time = TimestampHelper.toSQLTime(timestamp);
         if (sql_time.getTime() == 0)
         {    // MySQL will throw Data Truncation exception on 0 time stamps
@@ -384,39 +349,54 @@ public class AlarmRDB
                     "State update for {0} corrects time stamp {1} to now",
                     new Object[] { pv.getPathName(), timestamp });
         }
-        updateStateStatement.setTimestamp(6, sql_time);
-        updateStateStatement.setInt(7, pv.getID());
-        updateStateStatement.addBatch();
+        row.time = sql_time;
+        return row;
+    }
+
+    /** Set parameters for one row of the multi-row state update
+     *  @param statement Statement
+     *  @param index Index of the row within the statement
+     *  @param row Values
+     *  @throws Exception on error
+     */
+    private static void setStateRow(final PreparedStatement statement, final int index, final StateRow row) throws Exception
+    {
+        final int p = index * STATE_PARAMS;
+        statement.setInt(p+1, row.id);
+        statement.setInt(p+2, row.current_severity_id);
+        statement.setInt(p+3, row.current_message_id);
+        statement.setInt(p+4, row.severity_id);
+        statement.setInt(p+5, row.message_id);
+        if (row.value == null)
+            statement.setNull(p+6, Types.VARCHAR);
+        else
+            statement.setString(p+6, row.value);
+        statement.setTimestamp(p+7, row.time);
     }
 
     /** Persists all the updates into DB.
-     *  @param updates the updates to persist
-     *  @param batchSize maximum batch size
+     *
+     *  <p>Each statement updates the state of several PVs,
+     *  using a dialect-specific multi-row update.
+     *
+     *  @param updates the updates to persist, at most one per PV
+     *  @param batchSize number of PV updates per transaction
      *
      *  @throws Exception
      */
-    public void persistAllStates(final Update[] updates, final int batchSize) throws Exception
+    @Override
+    public void persistAllStates(final Collection<Update> updates, final int batchSize) throws Exception
     {
-        final Connection actual_connection = rdb.getConnection();
-        actual_connection.setAutoCommit(false);
-
-        // New or changed connection?
-        if (actual_connection != connection  ||  updateStateStatement == null)
+        synchronized (state_lock)
         {
-            connection = actual_connection;
-            updateStateStatement = null;
-            updateStateStatement = actual_connection.prepareStatement(sql.update_pv_state);
-        }
-        try
-        {
-            int count = 0;
+            // Map to IDs before starting the transaction
+            final List<StateRow> rows = new ArrayList<>(updates.size());
             for (Update u : updates)
             {
                 try
                 {
-                    writeStateUpdate(u.pv, u.currentSeverity, u.currentMessage, u.alarmSeverity,
-                            u.alarmMessage, u.value, u.timestamp);
-                    count++;
+                    rows.add(createStateRow(u.pv, u.currentSeverity, u.currentMessage, u.alarmSeverity,
+                                            u.alarmMessage, u.value, u.timestamp));
                 }
                 catch (Exception ex)
                 {
@@ -427,28 +407,71 @@ public class AlarmRDB
                                 "; pv=" + u.pv.getName() + '(' + u.pv.getID() + "). Message skipped.";
                     Activator.getLogger().log(Level.SEVERE, s, ex);
                 }
-                if (count == batchSize)
-                {    // Periodically submit as batch
-                    updateStateStatement.executeBatch();
-                    actual_connection.commit();
-                    count = 0;
+            }
+
+            final Connection actual_connection = state_rdb.getConnection();
+            actual_connection.setAutoCommit(false);
+
+            // New or changed connection?
+            checkConnection(actual_connection);
+            if (updateStateStatement == null)
+                updateStateStatement = actual_connection.prepareStatement(sql.mergePVStates(STATE_ROWS));
+            try
+            {
+                int count = 0;
+                int i = 0;
+                while (i < rows.size())
+                {
+                    final int n = Math.min(STATE_ROWS, rows.size() - i);
+                    // Full statements use the prepared statement, remaining rows a new one
+                    final PreparedStatement statement = n == STATE_ROWS
+                        ? updateStateStatement
+                        : actual_connection.prepareStatement(sql.mergePVStates(n));
+                    try
+                    {
+                        for (int r=0; r<n; ++r)
+                            setStateRow(statement, r, rows.get(i+r));
+                        statement.executeUpdate();
+                    }
+                    finally
+                    {
+                        if (statement != updateStateStatement)
+                            statement.close();
+                    }
+                    i += n;
+                    count += n;
+                    if (count >= batchSize)
+                    {    // Periodically commit
+                        actual_connection.commit();
+                        count = 0;
+                    }
                 }
+                // Commit remaining updates
+                if (count > 0)
+                    actual_connection.commit();
             }
-            // Submit remaining statements
-            if (count > 0)
+            catch (Exception e)
             {
-                updateStateStatement.executeBatch();
-                actual_connection.commit();
+                rollbackBatchUpdate(actual_connection, updateStateStatement);
+                throw e;
+            }
+            finally
+            {
+                actual_connection.setAutoCommit(true);
             }
         }
-        catch (Exception e)
-        {
-            rollbackBatchUpdate(actual_connection,updateStateStatement);
-            throw e;
-        }
-        finally
+    }
+
+    /** Check if connection changed, in which case prepared statements need to be re-created
+     *  @param actual_connection Current connection
+     */
+    private void checkConnection(final Connection actual_connection)
+    {
+        if (actual_connection != state_connection)
         {
-            actual_connection.setAutoCommit(true);
+            state_connection = actual_connection;
+            updateStateStatement = null;
+            updateGlobalStatement = null;
         }
     }
 
@@ -459,61 +482,63 @@ public class AlarmRDB
      *
      *  @throws Exception
      */
-    public void persistGlobalUpdates(final Update[] updates, final int batchSize) throws Exception
+    @Override
+    public void persistGlobalUpdates(final Collection<Update> updates, final int batchSize) throws Exception
     {
-        final Connection actual_connection = rdb.getConnection();
-        actual_connection.setAutoCommit(false);
-
-        try
+        synchronized (state_lock)
         {
-            int count = 0;
-            if (actual_connection != connection  ||  updateGlobalStatement == null)
-            {   // (Re-)create statement on new connection
-                connection = actual_connection;
-                updateGlobalStatement = null;
-                updateGlobalStatement = connection.prepareStatement(sql.update_global_state);
-            }
+            final Connection actual_connection = state_rdb.getConnection();
+            actual_connection.setAutoCommit(false);
 
-            for (Update u : updates)
+            try
             {
-                try
-                {
-                    updateGlobalStatement.setBoolean(1, u.currentSeverity.isActive());
-                    updateGlobalStatement.setInt(2, u.pv.getID());
-                    updateGlobalStatement.addBatch();
-                    count++;
-                }
-                catch (Exception ex)
+                int count = 0;
+                // (Re-)create statement on new connection
+                checkConnection(actual_connection);
+                if (updateGlobalStatement == null)
+                    updateGlobalStatement = state_connection.prepareStatement(sql.update_global_state);
+
+                for (Update u : updates)
                 {
-                    //this is about 4-times faster than StringBuilder
-                    String s = "Error updating global state: current severity=" + u.currentSeverity +
-                                "; current message=" + u.currentMessage + "; severity=" + u.alarmSeverity +
-                                "; message=" + u.alarmMessage + "; value=" + u.value + "; timestamp=" + u.timestamp +
-                                "; pv=" + u.pv.getName() + '(' + u.pv.getID() + "). Message skipped.";
-                    Activator.getLogger().log(Level.SEVERE, s, ex);
+                    try
+                    {
+                        updateGlobalStatement.setBoolean(1, u.currentSeverity.isActive());
+                        updateGlobalStatement.setInt(2, u.pv.getID());
+                        updateGlobalStatement.addBatch();
+                        count++;
+                    }
+                    catch (Exception ex)
+                    {
+                        //this is about 4-times faster than StringBuilder
+                        String s = "Error updating global state: current severity=" + u.currentSeverity +
+                                    "; current message=" + u.currentMessage + "; severity=" + u.alarmSeverity +
+                                    "; message=" + u.alarmMessage + "; value=" + u.value + "; timestamp=" + u.timestamp +
+                                    "; pv=" + u.pv.getName() + '(' + u.pv.getID() + "). Message skipped.";
+                        Activator.getLogger().log(Level.SEVERE, s, ex);
+                    }
+                    if (count == batchSize)
+                    {
+                        updateGlobalStatement.executeBatch();
+                        actual_connection.commit();
+                        count = 0;
+                    }
                 }
-                if (count == batchSize)
+                // Submit remaining batch
+                if (count > 0)
                 {
                     updateGlobalStatement.executeBatch();
                     actual_connection.commit();
-                    count = 0;
                 }
             }
-            // Submit remaining batch
-            if (count > 0)
+            catch (Exception e)
             {
-                updateGlobalStatement.executeBatch();
-                actual_connection.commit();
+                rollbackBatchUpdate(actual_connection, updateGlobalStatement);
+                throw e;
+            }
+            finally
+            {
+                actual_connection.setAutoCommit(true);
             }
-        }
-        catch (Exception e)
-        {
-            rollbackBatchUpdate(actual_connection, updateGlobalStatement);
-            throw e;
-        }
-        finally
-        {
-            actual_connection.setAutoCommit(true);
         }
     }
 
@@ -522,7 +547,7 @@ public class AlarmRDB
      *  @param enabled Enabled or not?
      *  @throws Exception on error
      */
-    public void writeEnablementUpdate(final AlarmPV pv, final boolean enabled) throws Exception
+    public synchronized void writeEnablementUpdate(final AlarmPV pv, final boolean enabled) throws Exception
     {
         final Connection actual_connection = rdb.getConnection();
 
@@ -553,7 +578,8 @@ public class AlarmRDB
     {
         try
         {
-            statement.clearBatch();
+            if (statement != null)
+                statement.clearBatch();
             actualConnection.rollback();
         }
         catch (Exception ex)
@@ -568,5 +594,9 @@ public class AlarmRDB
         // Does not specifically close all prepared statements,
         // leaves that to overall rdb.close()
         rdb.close();
+        synchronized (state_lock)
+        {
+            state_rdb.close();
+        }
     }
 }
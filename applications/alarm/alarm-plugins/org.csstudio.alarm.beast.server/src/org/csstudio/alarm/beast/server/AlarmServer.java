@@ -21,6 +21,7 @@ import java.util.Map;
 import java.util.logging.Level;
 
 import org.csstudio.alarm.beast.AlarmTreePath;
+import org.csstudio.alarm.beast.AnnunciationFormatter;
 import org.csstudio.alarm.beast.Preferences;
 import org.csstudio.alarm.beast.SeverityLevel;
 import org.csstudio.alarm.beast.TreeItem;
@@ -43,9 +44,10 @@ import org.eclipse.osgi.util.NLS;
 @SuppressWarnings("nls")
 public class AlarmServer implements Runnable
 {
-    /** BatchUpdater takes care of periodic updates of alarm states into the RDB and
+    /** BatchUpdater takes care of periodic updates of alarm states
      *  to the JMS. This allows for the updates to queue up to sizable number.
      *  Then they are sent in batches, which allows for better performance.
+     *  RDB updates are handled by the {@link AlarmStatePersistence}.
      */
     private class BatchUpdater extends Thread
     {
@@ -109,21 +111,15 @@ public class AlarmServer implements Runnable
         }
     }
 
-    /** A list holding all the updates, which have not yet been send to the JMS queue */
+    /** A list holding all the updates, which have not yet been send to the JMS queue
+     *  <p><b>NOTE: Access must synchronize on the list</b>
+     */
     private List<Update> queuedUpdates = new ArrayList<Update>();
 
-    /** A list holding all the global updates, which have not yet been send to the JMS queue */
-    private List<Update> queuedGlobalUpdates = new ArrayList<Update>();
-
-    /** Updates to be persisted in the RDB, mapping the 'latest' by PV.
-     *  While queuedUpdates contains all recent updates, the map only
-     *  retains the most recent update for each PV
-     *  because we only need to store the latest updates of the same PV.
+    /** A list holding all the global updates, which have not yet been send to the JMS queue
+     *  <p><b>NOTE: Access must synchronize on the list</b>
      */
-    private Map<String,Update> queuedRDBUpdates = new HashMap<String,Update>();
-
-    /** Global updates to be persisted in the RDB, mapping the 'latest' by PV */
-    private Map<String,Update> queuedRDBGlobalUpdates = new HashMap<String,Update>();
+    private List<Update> queuedGlobalUpdates = new ArrayList<Update>();
 
     /** Name of alarm tree root element */
     final String root_name;
@@ -134,9 +130,18 @@ public class AlarmServer implements Runnable
     /** RDB for configuration/state */
     final private AlarmRDB rdb;
 
+    /** Writes alarm states to RDB */
+    final private AlarmStatePersistence persistence;
+
     /** Messenger to communicate with clients */
     final private ServerCommunicator messenger;
 
+    /** Lanes for evaluating the alarm logic of PVs */
+    final private AlarmEvaluationLanes lanes;
+
+    /** Detector for alarm floods, <code>null</code> if not used */
+    final private AlarmFloodDetector flood_detector;
+
     /** {@link NagTimer} or <code>null</code> if not used */
     private volatile NagTimer nag_timer;
 
@@ -162,8 +167,6 @@ public class AlarmServer implements Runnable
     private BatchUpdater batchExecutor;
     /** The period of the updater thread - how frequently it executes message persisting */
     private final long updatePeriod;
-    /** The maximum size of batches when persisting messages */
-    private final int batchSize;
 
     /** Initialize
      *  @param talker Talker that'll be used to annunciate
@@ -176,14 +179,43 @@ public class AlarmServer implements Runnable
         this.root_name = root_name;
         this.work_queue = work_queue;
         this.updatePeriod = (long)(Preferences.getBatchUpdatePeriod()*1000);
-        this.batchSize = Preferences.getBatchSize();
+        lanes = new AlarmEvaluationLanes(AlarmServerPreferences.getEvaluationLanes());
         rdb = new AlarmRDB(this, Preferences.getRDB_Url(),
                 Preferences.getRDB_User(),
                 Preferences.getRDB_Password(),
                 Preferences.getRDB_Schema(),
                 root_name);
+        persistence = new AlarmStatePersistence(this, rdb, updatePeriod, Preferences.getBatchSize(),
+                                                AlarmServerPreferences.getStateJournal());
         messenger = new ServerCommunicator(this, work_queue, root_name);
+        final int flood_threshold = AlarmServerPreferences.getFloodThreshold();
+        if (flood_threshold > 0)
+            flood_detector = new AlarmFloodDetector(flood_threshold,
+                                                    AlarmServerPreferences.getFloodWindow() * 1000L,
+                                                    new AlarmFloodHandler()
+            {
+                @Override
+                public void floodSummary(final String area, final int alarms, final SeverityLevel severity)
+                {
+                    final String message = alarms == 1
+                        ? NLS.bind("1 alarm in area {0}", area)
+                        : NLS.bind("{0} alarms in area {1}", alarms, area);
+                    messenger.sendAnnunciation(severity, message, area);
+                    messenger.sendFloodUpdate(area, alarms, severity);
+                }
+
+                @Override
+                public void floodEnded(final String area)
+                {
+                    messenger.sendAnnunciation(null, NLS.bind("Alarm flood in area {0} ended", area), area);
+                    messenger.sendFloodUpdate(area, 0, SeverityLevel.OK);
+                }
+            });
+        else
+            flood_detector = null;
         readConfiguration();
+        // States that could not be written before a restart
+        persistence.readJournal(this::findPV);
     }
 
     /** @return Name of configuration root element */
@@ -192,6 +224,12 @@ public class AlarmServer implements Runnable
         return root_name;
     }
 
+    /** @return Lanes for evaluating the alarm logic of PVs */
+    AlarmEvaluationLanes getEvaluationLanes()
+    {
+        return lanes;
+    }
+
     /** Set maintenance mode.
      *  @param maintenance_mode
      *  @see AlarmLogic#getMaintenanceMode()
@@ -230,6 +268,8 @@ public class AlarmServer implements Runnable
         }
 
         out.println("Work queue size: " + work_queue.size());
+        lanes.dump(out);
+        persistence.dump(out);
 
         // Log memory usage in MB
         final double free = Runtime.getRuntime().freeMemory() / (1024.0*1024.0);
@@ -270,6 +310,8 @@ public class AlarmServer implements Runnable
     public void close()
     {
         messenger.stop();
+        lanes.shutdown();
+        persistence.close();
         rdb.close();
     }
 
@@ -525,12 +567,7 @@ public class AlarmServer implements Runnable
         resetNagTimer();
         final AlarmPV pv = findPV(pv_name);
         if (pv != null)
-        {
-            pv.getAlarmLogic().acknowledge(acknowledge);
-
-            // Likely changed the state, maximize up parent tree
-            pv.getParent().maximizeSeverity();
-        }
+            pv.acknowledge(acknowledge);
     }
 
     /** Locate alarm PV by name
@@ -561,13 +598,12 @@ public class AlarmServer implements Runnable
             final String message,
             final String value, final Instant timestamp)
     {
-        synchronized(queuedRDBUpdates)
+        final Update u = new Update(pv, current_severity,
+                current_message, severity, message, value, timestamp);
+        // RDB only needs the latest update of a PV, JMS clients receive all
+        persistence.queueState(u);
+        synchronized (queuedUpdates)
         {
-            final Update u = new Update(pv, current_severity,
-                    current_message, severity, message, value, timestamp);
-            // We are only interested in the latest update of a particular PV
-            // the rest don't need to be persisted
-            queuedRDBUpdates.put(pv.getName(), u);
             queuedUpdates.add(u);
         }
     }
@@ -584,13 +620,11 @@ public class AlarmServer implements Runnable
             final String message,
             final String value, final Instant timestamp)
     {
-        synchronized (queuedRDBGlobalUpdates)
+        final Update u = new Update(pv, severity,
+                message, severity, message, value, timestamp);
+        persistence.queueGlobal(u);
+        synchronized (queuedGlobalUpdates)
         {
-            final Update u = new Update(pv, severity,
-                    message, severity, message, value, timestamp);
-            // We are only interested in the latest update of a particular PV
-            // the rest don't need to be persisted
-            queuedRDBGlobalUpdates.put(pv.getName(), u);
             queuedGlobalUpdates.add(u);
         }
     }
@@ -623,6 +657,23 @@ public class AlarmServer implements Runnable
         });
     }
 
+    /** Annunciate new alarm of a PV unless its area is flooded
+     *  @param pv Alarm PV
+     *  @param level Alarm severity
+     *  @param message Text message to send to annunciator
+     */
+    public void annunciateAlarm(final AlarmPV pv, final SeverityLevel level, final String message)
+    {
+        // 'Priority' alarms are always annunciated
+        if (flood_detector != null  &&  ! AnnunciationFormatter.hasPriority(message)  &&
+            ! flood_detector.alarm(AlarmFloodDetector.getArea(pv), level, System.currentTimeMillis()))
+        {
+            resetNagTimer();
+            return;
+        }
+        sendAnnunciation(level, message);
+    }
+
     /** Perform annunciation
      *  @param level Alarm severity
      *  @param message Text message to send to annunciator
@@ -653,32 +704,40 @@ public class AlarmServer implements Runnable
         messenger.sendReloadMessage();
     }
 
-    /** Send all queue updates to RDB as well as JMS */
-    private void sendQueuedUpdates()
+    /** Called by {@link AlarmStatePersistence} when RDB update failed */
+    void handleRDBError()
     {
-        // Create thread-save copy
-        Update[] updates = null;
-        Update[] rdbUpdates = null;
-        synchronized (queuedRDBUpdates)
-        {
-            rdbUpdates = queuedRDBUpdates.values().toArray(new Update[queuedRDBUpdates.size()]);
-            queuedRDBUpdates.clear();
-            updates = queuedUpdates.toArray(new Update[queuedUpdates.size()]);
-            queuedUpdates.clear();
-        }
+        had_RDB_error = true;
+    }
 
-        if (rdbUpdates.length > 0)
+    /** Called by {@link AlarmStatePersistence} after successful RDB update */
+    void handleRDBSuccess()
+    {
+        if (! had_RDB_error)
+            return;
+        work_queue.execute(() ->
         {
             try
             {
-                rdb.persistAllStates(rdbUpdates, batchSize);
                 recoverFromRDBErrors();
             }
-            catch (Exception e)
+            catch (Exception ex)
             {
-                Activator.getLogger().log(Level.SEVERE, "Error committing state update batches.", e);
                 had_RDB_error = true;
+                Activator.getLogger().log(Level.SEVERE, "Error recovering from RDB errors", ex);
             }
+        });
+    }
+
+    /** Send all queue updates to JMS */
+    private void sendQueuedUpdates()
+    {
+        // Create thread-save copy
+        Update[] updates = null;
+        synchronized (queuedUpdates)
+        {
+            updates = queuedUpdates.toArray(new Update[queuedUpdates.size()]);
+            queuedUpdates.clear();
         }
 
         for (Update u : updates)
@@ -687,30 +746,13 @@ public class AlarmServer implements Runnable
                 u.alarmSeverity, u.alarmMessage, u.value, u.timestamp);
         }
 
-        Update[] rdbGlobals = null;
         Update[] globals = null;
-        synchronized(queuedRDBGlobalUpdates)
+        synchronized (queuedGlobalUpdates)
         {
-            rdbGlobals = queuedRDBGlobalUpdates.values().toArray(new Update[queuedRDBGlobalUpdates.size()]);
-            queuedRDBGlobalUpdates.clear();
             globals = queuedGlobalUpdates.toArray(new Update[queuedGlobalUpdates.size()]);
             queuedGlobalUpdates.clear();
         }
 
-        if (rdbGlobals.length > 0)
-        {
-            try
-            {
-                rdb.persistGlobalUpdates(rdbGlobals,batchSize);
-                recoverFromRDBErrors();
-            }
-            catch (Exception e)
-            {
-                Activator.getLogger().log(Level.SEVERE,"Error committing global update batches.",e);
-                had_RDB_error = true;
-            }
-        }
-
         for (Update u : globals)
         {
             messenger.sendGlobalUpdate(u.pv, u.alarmSeverity, u.alarmMessage, u.value, u.timestamp);
@@ -722,5 +764,7 @@ public class AlarmServer implements Runnable
     public void run()
     {
         sendQueuedUpdates();
+        if (flood_detector != null)
+            flood_detector.check(System.currentTimeMillis());
     }
 }
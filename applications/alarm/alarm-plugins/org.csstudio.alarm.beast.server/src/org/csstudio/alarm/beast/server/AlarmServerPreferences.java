@@ -7,6 +7,8 @@
  ******************************************************************************/
 package org.csstudio.alarm.beast.server;
 
+import java.io.File;
+
 import org.csstudio.apputil.time.SecondsParser;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.preferences.IPreferencesService;
@@ -24,6 +26,10 @@ public class AlarmServerPreferences
 {
     final public static String GLOBAL_ALARM_DELAY = "global_alarm_delay";
     final public static String NAG_PERIOD = "nag_period";
+    final public static String EVALUATION_LANES = "evaluation_lanes";
+    final public static String FLOOD_THRESHOLD = "flood_threshold";
+    final public static String FLOOD_WINDOW = "flood_window";
+    final public static String STATE_JOURNAL = "state_journal";
 
     /** @return Period for repeated 'There are .. active alarms' annunciations [seconds]
      *  @throws Exception on error in period specification
@@ -45,4 +51,43 @@ public class AlarmServerPreferences
             return 0;
         return service.getInt(Activator.ID, GLOBAL_ALARM_DELAY, 0, null);
     }
+
+    /** @return Number of threads for evaluating alarm PVs, 0 for one per CPU core */
+    public static int getEvaluationLanes()
+    {
+        final IPreferencesService service = Platform.getPreferencesService();
+        if (service == null)
+            return 0;
+        return service.getInt(Activator.ID, EVALUATION_LANES, 0, null);
+    }
+
+    /** @return Number of alarms in an area within the flood window that start an alarm flood, 0 to disable */
+    public static int getFloodThreshold()
+    {
+        final IPreferencesService service = Platform.getPreferencesService();
+        if (service == null)
+            return 0;
+        return service.getInt(Activator.ID, FLOOD_THRESHOLD, 10, null);
+    }
+
+    /** @return Duration of the window for detecting alarm floods [seconds] */
+    public static int getFloodWindow()
+    {
+        final IPreferencesService service = Platform.getPreferencesService();
+        if (service == null)
+            return 10;
+        return service.getInt(Activator.ID, FLOOD_WINDOW, 10, null);
+    }
+
+    /** @return File for journal of alarm states that could not be written to the RDB, or <code>null</code> */
+    public static File getStateJournal()
+    {
+        final IPreferencesService service = Platform.getPreferencesService();
+        if (service == null)
+            return null;
+        final String journal = service.getString(Activator.ID, STATE_JOURNAL, "", null).trim();
+        if (journal.isEmpty())
+            return null;
+        return new File(journal);
+    }
 }
@@ -0,0 +1,394 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.alarm.beast.server;
+
+import static org.csstudio.alarm.beast.server.Activator.logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.logging.Level;
+
+import org.csstudio.alarm.beast.SeverityLevel;
+import org.csstudio.alarm.beast.server.AlarmServer.Update;
+
+/** Asynchronous persistence of alarm states in the RDB
+ *
+ *  <p>State updates are kept in a map that only holds the last update
+ *  for each PV. A separate thread periodically writes them to the RDB,
+ *  so alarm evaluation never waits for the RDB.
+ *
+ *  <p>When the RDB write fails, the updates are queued again
+ *  unless there is already a newer update for the PV.
+ *  If a journal file is configured, updates that are not yet in the journal
+ *  are then appended to it, and the journal is removed once the RDB write succeeds.
+ *  On startup, updates from the journal are queued for the current PVs,
+ *  so states that could not be written before a restart are not lost.
+ *
+ *  <p>The 'lag' is the time between the oldest queued update
+ *  and the last write attempt.
+ *  It remains small while the RDB keeps up, and grows while it is unavailable.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class AlarmStatePersistence
+{
+    /** Journal format version */
+    private static final int JOURNAL_VERSION = 2;
+
+    /** Update with the time when the PV's state was first queued */
+    private static class Pending
+    {
+        final Update update;
+        final long queued;
+
+        /** Has the update been written to the journal? */
+        final boolean journaled;
+
+        Pending(final Update update, final long queued, final boolean journaled)
+        {
+            this.update = update;
+            this.queued = queued;
+            this.journaled = journaled;
+        }
+    }
+
+    /** Alarm server, <code>null</code> in JUnit test */
+    final private AlarmServer server;
+
+    final private AlarmStateWriter writer;
+
+    /** Number of PV updates per RDB transaction */
+    final private int batch_size;
+
+    /** Journal file or <code>null</code> */
+    final private File journal;
+
+    /** Last state update per PV name */
+    final private Map<String, Pending> states = new ConcurrentHashMap<>();
+
+    /** Last global update per PV name */
+    final private Map<String, Pending> globals = new ConcurrentHashMap<>();
+
+    final private ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(target ->
+    {
+        final Thread thread = new Thread(target, "AlarmStatePersistence");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Persistence lag in ms */
+    private volatile long lag_ms = 0;
+
+    /** Number of written updates */
+    final private AtomicLong written = new AtomicLong();
+
+    /** Has the journal been written and may need to be removed? */
+    private volatile boolean have_journal = false;
+
+    /** Initialize
+     *  @param server Alarm server to notify about RDB errors and recovery
+     *  @param writer Writer for the RDB
+     *  @param period_ms Period for writing to the RDB
+     *  @param batch_size Number of PV updates per RDB transaction
+     *  @param journal Journal file or <code>null</code>
+     */
+    public AlarmStatePersistence(final AlarmServer server, final AlarmStateWriter writer,
+                                 final long period_ms, final int batch_size, final File journal)
+    {
+        this.server = server;
+        this.writer = writer;
+        this.batch_size = batch_size;
+        this.journal = journal;
+        have_journal = journal != null  &&  journal.exists();
+        timer.scheduleWithFixedDelay(this::flush, period_ms, period_ms, TimeUnit.MILLISECONDS);
+    }
+
+    /** @param update State update to persist */
+    public void queueState(final Update update)
+    {
+        queue(states, update);
+    }
+
+    /** @param update Global update to persist */
+    public void queueGlobal(final Update update)
+    {
+        queue(globals, update);
+    }
+
+    /** Queue update, replacing an older update of the same PV
+     *  while keeping the time when the PV was first queued
+     */
+    private void queue(final Map<String, Pending> map, final Update update)
+    {
+        map.merge(update.pv.getName(), new Pending(update, System.currentTimeMillis(), false),
+                  (older, newer) -> new Pending(newer.update, older.queued, false));
+    }
+
+    /** Queue failed update again unless there's already a newer one
+     *  @param map Map of queued updates
+     *  @param failed Update that could not be written
+     *  @param journaled Is the failed update now in the journal?
+     */
+    private void requeue(final Map<String, Pending> map, final Pending failed, final boolean journaled)
+    {
+        map.merge(failed.update.pv.getName(), new Pending(failed.update, failed.queued, journaled),
+                  (newer, requeued) -> new Pending(newer.update, requeued.queued, newer.journaled));
+    }
+
+    /** @return Updates removed from map */
+    private List<Pending> drain(final Map<String, Pending> map)
+    {
+        final List<Pending> result = new ArrayList<>(map.size());
+        for (String name : map.keySet())
+        {
+            final Pending pending = map.remove(name);
+            if (pending != null)
+                result.add(pending);
+        }
+        return result;
+    }
+
+    /** @return Updates of pending list */
+    private static List<Update> getUpdates(final List<Pending> pending)
+    {
+        final List<Update> updates = new ArrayList<>(pending.size());
+        for (Pending p : pending)
+            updates.add(p.update);
+        return updates;
+    }
+
+    /** Write queued updates to RDB */
+    void flush()
+    {
+        final List<Pending> state_updates = drain(states);
+        final List<Pending> global_updates = drain(globals);
+        if (state_updates.isEmpty()  &&  global_updates.isEmpty())
+        {
+            lag_ms = 0;
+            return;
+        }
+
+        long oldest = Long.MAX_VALUE;
+        for (Pending p : state_updates)
+            oldest = Math.min(oldest, p.queued);
+        for (Pending p : global_updates)
+            oldest = Math.min(oldest, p.queued);
+
+        try
+        {
+            if (! state_updates.isEmpty())
+                writer.persistAllStates(getUpdates(state_updates), batch_size);
+            if (! global_updates.isEmpty())
+                writer.persistGlobalUpdates(getUpdates(global_updates), batch_size);
+        }
+        catch (Throwable ex)
+        {
+            final boolean journaled = appendJournal(state_updates, global_updates);
+            for (Pending p : state_updates)
+                requeue(states, p, journaled);
+            for (Pending p : global_updates)
+                requeue(globals, p, journaled);
+            lag_ms = System.currentTimeMillis() - oldest;
+            logger.log(Level.SEVERE,
+                       "Cannot persist " + (states.size() + globals.size()) +
+                       " alarm states, lag " + lag_ms / 1000 + " seconds", ex);
+            if (server != null)
+                server.handleRDBError();
+            return;
+        }
+        written.addAndGet(state_updates.size() + global_updates.size());
+        lag_ms = System.currentTimeMillis() - oldest;
+        if (have_journal)
+        {   // Journaled updates have now been written
+            try
+            {
+                Files.deleteIfExists(journal.toPath());
+                have_journal = false;
+            }
+            catch (Exception ex)
+            {
+                logger.log(Level.WARNING, "Cannot remove alarm state journal " + journal, ex);
+            }
+        }
+        if (server != null)
+            server.handleRDBSuccess();
+    }
+
+    /** @return Persistence lag in milliseconds */
+    public long getLag()
+    {
+        return lag_ms;
+    }
+
+    /** Append failed updates to journal file unless they are already in there
+     *  @param state_updates Failed state updates
+     *  @param global_updates Failed global updates
+     *  @return <code>true</code> if all updates are in the journal
+     */
+    private boolean appendJournal(final List<Pending> state_updates, final List<Pending> global_updates)
+    {
+        if (journal == null)
+            return false;
+        try
+        {
+            final boolean new_file = journal.length() <= 0;
+            try
+            (
+                final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(journal, true)));
+            )
+            {
+                if (new_file)
+                    out.writeInt(JOURNAL_VERSION);
+                for (Pending p : state_updates)
+                    if (! p.journaled)
+                        writeUpdate(out, false, p.update);
+                for (Pending p : global_updates)
+                    if (! p.journaled)
+                        writeUpdate(out, true, p.update);
+            }
+            have_journal = true;
+            return true;
+        }
+        catch (Exception ex)
+        {
+            logger.log(Level.WARNING, "Cannot write alarm state journal " + journal, ex);
+            return false;
+        }
+    }
+
+    private static void writeUpdate(final DataOutputStream out, final boolean global, final Update update) throws Exception
+    {
+        out.writeBoolean(global);
+        out.writeUTF(update.pv.getName());
+        out.writeUTF(update.currentSeverity.name());
+        writeString(out, update.currentMessage);
+        out.writeUTF(update.alarmSeverity.name());
+        writeString(out, update.alarmMessage);
+        writeString(out, update.value);
+        final Instant time = update.timestamp == null ? Instant.EPOCH : update.timestamp;
+        out.writeLong(time.getEpochSecond());
+        out.writeInt(time.getNano());
+    }
+
+    private static void writeString(final DataOutputStream out, final String text) throws Exception
+    {
+        out.writeBoolean(text != null);
+        if (text != null)
+            out.writeUTF(text);
+    }
+
+    private static String readString(final DataInputStream in) throws Exception
+    {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /** Queue updates from journal
+     *
+     *  <p>The journal may hold several updates for a PV, the last one is used.
+     *  Updates are only queued for known PVs
+     *  and unless there is already a newer update.
+     *
+     *  @param lookup Function that locates PV by name, returning <code>null</code> for unknown PV
+     */
+    public void readJournal(final Function<String, AlarmPV> lookup)
+    {
+        if (journal == null  ||  ! journal.exists())
+            return;
+        // Last state and global update by PV name
+        final Map<String, Pending> journaled_states = new HashMap<>();
+        final Map<String, Pending> journaled_globals = new HashMap<>();
+        try
+        (
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(journal)));
+        )
+        {
+            final int version = in.readInt();
+            if (version != JOURNAL_VERSION)
+                throw new Exception("Unknown journal version " + version);
+            final long now = System.currentTimeMillis();
+            while (true)
+            {
+                final boolean global;
+                try
+                {
+                    global = in.readBoolean();
+                }
+                catch (EOFException ex)
+                {
+                    break;
+                }
+                final String name = in.readUTF();
+                final SeverityLevel current_severity = SeverityLevel.valueOf(in.readUTF());
+                final String current_message = readString(in);
+                final SeverityLevel severity = SeverityLevel.valueOf(in.readUTF());
+                final String message = readString(in);
+                final String value = readString(in);
+                final Instant timestamp = Instant.ofEpochSecond(in.readLong(), in.readInt());
+                final AlarmPV pv = lookup.apply(name);
+                if (pv == null)
+                    continue;
+                final Update update = new Update(pv, current_severity, current_message, severity, message, value, timestamp);
+                (global ? journaled_globals : journaled_states).put(name, new Pending(update, now, true));
+            }
+        }
+        catch (Exception ex)
+        {
+            logger.log(Level.WARNING, "Cannot read alarm state journal " + journal, ex);
+        }
+        // Queue what could be read, even if the end of the journal was damaged
+        journaled_states.forEach(states::putIfAbsent);
+        journaled_globals.forEach(globals::putIfAbsent);
+        logger.log(Level.INFO, "Read {0} alarm states from journal {1}",
+                   new Object[] { journaled_states.size() + journaled_globals.size(), journal });
+    }
+
+    /** @param out Where to print persistence info */
+    public void dump(final PrintStream out)
+    {
+        out.format("RDB persistence: %d queued, %d written, lag %.1f seconds%s\n",
+                   states.size() + globals.size(), written.get(), lag_ms / 1000.0,
+                   have_journal ? ", journal " + journal : "");
+    }
+
+    /** Stop the persistence thread and write remaining updates,
+     *  or save them in the journal if the RDB is unavailable
+     */
+    public void close()
+    {
+        timer.shutdown();
+        try
+        {
+            timer.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException ex)
+        {
+            // Ignore, try final flush
+        }
+        flush();
+    }
+}
@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.alarm.beast.server;
+
+import java.util.Collection;
+
+import org.csstudio.alarm.beast.server.AlarmServer.Update;
+
+/** Interface used by {@link AlarmStatePersistence}
+ *  to write alarm states, implemented by {@link AlarmRDB}
+ *
+ *  @author agent
+ */
+public interface AlarmStateWriter
+{
+    /** @param updates State updates, at most one per PV
+     *  @param batchSize Number of PV updates per transaction
+     *  @throws Exception on error
+     */
+    public void persistAllStates(Collection<Update> updates, int batchSize) throws Exception;
+
+    /** @param updates Global updates, at most one per PV
+     *  @param batchSize Number of PV updates per transaction
+     *  @throws Exception on error
+     */
+    public void persistGlobalUpdates(Collection<Update> updates, int batchSize) throws Exception;
+}
@@ -9,14 +9,22 @@ package org.csstudio.alarm.beast.server;
 
 import java.net.InetAddress;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
+import javax.jms.BytesMessage;
 import javax.jms.MapMessage;
 import javax.jms.Message;
 import javax.jms.MessageConsumer;
 import javax.jms.MessageListener;
 import javax.jms.MessageProducer;
 
+import org.csstudio.alarm.beast.AlarmStateBatch;
 import org.csstudio.alarm.beast.JMSAlarmMessage;
 import org.csstudio.alarm.beast.JMSCommunicationWorkQueueThread;
 import org.csstudio.alarm.beast.Preferences;
@@ -26,6 +34,15 @@ import org.csstudio.alarm.beast.WorkQueue;
 import org.csstudio.logging.JMSLogMessage;
 
 /** Communicates alarm system updates between server and clients.
+ *
+ *  <p>State updates are sent as individual messages to the 'server' topic.
+ *  When a batch latency is configured, they are in addition collected
+ *  for up to that time and sent as one {@link AlarmStateBatch}
+ *  to the 'server batch' topic.
+ *  Clients that handle batches skip the individual state messages.
+ *  For sites where all clients handle batches, the individual state
+ *  messages can be disabled to reduce the JMS traffic.
+ *
  *  @author Kay Kasemir
  *  @author Jaka Bobnar - RDB batching
  */
@@ -47,6 +64,28 @@ public class ServerCommunicator extends JMSCommunicationWorkQueueThread
     /** Timer for sending idle messages */
     final private TimeoutTimer idle_timer;
 
+    /** Maximum number of PV updates in one batch */
+    private static final int MAX_BATCH_SIZE = 5000;
+
+    /** Maximum delay for collecting state updates into a batch, 0 if batches are disabled */
+    final private long batch_latency = Preferences.getJMS_BatchLatency();
+
+    /** Send individual state messages in addition to batches? */
+    final private boolean individual_state_updates = Preferences.isJMS_IndividualStateUpdates();
+
+    /** Timer for sending a batch or <code>null</code> */
+    final private ScheduledExecutorService batch_timer;
+
+    /** PV updates for the next batch, latest update by PV name.
+     *  Only accessed on the JMS communication thread.
+     */
+    final private Map<String, AlarmStateBatch.Entry> batch = new LinkedHashMap<>();
+
+    /** Is sending the batch scheduled?
+     *  Only accessed on the JMS communication thread.
+     */
+    private boolean batch_scheduled = false;
+
     /** Host for messages */
     final private String host = InetAddress.getLocalHost().getHostName();
 
@@ -68,6 +107,9 @@ public class ServerCommunicator extends JMSCommunicationWorkQueueThread
     /** Producer for sending to the 'global' topic */
     private MessageProducer global_producer;
 
+    /** Producer for sending to the 'server batch' topic, <code>null</code> if batches are disabled */
+    private MessageProducer batch_producer;
+
     /** Consumer for listening to the 'client' topic */
     private MessageConsumer client_consumer;
 
@@ -84,6 +126,15 @@ public class ServerCommunicator extends JMSCommunicationWorkQueueThread
         this.server = server;
         this.work_queue = work_queue;
         this.root_name = root_name;
+        if (batch_latency > 0)
+            batch_timer = Executors.newSingleThreadScheduledExecutor(target ->
+            {
+                final Thread thread = new Thread(target, "AlarmBatchTimer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        else
+            batch_timer = null;
         idle_timer = new TimeoutTimer(Preferences.getJMS_IdleTimeout()*1000)
         {
             @Override
@@ -122,6 +173,8 @@ public class ServerCommunicator extends JMSCommunicationWorkQueueThread
         server_producer = createProducer(Preferences.getJMS_AlarmServerTopic(root_name));
         talk_producer = createProducer(Preferences.getJMS_TalkTopic(root_name));
         global_producer = createProducer(Preferences.getJMS_GlobalServerTopic());
+        if (batch_timer != null)
+            batch_producer = createProducer(Preferences.getJMS_AlarmServerBatchTopic(root_name));
         client_consumer = createConsumer(Preferences.getJMS_AlarmClientTopic(root_name));
         client_consumer.setMessageListener(new MessageListener()
         {
@@ -142,6 +195,12 @@ public class ServerCommunicator extends JMSCommunicationWorkQueueThread
     {
         client_consumer.close();
         client_consumer = null;
+        if (batch_producer != null)
+        {
+            batch_producer.close();
+            batch_producer = null;
+        }
+        batch.clear();
         global_producer.close();
         global_producer = null;
         talk_producer.close();
@@ -171,6 +230,8 @@ public class ServerCommunicator extends JMSCommunicationWorkQueueThread
         {
             Activator.getLogger().log(Level.WARNING, "Idle Timer join failed", ex);
         }
+        if (batch_timer != null)
+            batch_timer.shutdown();
         super.stop();
     }
 
@@ -212,6 +273,7 @@ public class ServerCommunicator extends JMSCommunicationWorkQueueThread
             @Override
             public void run()
             {
+                sendBatch();
                 try
                 {
                     final MapMessage map = createAlarmMessage(
@@ -239,6 +301,7 @@ public class ServerCommunicator extends JMSCommunicationWorkQueueThread
             @Override
             public void run()
             {
+                sendBatch();
                 try
                 {
                     final MapMessage map = createAlarmMessage(JMSAlarmMessage.TEXT_CONFIG);
@@ -274,6 +337,15 @@ public class ServerCommunicator extends JMSCommunicationWorkQueueThread
             @Override
             public void run()
             {
+                if (batch_producer != null)
+                {
+                    addToBatch(new AlarmStateBatch.Entry(pv.getName(),
+                                                         current_severity, current_message,
+                                                         alarm_severity, alarm_message,
+                                                         value, timestamp));
+                    if (! individual_state_updates)
+                        return;
+                }
                 try
                 {
                     final MapMessage map = createAlarmMessage(
@@ -289,6 +361,8 @@ public class ServerCommunicator extends JMSCommunicationWorkQueueThread
                     map.setString(JMSAlarmMessage.EVENTTIME, JMSAlarmMessage.formatTime(timestamp));
                     map.setString(JMSAlarmMessage.CURRENT_SEVERITY, current_severity.name());
                     map.setString(JMSAlarmMessage.CURRENT_STATUS, current_message);
+                    if (batch_producer != null)
+                        map.setBooleanProperty(JMSAlarmMessage.BATCHED, true);
                     server_producer.send(map);
                 }
                 catch (Exception ex)
@@ -300,6 +374,54 @@ public class ServerCommunicator extends JMSCommunicationWorkQueueThread
         idle_timer.reset();
     }
 
+    /** Add PV update to batch, replacing an older update of the same PV.
+     *  Must be called on the JMS communication thread.
+     *  @param entry PV update
+     */
+    private void addToBatch(final AlarmStateBatch.Entry entry)
+    {
+        // Remove, then add to keep the batch in order of the latest updates
+        batch.remove(entry.getName());
+        batch.put(entry.getName(), entry);
+        if (batch.size() >= MAX_BATCH_SIZE)
+            sendBatch();
+        else if (! batch_scheduled)
+        {
+            batch_scheduled = true;
+            batch_timer.schedule(() -> execute(this::sendBatch), batch_latency, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Send collected PV updates as one batch.
+     *  Also called before sending any other message,
+     *  so clients receive the state updates in order.
+     *  Must be called on the JMS communication thread.
+     */
+    private void sendBatch()
+    {
+        batch_scheduled = false;
+        if (batch.isEmpty()  ||  batch_producer == null)
+            return;
+        final AlarmStateBatch updates = new AlarmStateBatch(AlarmLogic.getMaintenanceMode(),
+                                                            new ArrayList<>(batch.values()));
+        batch.clear();
+        try
+        {
+            final BytesMessage message = createBytesMessage();
+            message.setStringProperty(JMSLogMessage.TYPE, JMSAlarmMessage.TYPE_ALARM);
+            message.setStringProperty(JMSAlarmMessage.CONFIG, server.getRootName());
+            message.setStringProperty(JMSLogMessage.TEXT, JMSAlarmMessage.TEXT_STATE_BATCH);
+            message.setStringProperty(JMSLogMessage.APPLICATION_ID, Application.APPLICATION_NAME);
+            message.setStringProperty(JMSLogMessage.HOST, host);
+            message.writeBytes(updates.toBytes());
+            batch_producer.send(message);
+        }
+        catch (Exception ex)
+        {
+            Activator.getLogger().log(Level.WARNING, "Cannot send state update batch", ex);
+        }
+    }
+
     /** Notify 'global' clients of new alarm state.
      *  @param pv PV that changes alarm state
      *  @param alarm_severity Alarm severity
@@ -317,6 +439,7 @@ public class ServerCommunicator extends JMSCommunicationWorkQueueThread
             @Override
             public void run()
             {
+                sendBatch();
                 try
                 {
                     final MapMessage map = createAlarmMessage(JMSAlarmMessage.TEXT_STATE);
@@ -348,6 +471,7 @@ public class ServerCommunicator extends JMSCommunicationWorkQueueThread
             @Override
             public void run()
             {
+                sendBatch();
                 final String text = enabled ? JMSAlarmMessage.TEXT_ENABLE
                                             : JMSAlarmMessage.TEXT_DISABLE;
                 try
@@ -379,17 +503,30 @@ public class ServerCommunicator extends JMSCommunicationWorkQueueThread
      *  @param message Message text
      */
     public void sendAnnunciation(final SeverityLevel level, final String message)
+    {
+        sendAnnunciation(level, message, null);
+    }
+
+    /** Send message to annunciator
+     *  @param level Severity Level or <code>null</code>
+     *  @param message Message text
+     *  @param name Name that allows annunciator to replace a queued message of the same name, or <code>null</code>
+     */
+    public void sendAnnunciation(final SeverityLevel level, final String message, final String name)
     {
         execute(new Runnable()
         {
             @Override
             public void run()
             {
+                sendBatch();
                 try
                 {
                     final MapMessage map = createMessage(TYPE_TALK, message);
                     if (level != null)
                         map.setString(JMSLogMessage.SEVERITY, level.name());
+                    if (name != null)
+                        map.setString(JMSLogMessage.NAME, name);
                     talk_producer.send(map);
                 }
                 catch (Exception ex)
@@ -400,6 +537,36 @@ public class ServerCommunicator extends JMSCommunicationWorkQueueThread
         });
     }
 
+    /** Notify clients of alarm flood
+     *  @param area Area that is flooded
+     *  @param alarms Number of alarms since last update, 0 when flood ended
+     *  @param severity Highest severity of those alarms
+     */
+    protected void sendFloodUpdate(final String area, final int alarms, final SeverityLevel severity)
+    {
+        execute(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                sendBatch();
+                try
+                {
+                    final MapMessage map = createAlarmMessage(JMSAlarmMessage.TEXT_FLOOD);
+                    map.setString(JMSLogMessage.NAME, area);
+                    map.setString(JMSLogMessage.SEVERITY, severity.name());
+                    map.setString(JMSAlarmMessage.VALUE, Integer.toString(alarms));
+                    server_producer.send(map);
+                }
+                catch (Exception ex)
+                {
+                    Activator.getLogger().log(Level.WARNING, "Cannot send flood update", ex);
+                }
+            }
+        });
+        idle_timer.reset();
+    }
+
     /** Handle messages received from alarm clients.
      *  <p>
      *  This is invoked from a JMS thread.
@@ -7,6 +7,7 @@
  ******************************************************************************/
 package org.csstudio.alarm.beast.server;
 
+import org.csstudio.alarm.beast.SeverityCounts;
 import org.csstudio.alarm.beast.SeverityLevel;
 import org.csstudio.alarm.beast.TreeItem;
 
@@ -21,6 +22,12 @@ public class ServerTreeItem extends TreeItem
 
     protected volatile SeverityLevel severity = SeverityLevel.UNDEFINED;
 
+    /** Severities of child items, guarded by this item */
+    final transient SeverityCounts child_severities = new SeverityCounts();
+
+    /** Severity of this item as counted by parent, guarded by the parent item */
+    transient SeverityLevel counted_severity = null;
+
     private final String severity_pv_name;
 
     public ServerTreeItem(final ServerTreeItem parent, final String name, final int id, final String severity_pv)
@@ -34,47 +41,99 @@ public class ServerTreeItem extends TreeItem
      */
     public void maximizeSeverity()
     {
-        boolean changed = false;
+        final boolean changed = computeSeverity();
+
+        // Percolate changes towards root
+        final TreeItem parent = getParent();
+        if (parent instanceof ServerTreeItem)
+            ((ServerTreeItem)parent).maximizeSeverity();
 
-        SeverityLevel new_severity = SeverityLevel.OK;
+        // If _this_ node changed its severity, update optional severity PV
+        if (changed)
+            updateSeverityPV();
+    }
 
+    /** Set severity of this item by maximizing over its child severities.
+     *  Does not update parent items nor the severity PV.
+     *  @return <code>true</code> if the severity of this item changed
+     *  @see AlarmEvaluationLanes#maximizeSeverity(ServerTreeItem)
+     */
+    boolean computeSeverity()
+    {
         synchronized (this)
         {
+            child_severities.clear();
             final int n = getChildCount();
             for (int i=0; i<n; ++i)
             {
-                // Maximize severity of all child elements
+                // Count severity of all child elements
                 final TreeItem child = getChild(i);
-                final SeverityLevel child_severity;
-                if (child instanceof AlarmPV)
-                {
-                    final AlarmPV pv = (AlarmPV) child;
-                    if (! pv.getAlarmLogic().isEnabled())
-                        continue;
-                    child_severity = pv.getAlarmLogic().getAlarmState().getSeverity();
-                }
-                else
-                    child_severity = ((ServerTreeItem) child).severity;
-
-                if (child_severity.ordinal() > new_severity.ordinal())
-                    new_severity = child_severity;
+                final SeverityLevel child_severity = getSeverity(child);
+                setCountedSeverity(child, child_severity);
+                child_severities.update(null, child_severity);
             }
+            return updateMaximum();
         }
+    }
 
-        if (new_severity != severity)
+    /** Update the count for one child that changed its severity or enablement.
+     *  Caller must synchronize on this item.
+     *  @param child Child item
+     *  @return <code>true</code> if the severity of this item changed
+     *  @see AlarmEvaluationLanes#severityChanged(TreeItem)
+     */
+    boolean updateChild(final TreeItem child)
+    {
+        final SeverityLevel child_severity = getSeverity(child);
+        child_severities.update(setCountedSeverity(child, child_severity), child_severity);
+        return updateMaximum();
+    }
+
+    /** @return <code>true</code> if the severity changed to the maximum of the child severities */
+    private boolean updateMaximum()
+    {
+        final SeverityLevel new_severity = child_severities.getMaximum();
+        if (new_severity == severity)
+            return false;
+        severity = new_severity;
+        return true;
+    }
+
+    /** @param child Child item
+     *  @return Severity of the child, <code>null</code> for disabled PV
+     */
+    private static SeverityLevel getSeverity(final TreeItem child)
+    {
+        if (child instanceof AlarmPV)
         {
-            severity = new_severity;
-            changed = true;
+            final AlarmPV pv = (AlarmPV) child;
+            if (! pv.getAlarmLogic().isEnabled())
+                return null;
+            return pv.getAlarmLogic().getAlarmState().getSeverity();
         }
+        return ((ServerTreeItem) child).severity;
+    }
 
-        // Percolate changes towards root
-        final TreeItem parent = getParent();
-        if (parent instanceof ServerTreeItem)
-            ((ServerTreeItem)parent).maximizeSeverity();
-
-        // If _this_ node changed its severity, update optional severity PV
-        if (changed)
-            updateSeverityPV();
+    /** @param child Child item
+     *  @param counted Severity that is now counted for the child
+     *  @return Severity that used to be counted, <code>null</code> if none
+     */
+    private static SeverityLevel setCountedSeverity(final TreeItem child, final SeverityLevel counted)
+    {
+        final SeverityLevel previous;
+        if (child instanceof AlarmPV)
+        {
+            final AlarmPV pv = (AlarmPV) child;
+            previous = pv.counted_severity;
+            pv.counted_severity = counted;
+        }
+        else
+        {
+            final ServerTreeItem item = (ServerTreeItem) child;
+            previous = item.counted_severity;
+            item.counted_severity = counted;
+        }
+        return previous;
     }
 
     /** Write to optional severity PV */
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.alarm.beast;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/** JUnit test of the {@link AlarmStateBatch}
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class AlarmStateBatchUnitTest
+{
+    @Test
+    public void testRoundTrip() throws Exception
+    {
+        final Instant now = Instant.now();
+        final List<AlarmStateBatch.Entry> entries = new ArrayList<>();
+        entries.add(new AlarmStateBatch.Entry("pv1", SeverityLevel.MAJOR, "HIHI_ALARM",
+                                              SeverityLevel.MAJOR, "HIHI_ALARM", "12.5", now));
+        entries.add(new AlarmStateBatch.Entry("pv2", SeverityLevel.OK, "NO_ALARM",
+                                              SeverityLevel.MINOR_ACK, "HIGH_ALARM", null, now.minusMillis(1234)));
+        entries.add(new AlarmStateBatch.Entry("pv3", SeverityLevel.INVALID, "Disconnected",
+                                              SeverityLevel.UNDEFINED, "Disconnected", "", now.plusSeconds(3600)));
+
+        final byte[] bytes = new AlarmStateBatch(true, entries).toBytes();
+        final AlarmStateBatch copy = AlarmStateBatch.fromBytes(bytes);
+        assertThat(copy.isMaintenanceMode(), equalTo(true));
+        assertThat(copy.getEntries().size(), equalTo(entries.size()));
+        for (int i=0; i<entries.size(); ++i)
+        {
+            final AlarmStateBatch.Entry orig = entries.get(i), entry = copy.getEntries().get(i);
+            System.out.println(entry);
+            assertThat(entry.getName(), equalTo(orig.getName()));
+            assertThat(entry.getCurrentSeverity(), equalTo(orig.getCurrentSeverity()));
+            assertThat(entry.getCurrentMessage(), equalTo(orig.getCurrentMessage()));
+            assertThat(entry.getSeverity(), equalTo(orig.getSeverity()));
+            assertThat(entry.getMessage(), equalTo(orig.getMessage()));
+            assertThat(entry.getValue(), equalTo(orig.getValue()));
+            assertThat(entry.getTimestamp().toEpochMilli(), equalTo(orig.getTimestamp().toEpochMilli()));
+        }
+        assertThat(copy.getEntries().get(1).getValue(), nullValue());
+    }
+
+    @Test
+    public void testEmptyBatch() throws Exception
+    {
+        final AlarmStateBatch copy = AlarmStateBatch.fromBytes(new AlarmStateBatch(false, new ArrayList<>()).toBytes());
+        assertThat(copy.isMaintenanceMode(), equalTo(false));
+        assertThat(copy.getEntries().size(), equalTo(0));
+    }
+
+    @Test
+    public void testSize() throws Exception
+    {
+        // Flood where many PVs enter the same alarm state
+        final Instant now = Instant.now();
+        final List<AlarmStateBatch.Entry> entries = new ArrayList<>();
+        for (int i=0; i<1000; ++i)
+            entries.add(new AlarmStateBatch.Entry("Area:Device" + i + ":Temperature",
+                                                  SeverityLevel.MAJOR, "HIHI_ALARM",
+                                                  SeverityLevel.MAJOR, "HIHI_ALARM",
+                                                  "123.4", now.plusMillis(i)));
+        final byte[] bytes = new AlarmStateBatch(false, entries).toBytes();
+        System.out.println(entries.size() + " updates in " + bytes.length + " bytes");
+        // Names dominate, common strings are only sent once
+        assertTrue(bytes.length < entries.size() * 40);
+        assertThat(AlarmStateBatch.fromBytes(bytes).getEntries().size(), equalTo(entries.size()));
+    }
+
+    /** @param bytes Corrupted batch
+     *  @param error Expected part of the error message
+     */
+    private void checkCorrupted(final byte[] bytes, final String error)
+    {
+        try
+        {
+            AlarmStateBatch.fromBytes(bytes);
+            fail("Corrupted batch was decoded");
+        }
+        catch (IOException ex)
+        {
+            System.out.println(ex.getMessage());
+            assertTrue(ex.getMessage(), ex.getMessage().contains(error));
+        }
+    }
+
+    @Test
+    public void testCorruptedBatch() throws Exception
+    {
+        final List<AlarmStateBatch.Entry> entries = new ArrayList<>();
+        entries.add(new AlarmStateBatch.Entry("pv1", SeverityLevel.MAJOR, "HIHI_ALARM",
+                                              SeverityLevel.MAJOR, "HIHI_ALARM", "12.5", Instant.now()));
+        final byte[] bytes = new AlarmStateBatch(false, entries).toBytes();
+        // Layout: version, maintenance mode, count, base time, name, current severity, ..
+        final int COUNT = 2, NAME = COUNT + 1 + 8, CURRENT_SEVERITY = NAME + 1 + 2 + 3;
+
+        // Count that doesn't fit the remaining bytes
+        byte[] corrupted = bytes.clone();
+        corrupted[COUNT] = 0x7F;
+        checkCorrupted(corrupted, "cannot hold 127 entries");
+
+        // Unknown severity
+        corrupted = bytes.clone();
+        corrupted[CURRENT_SEVERITY] = (byte) 200;
+        checkCorrupted(corrupted, "Invalid severity 200");
+
+        // Reference to a string that wasn't sent
+        corrupted = bytes.clone();
+        corrupted[NAME] = 5;
+        checkCorrupted(corrupted, "Invalid string reference 5");
+
+        // Truncated
+        final byte[] truncated = new byte[bytes.length - 2];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+        try
+        {
+            AlarmStateBatch.fromBytes(truncated);
+            fail("Truncated batch was decoded");
+        }
+        catch (IOException ex)
+        {
+            // Expected
+        }
+    }
+}
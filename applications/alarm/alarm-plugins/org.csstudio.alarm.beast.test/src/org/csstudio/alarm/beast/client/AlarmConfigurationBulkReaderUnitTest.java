@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.alarm.beast.client;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.csstudio.alarm.beast.AlarmTreePath;
+import org.csstudio.alarm.beast.SQL;
+import org.csstudio.apputil.test.TestProperties;
+import org.csstudio.platform.utility.rdb.RDBUtil;
+import org.junit.Test;
+
+/** JUnit test of the {@link AlarmConfigurationBulkReader}
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class AlarmConfigurationBulkReaderUnitTest
+{
+    private int count(final AlarmConfigurationSnapshot.Item item)
+    {
+        int count = 1;
+        for (AlarmConfigurationSnapshot.Item child : item.getChildren())
+            count += count(child);
+        return count;
+    }
+
+    @Test
+    public void testBulkReader() throws Exception
+    {
+        // Get test settings, abort if incomplete
+        final TestProperties settings = new TestProperties();
+        final String rdb_url = settings.getString("alarm_rdb_url");
+        final String rdb_user = settings.getString("alarm_rdb_user");
+        final String rdb_password = settings.getString("alarm_rdb_password");
+        if (rdb_url == null)
+        {
+            System.out.println("Need test RDB URL, skipping test");
+            return;
+        }
+        final String full_path = settings.getString("alarm_test_path");
+        if (full_path == null)
+        {
+            System.out.println("Need test path, skipping test");
+            return;
+        }
+        final String root_name = AlarmTreePath.splitPath(full_path)[0];
+
+        final RDBUtil rdb = RDBUtil.connect(rdb_url, rdb_user, rdb_password, false);
+        final SQL sql = new SQL(rdb, "ALARM");
+
+        assertNull(new AlarmConfigurationBulkReader(rdb, sql, null).read("NoSuchConfigurationRoot"));
+
+        // Read without cache
+        long start = System.currentTimeMillis();
+        final AlarmConfigurationSnapshot plain = new AlarmConfigurationBulkReader(rdb, sql, null).read(root_name);
+        System.out.println("Read " + count(plain.getRoot()) + " items in " + (System.currentTimeMillis() - start) + " ms");
+        assertEquals(root_name, plain.getRoot().getName());
+
+        // Read with cache, first populating it, then using it
+        final File cache = Files.createTempDirectory("alarm_cache").toFile();
+        try
+        {
+            final AlarmConfigurationBulkReader reader = new AlarmConfigurationBulkReader(rdb, sql, cache);
+            AlarmConfigurationSnapshot cached = reader.read(root_name);
+            assertEquals(count(plain.getRoot()), count(cached.getRoot()));
+            start = System.currentTimeMillis();
+            cached = reader.read(root_name);
+            System.out.println("Read " + count(cached.getRoot()) + " items with cache in " + (System.currentTimeMillis() - start) + " ms");
+            assertEquals(count(plain.getRoot()), count(cached.getRoot()));
+        }
+        finally
+        {
+            for (File file : cache.listFiles())
+                file.delete();
+            cache.delete();
+        }
+        rdb.close();
+    }
+}
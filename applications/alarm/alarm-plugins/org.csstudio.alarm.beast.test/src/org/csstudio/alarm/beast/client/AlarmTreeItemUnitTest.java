@@ -117,4 +117,52 @@ public class AlarmTreeItemUnitTest
         System.out.println("Total tree element count: " + tree.getElementCount());
         assertEquals(11, tree.getElementCount());
     }
+
+    @Test
+    public void testSeverityCounts() throws Exception
+    {
+        // Root
+        //    Area
+        //       pv1, pv2, pv3
+        final AlarmTreeRoot tree = new AlarmTreeRoot("Root", 0);
+        final AlarmTreeItem area = new AlarmTreeItem(tree, "Area", 0);
+        final AlarmTreePV pv1 = new AlarmTreePV(area, "pv1", 0);
+        final AlarmTreePV pv2 = new AlarmTreePV(area, "pv2", 0);
+        final AlarmTreePV pv3 = new AlarmTreePV(area, "pv3", 0);
+
+        pv1.setAlarmState(SeverityLevel.MAJOR, "High", SeverityLevel.MAJOR, "High", "10", Instant.now());
+        pv2.setAlarmState(SeverityLevel.MINOR, "Low", SeverityLevel.MINOR, "Low", "1", Instant.now());
+        assertEquals(SeverityLevel.MAJOR, area.getSeverity());
+        assertEquals("High", area.getMessage());
+        assertEquals(SeverityLevel.MAJOR, tree.getSeverity());
+        assertEquals(2, area.getAlarmChildCount());
+        assertEquals(1, tree.getAlarmChildCount());
+
+        // Alarm with highest severity clears, next one determines severity and message
+        pv1.setAlarmState(SeverityLevel.OK, "", SeverityLevel.OK, "", "0", Instant.now());
+        assertEquals(SeverityLevel.MINOR, area.getSeverity());
+        assertEquals("Low", area.getMessage());
+        assertEquals(SeverityLevel.MINOR, tree.getSeverity());
+        assertEquals(1, area.getAlarmChildCount());
+        assertEquals(pv2, area.getAlarmChild(0));
+
+        // Disable PV
+        pv3.setEnabled(false);
+        area.childChanged(pv3);
+        assertEquals(1, area.getDisabledChildCount());
+        assertEquals(1, tree.getDisabledChildCount());
+
+        // Full re-computation yields the same
+        area.maximizeSeverity();
+        assertEquals(SeverityLevel.MINOR, area.getSeverity());
+        assertEquals("Low", area.getMessage());
+        assertEquals(1, tree.getDisabledChildCount());
+
+        // Removing the alarm updates the counts
+        pv2.detachFromParent();
+        assertEquals(0, area.getAlarmChildCount());
+        pv3.setAlarmState(SeverityLevel.OK, "", SeverityLevel.OK, "", "0", Instant.now());
+        assertEquals(SeverityLevel.OK, area.getSeverity());
+        assertEquals(SeverityLevel.OK, tree.getSeverity());
+    }
 }
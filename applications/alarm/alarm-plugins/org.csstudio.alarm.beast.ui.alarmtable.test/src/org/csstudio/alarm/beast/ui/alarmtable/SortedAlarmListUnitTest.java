@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.alarm.beast.ui.alarmtable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.csstudio.alarm.beast.client.AlarmTreeItem;
+import org.csstudio.alarm.beast.client.AlarmTreePV;
+import org.csstudio.alarm.beast.client.AlarmTreeRoot;
+import org.junit.Test;
+
+/** JUnit test of {@link SortedAlarmList}
+ *
+ *  <p>Alarms are sorted by a 'rank' that the test changes in place,
+ *  like the model changes the severity or time of an alarm.
+ *  After each incremental update, the list must match a full sort,
+ *  and all rows that differ from the previous list must be
+ *  within the reported changed rows.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class SortedAlarmListUnitTest
+{
+    final private Random random = new Random(42);
+
+    /** Sort key of each PV, changed by the test */
+    final private Map<AlarmTreePV, Integer> rank = new IdentityHashMap<>();
+
+    final private Comparator<AlarmTreePV> by_rank = (a, b) ->
+    {
+        final int cmp = Integer.compare(rank.get(a), rank.get(b));
+        if (cmp != 0)
+            return cmp;
+        return a.getName().compareTo(b.getName());
+    };
+
+    private List<AlarmTreePV> createPVs(final int count)
+    {
+        final AlarmTreeRoot root = new AlarmTreeRoot("Root", 0);
+        final AlarmTreeItem area = new AlarmTreeItem(root, "Area", 1);
+        final List<AlarmTreePV> pvs = new ArrayList<>();
+        for (int i=0; i<count; ++i)
+        {
+            final AlarmTreePV pv = new AlarmTreePV(area, String.format("PV%03d", i), 2+i);
+            rank.put(pv, random.nextInt(10));
+            pvs.add(pv);
+        }
+        return pvs;
+    }
+
+    private static List<AlarmTreePV> getList(final SortedAlarmList list)
+    {
+        final List<AlarmTreePV> result = new ArrayList<>(list.size());
+        for (int i=0; i<list.size(); ++i)
+            result.add(list.get(i));
+        return result;
+    }
+
+    /** Check list against full sort and changed rows against previous list */
+    private void check(final SortedAlarmList list, final AlarmTreePV[] alarms,
+                       final List<AlarmTreePV> previous, final Comparator<AlarmTreePV> comparator)
+    {
+        final AlarmTreePV[] sorted = Arrays.copyOf(alarms, alarms.length);
+        Arrays.sort(sorted, comparator);
+        final List<AlarmTreePV> current = getList(list);
+        assertEquals(sorted.length, current.size());
+        for (int i=0; i<sorted.length; ++i)
+            assertSame("Row " + i, sorted[i], current.get(i));
+
+        final int first = list.getFirstChangedRow();
+        final int last = list.getLastChangedRow();
+        final int rows = Math.max(previous.size(), current.size());
+        for (int i=0; i<rows; ++i)
+        {
+            final boolean same = i < previous.size()  &&  i < current.size()  &&
+                                 previous.get(i) == current.get(i);
+            if (! same)
+                assertTrue("Row " + i + " changed, reported " + first + " .. " + last,
+                           first >= 0  &&  first <= i  &&  i <= last);
+        }
+        if (first < 0)
+            assertEquals(-1, last);
+        else
+        {
+            assertTrue(first <= last);
+            assertTrue(last < rows);
+        }
+    }
+
+    @Test
+    public void testIncrementalUpdates() throws Exception
+    {
+        final List<AlarmTreePV> pvs = createPVs(60);
+        final SortedAlarmList list = new SortedAlarmList(by_rank);
+
+        // Start with half of the PVs in alarm
+        List<AlarmTreePV> active = new ArrayList<>(pvs.subList(0, 30));
+        AlarmTreePV[] alarms = active.toArray(new AlarmTreePV[active.size()]);
+        List<AlarmTreePV> previous = getList(list);
+        list.update(alarms, Collections.<AlarmTreePV>emptyList());
+        check(list, alarms, previous, by_rank);
+
+        for (int run=0; run<500; ++run)
+        {
+            previous = getList(list);
+
+            // Some alarms clear, other PVs enter the alarm state
+            final List<AlarmTreePV> next = new ArrayList<>();
+            for (AlarmTreePV pv : pvs)
+            {
+                final boolean in_alarm = active.contains(pv);
+                final boolean toggle = random.nextInt(20) == 0;
+                if (in_alarm != toggle)
+                    next.add(pv);
+            }
+            // Some alarms change their sort criteria in place
+            final List<AlarmTreePV> changed = new ArrayList<>();
+            for (AlarmTreePV pv : next)
+                if (random.nextInt(10) == 0)
+                {
+                    rank.put(pv, random.nextInt(10));
+                    changed.add(pv);
+                }
+            // New alarms may also be reported as changed
+            if (! next.isEmpty()  &&  random.nextBoolean())
+                changed.add(next.get(random.nextInt(next.size())));
+
+            active = next;
+            Collections.shuffle(active, random);
+            alarms = active.toArray(new AlarmTreePV[active.size()]);
+            list.update(alarms, changed);
+            check(list, alarms, previous, by_rank);
+        }
+    }
+
+    @Test
+    public void testNoChange() throws Exception
+    {
+        final List<AlarmTreePV> pvs = createPVs(20);
+        final SortedAlarmList list = new SortedAlarmList(by_rank);
+        final AlarmTreePV[] alarms = pvs.toArray(new AlarmTreePV[pvs.size()]);
+        list.update(alarms, Collections.<AlarmTreePV>emptyList());
+
+        final List<AlarmTreePV> previous = getList(list);
+        list.update(alarms, Collections.<AlarmTreePV>emptyList());
+        check(list, alarms, previous, by_rank);
+        assertEquals(-1, list.getFirstChangedRow());
+        assertEquals(-1, list.getLastChangedRow());
+    }
+
+    @Test
+    public void testResort() throws Exception
+    {
+        final List<AlarmTreePV> pvs = createPVs(40);
+        final SortedAlarmList list = new SortedAlarmList(by_rank);
+        final AlarmTreePV[] alarms = pvs.toArray(new AlarmTreePV[pvs.size()]);
+        list.update(alarms, Collections.<AlarmTreePV>emptyList());
+        check(list, alarms, Collections.<AlarmTreePV>emptyList(), by_rank);
+
+        // New comparator re-sorts all alarms on the next update
+        final Comparator<AlarmTreePV> by_name = (a, b) -> b.getName().compareTo(a.getName());
+        list.setComparator(by_name);
+        List<AlarmTreePV> previous = getList(list);
+        list.update(alarms, Collections.<AlarmTreePV>emptyList());
+        check(list, alarms, previous, by_name);
+        assertEquals(0, list.getFirstChangedRow());
+        assertEquals(alarms.length-1, list.getLastChangedRow());
+
+        // Full update when changes are unknown
+        final AlarmTreePV[] fewer = Arrays.copyOf(alarms, 25);
+        previous = getList(list);
+        list.update(fewer, null);
+        check(list, fewer, previous, by_name);
+
+        // Clear reports all previous rows as changed
+        list.clear();
+        assertEquals(0, list.size());
+        assertEquals(0, list.getFirstChangedRow());
+        assertEquals(fewer.length-1, list.getLastChangedRow());
+    }
+}
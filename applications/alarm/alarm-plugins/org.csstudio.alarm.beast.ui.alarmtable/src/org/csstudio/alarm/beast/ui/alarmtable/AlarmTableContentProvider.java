@@ -7,7 +7,7 @@
  ******************************************************************************/
 package org.csstudio.alarm.beast.ui.alarmtable;
 
-import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
 
 import org.csstudio.alarm.beast.client.AlarmTreePV;
@@ -23,6 +23,10 @@ import org.eclipse.osgi.util.NLS;
  *  But that resulted in flicker on Linux.
  *  Now the 'input' to the table is actually null, and <code>setAlarms()</code>
  *  is used to keep track of the alarms to display.
+ *  <p>
+ *  Alarms are kept in a {@link SortedAlarmList}.
+ *  When told which alarms changed, only the affected rows
+ *  of the virtual table are cleared and thus re-drawn.
  *
  *  @author Kay Kasemir
  */
@@ -30,40 +34,77 @@ public class AlarmTableContentProvider implements ILazyContentProvider
 {
     private int alarm_table_row_limit = Preferences.getAlarmTableRowLimit();
     private TableViewer table_viewer;
-    private AlarmTreePV[] alarms;
     private AlarmTreePV[] orgAlarms;
-    private Comparator<AlarmTreePV> comparator = AlarmComparator.getComparator(ColumnInfo.SEVERITY, false);
+    final private SortedAlarmList alarms = new SortedAlarmList(AlarmComparator.getComparator(ColumnInfo.SEVERITY, false));
+
+    /** Explanatory entry shown at end when there are more alarms than the row limit */
+    private AlarmTreePV limit_info = createLimitInfo();
+
+    private AlarmTreePV createLimitInfo()
+    {
+        final AlarmTreePV info = new AlarmTreePV(null, Messages.AlarmTableRowLimitMessage, -1);
+        info.setDescription(NLS.bind(Messages.AlarmTableRowLimitInfoFmt, alarm_table_row_limit));
+        return info;
+    }
 
     /** Update the list of alarms to display.
      *  @param alarms
      */
     public void setAlarms(final AlarmTreePV alarms[])
+    {
+        setAlarms(alarms, null);
+    }
+
+    /** Update the list of alarms to display.
+     *  @param alarms
+     *  @param changed Alarms that changed since last call, <code>null</code> to update all
+     */
+    public void setAlarms(final AlarmTreePV alarms[], final Collection<AlarmTreePV> changed)
     {
         this.orgAlarms = alarms;
         if (alarms == null)
         {
-            this.alarms = null;
+            this.alarms.clear();
             table_viewer.setItemCount(0);
+            return;
         }
-        else if (alarms.length > alarm_table_row_limit)
-        { // Use only a subset of actual alarms
-            Arrays.sort(alarms, comparator);
-            this.alarms = new AlarmTreePV[alarm_table_row_limit + 1];
-            System.arraycopy(alarms, 0, this.alarms, 0, alarm_table_row_limit);
-            // Add explanatory entry to end
-            final AlarmTreePV info = new AlarmTreePV(null, Messages.AlarmTableRowLimitMessage, -1);
-            info.setDescription(NLS.bind(Messages.AlarmTableRowLimitInfoFmt, alarm_table_row_limit));
-            this.alarms[alarm_table_row_limit] = info;
-            // Sort all but that explanatory entry
-            table_viewer.setItemCount(alarm_table_row_limit + 1);
-        }
+        final int old_count = getRowCount();
+        this.alarms.update(alarms, changed);
+        final int count = getRowCount();
+        if (count != old_count)
+            table_viewer.setItemCount(count);
+        if (changed == null)
+            table_viewer.refresh();
         else
-        {    // Use alarms as received
-            this.alarms = alarms;
-            Arrays.sort(this.alarms, comparator);
-            table_viewer.setItemCount(alarms.length);
+        {   // Only clear rows that changed, which will then be re-fetched via updateElement
+            final int first = this.alarms.getFirstChangedRow();
+            if (first < 0  ||  first >= count)
+                return;
+            int last = this.alarms.getLastChangedRow();
+            // Rows beyond the limit are not shown, but the 'limit' row may need an update
+            if (this.alarms.size() > alarm_table_row_limit)
+                last = count - 1;
+            table_viewer.getTable().clear(first, Math.min(last, count - 1));
         }
-        table_viewer.refresh();
+    }
+
+    /** @return Number of rows in table, including the 'limit' info row */
+    private int getRowCount()
+    {
+        final int size = alarms.size();
+        if (size > alarm_table_row_limit)
+            return alarm_table_row_limit + 1;
+        return size;
+    }
+
+    /** @param row Table row
+     *  @return Alarm to show in that row
+     */
+    private AlarmTreePV getAlarm(final int row)
+    {
+        if (row == alarm_table_row_limit)
+            return limit_info;
+        return alarms.get(row);
     }
 
     /**
@@ -74,6 +115,7 @@ public class AlarmTableContentProvider implements ILazyContentProvider
      */
     public void setNumberOfAlarmsLimit(int limit) {
         this.alarm_table_row_limit = limit;
+        limit_info = createLimitInfo();
         if (table_viewer != null)
             setAlarms(orgAlarms);
     }
@@ -81,13 +123,18 @@ public class AlarmTableContentProvider implements ILazyContentProvider
     /** @return Alarms to be shown in table */
     public AlarmTreePV[] getAlarms()
     {
-        return alarms;
+        if (orgAlarms == null)
+            return null;
+        final AlarmTreePV[] result = new AlarmTreePV[getRowCount()];
+        for (int row=0; row<result.length; ++row)
+            result[row] = getAlarm(row);
+        return result;
     }
 
     /** @param comparator Comparator that's used to sort alarms */
     public void setComparator(final Comparator<AlarmTreePV> comparator)
     {
-        this.comparator = comparator;
+        alarms.setComparator(comparator);
         // trigger refresh
         if (table_viewer != null)
             setAlarms(orgAlarms);
@@ -104,8 +151,8 @@ public class AlarmTableContentProvider implements ILazyContentProvider
     @Override
     public void updateElement(final int row)
     {
-        if (row < alarms.length && !table_viewer.isBusy())
-            table_viewer.replace(alarms[row], row);
+        if (row < getRowCount() && !table_viewer.isBusy())
+            table_viewer.replace(getAlarm(row), row);
     }
 
     /** {@inheritDoc} */
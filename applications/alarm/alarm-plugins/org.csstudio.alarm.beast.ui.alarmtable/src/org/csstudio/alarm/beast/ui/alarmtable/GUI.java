@@ -9,7 +9,9 @@ package org.csstudio.alarm.beast.ui.alarmtable;
 
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.WeakHashMap;
@@ -211,6 +213,11 @@ public class GUI extends Composite implements AlarmClientModelListener
     /** Should the labels with the number of alarms be displayed or not */
     private final boolean show_header;
 
+    /** PVs that changed since the last GUI update, <code>null</code> to update all.
+     *  SYNC on this
+     */
+    private Set<AlarmTreePV> changed_pvs = null;
+
     /** GUI updates are throttled to reduce flicker */
     final private GUIUpdateThrottle gui_update = new GUIUpdateThrottle()
     {
@@ -220,6 +227,8 @@ public class GUI extends Composite implements AlarmClientModelListener
             if (display.isDisposed() || model == null)
                 return;
 
+            final Set<AlarmTreePV> changed = takeChangedPVs();
+
             AlarmTreePV[] rawAlarms = model.getActiveAlarms();
             final AlarmTreePV[] filteredAlarms = filter(rawAlarms);
             final int rawAlarmsLength = rawAlarms.length;
@@ -248,7 +257,7 @@ public class GUI extends Composite implements AlarmClientModelListener
                 // which then updates the table with setItemCount(), refresh(),
                 // as that happens to not flicker.
                 updateGUI(rawAlarmsLength,filteredAlarms,rawAcknowledgedAlarmsLength,
-                        filteredAcknowledged,combinedAlarms);
+                        filteredAcknowledged,combinedAlarms,changed);
             });
         }
     };
@@ -904,12 +913,11 @@ public class GUI extends Composite implements AlarmClientModelListener
         display.asyncExec(() -> setErrorMessage(org.csstudio.alarm.beast.ui.Messages.ServerTimeout));
     }
 
-    // For now, the table responds to any changes with a full update
     // @see AlarmClientModelListener
     @Override
     public void newAlarmConfiguration(final AlarmClientModel model)
     {
-        gui_update.trigger();
+        triggerUpdate(null);
         display.asyncExec(() ->
         {
             if (model.isServerAlive())
@@ -923,7 +931,7 @@ public class GUI extends Composite implements AlarmClientModelListener
     @Override
     public void newAlarmState(final AlarmClientModel model, final AlarmTreePV pv, final boolean parent_changed)
     {
-        gui_update.trigger();
+        triggerUpdate(pv == null ? null : Collections.singleton(pv));
 
         if (model.isServerAlive() && have_error_message)
         {
@@ -932,6 +940,29 @@ public class GUI extends Composite implements AlarmClientModelListener
         }
     }
 
+    /** Mark PVs as changed and trigger GUI update
+     *  @param pvs PVs that changed, <code>null</code> to update all
+     */
+    private void triggerUpdate(final Collection<AlarmTreePV> pvs)
+    {
+        synchronized (this)
+        {
+            if (pvs == null)
+                changed_pvs = null;
+            else if (changed_pvs != null)
+                changed_pvs.addAll(pvs);
+        }
+        gui_update.trigger();
+    }
+
+    /** @return PVs that changed since last call, <code>null</code> to update all */
+    private synchronized Set<AlarmTreePV> takeChangedPVs()
+    {
+        final Set<AlarmTreePV> changed = changed_pvs;
+        changed_pvs = new HashSet<>();
+        return changed;
+    }
+
     private AlarmTreePV[] filter(AlarmTreePV[] alarms)
     {
         if (filter_item_parent == null || filter_item_parent instanceof AlarmTreeRoot || alarms.length == 0)
@@ -960,12 +991,12 @@ public class GUI extends Composite implements AlarmClientModelListener
 
     private void updateGUI(int numberOfRawAlarms, AlarmTreePV[] filteredAlarms,
             int numberOfRawAcknowledgedAlarms, AlarmTreePV[] filteredAcknowledgedAlarms,
-            AlarmTreePV[] combinedAlarms)
+            AlarmTreePV[] combinedAlarms, Set<AlarmTreePV> changed)
     {
         if (model == null || active_table_viewer.getTable().isDisposed()) return;
         //if GUI is currently busy, do not update anything, just trigger another update
         if (active_table_viewer.isBusy()) {
-            gui_update.trigger();
+            triggerUpdate(changed);
             return;
         }
 
@@ -1006,13 +1037,13 @@ public class GUI extends Composite implements AlarmClientModelListener
         }
         if (separate_tables)
         {
-            ((AlarmTableContentProvider) active_table_viewer.getContentProvider()).setAlarms(filteredAlarms);
+            ((AlarmTableContentProvider) active_table_viewer.getContentProvider()).setAlarms(filteredAlarms, changed);
             ((AlarmTableContentProvider) acknowledged_table_viewer.getContentProvider()).setAlarms(
-                    filteredAcknowledgedAlarms);
+                    filteredAcknowledgedAlarms, changed);
         }
         else
         {
-            ((AlarmTableContentProvider) active_table_viewer.getContentProvider()).setAlarms(combinedAlarms);
+            ((AlarmTableContentProvider) active_table_viewer.getContentProvider()).setAlarms(combinedAlarms, changed);
         }
     }
 
@@ -1031,7 +1062,7 @@ public class GUI extends Composite implements AlarmClientModelListener
             this.model.removeListener(this);
         this.model = model;
         setUpModel();
-        gui_update.trigger();
+        triggerUpdate(null);
     }
 
     /**
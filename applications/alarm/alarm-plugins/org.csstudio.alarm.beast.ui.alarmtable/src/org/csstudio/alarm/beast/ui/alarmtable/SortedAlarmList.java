@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.alarm.beast.ui.alarmtable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.csstudio.alarm.beast.client.AlarmTreePV;
+
+/** Sorted list of alarms that is updated incrementally
+ *
+ *  <p>Instead of sorting all alarms on each update,
+ *  alarms that were removed or changed are taken out of the list,
+ *  and added or changed alarms are then merged back in.
+ *  For N alarms with K changes, that is O(N + K log K)
+ *  instead of O(N log N) for sorting all alarms.
+ *
+ *  <p>Since alarms are updated in place by the model,
+ *  an alarm whose sort criteria (severity, time, ...) may have changed
+ *  must be reported as 'changed', otherwise the list can get out of order.
+ *
+ *  <p>Not thread-safe, meant to be called on the UI thread.
+ *
+ *  @author agent
+ */
+public class SortedAlarmList
+{
+    private Comparator<AlarmTreePV> comparator;
+
+    /** Alarms, sorted by comparator */
+    private List<AlarmTreePV> alarms = new ArrayList<>();
+
+    /** The alarms in the list, using identity to distinguish
+     *  between PVs of old and new alarm configurations that have the same path
+     */
+    private Set<AlarmTreePV> members = newIdentitySet();
+
+    /** Re-sort all alarms on next update? */
+    private boolean resort = false;
+
+    /** First and last row that changed in last update */
+    private int first_changed = -1, last_changed = -1;
+
+    /** @param comparator Comparator that's used to sort alarms */
+    public SortedAlarmList(final Comparator<AlarmTreePV> comparator)
+    {
+        this.comparator = comparator;
+    }
+
+    private static Set<AlarmTreePV> newIdentitySet()
+    {
+        return Collections.newSetFromMap(new IdentityHashMap<AlarmTreePV, Boolean>());
+    }
+
+    /** @param comparator Comparator that's used to sort alarms.
+     *                    Takes effect with the next update, which will re-sort all alarms.
+     */
+    public void setComparator(final Comparator<AlarmTreePV> comparator)
+    {
+        this.comparator = comparator;
+        resort = true;
+    }
+
+    /** @return Number of alarms */
+    public int size()
+    {
+        return alarms.size();
+    }
+
+    /** @param index Index 0 .. size()-1
+     *  @return Alarm at that position in the sorted list
+     */
+    public AlarmTreePV get(final int index)
+    {
+        return alarms.get(index);
+    }
+
+    /** Remove all alarms */
+    public void clear()
+    {
+        first_changed = alarms.isEmpty() ? -1 : 0;
+        last_changed = alarms.size() - 1;
+        alarms = new ArrayList<>();
+        members = newIdentitySet();
+    }
+
+    /** Update the list
+     *  @param new_alarms Alarms that should now be in the list
+     *  @param changed Alarms that might have changed since the last call,
+     *                 <code>null</code> to re-sort all alarms
+     */
+    public void update(final AlarmTreePV[] new_alarms, final Collection<AlarmTreePV> changed)
+    {
+        final int old_size = alarms.size();
+        final Set<AlarmTreePV> new_members = newIdentitySet();
+        new_members.addAll(Arrays.asList(new_alarms));
+
+        if (changed == null  ||  resort)
+        {   // Full update
+            resort = false;
+            final AlarmTreePV[] sorted = Arrays.copyOf(new_alarms, new_alarms.length);
+            Arrays.sort(sorted, comparator);
+            alarms = new ArrayList<>(Arrays.asList(sorted));
+            members = new_members;
+            first_changed = 0;
+            last_changed = Math.max(old_size, alarms.size()) - 1;
+            return;
+        }
+
+        final Set<AlarmTreePV> changed_set = newIdentitySet();
+        changed_set.addAll(changed);
+
+        // Alarms to merge into the list: New ones and those that changed
+        final List<AlarmTreePV> added = new ArrayList<>();
+        for (AlarmTreePV pv : new_alarms)
+            if (changed_set.contains(pv)  ||  ! members.contains(pv))
+                added.add(pv);
+        Collections.sort(added, comparator);
+
+        // Merge added alarms into remaining ones
+        final List<AlarmTreePV> merged = new ArrayList<>(new_alarms.length);
+        int first = Integer.MAX_VALUE, last = -1;
+        int a = 0;
+        for (int i=0; i<old_size; ++i)
+        {
+            final AlarmTreePV pv = alarms.get(i);
+            if (changed_set.contains(pv)  ||  ! new_members.contains(pv))
+            {   // Alarm was removed from this row
+                first = Math.min(first, i);
+                last = Math.max(last, i);
+                continue;
+            }
+            while (a < added.size()  &&  comparator.compare(added.get(a), pv) < 0)
+            {
+                first = Math.min(first, merged.size());
+                last = Math.max(last, merged.size());
+                merged.add(added.get(a++));
+            }
+            merged.add(pv);
+        }
+        while (a < added.size())
+        {
+            first = Math.min(first, merged.size());
+            last = Math.max(last, merged.size());
+            merged.add(added.get(a++));
+        }
+
+        alarms = merged;
+        members = new_members;
+        if (last < 0)
+            first_changed = last_changed = -1;
+        else
+        {
+            first_changed = first;
+            // When rows were added or removed, all following rows moved
+            last_changed = old_size == alarms.size() ? last : Math.max(old_size, alarms.size()) - 1;
+        }
+    }
+
+    /** @return First row that changed in last update, -1 if nothing changed */
+    public int getFirstChangedRow()
+    {
+        return first_changed;
+    }
+
+    /** @return Last row that changed in last update, -1 if nothing changed.
+     *          May be beyond the current size() when rows were removed.
+     */
+    public int getLastChangedRow()
+    {
+        return last_changed;
+    }
+}
@@ -0,0 +1,297 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.alarm.beast;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Batch of PV alarm state updates
+ *
+ *  <p>Carries many state changes in one compact binary payload
+ *  for a JMS BytesMessage, see {@link JMSAlarmMessage#TEXT_STATE_BATCH}.
+ *  Strings that repeat within the batch, like "MAJOR_ALARM" or "Disconnected",
+ *  are only sent once and then referenced by index.
+ *  Time stamps are sent as deltas to the first time stamp of the batch.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class AlarmStateBatch
+{
+    /** Format version */
+    private static final byte VERSION = 1;
+
+    /** String reference for <code>null</code> */
+    private static final int STRING_NULL = 0;
+
+    /** String reference for a new string that follows in UTF format */
+    private static final int STRING_NEW = 1;
+
+    /** String references from this value on refer to previous strings */
+    private static final int STRING_INDEX = 2;
+
+    private static final SeverityLevel[] levels = SeverityLevel.values();
+
+    /** Minimum size of one entry: Six one-byte string references or severities, one-byte time delta */
+    private static final int MIN_ENTRY_BYTES = 7;
+
+    /** Alarm state update for one PV */
+    public static class Entry
+    {
+        final private String name;
+        final private SeverityLevel current_severity, severity;
+        final private String current_message, message, value;
+        final private Instant timestamp;
+
+        /** Initialize
+         *  @param name PV name
+         *  @param current_severity Current severity of the PV
+         *  @param current_message Current message of the PV
+         *  @param severity Alarm severity
+         *  @param message Alarm message
+         *  @param value Value that triggered update, may be <code>null</code>
+         *  @param timestamp Time stamp for alarm severity/status
+         */
+        public Entry(final String name,
+                     final SeverityLevel current_severity, final String current_message,
+                     final SeverityLevel severity, final String message,
+                     final String value, final Instant timestamp)
+        {
+            this.name = name;
+            this.current_severity = current_severity;
+            this.current_message = current_message;
+            this.severity = severity;
+            this.message = message;
+            this.value = value;
+            this.timestamp = timestamp;
+        }
+
+        /** @return PV name */
+        public String getName()
+        {
+            return name;
+        }
+
+        /** @return Current PV severity */
+        public SeverityLevel getCurrentSeverity()
+        {
+            return current_severity;
+        }
+
+        /** @return Current PV message */
+        public String getCurrentMessage()
+        {
+            return current_message;
+        }
+
+        /** @return Alarm severity */
+        public SeverityLevel getSeverity()
+        {
+            return severity;
+        }
+
+        /** @return Alarm message */
+        public String getMessage()
+        {
+            return message;
+        }
+
+        /** @return Alarm value, may be <code>null</code> */
+        public String getValue()
+        {
+            return value;
+        }
+
+        /** @return Time of alarm */
+        public Instant getTimestamp()
+        {
+            return timestamp;
+        }
+
+        @Override
+        public String toString()
+        {
+            return name + " " + current_severity + "/" + current_message + ", alarm " + severity + "/" + message;
+        }
+    }
+
+    final private boolean maintenance_mode;
+    final private List<Entry> entries;
+
+    /** Initialize
+     *  @param maintenance_mode Was server in maintenance mode?
+     *  @param entries PV updates
+     */
+    public AlarmStateBatch(final boolean maintenance_mode, final List<Entry> entries)
+    {
+        this.maintenance_mode = maintenance_mode;
+        this.entries = entries;
+    }
+
+    /** @return Was server in maintenance mode? */
+    public boolean isMaintenanceMode()
+    {
+        return maintenance_mode;
+    }
+
+    /** @return PV updates */
+    public List<Entry> getEntries()
+    {
+        return Collections.unmodifiableList(entries);
+    }
+
+    /** @return Binary representation
+     *  @throws IOException on error
+     */
+    public byte[] toBytes() throws IOException
+    {
+        final ByteArrayOutputStream buf = new ByteArrayOutputStream(64 + 32 * entries.size());
+        final DataOutputStream out = new DataOutputStream(buf);
+        out.writeByte(VERSION);
+        out.writeBoolean(maintenance_mode);
+        writeVarLong(out, entries.size());
+        if (! entries.isEmpty())
+        {
+            final long base = entries.get(0).timestamp.toEpochMilli();
+            out.writeLong(base);
+            final Map<String, Integer> strings = new HashMap<>();
+            for (Entry entry : entries)
+            {
+                writeString(out, strings, entry.name);
+                out.writeByte(entry.current_severity.ordinal());
+                writeString(out, strings, entry.current_message);
+                out.writeByte(entry.severity.ordinal());
+                writeString(out, strings, entry.message);
+                writeString(out, strings, entry.value);
+                final long delta = entry.timestamp.toEpochMilli() - base;
+                // Zig-zag encoding for negative deltas
+                writeVarLong(out, (delta << 1) ^ (delta >> 63));
+            }
+        }
+        out.flush();
+        return buf.toByteArray();
+    }
+
+    /** @param bytes Binary representation
+     *  @return {@link AlarmStateBatch}
+     *  @throws IOException on error, including corrupted data
+     *  @see #toBytes()
+     */
+    public static AlarmStateBatch fromBytes(final byte[] bytes) throws IOException
+    {
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        final byte version = in.readByte();
+        if (version != VERSION)
+            throw new IOException("Unknown alarm state batch version " + version);
+        final boolean maintenance_mode = in.readBoolean();
+        final long count = readVarLong(in);
+        if (count < 0  ||  count > in.available() / MIN_ENTRY_BYTES)
+            throw new IOException("Alarm state batch of " + bytes.length + " bytes cannot hold " + count + " entries");
+        final List<Entry> entries = new ArrayList<>((int) count);
+        if (count > 0)
+        {
+            final long base = in.readLong();
+            final List<String> strings = new ArrayList<>();
+            for (int i=0; i<count; ++i)
+            {
+                final String name = readString(in, strings);
+                final SeverityLevel current_severity = readSeverity(in);
+                final String current_message = readString(in, strings);
+                final SeverityLevel severity = readSeverity(in);
+                final String message = readString(in, strings);
+                final String value = readString(in, strings);
+                final long zigzag = readVarLong(in);
+                final long delta = (zigzag >>> 1) ^ -(zigzag & 1);
+                entries.add(new Entry(name, current_severity, current_message,
+                                      severity, message, value,
+                                      Instant.ofEpochMilli(base + delta)));
+            }
+        }
+        return new AlarmStateBatch(maintenance_mode, entries);
+    }
+
+    private static void writeString(final DataOutputStream out, final Map<String, Integer> strings,
+                                    final String text) throws IOException
+    {
+        if (text == null)
+        {
+            writeVarLong(out, STRING_NULL);
+            return;
+        }
+        final Integer index = strings.get(text);
+        if (index != null)
+            writeVarLong(out, STRING_INDEX + index);
+        else
+        {
+            writeVarLong(out, STRING_NEW);
+            out.writeUTF(text);
+            strings.put(text, strings.size());
+        }
+    }
+
+    private static String readString(final DataInputStream in, final List<String> strings) throws IOException
+    {
+        final int code = (int) readVarLong(in);
+        if (code == STRING_NULL)
+            return null;
+        if (code == STRING_NEW)
+        {
+            final String text = in.readUTF();
+            strings.add(text);
+            return text;
+        }
+        final int index = code - STRING_INDEX;
+        if (index < 0  ||  index >= strings.size())
+            throw new IOException("Invalid string reference " + code + " in alarm state batch");
+        return strings.get(index);
+    }
+
+    private static SeverityLevel readSeverity(final DataInputStream in) throws IOException
+    {
+        final int ordinal = in.readUnsignedByte();
+        if (ordinal >= levels.length)
+            throw new IOException("Invalid severity " + ordinal + " in alarm state batch");
+        return levels[ordinal];
+    }
+
+    /** Write unsigned number with 7 bits per byte */
+    private static void writeVarLong(final DataOutputStream out, long value) throws IOException
+    {
+        while ((value & ~0x7FL) != 0)
+        {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(final DataInputStream in) throws IOException
+    {
+        long value = 0;
+        int shift = 0;
+        while (true)
+        {
+            final int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return value;
+            shift += 7;
+            if (shift > 63)
+                throw new IOException("Invalid number encoding");
+        }
+    }
+}
@@ -65,6 +65,24 @@ public class JMSAlarmMessage
      */
     final public static String TEXT_STATE_MAINTENANCE = "STATE_MAINTENANCE";
 
+    /** Value for TEXT property of a BytesMessage that carries
+     *  the state changes of many PVs, see {@link AlarmStateBatch}
+     */
+    final public static String TEXT_STATE_BATCH = "STATE_BATCH";
+
+    /** Boolean message property set on per-PV state messages
+     *  when the same update is also sent within a {@link #TEXT_STATE_BATCH}.
+     *  Clients that handle batches use a message selector to skip these.
+     */
+    final public static String BATCHED = "BATCHED";
+
+    /** Value for TEXT that indicates an alarm flood.
+     *  NAME will contain the area,
+     *  VALUE the number of alarms since the last flood message or 0 when the flood ended,
+     *  SEVERITY the highest severity of those alarms
+     */
+    final public static String TEXT_FLOOD = "FLOOD";
+
     /** Value for TEXT that indicates a configuration change.
      *  NAME will contain path to item that was added, removed,
      *  reconfigured, or null for an overall change.
@@ -9,6 +9,7 @@ package org.csstudio.alarm.beast;
 
 import java.util.logging.Level;
 
+import javax.jms.BytesMessage;
 import javax.jms.Connection;
 import javax.jms.DeliveryMode;
 import javax.jms.ExceptionListener;
@@ -135,6 +136,19 @@ abstract public class JMSCommunicationThread
         return consumer;
     }
 
+    /** Create a consumer that only receives selected messages.
+     *  @param topic_name Name of topic for the new consumer
+     *  @param selector JMS message selector
+     *  @return MessageProducer
+     *  @throws JMSException on error
+     */
+    protected MessageConsumer createConsumer(final String topic_name, final String selector) throws JMSException
+    {
+        final Topic topic = session.createTopic(topic_name);
+        final MessageConsumer consumer = session.createConsumer(topic, selector);
+        return consumer;
+    }
+
 
     /** Create JMS producers and consumers.
      *  To be implemented by derived classes.
@@ -158,6 +172,15 @@ abstract public class JMSCommunicationThread
         return session.createMapMessage();
     }
 
+    /** Create empty bytes message on the communicator's session
+     *  @return BytesMessage
+     *  @throws JMSException on error
+     */
+    protected synchronized BytesMessage createBytesMessage() throws JMSException
+    {
+        return session.createBytesMessage();
+    }
+
     /** Perform communication.
      *  To be implemented by derived classes.
      *  Default simply waits a short time for
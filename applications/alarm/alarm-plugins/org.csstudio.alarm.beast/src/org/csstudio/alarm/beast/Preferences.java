@@ -7,6 +7,7 @@
  ******************************************************************************/
 package org.csstudio.alarm.beast;
 
+import java.io.File;
 import java.util.logging.Level;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -58,10 +59,15 @@ public class Preferences
     final public static String GUI_UPDATE_INITIAL_MILLIS = "gui_update_initial_millis";
     final public static String BATCH_UPDATE_PERIOD = "batch_update_period";
     final public static String BATCH_SIZE = "batch_size";
+    final public static String CONFIG_CACHE = "config_cache";
+    final public static String JMS_BATCH_LATENCY = "jms_batch_latency";
+    final public static String JMS_BATCH_UPDATES = "jms_batch_updates";
+    final public static String JMS_INDIVIDUAL_STATE_UPDATES = "jms_individual_state_updates";
 
     final private static String SERVER_SUFFIX = "_SERVER";
     final private static String CLIENT_SUFFIX = "_CLIENT";
     final private static String TALK_SUFFIX = "_TALK";
+    final private static String BATCH_SUFFIX = "_BATCH";
 
 
     /** @param setting Preference identifier
@@ -161,6 +167,14 @@ public class Preferences
         return config + SERVER_SUFFIX;
     }
 
+    /** @param config Alarm configuration name (root)
+     *  @return JMS topic used for batched alarm state updates from server
+     */
+    public static String getJMS_AlarmServerBatchTopic(final String config)
+    {
+        return config + SERVER_SUFFIX + BATCH_SUFFIX;
+    }
+
     /** @param config Alarm configuration name (root)
      *  @return JMS topic used for alarm messages form clients
      */
@@ -190,6 +204,33 @@ public class Preferences
         return service.getLong(Activator.ID, JMS_IDLE_TIMEOUT, 10, null);
     }
 
+    /** @return Maximum delay in ms for collecting state updates into a batch, 0 to disable batches */
+    public static long getJMS_BatchLatency()
+    {
+        final IPreferencesService service = Platform.getPreferencesService();
+        if (service == null)
+            return 0;
+        return service.getLong(Activator.ID, JMS_BATCH_LATENCY, 200, null);
+    }
+
+    /** @return <code>true</code> if client should receive batched state updates */
+    public static boolean isJMS_BatchUpdates()
+    {
+        final IPreferencesService service = Platform.getPreferencesService();
+        if (service == null)
+            return false;
+        return service.getBoolean(Activator.ID, JMS_BATCH_UPDATES, true, null);
+    }
+
+    /** @return <code>true</code> if server should send individual state messages while it also sends batches */
+    public static boolean isJMS_IndividualStateUpdates()
+    {
+        final IPreferencesService service = Platform.getPreferencesService();
+        if (service == null)
+            return true;
+        return service.getBoolean(Activator.ID, JMS_INDIVIDUAL_STATE_UPDATES, true, null);
+    }
+
     /** @return Delay in ms between PV startups */
     public static long getPVStartDelay()
     {
@@ -332,4 +373,21 @@ public class Preferences
         final IPreferencesService service = Platform.getPreferencesService();
         return service.getInt(Activator.ID, BATCH_SIZE, 3000, null);
     }
+
+    /** @return Directory for cached alarm configurations, or <code>null</code> to disable the cache */
+    public static File getConfigCacheDirectory()
+    {
+        final String dir = getString(CONFIG_CACHE, "");
+        if (dir == null  ||  dir.trim().isEmpty())
+            return null;
+        try
+        {
+            return new File(replaceProperties(dir.trim()));
+        }
+        catch (Exception ex)
+        {
+            Activator.getLogger().log(Level.WARNING, "Error in config_cache preference setting", ex);
+            return null;
+        }
+    }
 }
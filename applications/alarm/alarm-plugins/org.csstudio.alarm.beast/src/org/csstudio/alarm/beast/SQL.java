@@ -21,6 +21,9 @@ public class SQL
     /** Schema prefix. Required for SNS Oracle. Set to "" for MySQL */
     final public String schema_prefix;
 
+    /** RDB dialect */
+    final private Dialect dialect;
+
     final public String sel_configurations;
 
     final public String sel_configuration_by_name;
@@ -31,6 +34,13 @@ public class SQL
     final public String sel_items_by_parent;
     final public String sel_item_by_parent_and_name;
     final public String sel_last_item_id;
+    final public String sel_config_fingerprint;
+    final public String sel_all_items;
+    final public String sel_all_guidance;
+    final public String sel_all_displays;
+    final public String sel_all_commands;
+    final public String sel_all_auto_actions;
+    final public String sel_all_pv_states;
     final public String insert_item;
 
     final public String delete_guidance_by_id;
@@ -43,6 +53,7 @@ public class SQL
     final public String insert_auto_action;
 
     final public String update_item_config_time;
+    final public String sel_item_config_time;
 
     final public String delete_component_by_id;
 
@@ -79,6 +90,7 @@ public class SQL
      */
     public SQL(final RDBUtil rdb, final String schema) throws Exception
     {
+        dialect = rdb.getDialect();
         if (rdb.getDialect() == Dialect.MySQL || rdb.getDialect() == Dialect.PostgreSQL)
             schema_prefix = "";
         else if (rdb.getDialect() == Dialect.Oracle)
@@ -86,6 +98,13 @@ public class SQL
         else
             throw new Exception("This database is not supported");
 
+        // Database might not provide a default config time, so include
+        // that in the INSERT and UPDATE statements.
+        // Use the database time for all config times
+        // since they are compared in sel_config_fingerprint.
+        final String now = rdb.getDialect() == Dialect.Oracle
+                         ? "SYSDATE" : "NOW()";
+
         sel_configurations = "SELECT NAME FROM "+ schema_prefix + "ALARM_TREE WHERE PARENT_CMPNT_ID IS NULL";
 
         sel_configuration_by_name = "SELECT COMPONENT_ID FROM " + schema_prefix + "ALARM_TREE WHERE NAME=? AND PARENT_CMPNT_ID IS NULL";
@@ -137,10 +156,38 @@ public class SQL
         sel_last_item_id =
             "SELECT MAX(COMPONENT_ID) FROM " + schema_prefix + "ALARM_TREE";
 
-        // Database might not provide a default config time, so include
-        // that in the INSERT statement
-        final String now = rdb.getDialect() == Dialect.Oracle
-                         ? "SYSDATE" : "NOW()";
+        // Bulk queries for reading a complete configuration
+        // in a few round trips, see AlarmConfigurationBulkReader.
+        // Changes to the configuration add or remove items or update CONFIG_TIME.
+        // Also returns the current database time to check the age of the last change.
+        sel_config_fingerprint =
+            "SELECT COUNT(*), MAX(CONFIG_TIME), " + now + " FROM " + schema_prefix + "ALARM_TREE";
+        // Configuration of all items. For components, all the p.* columns are null.
+        sel_all_items =
+            //        1               2                  3       4
+            "SELECT t.COMPONENT_ID, t.PARENT_CMPNT_ID, t.NAME, t.CONFIG_TIME," +
+            //  5               6        7                 8
+            " p.COMPONENT_ID, p.DESCR, p.ANNUNCIATE_IND, p.LATCH_IND," +
+            //  9        10             11
+            " p.DELAY, p.DELAY_COUNT, p.FILTER" +
+            " FROM " + schema_prefix + "ALARM_TREE t" +
+            " LEFT JOIN " + schema_prefix + "PV p ON p.COMPONENT_ID = t.COMPONENT_ID" +
+            " ORDER BY t.COMPONENT_ID";
+        sel_all_guidance =
+            "SELECT COMPONENT_ID, TITLE, DETAIL FROM " + schema_prefix + "GUIDANCE ORDER BY COMPONENT_ID, GUIDANCE_ORDER";
+        sel_all_displays =
+            "SELECT COMPONENT_ID, TITLE, DETAIL FROM " + schema_prefix + "DISPLAY ORDER BY COMPONENT_ID, DISPLAY_ORDER";
+        sel_all_commands =
+            "SELECT COMPONENT_ID, TITLE, DETAIL FROM " + schema_prefix + "COMMAND ORDER BY COMPONENT_ID, COMMAND_ORDER";
+        sel_all_auto_actions =
+            "SELECT COMPONENT_ID, TITLE, DETAIL, DELAY FROM " + schema_prefix + "AUTOMATED_ACTION ORDER BY COMPONENT_ID, AUTO_ACTION_ORDER";
+        sel_all_pv_states =
+            //        1             2            3                4
+            "SELECT COMPONENT_ID, ENABLED_IND, CUR_SEVERITY_ID, CUR_STATUS_ID," +
+            //  5            6          7         8
+            " SEVERITY_ID, STATUS_ID, PV_VALUE, ALARM_TIME" +
+            " FROM " + schema_prefix + "PV";
+
         insert_item =
             "INSERT INTO " + schema_prefix +
             "ALARM_TREE(COMPONENT_ID, PARENT_CMPNT_ID, NAME, CONFIG_TIME)" +
@@ -164,7 +211,9 @@ public class SQL
                 "INSERT INTO " + schema_prefix + "AUTOMATED_ACTION(COMPONENT_ID, AUTO_ACTION_ORDER, TITLE, DETAIL, DELAY) VALUES(?,?,?,?,?)";
 
         update_item_config_time =
-            "UPDATE " + schema_prefix + "ALARM_TREE SET CONFIG_TIME=? WHERE COMPONENT_ID=?";
+            "UPDATE " + schema_prefix + "ALARM_TREE SET CONFIG_TIME=" + now + " WHERE COMPONENT_ID=?";
+        sel_item_config_time =
+            "SELECT CONFIG_TIME FROM " + schema_prefix + "ALARM_TREE WHERE COMPONENT_ID=?";
 
         delete_component_by_id = "DELETE FROM " + schema_prefix + "ALARM_TREE WHERE COMPONENT_ID = ?";
 
@@ -200,8 +249,9 @@ public class SQL
         update_pv_enablement =
             "UPDATE " + schema_prefix + "PV SET ENABLED_IND=?  WHERE COMPONENT_ID=?";
         delete_pv_by_id = "DELETE FROM " + schema_prefix + "PV WHERE COMPONENT_ID = ?";
-        rename_item = "UPDATE " + schema_prefix + "ALARM_TREE SET NAME=? WHERE COMPONENT_ID=?";
-        move_item = "UPDATE " + schema_prefix + "ALARM_TREE SET PARENT_CMPNT_ID=? WHERE COMPONENT_ID=?";
+        // Rename and move also update the config time to mark the configuration as changed
+        rename_item = "UPDATE " + schema_prefix + "ALARM_TREE SET NAME=?, CONFIG_TIME=" + now + " WHERE COMPONENT_ID=?";
+        move_item = "UPDATE " + schema_prefix + "ALARM_TREE SET PARENT_CMPNT_ID=?, CONFIG_TIME=" + now + " WHERE COMPONENT_ID=?";
 
         sel_severity =
             "SELECT SEVERITY_ID FROM " + schema_prefix + "SEVERITY WHERE NAME=?";
@@ -210,4 +260,47 @@ public class SQL
         insert_severity =
             "INSERT INTO " + schema_prefix + "SEVERITY(SEVERITY_ID, NAME) VALUES (?,?)";
     }
+
+    /** Create statement that updates the state of several PVs
+     *
+     *  <p>Parameters for each row:
+     *  COMPONENT_ID, CUR_SEVERITY_ID, CUR_STATUS_ID, SEVERITY_ID, STATUS_ID, PV_VALUE, ALARM_TIME.
+     *  Only updates existing PV rows, similar to <code>update_pv_state</code>.
+     *
+     *  @param rows Number of rows
+     *  @return SQL for dialect-specific multi-row update of PV states
+     */
+    public String mergePVStates(final int rows)
+    {
+        final StringBuilder buf = new StringBuilder();
+        if (dialect == Dialect.PostgreSQL)
+        {
+            buf.append("UPDATE ").append(schema_prefix).append("PV SET ")
+               .append("CUR_SEVERITY_ID=S.CUR_SEV,CUR_STATUS_ID=S.CUR_STAT,SEVERITY_ID=S.SEV,STATUS_ID=S.STAT,PV_VALUE=S.VAL,ALARM_TIME=S.T")
+               .append(" FROM (VALUES ");
+            for (int i=0; i<rows; ++i)
+            {
+                if (i > 0)
+                    buf.append(',');
+                buf.append("(CAST(? AS INT),CAST(? AS INT),CAST(? AS INT),CAST(? AS INT),CAST(? AS INT),CAST(? AS VARCHAR),CAST(? AS TIMESTAMP))");
+            }
+            buf.append(") AS S(ID,CUR_SEV,CUR_STAT,SEV,STAT,VAL,T) WHERE PV.COMPONENT_ID=S.ID");
+            return buf.toString();
+        }
+
+        // MySQL and Oracle: Join with table of values
+        final String dual = dialect == Dialect.Oracle ? " FROM DUAL" : "";
+        final StringBuilder values = new StringBuilder();
+        values.append("SELECT ? ID,? CUR_SEV,? CUR_STAT,? SEV,? STAT,? VAL,? T").append(dual);
+        for (int i=1; i<rows; ++i)
+            values.append(" UNION ALL SELECT ?,?,?,?,?,?,?").append(dual);
+        final String set = "P.CUR_SEVERITY_ID=S.CUR_SEV,P.CUR_STATUS_ID=S.CUR_STAT,P.SEVERITY_ID=S.SEV,P.STATUS_ID=S.STAT,P.PV_VALUE=S.VAL,P.ALARM_TIME=S.T";
+        if (dialect == Dialect.Oracle)
+            buf.append("MERGE INTO ").append(schema_prefix).append("PV P USING (").append(values)
+               .append(") S ON (P.COMPONENT_ID=S.ID) WHEN MATCHED THEN UPDATE SET ").append(set);
+        else
+            buf.append("UPDATE ").append(schema_prefix).append("PV P JOIN (").append(values)
+               .append(") S ON P.COMPONENT_ID=S.ID SET ").append(set);
+        return buf.toString();
+    }
 }
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.alarm.beast;
+
+/** Number of child items in each {@link SeverityLevel}
+ *
+ *  <p>Allows a node in the alarm tree to update its maximum
+ *  severity when one child changes, without iterating over
+ *  all its children.
+ *
+ *  <p>Not thread-safe, caller needs to synchronize.
+ *
+ *  @author agent
+ */
+public class SeverityCounts
+{
+    private static final SeverityLevel[] levels = SeverityLevel.values();
+
+    /** Count of children by severity ordinal */
+    final private int[] counts = new int[levels.length];
+
+    /** Update counts when a child changes its severity
+     *  @param old_severity Severity that child used to have, <code>null</code> if not counted
+     *  @param new_severity New severity of the child, <code>null</code> to no longer count it
+     */
+    public void update(final SeverityLevel old_severity, final SeverityLevel new_severity)
+    {
+        if (old_severity == new_severity)
+            return;
+        if (old_severity != null)
+            --counts[old_severity.ordinal()];
+        if (new_severity != null)
+            ++counts[new_severity.ordinal()];
+    }
+
+    /** @param severity Severity level
+     *  @return Number of children at that level
+     */
+    public int getCount(final SeverityLevel severity)
+    {
+        return counts[severity.ordinal()];
+    }
+
+    /** @return Highest severity of any child, OK if there are no children */
+    public SeverityLevel getMaximum()
+    {
+        for (int i=counts.length-1; i>0; --i)
+            if (counts[i] > 0)
+                return levels[i];
+        return SeverityLevel.OK;
+    }
+
+    /** Reset all counts to zero */
+    public void clear()
+    {
+        for (int i=0; i<counts.length; ++i)
+            counts[i] = 0;
+    }
+}
@@ -188,6 +188,15 @@ public class TreeItem implements Serializable
     {
         if (! children.remove(child))
             throw new Error("Corrupted tree item: " + toString());
+        childRemoved(child);
+    }
+
+    /** Invoked after a child was removed
+     *  @param child Child item that is no longer in the list of children
+     */
+    protected void childRemoved(final TreeItem child)
+    {
+        // NOP
     }
 
     /** Locate alarm tree item by path, starting at this element
@@ -15,7 +15,6 @@ import java.sql.Statement;
 import java.sql.Timestamp;
 import java.sql.Types;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -24,6 +23,7 @@ import java.util.logging.Level;
 import org.csstudio.alarm.beast.Activator;
 import org.csstudio.alarm.beast.AlarmTreePath;
 import org.csstudio.alarm.beast.Messages;
+import org.csstudio.alarm.beast.Preferences;
 import org.csstudio.alarm.beast.SQL;
 import org.csstudio.alarm.beast.TimestampHelper;
 import org.csstudio.apputil.time.DelayCheck;
@@ -73,7 +73,7 @@ public class AlarmConfiguration
     private HashMap<String, AlarmTreePV> pvs = new HashMap<String, AlarmTreePV>();
 
     /** Re-used statements */
-    private PreparedStatement sel_items_by_parent_statement, sel_pv_by_id_statement;
+    private PreparedStatement sel_pv_by_id_statement;
 
 
     /** Initialize
@@ -230,87 +230,64 @@ public class AlarmConfiguration
             final boolean create,
             final IProgressMonitor monitor, final DelayCheck monitor_update_delay) throws Exception
     {
-        final Connection connection = rdb.getConnection();
-        final PreparedStatement statement =
-            connection.prepareStatement(sql.sel_configuration_by_name);
-        try
-        {
-            statement.setString(1, root_name);
-            final ResultSet result = statement.executeQuery();
-            if (!result.next())
-            {
-                if (!create)
-                    throw new Exception("Unknown alarm tree root " + root_name);
-                // Create new, empty alarm tree
-                return (AlarmTreeRoot) addRootOrComponent(null, root_name);
-            }
-            final int id = result.getInt(1);
-            final AlarmTreeRoot root = createAlarmTreeRoot(id, root_name);
-            config_reader.readGuidanceDisplaysCommands(root);
-            readChildren(root, monitor, monitor_update_delay);
-            return root;
-        }
-        finally
-        {
-            statement.close();
-            closeStatements();
-        }
+        final AlarmConfigurationSnapshot snapshot =
+            new AlarmConfigurationBulkReader(rdb, sql, Preferences.getConfigCacheDirectory()).read(root_name);
+        if (snapshot == null)
+        {
+            if (!create)
+                throw new Exception("Unknown alarm tree root " + root_name);
+            // Create new, empty alarm tree
+            return (AlarmTreeRoot) addRootOrComponent(null, root_name);
+        }
+        final AlarmConfigurationSnapshot.Item config = snapshot.getRoot();
+        final AlarmTreeRoot root = createAlarmTreeRoot(config.getID(), root_name);
+        config.applyGuidanceDisplaysCommands(root);
+        addChildren(root, config, snapshot, monitor, monitor_update_delay);
+        return root;
     }
 
-    /** Read configuration for child elements
+    /** Create child elements from configuration snapshot
      *  @param parent Parent node. Children get added to it.
+     *  @param config Configuration of the parent node
+     *  @param snapshot Configuration snapshot with PV states
      *  @param monitor Progress monitor
      *  @param monitor_update_delay Delay for updates to monitor
      *  @throws Exception on error
      */
-    private void readChildren(final AlarmTreeItem parent,
+    private void addChildren(final AlarmTreeItem parent,
+            final AlarmConfigurationSnapshot.Item config,
+            final AlarmConfigurationSnapshot snapshot,
             final IProgressMonitor monitor, final DelayCheck monitor_update_delay) throws Exception
     {
-        if (sel_items_by_parent_statement == null)
-            sel_items_by_parent_statement =
-                rdb.getConnection().prepareStatement(sql.sel_items_by_parent);
-        sel_items_by_parent_statement.setInt(1, parent.getID());
-        final ResultSet result = sel_items_by_parent_statement.executeQuery();
-
-        final List<AlarmTreeItem> recurse_items = new ArrayList<AlarmTreeItem>();
-        while (result.next()  &&  !monitor.isCanceled())
-        {
-            final int id = result.getInt(1);
-            final String name = result.getString(17);
-            final Timestamp config_time = result.getTimestamp(2);
+        for (AlarmConfigurationSnapshot.Item child : config.getChildren())
+        {
+            if (monitor.isCanceled())
+                return;
             final AlarmTreeItem item;
-            // Check PV's ID. If null, this is a component, not PV
-            result.getInt(3);
-            if (result.wasNull())
-            {   // Component (area, system), not a PV
-                item = new AlarmTreeItem(parent, name, id);
-                recurse_items.add(item);
-            }
-            else
+            if (child.isPV())
             {
-                final AlarmTreePV pv = new AlarmTreePV(parent, name, id);
-                pvs.put(name, pv);
+                final AlarmTreePV pv = new AlarmTreePV(parent, child.getName(), child.getID());
+                pvs.put(child.getName(), pv);
                 // Periodically update progress monitor
                 if (monitor_update_delay.expired())
                 {
                     final int count = pvs.size();
                     monitor.subTask(NLS.bind(Messages.ReadConfigProgressFmt, count));
                 }
-                config_reader.configurePVfromResult(pv, result, severity_mapping, message_mapping);
+                config_reader.configurePVfromSnapshot(pv, child, snapshot.getState(child.getID()),
+                                                      severity_mapping, message_mapping);
                 item = pv;
             }
-            if (config_time != null)
-                item.setConfigTime(TimestampHelper.toEPICSTime(config_time));
-            config_reader.readGuidanceDisplaysCommands(item);
-        }
-        result.close();
-
-        // Recurse to children
-        // Cannot do that inside the above while() because that would reuse
-        // the statement of the current ResultSet
-        for (AlarmTreeItem item : recurse_items)
-            readChildren(item, monitor, monitor_update_delay);
-        recurse_items.clear();
+            else
+                item = new AlarmTreeItem(parent, child.getName(), child.getID());
+            if (child.getConfigTime() != null)
+                item.setConfigTime(TimestampHelper.toEPICSTime(child.getConfigTime()));
+            child.applyGuidanceDisplaysCommands(item);
+            if (! child.isPV())
+                addChildren(item, child, snapshot, monitor, monitor_update_delay);
+        }
+        // Initialize severity counts, including disabled PVs
+        parent.maximizeSeverity();
     }
 
     /** Add a component to the model and RDB
@@ -534,15 +511,22 @@ public class AlarmConfiguration
         }
 
         // Update item's config time after RDB commit succeeded
+        // using the RDB time, which is also used for rename and move
         final PreparedStatement    update_item_config_time = connection.prepareStatement(sql.update_item_config_time);
+        final PreparedStatement    sel_item_config_time = connection.prepareStatement(sql.sel_item_config_time);
         try
         {
-            final Timestamp config_time = new Timestamp(new Date().getTime());
-            update_item_config_time.setTimestamp(1, config_time);
-            update_item_config_time.setInt(2, item.getID());
+            update_item_config_time.setInt(1, item.getID());
             update_item_config_time.executeUpdate();
+            sel_item_config_time.setInt(1, item.getID());
+            Timestamp config_time = null;
+            final ResultSet result = sel_item_config_time.executeQuery();
+            if (result.next())
+                config_time = result.getTimestamp(1);
+            result.close();
             connection.commit();
-            item.setConfigTime(TimestampHelper.toEPICSTime(config_time));
+            if (config_time != null)
+                item.setConfigTime(TimestampHelper.toEPICSTime(config_time));
         }
         catch (SQLException ex)
         {
@@ -551,6 +535,7 @@ public class AlarmConfiguration
         }
         finally
         {
+            sel_item_config_time.close();
             update_item_config_time.close();
             connection.setAutoCommit(true);
         }
@@ -954,11 +939,6 @@ public class AlarmConfiguration
     {
         try
         {
-            if (sel_items_by_parent_statement != null)
-            {
-                sel_items_by_parent_statement.close();
-                sel_items_by_parent_statement = null;
-            }
             if (sel_pv_by_id_statement != null)
             {
                 sel_pv_by_id_statement.close();
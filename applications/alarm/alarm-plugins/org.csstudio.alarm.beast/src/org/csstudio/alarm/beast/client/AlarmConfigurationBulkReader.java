@@ -0,0 +1,362 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.alarm.beast.client;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.csstudio.alarm.beast.Activator;
+import org.csstudio.alarm.beast.SQL;
+import org.csstudio.alarm.beast.client.AlarmConfigurationSnapshot.Item;
+import org.csstudio.alarm.beast.client.AlarmConfigurationSnapshot.PVState;
+import org.csstudio.platform.utility.rdb.RDBUtil;
+
+/** Read a complete alarm configuration from the RDB in a few queries
+ *
+ *  <p>Instead of querying the children, guidance, displays, ...
+ *  for each item, this reads all items, all guidance etc.
+ *  in one query each and assembles the alarm tree in memory.
+ *  The current alarm state of all PVs is read with one more query.
+ *
+ *  <p>Optionally, the configuration is cached in a compressed
+ *  local file. The cache is used as long as the number of items
+ *  and the latest configuration time in the RDB remain unchanged,
+ *  so only the alarm state needs to be read from the RDB.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class AlarmConfigurationBulkReader
+{
+    /** Configurations changed within this time are not cached,
+     *  because the RDB configuration time might only have a resolution of seconds
+     */
+    private static final long MIN_CACHE_AGE_MILLIS = 10000;
+
+    final private RDBUtil rdb;
+    final private SQL sql;
+    final private File cache_directory;
+
+    /** Initialize
+     *  @param rdb RDB connection
+     *  @param sql SQL strings
+     *  @param cache_directory Directory for cached configurations or <code>null</code>
+     */
+    public AlarmConfigurationBulkReader(final RDBUtil rdb, final SQL sql, final File cache_directory)
+    {
+        this.rdb = rdb;
+        this.sql = sql;
+        this.cache_directory = cache_directory;
+    }
+
+    /** Read configuration and alarm state
+     *  @param root_name Name of the configuration's root element
+     *  @return {@link AlarmConfigurationSnapshot} or <code>null</code> if there is no such configuration
+     *  @throws Exception on error
+     */
+    public AlarmConfigurationSnapshot read(final String root_name) throws Exception
+    {
+        final Connection connection = rdb.getConnection();
+        final long start = System.currentTimeMillis();
+        AlarmConfigurationSnapshot snapshot = null;
+        String fingerprint = null;
+        Timestamp last_change = null, rdb_now = null;
+        if (cache_directory != null)
+        {
+            try
+            (
+                final Statement statement = connection.createStatement();
+                final ResultSet result = statement.executeQuery(sql.sel_config_fingerprint);
+            )
+            {
+                if (result.next())
+                {
+                    last_change = result.getTimestamp(2);
+                    rdb_now = result.getTimestamp(3);
+                    fingerprint = result.getInt(1) + "@" + last_change;
+                }
+            }
+            snapshot = readCache(root_name, fingerprint);
+        }
+
+        if (snapshot == null)
+        {
+            snapshot = readConfiguration(root_name);
+            if (snapshot == null)
+                return null;
+            // Compare with RDB time, the local clock may differ
+            if (fingerprint != null  &&  last_change != null  &&  rdb_now != null  &&
+                last_change.getTime() < rdb_now.getTime() - MIN_CACHE_AGE_MILLIS)
+                writeCache(root_name, fingerprint, snapshot);
+        }
+
+        snapshot.setStates(readStates());
+        Activator.getLogger().log(Level.FINE,
+            "Read alarm configuration " + root_name + " in " + (System.currentTimeMillis() - start) + " ms");
+        return snapshot;
+    }
+
+    /** @param root_name Name of configuration
+     *  @return Cache file for that configuration
+     */
+    private File getCacheFile(final String root_name)
+    {
+        return new File(cache_directory, root_name.replaceAll("[^A-Za-z0-9_.-]", "_") + ".alarmcache");
+    }
+
+    /** @param root_name Name of configuration
+     *  @param fingerprint Current fingerprint of RDB configuration
+     *  @return Cached {@link AlarmConfigurationSnapshot} or <code>null</code>
+     */
+    private AlarmConfigurationSnapshot readCache(final String root_name, final String fingerprint)
+    {
+        final File file = getCacheFile(root_name);
+        if (fingerprint == null  ||  ! file.canRead())
+            return null;
+        try
+        (
+            final ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))));
+        )
+        {
+            if (! root_name.equals(in.readUTF())  ||  ! fingerprint.equals(in.readUTF()))
+            {
+                Activator.getLogger().log(Level.FINE, "Alarm configuration cache " + file + " is outdated");
+                return null;
+            }
+            final AlarmConfigurationSnapshot snapshot = (AlarmConfigurationSnapshot) in.readObject();
+            Activator.getLogger().log(Level.FINE, "Using alarm configuration cache " + file);
+            return snapshot;
+        }
+        catch (Exception ex)
+        {
+            Activator.getLogger().log(Level.WARNING, "Cannot read alarm configuration cache " + file, ex);
+            return null;
+        }
+    }
+
+    /** @param root_name Name of configuration
+     *  @param fingerprint Current fingerprint of RDB configuration
+     *  @param snapshot {@link AlarmConfigurationSnapshot} to cache
+     */
+    private void writeCache(final String root_name, final String fingerprint, final AlarmConfigurationSnapshot snapshot)
+    {
+        final File file = getCacheFile(root_name);
+        final File tmp = new File(file.getPath() + ".tmp");
+        try
+        {
+            cache_directory.mkdirs();
+            try
+            (
+                final ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(tmp))));
+            )
+            {
+                out.writeUTF(root_name);
+                out.writeUTF(fingerprint);
+                out.writeObject(snapshot);
+            }
+            // Replace cache only once it's complete
+            file.delete();
+            if (! tmp.renameTo(file))
+                throw new Exception("Cannot rename " + tmp);
+        }
+        catch (Exception ex)
+        {
+            Activator.getLogger().log(Level.WARNING, "Cannot write alarm configuration cache " + file, ex);
+            tmp.delete();
+        }
+    }
+
+    /** @param root_name Name of configuration
+     *  @return {@link AlarmConfigurationSnapshot} without alarm states, or <code>null</code>
+     *  @throws Exception on error
+     */
+    private AlarmConfigurationSnapshot readConfiguration(final String root_name) throws Exception
+    {
+        final Connection connection = rdb.getConnection();
+        final Map<Integer, Item> items = new HashMap<>();
+        final List<int[]> links = new ArrayList<>();
+        Item root = null;
+        try
+        (
+            final Statement statement = connection.createStatement();
+        )
+        {
+            statement.setFetchSize(1000);
+            try
+            (
+                final ResultSet result = statement.executeQuery(sql.sel_all_items);
+            )
+            {
+                while (result.next())
+                {
+                    final int id = result.getInt(1);
+                    int parent_id = result.getInt(2);
+                    if (result.wasNull())
+                        parent_id = -1;
+                    final String name = result.getString(3);
+                    final Timestamp config_time = result.getTimestamp(4);
+                    result.getInt(5);
+                    final Item item;
+                    if (result.wasNull())
+                        item = new Item(id, name, config_time, false, null, null, null, 0, 0, null);
+                    else
+                    {
+                        final String description = result.getString(6);
+                        Boolean annunciate = result.getBoolean(7);
+                        if (result.wasNull())
+                            annunciate = null;
+                        Boolean latch = result.getBoolean(8);
+                        if (result.wasNull())
+                            latch = null;
+                        item = new Item(id, name, config_time, true, description, annunciate, latch,
+                                        result.getInt(9), result.getInt(10), result.getString(11));
+                    }
+                    items.put(id, item);
+                    if (parent_id < 0)
+                    {
+                        if (root_name.equals(name))
+                            root = item;
+                    }
+                    else
+                        links.add(new int[] { parent_id, id });
+                }
+            }
+            if (root == null)
+                return null;
+
+            // Link items in order of their ID
+            for (int[] link : links)
+            {
+                final Item parent = items.get(link[0]);
+                if (parent != null)
+                    AlarmConfigurationSnapshot.addChild(parent, items.get(link[1]));
+            }
+            // Only keep the items of this configuration
+            final Map<Integer, Item> tree = new HashMap<>();
+            collect(root, tree);
+
+            readGDC(statement, sql.sel_all_guidance, tree, AlarmConfigurationSnapshot::setGuidance);
+            readGDC(statement, sql.sel_all_displays, tree, AlarmConfigurationSnapshot::setDisplays);
+            readGDC(statement, sql.sel_all_commands, tree, AlarmConfigurationSnapshot::setCommands);
+            readAutomatedActions(statement, tree);
+        }
+        return new AlarmConfigurationSnapshot(root);
+    }
+
+    private void collect(final Item item, final Map<Integer, Item> tree)
+    {
+        tree.put(item.getID(), item);
+        for (Item child : item.getChildren())
+            collect(child, tree);
+    }
+
+    @FunctionalInterface
+    private interface GDCSetter
+    {
+        void set(Item item, List<GDCDataStructure> gdc);
+    }
+
+    private void readGDC(final Statement statement, final String query,
+                         final Map<Integer, Item> tree, final GDCSetter setter) throws Exception
+    {
+        final Map<Item, List<GDCDataStructure>> gdc = new HashMap<>();
+        try
+        (
+            final ResultSet result = statement.executeQuery(query);
+        )
+        {
+            while (result.next())
+            {
+                final Item item = tree.get(result.getInt(1));
+                if (item != null)
+                    gdc.computeIfAbsent(item, i -> new ArrayList<>())
+                       .add(new GDCDataStructure(result.getString(2), result.getString(3)));
+            }
+        }
+        for (Map.Entry<Item, List<GDCDataStructure>> entry : gdc.entrySet())
+            setter.set(entry.getKey(), entry.getValue());
+    }
+
+    private void readAutomatedActions(final Statement statement, final Map<Integer, Item> tree) throws Exception
+    {
+        final Map<Item, List<AADataStructure>> actions = new HashMap<>();
+        try
+        (
+            final ResultSet result = statement.executeQuery(sql.sel_all_auto_actions);
+        )
+        {
+            while (result.next())
+            {
+                final Item item = tree.get(result.getInt(1));
+                if (item != null)
+                    actions.computeIfAbsent(item, i -> new ArrayList<>())
+                           .add(new AADataStructure(result.getString(2), result.getString(3), result.getInt(4)));
+            }
+        }
+        for (Map.Entry<Item, List<AADataStructure>> entry : actions.entrySet())
+            AlarmConfigurationSnapshot.setAutomatedActions(entry.getKey(), entry.getValue());
+    }
+
+    /** @return Alarm states of all PVs by ID
+     *  @throws Exception on error
+     */
+    private Map<Integer, PVState> readStates() throws Exception
+    {
+        final Map<Integer, PVState> states = new HashMap<>();
+        try
+        (
+            final Statement statement = rdb.getConnection().createStatement();
+        )
+        {
+            statement.setFetchSize(1000);
+            try
+            (
+                final ResultSet result = statement.executeQuery(sql.sel_all_pv_states);
+            )
+            {
+                while (result.next())
+                {
+                    final int id = result.getInt(1);
+                    boolean enabled = result.getBoolean(2);
+                    if (result.wasNull())
+                        enabled = true;
+                    final Integer current_severity_id = getInteger(result, 3);
+                    final Integer current_status_id = getInteger(result, 4);
+                    final Integer severity_id = getInteger(result, 5);
+                    final Integer status_id = getInteger(result, 6);
+                    states.put(id, new PVState(enabled, current_severity_id, current_status_id,
+                                               severity_id, status_id,
+                                               result.getString(7), result.getTimestamp(8)));
+                }
+            }
+        }
+        return states;
+    }
+
+    private static Integer getInteger(final ResultSet result, final int column) throws Exception
+    {
+        final int value = result.getInt(column);
+        return result.wasNull() ? null : value;
+    }
+}
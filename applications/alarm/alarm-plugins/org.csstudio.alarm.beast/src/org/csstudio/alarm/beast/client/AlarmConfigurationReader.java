@@ -379,4 +379,48 @@ public class AlarmConfigurationReader
             pv.setAlarmState(current_severity, current_message, severity, message, value, timestamp);
         }
     }
+
+    /** Configure a PV from bulk-read configuration and state
+     *  @param pv PV to configure
+     *  @param item Configuration of the PV
+     *  @param state Alarm state of the PV, may be <code>null</code>
+     *  @param severity_mapping
+     *  @param message_mapping
+     *  @throws Exception on error
+     */
+    public void configurePVfromSnapshot(final AlarmTreePV pv,
+            final AlarmConfigurationSnapshot.Item item,
+            final AlarmConfigurationSnapshot.PVState state,
+            final SeverityReader severity_mapping,
+            final MessageReader message_mapping) throws Exception
+    {
+        pv.setDescription(item.getDescription());
+        pv.setAnnunciating(Boolean.TRUE.equals(item.getAnnunciate()));
+        pv.setLatching(Boolean.TRUE.equals(item.getLatch()));
+        pv.setDelay(item.getDelay());
+        pv.setCount(item.getCount());
+        pv.setFilter(item.getFilter());
+        if (state == null)
+            return;
+        pv.setEnabled(state.isEnabled());
+
+        // If there is severity/status info, use it.
+        // Otherwise leave PV "OK" as it was initialized.
+        if (state.getTime() == null)
+            return;
+        final SeverityLevel current_severity = state.getCurrentSeverityID() == null
+            ? SeverityLevel.OK
+            : severity_mapping.getSeverity(state.getCurrentSeverityID());
+        final String current_message = state.getCurrentStatusID() == null
+            ? ""
+            : message_mapping.getMessage(state.getCurrentStatusID());
+        final SeverityLevel severity = state.getSeverityID() == null
+            ? SeverityLevel.OK
+            : severity_mapping.getSeverity(state.getSeverityID());
+        final String message = state.getStatusID() == null
+            ? ""
+            : message_mapping.getMessage(state.getStatusID());
+        pv.setAlarmState(current_severity, current_message, severity, message,
+                         state.getValue(), TimestampHelper.toEPICSTime(state.getTime()));
+    }
 }
@@ -0,0 +1,296 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.alarm.beast.client;
+
+import java.io.Serializable;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** In-memory copy of an alarm configuration as read from the RDB
+ *
+ *  <p>Holds the configuration of all items in one alarm tree,
+ *  which can be cached, and separately the current alarm state of PVs,
+ *  which is always read from the RDB.
+ *  The alarm server and clients build their alarm tree from this.
+ *
+ *  @see AlarmConfigurationBulkReader
+ *  @author agent
+ */
+public class AlarmConfigurationSnapshot implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final GDCDataStructure[] NO_GDC = new GDCDataStructure[0];
+    private static final AADataStructure[] NO_AA = new AADataStructure[0];
+
+    /** Configuration of one item, component or PV */
+    public static class Item implements Serializable
+    {
+        private static final long serialVersionUID = 1L;
+
+        final private int id;
+        final private String name;
+        final private Timestamp config_time;
+        final private boolean is_pv;
+        final private String description;
+        final private Boolean annunciate, latch;
+        final private int delay, count;
+        final private String filter;
+        final private List<Item> children = new ArrayList<>();
+        private GDCDataStructure[] guidance = NO_GDC, displays = NO_GDC, commands = NO_GDC;
+        private AADataStructure[] automated_actions = NO_AA;
+
+        Item(final int id, final String name, final Timestamp config_time,
+             final boolean is_pv, final String description,
+             final Boolean annunciate, final Boolean latch,
+             final int delay, final int count, final String filter)
+        {
+            this.id = id;
+            this.name = name;
+            this.config_time = config_time;
+            this.is_pv = is_pv;
+            this.description = description;
+            this.annunciate = annunciate;
+            this.latch = latch;
+            this.delay = delay;
+            this.count = count;
+            this.filter = filter;
+        }
+
+        /** @return RDB ID */
+        public int getID()
+        {
+            return id;
+        }
+
+        /** @return Name */
+        public String getName()
+        {
+            return name;
+        }
+
+        /** @return Configuration time or <code>null</code> */
+        public Timestamp getConfigTime()
+        {
+            return config_time;
+        }
+
+        /** @return <code>true</code> for PV, <code>false</code> for component */
+        public boolean isPV()
+        {
+            return is_pv;
+        }
+
+        /** @return PV description, may be <code>null</code> */
+        public String getDescription()
+        {
+            return description;
+        }
+
+        /** @return Annunciate PV? <code>null</code> if not set */
+        public Boolean getAnnunciate()
+        {
+            return annunciate;
+        }
+
+        /** @return Latch PV? <code>null</code> if not set */
+        public Boolean getLatch()
+        {
+            return latch;
+        }
+
+        /** @return PV alarm delay in seconds */
+        public int getDelay()
+        {
+            return delay;
+        }
+
+        /** @return PV alarm count */
+        public int getCount()
+        {
+            return count;
+        }
+
+        /** @return PV enablement filter, may be <code>null</code> */
+        public String getFilter()
+        {
+            return filter;
+        }
+
+        /** @return Child items, ordered by ID */
+        public List<Item> getChildren()
+        {
+            return Collections.unmodifiableList(children);
+        }
+
+        /** @return Guidance */
+        public GDCDataStructure[] getGuidance()
+        {
+            return guidance;
+        }
+
+        /** @return Related displays */
+        public GDCDataStructure[] getDisplays()
+        {
+            return displays;
+        }
+
+        /** @return Commands */
+        public GDCDataStructure[] getCommands()
+        {
+            return commands;
+        }
+
+        /** @return Automated actions */
+        public AADataStructure[] getAutomatedActions()
+        {
+            return automated_actions;
+        }
+
+        /** @param item Item to update with guidance, displays, commands, automated actions */
+        public void applyGuidanceDisplaysCommands(final AlarmTreeItem item)
+        {
+            item.setGuidance(guidance);
+            item.setDisplays(displays);
+            item.setCommands(commands);
+            item.setAutomatedActions(automated_actions);
+        }
+    }
+
+    /** Alarm state of a PV */
+    public static class PVState
+    {
+        final private boolean enabled;
+        final private Integer current_severity_id, current_status_id, severity_id, status_id;
+        final private String value;
+        final private Timestamp time;
+
+        PVState(final boolean enabled,
+                final Integer current_severity_id, final Integer current_status_id,
+                final Integer severity_id, final Integer status_id,
+                final String value, final Timestamp time)
+        {
+            this.enabled = enabled;
+            this.current_severity_id = current_severity_id;
+            this.current_status_id = current_status_id;
+            this.severity_id = severity_id;
+            this.status_id = status_id;
+            this.value = value;
+            this.time = time;
+        }
+
+        /** @return Is PV enabled? */
+        public boolean isEnabled()
+        {
+            return enabled;
+        }
+
+        /** @return ID of current severity or <code>null</code> */
+        public Integer getCurrentSeverityID()
+        {
+            return current_severity_id;
+        }
+
+        /** @return ID of current status message or <code>null</code> */
+        public Integer getCurrentStatusID()
+        {
+            return current_status_id;
+        }
+
+        /** @return ID of alarm severity or <code>null</code> */
+        public Integer getSeverityID()
+        {
+            return severity_id;
+        }
+
+        /** @return ID of alarm status message or <code>null</code> */
+        public Integer getStatusID()
+        {
+            return status_id;
+        }
+
+        /** @return Alarm value or <code>null</code> */
+        public String getValue()
+        {
+            return value;
+        }
+
+        /** @return Alarm time or <code>null</code> */
+        public Timestamp getTime()
+        {
+            return time;
+        }
+    }
+
+    final private Item root;
+
+    /** PV states by ID. Not cached. */
+    private transient Map<Integer, PVState> states = new HashMap<>();
+
+    AlarmConfigurationSnapshot(final Item root)
+    {
+        this.root = root;
+    }
+
+    /** @return Root item */
+    public Item getRoot()
+    {
+        return root;
+    }
+
+    /** @param states PV states by ID */
+    void setStates(final Map<Integer, PVState> states)
+    {
+        this.states = states;
+    }
+
+    /** @param id PV ID
+     *  @return {@link PVState} or <code>null</code>
+     */
+    public PVState getState(final int id)
+    {
+        return states == null ? null : states.get(id);
+    }
+
+    /** Link child to parent while assembling the tree
+     *  @param parent Parent item
+     *  @param child Child item
+     */
+    static void addChild(final Item parent, final Item child)
+    {
+        parent.children.add(child);
+    }
+
+    /** Set GUI info while assembling the tree */
+    static void setGuidance(final Item item, final List<GDCDataStructure> guidance)
+    {
+        item.guidance = guidance.toArray(new GDCDataStructure[guidance.size()]);
+    }
+
+    /** Set GUI info while assembling the tree */
+    static void setDisplays(final Item item, final List<GDCDataStructure> displays)
+    {
+        item.displays = displays.toArray(new GDCDataStructure[displays.size()]);
+    }
+
+    /** Set GUI info while assembling the tree */
+    static void setCommands(final Item item, final List<GDCDataStructure> commands)
+    {
+        item.commands = commands.toArray(new GDCDataStructure[commands.size()]);
+    }
+
+    /** Set automated actions while assembling the tree */
+    static void setAutomatedActions(final Item item, final List<AADataStructure> actions)
+    {
+        item.automated_actions = actions.toArray(new AADataStructure[actions.size()]);
+    }
+}
@@ -16,6 +16,7 @@ import java.util.Objects;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.csstudio.alarm.beast.Messages;
+import org.csstudio.alarm.beast.SeverityCounts;
 import org.csstudio.alarm.beast.SeverityLevel;
 import org.csstudio.alarm.beast.TimestampHelper;
 import org.csstudio.alarm.beast.TreeItem;
@@ -46,6 +47,17 @@ public class AlarmTreeItem extends TreeItem
     /** Sub-tree elements of this item which are currently in alarm */
     final private transient List<AlarmTreeItem> alarm_children = new CopyOnWriteArrayList<>();
 
+    /** Current resp. latched severities of the child elements, SYNC on this */
+    final private transient SeverityCounts child_current_severities = new SeverityCounts(),
+                                           child_severities = new SeverityCounts();
+
+    /** Child element that provides the message of this item, SYNC on this */
+    private transient AlarmTreeItem message_source = null;
+
+    /** State of this item as included in the counts of the parent, SYNC on parent */
+    private transient SeverityLevel counted_current_severity = null, counted_severity = null;
+    private transient int counted_disabled = 0;
+
     // Using arrays for guidance, ..., commands to be thread-safe
 
     /** Guidance messages */
@@ -292,7 +304,7 @@ public class AlarmTreeItem extends TreeItem
         this.message = message;
         final AlarmTreeItem parent = getParent();
         if (parent != null)
-            return parent.maximizeSeverity() ? ChangeLevel.PV_AND_PARENT : ChangeLevel.PV;
+            return parent.childChanged(this) ? ChangeLevel.PV_AND_PARENT : ChangeLevel.PV;
         return ChangeLevel.PV;
     }
 
@@ -324,46 +336,127 @@ public class AlarmTreeItem extends TreeItem
 
     /** Set severity/status of this item by maximizing over its child
      *  severities.
-     *  Recursively updates parent items, so caller must have locked the root.
+     *  Updates parent items if this item changed, so caller must have locked the root.
+     *
+     *  <p>Iterates over all child elements.
+     *  When only one child changed, {@link #childChanged(AlarmTreeItem)} is faster.
      *
      *  @return <code>true</code> if the severity of this item or any of its parents changed after
      *          this method is executed, or <code>false</code> if the severity remained the same
      */
     public synchronized boolean maximizeSeverity()
     {
-        boolean changed = false;
-        // Get maximum child severity and its status
-        SeverityLevel new_current_severity = SeverityLevel.OK;
-        SeverityLevel new_severity = SeverityLevel.OK;
-        String new_message = SeverityLevel.OK.getDisplayName();
+        final int old_disabled = disabled_children;
+        child_current_severities.clear();
+        child_severities.clear();
+        message_source = null;
         alarm_children.clear();
         disabled_children = 0;
         final int n = getChildCount();
         for (int i=0; i<n; ++i)
         {
             final AlarmTreeItem child = getChild(i);
-            // Maximize 'current' severity
-            if (child.getCurrentSeverity().ordinal() > new_current_severity.ordinal())
-                new_current_severity = child.getCurrentSeverity();
-            // Maximize latched severity/status
             final SeverityLevel child_sevr = child.getSeverity();
-            final int level = child_sevr.ordinal();
-            if (level > 0)
-                alarm_children.add(child);
-            if (level > new_severity.ordinal())
-            {
-                new_severity = child_sevr;
-                new_message = child.getMessage();
-            }
-            if (child instanceof AlarmTreePV)
+            child_current_severities.update(null, child.getCurrentSeverity());
+            child_severities.update(null, child_sevr);
+            if (child_sevr.ordinal() > 0)
             {
-                if ( ((AlarmTreePV) child).isEnabled() == false)
-                    ++disabled_children;
+                alarm_children.add(child);
+                // Use message of first child with highest severity
+                if (message_source == null  ||  child_sevr.ordinal() > message_source.getSeverity().ordinal())
+                    message_source = child;
             }
+            child.counted_current_severity = child.getCurrentSeverity();
+            child.counted_severity = child_sevr;
+            child.counted_disabled = getDisabledCount(child);
+            disabled_children += child.counted_disabled;
+        }
+        return updateState(old_disabled != disabled_children);
+    }
+
+    /** Update severity/status of this item after one child changed.
+     *  Updates parent items if this item changed, so caller must have locked the root.
+     *
+     *  <p>Only considers the change of that one child,
+     *  using counts of the child severities instead of iterating over all children.
+     *
+     *  @param child Child item that changed its severity, message or enablement
+     *  @return <code>true</code> if the severity of this item or any of its parents changed after
+     *          this method is executed, or <code>false</code> if the severity remained the same
+     */
+    public synchronized boolean childChanged(final AlarmTreeItem child)
+    {
+        if (child.getParent() != this)
+            return false;
+        final SeverityLevel child_current = child.getCurrentSeverity();
+        final SeverityLevel child_sevr = child.getSeverity();
+        child_current_severities.update(child.counted_current_severity, child_current);
+        child_severities.update(child.counted_severity, child_sevr);
+
+        final boolean was_alarm = child.counted_severity != null  &&  child.counted_severity.ordinal() > 0;
+        final boolean is_alarm = child_sevr.ordinal() > 0;
+        if (is_alarm  &&  !was_alarm)
+            alarm_children.add(child);
+        else if (was_alarm  &&  !is_alarm)
+            alarm_children.remove(child);
+
+        final int child_disabled = getDisabledCount(child);
+        final boolean disabled_changed = child_disabled != child.counted_disabled;
+        disabled_children += child_disabled - child.counted_disabled;
+
+        child.counted_current_severity = child_current;
+        child.counted_severity = child_sevr;
+        child.counted_disabled = child_disabled;
+
+        // Keep the message source while it has the highest severity,
+        // otherwise use the changed child or search for another one
+        final SeverityLevel new_severity = child_severities.getMaximum();
+        if (new_severity.ordinal() <= 0)
+            message_source = null;
+        else if (message_source == null  ||  message_source.counted_severity != new_severity)
+        {
+            if (child_sevr == new_severity)
+                message_source = child;
             else
-                disabled_children += child.getDisabledChildCount();
+                message_source = findChild(new_severity);
         }
+        return updateState(disabled_changed);
+    }
+
+    /** @param severity Severity
+     *  @return First child element with that severity or <code>null</code>
+     */
+    private AlarmTreeItem findChild(final SeverityLevel severity)
+    {
+        for (AlarmTreeItem child : alarm_children)
+            if (child.counted_severity == severity)
+                return child;
+        return null;
+    }
+
+    /** @param child Child element
+     *  @return Number of disabled PVs that the child contributes
+     */
+    private static int getDisabledCount(final AlarmTreeItem child)
+    {
+        if (child instanceof AlarmTreePV)
+            return ((AlarmTreePV) child).isEnabled() ? 0 : 1;
+        return child.getDisabledChildCount();
+    }
 
+    /** Set severity/status from the child severity counts,
+     *  percolate changes towards root
+     *  @param disabled_changed Did the number of disabled child elements change?
+     *  @return <code>true</code> if the severity of this item or any of its parents changed
+     */
+    private boolean updateState(final boolean disabled_changed)
+    {
+        final SeverityLevel new_current_severity = child_current_severities.getMaximum();
+        final SeverityLevel new_severity = child_severities.getMaximum();
+        final String new_message = message_source == null
+            ? SeverityLevel.OK.getDisplayName()
+            : message_source.getMessage();
+        boolean changed = false;
         if (new_current_severity != current_severity  ||
             new_severity != severity  ||
             !new_message.equals(message))
@@ -376,11 +469,29 @@ public class AlarmTreeItem extends TreeItem
 
         // Percolate changes towards root
         final AlarmTreeItem parent = getParent();
-        if (parent != null)
-            return parent.maximizeSeverity() || changed;
+        if (parent != null  &&  (changed  ||  disabled_changed))
+            return parent.childChanged(this) || changed;
         return changed;
     }
 
+    /** Remove child from severity counts
+     *  {@inheritDoc}
+     */
+    @Override
+    protected synchronized void childRemoved(final TreeItem child)
+    {
+        final AlarmTreeItem item = (AlarmTreeItem) child;
+        child_current_severities.update(item.counted_current_severity, null);
+        child_severities.update(item.counted_severity, null);
+        alarm_children.remove(item);
+        disabled_children -= item.counted_disabled;
+        item.counted_current_severity = null;
+        item.counted_severity = null;
+        item.counted_disabled = 0;
+        if (message_source == item)
+            message_source = findChild(child_severities.getMaximum());
+    }
+
     /** {@inheritDoc} */
     @Override
     @SuppressWarnings("nls")
@@ -14,6 +14,7 @@ import java.text.SimpleDateFormat;
 import java.time.Instant;
 import java.util.logging.Level;
 
+import javax.jms.BytesMessage;
 import javax.jms.MapMessage;
 import javax.jms.Message;
 import javax.jms.MessageConsumer;
@@ -22,9 +23,11 @@ import javax.jms.MessageProducer;
 import javax.security.auth.Subject;
 
 import org.csstudio.alarm.beast.Activator;
+import org.csstudio.alarm.beast.AlarmStateBatch;
 import org.csstudio.alarm.beast.JMSAlarmMessage;
 import org.csstudio.alarm.beast.JMSCommunicationWorkQueueThread;
 import org.csstudio.alarm.beast.Preferences;
+import org.csstudio.alarm.beast.SeverityLevel;
 import org.csstudio.alarm.beast.TimeoutTimer;
 import org.csstudio.alarm.beast.WorkQueue;
 import org.csstudio.alarm.beast.client.AlarmTreePV;
@@ -39,6 +42,10 @@ import org.csstudio.security.SecuritySupport;
  *  <p>
  *  Then it is switched to "Dispatch" mode, first sending the queued
  *  events, and from then on directly dispatching received events.
+ *  <p>
+ *  When enabled in the preferences, state updates are received
+ *  in batches, ignoring the individual state messages that
+ *  the server sends for older clients.
  *
  *  @author Kay Kasemir
  */
@@ -77,6 +84,33 @@ class AlarmClientCommunicator extends JMSCommunicationWorkQueueThread
         }
     }
 
+    /** Action to update the state of several PVs */
+    private class BatchUpdateAction implements Runnable
+    {
+        final private AlarmStateBatch batch;
+
+        public BatchUpdateAction(final AlarmStateBatch batch)
+        {
+            this.batch = batch;
+        }
+
+        @Override
+        public void run()
+        {
+            for (AlarmStateBatch.Entry entry : batch.getEntries())
+                model.updatePV(new AlarmUpdateInfo(entry.getName(),
+                        entry.getCurrentSeverity(), entry.getCurrentMessage(),
+                        entry.getSeverity(), entry.getMessage(),
+                        entry.getValue(), entry.getTimestamp()));
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Update " + batch.getEntries().size() + " PVs";
+        }
+    }
+
     /** Action to enable/disable a PV */
     private class EnableAction implements Runnable
     {
@@ -132,6 +166,9 @@ class AlarmClientCommunicator extends JMSCommunicationWorkQueueThread
     /** JMS consumer for messages from server to client */
     private MessageConsumer server_consumer;
 
+    /** JMS consumer for batched state updates from server, <code>null</code> when not used */
+    private MessageConsumer batch_consumer;
+
     /** Host for messages */
     final private String host = InetAddress.getLocalHost().getHostName();
 
@@ -162,7 +199,26 @@ class AlarmClientCommunicator extends JMSCommunicationWorkQueueThread
             client_producer = null;
         client_consumer = createConsumer(Preferences.getJMS_AlarmClientTopic(configuration));
         // Read messages from server
-        server_consumer = createConsumer(Preferences.getJMS_AlarmServerTopic(configuration));
+        if (Preferences.isJMS_BatchUpdates())
+        {   // Receive state updates in batches, skip individual messages for the same updates
+            server_consumer = createConsumer(Preferences.getJMS_AlarmServerTopic(configuration),
+                                             JMSAlarmMessage.BATCHED + " IS NULL");
+            batch_consumer = createConsumer(Preferences.getJMS_AlarmServerBatchTopic(configuration));
+            batch_consumer.setMessageListener(new MessageListener()
+            {
+                @Override
+                public void onMessage(final Message message)
+                {
+                    if (message instanceof BytesMessage)
+                        handleBytesMessage((BytesMessage) message);
+                    else
+                        Activator.getLogger().log(Level.WARNING,
+                                "Message type {0} not handled", message.getClass().getName());
+                }
+            });
+        }
+        else
+            server_consumer = createConsumer(Preferences.getJMS_AlarmServerTopic(configuration));
 
         // Handle MapMessages
         final MessageListener message_listener = new MessageListener()
@@ -186,6 +242,11 @@ class AlarmClientCommunicator extends JMSCommunicationWorkQueueThread
     protected void closeProducersAndConsumers() throws Exception
     {
         timeout_timer.cancel();
+        if (batch_consumer != null)
+        {
+            batch_consumer.close();
+            batch_consumer = null;
+        }
         server_consumer.close();
         server_consumer = null;
         client_consumer.close();
@@ -404,6 +465,15 @@ class AlarmClientCommunicator extends JMSCommunicationWorkQueueThread
                 final String name = message.getString(JMSLogMessage.NAME);
                 action = new EnableAction(name, false);
             }
+            // Alarm flood summary
+            else if (JMSAlarmMessage.TEXT_FLOOD.equals(text))
+            {
+                timeout_timer.reset();
+                final String area = message.getString(JMSLogMessage.NAME);
+                final int alarms = Integer.parseInt(message.getString(JMSAlarmMessage.VALUE));
+                final SeverityLevel severity = SeverityLevel.parse(message.getString(JMSLogMessage.SEVERITY));
+                model.fireFloodUpdate(area, alarms, severity);
+            }
             // Configuration change
             else if (JMSAlarmMessage.TEXT_CONFIG.equals(text))
             {
@@ -416,21 +486,52 @@ class AlarmClientCommunicator extends JMSCommunicationWorkQueueThread
 
             if (action == null)
                 return;
-            // Queue or dispatch?
-            synchronized (queue)
+            dispatch(action);
+        }
+        catch (Throwable ex)
+        {
+            Activator.getLogger().log(Level.SEVERE, "Message handler error", ex);
+        }
+    }
+
+    /** Invoked for received batch messages */
+    private void handleBytesMessage(final BytesMessage message)
+    {
+        try
+        {
+            final String text = message.getStringProperty(JMSLogMessage.TEXT);
+            if (! JMSAlarmMessage.TEXT_STATE_BATCH.equals(text))
             {
-                if (use_queue)
-                {
-                    queue.execute(action);
-                    return;
-                }
+                Activator.getLogger().log(Level.WARNING, "Message {0} not handled", text);
+                return;
             }
-            // else: Not using queue, and queue no longer locked
-            action.run();
+            final byte[] bytes = new byte[(int) message.getBodyLength()];
+            message.readBytes(bytes);
+            final AlarmStateBatch batch = AlarmStateBatch.fromBytes(bytes);
+            timeout_timer.reset();
+            model.updateServerState(batch.isMaintenanceMode());
+            dispatch(new BatchUpdateAction(batch));
         }
         catch (Throwable ex)
         {
-            Activator.getLogger().log(Level.SEVERE, "Message handler error", ex);
+            Activator.getLogger().log(Level.SEVERE, "Batch message handler error", ex);
+        }
+    }
+
+    /** Queue or directly perform action
+     *  @param action Action for received message
+     */
+    private void dispatch(final Runnable action)
+    {
+        synchronized (queue)
+        {
+            if (use_queue)
+            {
+                queue.execute(action);
+                return;
+            }
         }
+        // else: Not using queue, and queue no longer locked
+        action.run();
     }
 }
@@ -921,7 +921,7 @@ public class AlarmClientModel
             // This could change the alarm tree after a PV was disabled or enabled.
             final AlarmTreeItem parent = pv.getParent();
             if (parent != null)
-                parent.maximizeSeverity();
+                parent.childChanged(pv);
         }
 
         // Note that this may actually be a new PV that this instance
@@ -963,7 +963,7 @@ public class AlarmClientModel
             // This could change the alarm tree after a PV was disabled or enabled.
             final AlarmTreeItem parent = pv.getParent();
             if (parent != null)
-                parent.maximizeSeverity();
+                parent.childChanged(pv);
         }
         // Update alarm display
         fireNewAlarmState(pv, true);
@@ -1080,6 +1080,29 @@ public class AlarmClientModel
         }
     }
 
+    /** Inform listeners about alarm flood
+     *  @param area Name of the area that is flooded
+     *  @param alarms Number of alarms since the last update, 0 when the flood ended
+     *  @param severity Highest severity of those alarms
+     */
+    void fireFloodUpdate(final String area, final int alarms, final SeverityLevel severity)
+    {
+        for (AlarmClientModelListener listener : listeners)
+        {
+            if (! (listener instanceof AlarmClientModelFloodListener))
+                continue;
+            try
+            {
+                ((AlarmClientModelFloodListener) listener).floodUpdate(this, area, alarms, severity);
+            }
+            catch (Throwable ex)
+            {
+                Activator.getLogger().log(Level.WARNING,
+                    "Flood notification error", ex);
+            }
+        }
+    }
+
     /** Inform listeners about overall change to alarm tree configuration:
      *  Items added, removed.
      */
@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.alarm.beast.ui.clientmodel;
+
+import org.csstudio.alarm.beast.SeverityLevel;
+
+/** Listener to the AlarmClientModel that is also
+ *  notified about alarm floods detected by the server.
+ *
+ *  @author agent
+ */
+public interface AlarmClientModelFloodListener extends AlarmClientModelListener
+{
+    /** Notification of an alarm flood
+     *  <p>
+     *  May originate from non-UI thread
+     *
+     *  @param model Model
+     *  @param area Name of the area that is flooded
+     *  @param alarms Number of alarms in the area since the last update, 0 when the flood ended
+     *  @param severity Highest severity of those alarms
+     */
+    void floodUpdate(AlarmClientModel model, String area, int alarms, SeverityLevel severity);
+}
@@ -71,6 +71,11 @@ CREATE TABLE IF NOT EXISTS message_content
   value VARCHAR(100)
 );
 
+-- Message history reads pages of messages by time range and ID,
+-- then looks up their content
+CREATE INDEX message_datum_idx ON message (datum);
+CREATE INDEX message_content_msgid_idx ON message_content (message_id);
+
 
 # NOTE:
 # MyISAM ignores forgeign keys, and the software will work fine
@@ -22,6 +22,12 @@ CREATE TABLE message
  CONSTRAINT MESSAGE_PK PRIMARY KEY (id) USING INDEX
 );
 
+-- Message history reads pages of messages by time range and ID
+CREATE INDEX message_datum_indx ON message
+  (
+    datum                           ASC
+  );
+
 ALTER TABLE message
 ADD CHECK ("ID" IS NOT NULL)
 DISABLE NOVALIDATE;
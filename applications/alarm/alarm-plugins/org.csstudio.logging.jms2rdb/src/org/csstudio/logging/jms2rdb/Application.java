@@ -65,6 +65,12 @@ public class Application implements IApplication
     /** RDB Schema */
     private String rdb_schema = "";
 
+    /** Max. number of messages waiting to be written to the RDB */
+    private int queue_size = 10000;
+
+    /** Max. number of messages per RDB transaction */
+    private int batch_size = 500;
+
     /** Thread that handles the JMS messages */
     private LogClientThread log_client_thread;
 
@@ -146,6 +152,10 @@ public class Application implements IApplication
                 SecurePreferences.get(Activator.ID, "rdb_password", null);
         rdb_schema =
             service.getString(Activator.ID, "rdb_schema", rdb_schema, null);
+        queue_size =
+            service.getInt(Activator.ID, "queue_size", queue_size, null);
+        batch_size =
+            service.getInt(Activator.ID, "batch_size", batch_size, null);
 
         LogConfigurator.configureFromPreferences();
 
@@ -154,7 +164,7 @@ public class Application implements IApplication
         // Start log handler and web interface
         log_client_thread =
             new LogClientThread(jms_url, jms_topic, rdb_url, rdb_user, rdb_password, rdb_schema,
-                                Filter.parse(jms_filters));
+                                Filter.parse(jms_filters), queue_size, batch_size);
         startHttpd();
         log_client_thread.start();
         // .. Wait while thread is running ..
@@ -7,6 +7,12 @@
  ******************************************************************************/
 package org.csstudio.logging.jms2rdb;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 import javax.jms.Connection;
@@ -19,19 +25,32 @@ import javax.jms.MessageListener;
 import javax.jms.Session;
 import javax.jms.Topic;
 
+import org.csstudio.logging.jms2rdb.rdb.LogEntry;
+import org.csstudio.logging.jms2rdb.rdb.LogWriter;
 import org.csstudio.logging.jms2rdb.rdb.RDBWriter;
 import org.csstudio.platform.utility.jms.JMSConnectionFactory;
 
 /** Thread that receives log messages and sends them to the RDB.
  *  <p>
- *  There is no further queuing in here.
- *  All messages are directly written to the RDB.
+ *  Received messages are placed in a bounded queue.
+ *  The thread takes them from the queue and writes them to the RDB
+ *  in batches of all messages that have been queued, up to the batch size,
+ *  so bursts of messages result in fewer but larger RDB transactions.
  *  <p>
- *  If messages arrive quicker than they can be written to RDB,
- *  simple test showed that ActiveMQ JMS server will queue them up
- *  for this "consumer" as long as the consumer stays connected.
- *  TODO: Limits and config. of JMS server queue unclear.
- *        Queue in here?
+ *  If messages arrive quicker than they can be written to RDB
+ *  and the queue is full, the JMS message callback blocks for a while,
+ *  then drops the message.
+ *  Simple test showed that ActiveMQ JMS server will queue messages up
+ *  for a blocked "consumer" as long as the consumer stays connected.
+ *  <p>
+ *  Messages remain queued while the thread re-connects after an RDB error.
+ *  When a batch cannot be written, its messages are written again
+ *  one per transaction, so one bad message does not lose the whole batch.
+ *  When a message fails while the RDB connection is still valid, it is dropped.
+ *  Once the connection is found broken, the remaining messages of the batch
+ *  are written once more after re-connecting.
+ *  Messages that still fail are dropped,
+ *  as are messages that remain queued when the thread stops.
  *
  *  @author Kay Kasemir
  *  reviewed by Katia Danilova 08/20/08
@@ -45,6 +64,12 @@ public class LogClientThread extends Thread
      */
     private static final int RETRY_DELAY_MS = 20000;
 
+    /** Time that JMS message callback waits for space in a full queue */
+    private static final int QUEUE_FULL_TIMEOUT_MS = 5000;
+
+    /** Period for computing the write rate */
+    private static final int RATE_PERIOD_MS = 10000;
+
     /** JMS Server URL */
     final private String jms_url;
 
@@ -66,6 +91,15 @@ public class LogClientThread extends Thread
     /** Message filters */
     final private Filter filters[];
 
+    /** Messages waiting to be written to the RDB */
+    final private BlockingQueue<LogEntry> queue;
+
+    /** Max. number of messages per RDB transaction */
+    final private int batch_size;
+
+    /** Messages of a failed batch to write after re-connecting to the RDB */
+    private List<LogEntry> pending = Collections.emptyList();
+
     /** Flag that tells thread to run or stop. */
     private volatile boolean run = true;
 
@@ -73,7 +107,7 @@ public class LogClientThread extends Thread
     private boolean do_wait;
 
     /** RDB Writer for log messages */
-    private RDBWriter rdb_writer;
+    private LogWriter rdb_writer;
 
     /** Counter for received JMS messages */
     private int message_count = 0;
@@ -81,6 +115,24 @@ public class LogClientThread extends Thread
     /** Last JMS Message */
     private MapMessage last_message = null;
 
+    /** Counter for messages dropped because the queue was full */
+    private int dropped_count = 0;
+
+    /** Counter for messages lost because the RDB write failed */
+    private volatile long failed_count = 0;
+
+    /** Counter for messages written to the RDB */
+    private volatile long written_count = 0;
+
+    /** Messages per second written to the RDB */
+    private volatile double write_rate = 0.0;
+
+    /** Size of last batch */
+    private volatile int last_batch_size = 0;
+
+    /** Duration of last batch write in ms */
+    private volatile long last_batch_ms = 0;
+
     /** Last error message or <code>null</code> */
     private String last_error = "";
 
@@ -91,11 +143,15 @@ public class LogClientThread extends Thread
      *  @param rdb_user User (or null)
      *  @param rdb_password Password (or null)
      *  @param rdb_schema RDB schema or ""
+     *  @param filters Filters for suppressed messages
+     *  @param queue_size Max. number of messages waiting to be written
+     *  @param batch_size Max. number of messages per RDB transaction
      */
     public LogClientThread(final String jms_url, final String jms_topic,
             final String rdb_url, final String rdb_user, final String rdb_password,
             final String rdb_schema,
-            final Filter filters[])
+            final Filter filters[],
+            final int queue_size, final int batch_size)
     {
         super("LogClientThread");
         this.jms_url = jms_url;
@@ -105,6 +161,8 @@ public class LogClientThread extends Thread
         this.rdb_password = rdb_password;
         this.rdb_schema = rdb_schema;
         this.filters = filters;
+        this.queue = new ArrayBlockingQueue<LogEntry>(queue_size);
+        this.batch_size = batch_size;
 
         for (Filter filter : filters)
             Activator.getLogger().config(filter.toString());
@@ -122,6 +180,54 @@ public class LogClientThread extends Thread
         return last_message;
     }
 
+    /** @return Number of messages dropped because the queue was full */
+    public synchronized int getDroppedCount()
+    {
+        return dropped_count;
+    }
+
+    /** @return Number of messages lost because the RDB write failed */
+    public long getFailedCount()
+    {
+        return failed_count;
+    }
+
+    /** @return Number of messages waiting to be written */
+    public int getQueueSize()
+    {
+        return queue.size();
+    }
+
+    /** @return Max. number of messages waiting to be written */
+    public int getQueueCapacity()
+    {
+        return queue.size() + queue.remainingCapacity();
+    }
+
+    /** @return Number of messages written to the RDB */
+    public long getWrittenCount()
+    {
+        return written_count;
+    }
+
+    /** @return Messages per second written to the RDB */
+    public double getWriteRate()
+    {
+        return write_rate;
+    }
+
+    /** @return Size of last batch */
+    public int getLastBatchSize()
+    {
+        return last_batch_size;
+    }
+
+    /** @return Duration of last batch write in ms */
+    public long getLastBatchMillis()
+    {
+        return last_batch_ms;
+    }
+
     /** @return Last error received or empty string */
     public synchronized String getLastError()
     {
@@ -139,22 +245,31 @@ public class LogClientThread extends Thread
             try
             {
                 // First open RDB, then the JMS client that writes to RDB
-                rdb_writer = new RDBWriter(rdb_url, rdb_user, rdb_password, rdb_schema);
+                rdb_writer = connectRDB();
                 Activator.getLogger().log(Level.INFO, "Connected to RDB {0}", rdb_url);
 
                 // Add start message
-                rdb_writer.write("JMS Log Tool started");
+                rdb_writer.write(Collections.singletonList(new LogEntry("JMS Log Tool started")));
 
-                jms_connection = connectJMS();
+                // Write messages of batch that failed before re-connecting
+                writePending();
 
-                // Incoming JMS messages are handled in onMessage,
-                // so nothing to do here but wait...
                 synchronized (this)
-                {
-                    do_wait = true;
-                    // Check some condition to please FindBugs
-                    while (do_wait)
-                        wait();
+                {   // Unless cancel() was already called
+                    do_wait = run;
+                }
+                jms_connection = connectJMS();
+
+                // Incoming JMS messages are queued in onMessage,
+                // write them until asked to stop or re-connect
+                writeQueuedMessages();
+
+                if (! run)
+                {   // Stop receiving, then write remaining messages
+                    jms_connection.close();
+                    jms_connection = null;
+                    while (! queue.isEmpty())
+                        writeBatch();
                 }
             }
             catch (Exception ex)
@@ -193,8 +308,9 @@ public class LogClientThread extends Thread
                 try
                 {
                     synchronized (this)
-                    {
-                        wait(RETRY_DELAY_MS);
+                    {   // Unless cancel() was called since checking
+                        if (run)
+                            wait(RETRY_DELAY_MS);
                     }
                 }
                 catch (InterruptedException ex)
@@ -204,13 +320,158 @@ public class LogClientThread extends Thread
                 }
             }
         }
+        // Pending and queued messages that were not written before the thread stopped
+        final List<LogEntry> lost = new ArrayList<LogEntry>(pending);
+        pending = Collections.emptyList();
+        queue.drainTo(lost);
+        failed_count += lost.size();
+        if (! lost.isEmpty())
+            Activator.getLogger().log(Level.WARNING, "Stopped without writing {0} messages", lost.size());
+    }
+
+    /** @return <code>true</code> while thread should keep writing messages */
+    private synchronized boolean isWriting()
+    {
+        return do_wait;
+    }
+
+    /** Write queued messages until asked to stop or re-connect
+     *  @throws Exception on error
+     */
+    private void writeQueuedMessages() throws Exception
+    {
+        long rate_start = System.currentTimeMillis();
+        long rate_count = written_count;
+        while (isWriting())
+        {
+            // Wait for messages, but periodically check if thread should stop
+            final LogEntry entry = queue.poll(1, TimeUnit.SECONDS);
+            if (entry != null)
+                writeBatch(entry);
+            // Update write rate
+            final long now = System.currentTimeMillis();
+            if (now - rate_start >= RATE_PERIOD_MS)
+            {
+                write_rate = (written_count - rate_count) * 1000.0 / (now - rate_start);
+                rate_start = now;
+                rate_count = written_count;
+            }
+        }
+    }
+
+    /** Write next batch of queued messages
+     *  @throws Exception on error
+     */
+    private void writeBatch() throws Exception
+    {
+        final LogEntry entry = queue.poll();
+        if (entry != null)
+            writeBatch(entry);
+    }
+
+    /** Write a batch of queued messages
+     *  @param first First message of the batch, already taken from queue
+     *  @throws Exception on error
+     */
+    private void writeBatch(final LogEntry first) throws Exception
+    {
+        final List<LogEntry> batch = new ArrayList<LogEntry>(batch_size);
+        batch.add(first);
+        queue.drainTo(batch, batch_size - 1);
+        writeBatch(batch, false);
+    }
+
+    /** Write messages of a batch that failed before re-connecting to the RDB
+     *  @throws Exception on error
+     */
+    private void writePending() throws Exception
+    {
+        if (pending.isEmpty())
+            return;
+        final List<LogEntry> batch = pending;
+        pending = Collections.emptyList();
+        writeBatch(batch, true);
+    }
+
+    /** Write a batch of messages in one transaction.
+     *  If that fails, write the messages one per transaction.
+     *  @param batch Messages to write
+     *  @param retry Is this the retry of a batch that failed before re-connecting?
+     *  @throws Exception on error
+     */
+    private void writeBatch(final List<LogEntry> batch, final boolean retry) throws Exception
+    {
+        final long start = System.currentTimeMillis();
+        try
+        {
+            rdb_writer.write(batch);
+            written_count += batch.size();
+        }
+        catch (Exception ex)
+        {
+            Activator.getLogger().log(Level.WARNING,
+                "Cannot write " + batch.size() + " messages, writing them one by one", ex);
+            writeSingleMessages(batch, retry);
+        }
+        last_batch_ms = System.currentTimeMillis() - start;
+        last_batch_size = batch.size();
+    }
+
+    /** Write messages one per transaction
+     *  @param batch Messages to write
+     *  @param retry Is this the retry of a batch that failed before re-connecting?
+     *  @throws Exception when the RDB connection is broken
+     */
+    private void writeSingleMessages(final List<LogEntry> batch, final boolean retry) throws Exception
+    {
+        int dropped = 0;
+        Exception error = null;
+        for (int i=0; i<batch.size(); ++i)
+        {
+            try
+            {
+                rdb_writer.write(Collections.singletonList(batch.get(i)));
+                ++written_count;
+            }
+            catch (Exception ex)
+            {
+                if (! rdb_writer.isConnected())
+                {   // Re-connect, then try the remaining messages once more
+                    final List<LogEntry> unwritten = new ArrayList<LogEntry>(batch.subList(i, batch.size()));
+                    failed_count += dropped;
+                    if (retry)
+                        failed_count += unwritten.size();
+                    else
+                        pending = unwritten;
+                    throw new Exception("Cannot write " + unwritten.size() + " messages", ex);
+                }
+                // RDB works, so this message can't be written at all
+                ++dropped;
+                error = ex;
+            }
+        }
+        if (dropped > 0)
+        {
+            failed_count += dropped;
+            Activator.getLogger().log(Level.WARNING,
+                "Dropped " + dropped + " messages that cannot be written", error);
+        }
+    }
+
+    /** Connect to RDB
+     *  @return Writer for log messages
+     *  @throws Exception on error
+     */
+    LogWriter connectRDB() throws Exception
+    {
+        return new RDBWriter(rdb_url, rdb_user, rdb_password, rdb_schema);
     }
 
     /** Connect to JMS server
      *  @return JMS Connection
      *  @throws JMSException on error
      */
-    private Connection connectJMS() throws JMSException
+    Connection connectJMS() throws JMSException
     {
         final Connection connection = JMSConnectionFactory.connect(jms_url);
         connection.setExceptionListener(this);
@@ -250,6 +511,25 @@ public class LogClientThread extends Thread
         Activator.getLogger().log(Level.WARNING, "JMS Exception", ex);
     }
 
+    /** Queue message to be written, waiting a while if the queue is full
+     *  @param entry Message
+     *  @throws InterruptedException when interrupted while waiting
+     */
+    void queue(final LogEntry entry) throws InterruptedException
+    {
+        if (! queue.offer(entry, QUEUE_FULL_TIMEOUT_MS, TimeUnit.MILLISECONDS))
+        {
+            final int dropped;
+            synchronized (this)
+            {
+                dropped = ++dropped_count;
+            }
+            // Log first and then every 1000th dropped message
+            if (dropped % 1000 == 1)
+                Activator.getLogger().log(Level.WARNING, "Queue full, dropped {0} messages", dropped);
+        }
+    }
+
     /** @see JMS MessageListener */
     @Override
     public void onMessage(final Message message)
@@ -267,7 +547,7 @@ public class LogClientThread extends Thread
                     ++message_count;
                     last_message  = map;
                 }
-                rdb_writer.write(map);
+                queue(new LogEntry(map));
             }
             else
                 Activator.getLogger().log(Level.WARNING, "Received unhandled message {0}", message);
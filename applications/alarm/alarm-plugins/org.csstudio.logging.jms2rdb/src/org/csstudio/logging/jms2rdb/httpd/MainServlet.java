@@ -49,6 +49,16 @@ public class MainServlet extends AbstractServlet
 
         html.h2("Message Count: " + log_client_thread.getMessageCount());
 
+        html.openTable(2, "RDB Writer");
+        html.tableLine("Queued", log_client_thread.getQueueSize() + " of " + log_client_thread.getQueueCapacity());
+        html.tableLine("Written", Long.toString(log_client_thread.getWrittenCount()));
+        html.tableLine("Write Rate", String.format("%.1f messages/sec", log_client_thread.getWriteRate()));
+        html.tableLine("Last Batch", log_client_thread.getLastBatchSize() + " messages in " +
+                                     log_client_thread.getLastBatchMillis() + " ms");
+        html.tableLine("Dropped (queue full)", Integer.toString(log_client_thread.getDroppedCount()));
+        html.tableLine("Failed (RDB error)", Long.toString(log_client_thread.getFailedCount()));
+        html.closeTable();
+
         final String last_error = log_client_thread.getLastError();
         if (last_error.length() > 0)
         {
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.logging.jms2rdb.rdb;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.jms.MapMessage;
+
+import org.csstudio.logging.JMSLogMessage;
+
+/** Log message to be written to the RDB
+ *
+ *  <p>Copy of a received JMS message,
+ *  so it can be queued and written later.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class LogEntry
+{
+    /** Time when message was received */
+    final private Date datum;
+
+    final private String type, name, severity;
+
+    /** Properties that are not MESSAGE table columns */
+    final private Map<String, String> properties;
+
+    /** Create log entry for a plain text message
+     *  @param text Message text
+     */
+    public LogEntry(final String text)
+    {
+        this(JMSLogMessage.TYPE, null, "INFO",
+             Collections.singletonMap(JMSLogMessage.TEXT, text));
+    }
+
+    /** Create log entry for a JMS message
+     *  @param map MapMessage
+     *  @throws Exception on error
+     */
+    @SuppressWarnings("unchecked")
+    public LogEntry(final MapMessage map) throws Exception
+    {
+        this(map.getString(JMSLogMessage.TYPE),
+             map.getString(JMSLogMessage.NAME),
+             map.getString(JMSLogMessage.SEVERITY),
+             new LinkedHashMap<String, String>());
+        final Enumeration<String> props = map.getMapNames();
+        while (props.hasMoreElements())
+        {
+            final String prop = props.nextElement();
+            // Skip properties which are already in message table columns
+            if (JMSLogMessage.TYPE.equals(prop) ||
+                JMSLogMessage.NAME.equals(prop) ||
+                JMSLogMessage.SEVERITY.equals(prop))
+                continue;
+            properties.put(prop, map.getString(prop));
+        }
+    }
+
+    private LogEntry(final String type, final String name, final String severity,
+                     final Map<String, String> properties)
+    {
+        this.datum = new Date();
+        this.type = type;
+        this.name = name;
+        this.severity = severity;
+        this.properties = properties;
+    }
+
+    /** @return Time when message was received */
+    public Date getDatum()
+    {
+        return datum;
+    }
+
+    /** @return Message type */
+    public String getType()
+    {
+        return type;
+    }
+
+    /** @return Primary name (PV name, ...) to which the message refers. May be <code>null</code> */
+    public String getName()
+    {
+        return name;
+    }
+
+    /** @return Message severity */
+    public String getSeverity()
+    {
+        return severity;
+    }
+
+    /** @return Properties that are not MESSAGE table columns */
+    public Map<String, String> getProperties()
+    {
+        return properties;
+    }
+}
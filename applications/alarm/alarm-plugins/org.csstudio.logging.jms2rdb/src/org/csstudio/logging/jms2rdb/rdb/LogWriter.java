@@ -0,0 +1,30 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.logging.jms2rdb.rdb;
+
+import java.util.List;
+
+/** Interface used by the LogClientThread
+ *  to write log messages, implemented by {@link RDBWriter}
+ *
+ *  @author agent
+ */
+public interface LogWriter
+{
+    /** Write log messages in one transaction
+     *  @param entries Messages to write
+     *  @throws Exception on error
+     */
+    public void write(List<LogEntry> entries) throws Exception;
+
+    /** @return <code>true</code> if the connection is still usable */
+    public boolean isConnected();
+
+    /** Close the connection */
+    public void close();
+}
@@ -12,31 +12,44 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
 import java.sql.Timestamp;
-import java.util.Date;
-import java.util.Enumeration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.jms.MapMessage;
 
-import org.csstudio.logging.JMSLogMessage;
 import org.csstudio.logging.jms2rdb.Activator;
 import org.csstudio.platform.utility.rdb.RDBUtil;
-import org.csstudio.platform.utility.rdb.RDBUtil.Dialect;
 
 /** Class that writes JMSLogMessages to the RDB
+ *
+ *  <p>Messages are written in batches, one transaction per batch,
+ *  using JDBC batches for the MESSAGE and MESSAGE_CONTENT rows.
+ *  Property IDs are cached.
+ *  Unknown properties are added within the same transaction.
+ *
  *  @author Kay Kasemir
  *  @author Lana Abadie - PostgreSQL additions. Disable autocommit as needed.
  *  reviewed by Katia Danilova 08/20/08
  */
 @SuppressWarnings("nls")
-public class RDBWriter
+public class RDBWriter implements LogWriter
 {
     private static final int MAX_VALUE_LENGTH = 100;
 
     private static final int MAX_NAME_LENGTH = 80;
 
+    private static final int MAX_TYPE_LENGTH = 10;
+
+    private static final int MAX_SEVERITY_LENGTH = 20;
+
+    /** Timeout for checking the connection */
+    private static final int CONNECTION_TIMEOUT_SECS = 5;
+
     /** Enable Oracle statistics? */
     private static final boolean enable_trace = false;
 
@@ -50,8 +63,11 @@ public class RDBWriter
     final private HashMap<String, Integer> properties =
         new HashMap<String, Integer>();
 
+    /** Properties added to the cache by the current transaction */
+    final private List<String> new_properties = new ArrayList<String>();
+
     /** Lazily initialized statement */
-    private PreparedStatement next_message_id_statement;
+    private PreparedStatement next_message_ids_statement;
 
     /** Lazily initialized statement */
     private PreparedStatement insert_message_statement;
@@ -88,19 +104,39 @@ public class RDBWriter
 
         sql = new SQL(rdb_util, schema);
 
-        if (sql.select_next_message_id != null)
-            next_message_id_statement =
-                connection.prepareStatement(sql.select_next_message_id);
-
-        if (rdb_util.getDialect() == Dialect.PostgreSQL)
+        if (sql.select_next_message_ids != null)
+        {   // Oracle, PostgreSQL: Read IDs from sequence, then insert
+            next_message_ids_statement =
+                connection.prepareStatement(sql.select_next_message_ids);
             insert_message_statement =
-                        connection.prepareStatement(sql.insert_message_id_datum_type_name_severity);
+                connection.prepareStatement(sql.insert_message_id_datum_type_name_severity);
+        }
         else // MySQL, other RDB that supports RETURN_GENERATED_KEYS
             insert_message_statement =
                     connection.prepareStatement(sql.insert_message_id_datum_type_name_severity,
                             Statement.RETURN_GENERATED_KEYS);
         insert_property_statement =
             connection.prepareStatement(sql.insert_message_property_value);
+
+        readPropertyTypes();
+    }
+
+    /** Read all known property types into cache
+     *  @throws Exception on error
+     */
+    private void readPropertyTypes() throws Exception
+    {
+        final Statement statement = rdb_util.getConnection().createStatement();
+        try
+        {
+            final ResultSet result = statement.executeQuery(sql.select_property_types);
+            while (result.next())
+                properties.put(result.getString(2), Integer.valueOf(result.getInt(1)));
+        }
+        finally
+        {
+            statement.close();
+        }
     }
 
     /** Get numeric ID of a property, using either the local cache
@@ -139,8 +175,8 @@ public class RDBWriter
         // Fundamentally, there is a small chance that multiple instances
         // of this program will try to create duplicate property entries.
         // In reality, it probably doesn't matter.
-        // Since we wrap the whole one-message-write into a transaction,
-        // the worst case would be one lost message because of a property ID clash.
+        // Since we wrap the whole batch write into a transaction,
+        // the worst case would be one lost batch because of a property ID clash.
         statement = connection.prepareStatement(sql.select_next_property_id);
         int next_id;
         try
@@ -160,43 +196,50 @@ public class RDBWriter
             statement.close();
         }
 
-        // Insert new property; preserver auto-commit setting
-        final boolean auto_commit = connection.getAutoCommit();
-        connection.setAutoCommit(false);
+        // Insert new property as part of the current transaction
         statement = connection.prepareStatement(sql.insert_property_id);
         statement.setInt(1, next_id);
         statement.setString(2, property_name);
         try
         {
             statement.executeUpdate();
-            connection.commit();
-        }
-        catch(Exception e)
-        {
-            connection.rollback();
-            throw e;
         }
         finally
         {
             statement.close();
-            connection.setAutoCommit(auto_commit);
         }
         Activator.getLogger().log(Level.WARNING,
             "Inserted previously unused Message Property {0} as ID {1}",
             new Object[] { property_name, next_id } );
-        // Add to cache
+        // Add to cache, to be removed if transaction fails
         properties.put(property_name, Integer.valueOf(next_id));
+        new_properties.add(property_name);
         return next_id;
     }
 
+    /** @return <code>true</code> if the RDB connection is still valid */
+    @Override
+    public boolean isConnected()
+    {
+        try
+        {
+            return rdb_util.getConnection().isValid(CONNECTION_TIMEOUT_SECS);
+        }
+        catch (Exception ex)
+        {
+            return false;
+        }
+    }
+
     /** Close the RDB connection */
+    @Override
     public void close()
     {
-        if (next_message_id_statement != null)
+        if (next_message_ids_statement != null)
         {
             try
             {
-                next_message_id_statement.close();
+                next_message_ids_statement.close();
             }
             catch (Exception ex)
             { /* Ignore */ }
@@ -242,161 +285,134 @@ public class RDBWriter
      */
     public void write(final String message) throws Exception
     {
-        final Connection connection = rdb_util.getConnection();
-        connection.setAutoCommit(false);
-        try
-        {
-            final long message_id = insertMessage(JMSLogMessage.TYPE, null, "INFO");
-            batchProperty(message_id, JMSLogMessage.TEXT, message);
-            insert_property_statement.executeBatch();
-            connection.commit();
-        }
-        catch (Exception ex)
-        {
-            connection.rollback();
-            throw ex;
-        }
-        finally
-        {
-            connection.setAutoCommit(true);
-        }
+        write(Collections.singletonList(new LogEntry(message)));
     }
 
     /** Write log message to RDB
      *  @param message MapMessage to write
      *  @throws Exception on error
      */
-    @SuppressWarnings("unchecked")
     public void write(final MapMessage map) throws Exception
     {
-        final String type = map.getString(JMSLogMessage.TYPE);
-        final String name = map.getString(JMSLogMessage.NAME);
-        final String severity = map.getString(JMSLogMessage.SEVERITY);
+        write(Collections.singletonList(new LogEntry(map)));
+    }
 
+    /** Write log messages to RDB in one transaction
+     *  @param entries Messages to write
+     *  @throws Exception on error
+     */
+    @Override
+    public void write(final List<LogEntry> entries) throws Exception
+    {
+        if (entries.isEmpty())
+            return;
         final Connection connection = rdb_util.getConnection();
         connection.setAutoCommit(false);
         try
         {
-            final long message_id = insertMessage(type, name, severity);
-
-            final Enumeration<String> props = map.getMapNames();
-            while (props.hasMoreElements())
-            {
-                final String prop = props.nextElement();
-                // Skip properties which are already in message table columns
-                if (JMSLogMessage.TYPE.equals(prop) ||
-                    JMSLogMessage.NAME.equals(prop) ||
-                    JMSLogMessage.SEVERITY.equals(prop))
-                    continue;
-                batchProperty(message_id, prop, map.getString(prop));
-            }
+            final long[] message_ids = insertMessages(entries);
+            for (int i=0; i<message_ids.length; ++i)
+                for (Map.Entry<String, String> prop : entries.get(i).getProperties().entrySet())
+                    batchProperty(message_ids[i], prop.getKey(), prop.getValue());
             insert_property_statement.executeBatch();
             connection.commit();
         }
         catch (Exception ex)
         {
+            insert_message_statement.clearBatch();
+            insert_property_statement.clearBatch();
             connection.rollback();
+            // Properties inserted by this transaction are no longer known
+            for (String property : new_properties)
+                properties.remove(property);
             throw ex;
         }
         finally
         {
+            new_properties.clear();
             connection.setAutoCommit(true);
         }
     }
 
-    /** Insert a new message
-     *  @param type  Message type
-     *  @param name Primary name (PV name, ...) to which the msg refers. May be <code>null</code>
-     *  @param severity Message severity
-     *  @return ID of the new message row
+    /** Insert new messages
+     *  @param entries Messages to insert
+     *  @return IDs of the new message rows
      *  @throws Exception on error
      */
-    private long insertMessage(
-            final String type, String name,
-            final String severity) throws Exception
+    private long[] insertMessages(final List<LogEntry> entries) throws Exception
     {
-        long message_id = -1;
-        if (rdb_util.getDialect() == Dialect.Oracle)
-        {
-           // Read next unique message ID from sequence
-            final ResultSet result = next_message_id_statement.executeQuery();
-            if (result.next())
-                message_id = result.getInt(1);
-            else
-            {
-                result.close();
-                throw new Exception("Cannot obtain next message ID");
-            }
+        final long[] message_ids = new long[entries.size()];
+        if (next_message_ids_statement != null)
+        {   // Read next unique message IDs from sequence
+            next_message_ids_statement.setInt(1, message_ids.length);
+            final ResultSet result = next_message_ids_statement.executeQuery();
+            int i = 0;
+            while (i < message_ids.length  &&  result.next())
+                message_ids[i++] = result.getLong(1);
             result.close();
-            insert_message_statement.setLong(5, message_id);
-        }
-        // else: Depend on AUTO_INCREMENT resp. SERIAL for new ID, then read it after insert
-
-        // Insert the main message
-        final Date now = new Date();
-        insert_message_statement.setTimestamp(1, new Timestamp(now.getTime()));
-        insert_message_statement.setString(2, type);
-        // Overcome RDB limitations
-        if (name == null)
-            name = "";
-        else if (name.length() > MAX_NAME_LENGTH)
-        {
-            Activator.getLogger().log(Level.WARNING,
-                "Limiting NAME = {0} to {1} characters",
-                new Object[] { name, MAX_NAME_LENGTH });
-            name = name.substring(0, MAX_NAME_LENGTH);
+            if (i < message_ids.length)
+                throw new Exception("Cannot obtain next message IDs");
         }
-        insert_message_statement.setString(3, name);
-        insert_message_statement.setString(4, severity);
+        // else: Depend on AUTO_INCREMENT for new ID, then read it after insert
 
-        // PostgreSQL, MySQL: Read auto-assigned unique message ID
-        if (rdb_util.getDialect() == Dialect.PostgreSQL)
+        final Logger logger = Activator.getLogger();
+        for (int i=0; i<message_ids.length; ++i)
         {
-            final ResultSet result = insert_message_statement.executeQuery();
-            if (result.next())
-            {
-                  message_id = result.getInt(1);
-                  result.close();
-            }
-            else
-            {
-                 result.close();
-                throw new Exception("Cannot obtain next message ID");
-            }
+            final LogEntry entry = entries.get(i);
+            insert_message_statement.setTimestamp(1, new Timestamp(entry.getDatum().getTime()));
+            // Overcome RDB limitations
+            insert_message_statement.setString(2, limitLength("TYPE", entry.getType(), MAX_TYPE_LENGTH));
+            final String name = entry.getName();
+            insert_message_statement.setString(3, name == null ? "" : limitLength("NAME", name, MAX_NAME_LENGTH));
+            insert_message_statement.setString(4, limitLength("SEVERITY", entry.getSeverity(), MAX_SEVERITY_LENGTH));
+            if (next_message_ids_statement != null)
+                insert_message_statement.setLong(5, message_ids[i]);
+            insert_message_statement.addBatch();
         }
-        else if (rdb_util.getDialect() == Dialect.MySQL)
-        {
-            final int rows = insert_message_statement.executeUpdate();
-            if (rows != 1)
-                throw new Exception("Inserted " + rows + " instead of 1 Message");
+        final int[] rows = insert_message_statement.executeBatch();
+        if (rows.length != message_ids.length)
+            throw new Exception("Inserted " + rows.length + " instead of " + message_ids.length + " Messages");
 
+        if (next_message_ids_statement == null)
+        {   // MySQL: Read auto-assigned unique message IDs
             final ResultSet result = insert_message_statement.getGeneratedKeys();
-            if (result.next())
-                message_id = result.getInt(1);
-            else
-            {
-                result.close();
-                throw new Exception("Cannot obtain next message ID");
-            }
+            int i = 0;
+            while (i < message_ids.length  &&  result.next())
+                message_ids[i++] = result.getLong(1);
             result.close();
-        }
-        else // Oracle
-        {
-            final int rows = insert_message_statement.executeUpdate();
-            if (rows != 1)
-                throw new Exception("Inserted " + rows + " instead of 1 Message");
+            if (i < message_ids.length)
+                throw new Exception("Cannot obtain next message IDs");
         }
 
-        final Logger logger = Activator.getLogger();
         if (logger.isLoggable(Level.FINE))
         {
-            logger.fine("Message " + message_id + ":");
-            logger.fine("  TYPE          : " + type);
-            logger.fine("  DATUM         : " + now);
-            logger.fine("  NAME          : " + name);
-            logger.fine("  SEVERITY      : " + severity);
+            for (int i=0; i<message_ids.length; ++i)
+            {
+                final LogEntry entry = entries.get(i);
+                logger.fine("Message " + message_ids[i] + ":");
+                logger.fine("  TYPE          : " + entry.getType());
+                logger.fine("  DATUM         : " + entry.getDatum());
+                logger.fine("  NAME          : " + entry.getName());
+                logger.fine("  SEVERITY      : " + entry.getSeverity());
+            }
         }
-        return message_id;
+        return message_ids;
+    }
+
+    /** Limit length of a MESSAGE column value
+     *  @param column Column name
+     *  @param value Value or <code>null</code>
+     *  @param max_length Maximum length
+     *  @return Value, truncated to max_length
+     */
+    private static String limitLength(final String column, final String value, final int max_length)
+    {
+        if (value == null  ||  value.length() <= max_length)
+            return value;
+        Activator.getLogger().log(Level.WARNING,
+            "Limiting {0} = {1} to {2} characters",
+            new Object[] { column, value, max_length });
+        return value.substring(0, max_length);
     }
 
     /** Insert a property, add content to a message
@@ -18,13 +18,16 @@ import org.csstudio.platform.utility.rdb.RDBUtil.Dialect;
 @SuppressWarnings("nls")
 public class SQL
 {
+    final public String select_property_types;
+
     final public String select_property_id_by_name;
 
     final public String select_next_property_id;
 
     final public String insert_property_id;
 
-    final public String select_next_message_id;
+    /** Select the next N message IDs, <code>null</code> when RDB assigns them on insert */
+    final public String select_next_message_ids;
 
     final public String insert_message_id_datum_type_name_severity;
 
@@ -38,6 +41,9 @@ public class SQL
     {
         final String prefix = (schema != null  &&  schema.length() > 0) ? schema + "."  :  "";
 
+        select_property_types =
+            "SELECT id, name FROM " + prefix + "msg_property_type";
+
         select_property_id_by_name =
             "SELECT id FROM " + prefix + "msg_property_type WHERE name=?";
 
@@ -49,19 +55,21 @@ public class SQL
 
         if (rdb_util.getDialect() == Dialect.Oracle)
         {   // Oracle uses sequence to get message.id.
-            select_next_message_id = "SELECT " + prefix + "message_id_seq.NEXTVAL FROM DUAL";
+            select_next_message_ids = "SELECT " + prefix + "message_id_seq.NEXTVAL FROM DUAL CONNECT BY LEVEL <= ?";
             insert_message_id_datum_type_name_severity =
                 "INSERT INTO " + prefix + "message (datum, type, name, severity, id) VALUES (?,?,?,?,?)";
         }
         else if (rdb_util.getDialect() == Dialect.PostgreSQL)
-        {    // PostgreSQL 'returns' the auto-generated ID
-            select_next_message_id = null;
+        {   // PostgreSQL reads IDs from the sequence of the SERIAL column,
+            // so messages can be inserted as a batch
+            select_next_message_ids = "SELECT nextval(pg_get_serial_sequence('" + prefix + "message', 'id'))" +
+                                      " FROM generate_series(1, ?)";
             insert_message_id_datum_type_name_severity =
-                "INSERT INTO " + prefix + "message (datum, type, name, severity) VALUES (?,?,?,?) returning id";
+                "INSERT INTO " + prefix + "message (datum, type, name, severity, id) VALUES (?,?,?,?,?)";
         }
         else
         {   // Other dialects (MySQL) use auto-increment ID column.
-            select_next_message_id = null;
+            select_next_message_ids = null;
             insert_message_id_datum_type_name_severity =
                 "INSERT INTO " + prefix + "message (datum, type, name, severity) VALUES (?,?,?,?)";
         }
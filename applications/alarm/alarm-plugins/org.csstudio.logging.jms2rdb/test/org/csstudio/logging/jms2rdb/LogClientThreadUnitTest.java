@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.logging.jms2rdb;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.jms.Connection;
+
+import org.csstudio.logging.jms2rdb.rdb.LogEntry;
+import org.csstudio.logging.jms2rdb.rdb.LogWriter;
+import org.junit.Test;
+
+/** JUnit test of the {@link LogClientThread} error handling
+ *
+ *  <p>Writes to a test writer instead of the RDB,
+ *  with messages queued by the test instead of JMS.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class LogClientThreadUnitTest
+{
+    private static final long TIMEOUT_MS = TimeUnit.SECONDS.toMillis(10);
+
+    /** Writer that fails after a number of writes or for a 'bad' message */
+    private static class TestWriter implements LogWriter
+    {
+        /** Number of writes that succeed, including the start message */
+        volatile int ok_writes = Integer.MAX_VALUE;
+        volatile boolean connected = true;
+        volatile LogEntry bad = null;
+        /** Thread to cancel once ok_writes have been written */
+        volatile LogClientThread cancel = null;
+        volatile int writes = 0;
+        volatile int single_failures = 0;
+
+        @Override
+        public void write(final List<LogEntry> entries) throws Exception
+        {
+            if (writes >= ok_writes  ||  entries.contains(bad))
+            {
+                if (entries.size() == 1)
+                    ++single_failures;
+                throw new Exception("Test write error");
+            }
+            if (++writes == ok_writes  &&  cancel != null)
+                cancel.cancel();
+        }
+
+        @Override
+        public boolean isConnected()
+        {
+            return connected;
+        }
+
+        @Override
+        public void close()
+        {
+            // Nothing to close
+        }
+    }
+
+    /** Thread that uses the test writer and a JMS connection that does nothing */
+    private static class TestThread extends LogClientThread
+    {
+        final TestWriter writer = new TestWriter();
+
+        TestThread(final int batch_size)
+        {
+            super("test://jms", "TEST", "test://rdb", null, null, "", new Filter[0], 100, batch_size);
+        }
+
+        @Override
+        LogWriter connectRDB() throws Exception
+        {
+            return writer;
+        }
+
+        @Override
+        Connection connectJMS()
+        {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, (proxy, method, args) -> null);
+        }
+
+        /** Queue messages for the thread to write
+         *  @param count Number of messages
+         *  @return Last message
+         */
+        LogEntry queue(final int count) throws Exception
+        {
+            LogEntry entry = null;
+            for (int i=0; i<count; ++i)
+            {
+                entry = new LogEntry("Message " + i);
+                queue(entry);
+            }
+            return entry;
+        }
+    }
+
+    private static void await(final String what, final TestThread thread, final long written, final int single_failures) throws Exception
+    {
+        final long end = System.currentTimeMillis() + TIMEOUT_MS;
+        while (thread.getWrittenCount() < written  ||  thread.writer.single_failures < single_failures)
+        {
+            if (System.currentTimeMillis() > end)
+                throw new Exception("Timeout waiting for " + what);
+            Thread.sleep(10);
+        }
+    }
+
+    private static void stop(final TestThread thread) throws Exception
+    {
+        thread.cancel();
+        thread.join(TIMEOUT_MS);
+        assertEquals(false, thread.isAlive());
+    }
+
+    @Test
+    public void testBrokenConnection() throws Exception
+    {
+        final TestThread thread = new TestThread(10);
+        thread.writer.ok_writes = 1;
+        thread.writer.connected = false;
+        thread.queue(25);
+        thread.start();
+
+        // Single message retry stops at the first failure
+        await("single message retry", thread, 0, 1);
+        stop(thread);
+        assertEquals(1, thread.writer.single_failures);
+        assertEquals(0, thread.getWrittenCount());
+        // Pending batch and queued messages are lost
+        assertEquals(25, thread.getFailedCount());
+    }
+
+    @Test
+    public void testBadMessage() throws Exception
+    {
+        final TestThread thread = new TestThread(10);
+        thread.queue(2);
+        thread.writer.bad = thread.queue(1);
+        thread.queue(2);
+        thread.start();
+
+        // Only the bad message is dropped
+        await("messages", thread, 4, 1);
+        stop(thread);
+        assertEquals(4, thread.getWrittenCount());
+        assertEquals(1, thread.getFailedCount());
+    }
+
+    @Test
+    public void testFailedShutdown() throws Exception
+    {
+        final TestThread thread = new TestThread(10);
+        // Start message and first batch are written, then the thread is cancelled
+        thread.writer.ok_writes = 2;
+        thread.writer.cancel = thread;
+        thread.writer.connected = false;
+        thread.queue(35);
+        thread.start();
+
+        thread.join(TIMEOUT_MS);
+        assertEquals(false, thread.isAlive());
+        assertEquals(10, thread.getWrittenCount());
+        // Messages that could not be written on shutdown are counted
+        assertEquals(25, thread.getFailedCount());
+    }
+}
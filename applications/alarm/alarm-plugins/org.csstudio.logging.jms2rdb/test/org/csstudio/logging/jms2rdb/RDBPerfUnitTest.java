@@ -9,7 +9,11 @@ package org.csstudio.logging.jms2rdb;
 
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.csstudio.apputil.test.TestProperties;
+import org.csstudio.logging.jms2rdb.rdb.LogEntry;
 import org.csstudio.logging.jms2rdb.rdb.RDBWriter;
 import org.junit.Test;
 
@@ -29,6 +33,9 @@ import org.junit.Test;
  *
  *  For a similar 'read' test, see org.csstudio.sns.msghist
  *
+ *  The batched test writes {@link #BATCH_SIZE} messages per transaction,
+ *  as done by the {@link LogClientThread} when messages are queued up.
+ *
  *  @author Kay Kasemir
  *  reviewed by Katia Danilova 08/20/08
  */
@@ -40,6 +47,9 @@ public class RDBPerfUnitTest
     /** Test runtime */
     final private static int SECONDS = 30;
 
+    /** Messages per batch */
+    final private static int BATCH_SIZE = 500;
+
     @Test
     public void perfTest() throws Exception
     {
@@ -52,7 +62,7 @@ public class RDBPerfUnitTest
             return;
         }
 
-        final RDBWriter rdb_writer = new RDBWriter(url, schema);
+        final RDBWriter rdb_writer = new RDBWriter(url, null, null, schema);
 
         // Run for some time
         System.out.println("URL    : " + url);
@@ -72,4 +82,40 @@ public class RDBPerfUnitTest
                 count, ((double) count)/SECONDS);
         assertTrue(count > 1000);
     }
+
+    @Test
+    public void batchedPerfTest() throws Exception
+    {
+        final TestProperties settings = new TestProperties();
+        final String url = settings.getString(MSG_LOG_URL);
+        final String schema = settings.getString("msg_log_schema");
+        if (url == null)
+        {
+            System.out.println("Skipping test, need " + MSG_LOG_URL);
+            return;
+        }
+
+        final RDBWriter rdb_writer = new RDBWriter(url, null, null, schema);
+
+        // Run for some time
+        System.out.println("URL    : " + url);
+        System.out.println("Runtime: " + SECONDS + " seconds, batches of " + BATCH_SIZE);
+
+        final long end = System.currentTimeMillis() + SECONDS*1000;
+        final List<LogEntry> batch = new ArrayList<LogEntry>(BATCH_SIZE);
+        int count = 0;
+        while (System.currentTimeMillis() < end)
+        {
+            batch.clear();
+            for (int i=0; i<BATCH_SIZE; ++i)
+                batch.add(new LogEntry(Integer.toString(++count)));
+            rdb_writer.write(batch);
+        }
+        rdb_writer.close();
+
+        // Stats
+        System.out.format("Wrote %d messages = %.1f msg/sec\n",
+                count, ((double) count)/SECONDS);
+        assertTrue(count > 1000);
+    }
 }
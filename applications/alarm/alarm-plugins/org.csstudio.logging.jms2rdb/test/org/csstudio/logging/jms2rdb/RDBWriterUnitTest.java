@@ -32,7 +32,7 @@ public class RDBWriterUnitTest
             return;
         }
 
-        final RDBWriter rdb = new RDBWriter(url, schema);
+        final RDBWriter rdb = new RDBWriter(url, null, null, schema);
         rdb.write("Testing...");
 
         rdb.close();
@@ -81,9 +81,11 @@ public class TimePlotDemo
         {
             while (run.get())
             {
+                final Instant now = Instant.now();
                 for (DynamicDemoData trace : data)
                     trace.add();
-                plot.requestUpdate();
+                // Only new samples were added, allow partial redraw
+                plot.requestUpdate(now);
                 try
                 {
                     Thread.sleep(1000/50);
@@ -133,6 +135,7 @@ public class TimePlotDemo
                 display.sleep();
         run.set(false);
         update_data.join();
+        System.out.println(plot.getRenderTiming());
         display.dispose();
     }
 }
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.swt.rtplot;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.csstudio.swt.rtplot.data.ValueRange;
+import org.csstudio.swt.rtplot.data.ValueRangeTree;
+import org.junit.Test;
+
+/** JUnit test of {@link ValueRangeTree}
+ *  @author agent
+ */
+public class ValueRangeTreeTest
+{
+    @Test
+    public void testRange()
+    {
+        final ValueRangeTree tree = new ValueRangeTree(4);
+        tree.add(3.0);
+        tree.add(1.0);
+        tree.add(Double.NaN);
+        tree.add(7.0);
+        // Grows beyond initial capacity
+        tree.add(-2.0);
+        assertThat(tree.size(), equalTo(5));
+
+        assertThat(tree.getRange(0, 4), equalTo(new ValueRange(-2.0, 7.0)));
+        assertThat(tree.getRange(0, 1), equalTo(new ValueRange(1.0, 3.0)));
+        assertThat(tree.getRange(2, 3), equalTo(new ValueRange(7.0, 7.0)));
+        assertThat(tree.getRange(3, 100), equalTo(new ValueRange(-2.0, 7.0)));
+
+        // Only NaN: Empty range
+        final ValueRange empty = tree.getRange(2, 2);
+        assertTrue(empty.getLow() > empty.getHigh());
+
+        tree.set(3, 0.5);
+        assertThat(tree.getRange(0, 4), equalTo(new ValueRange(-2.0, 3.0)));
+    }
+
+    @Test
+    public void compareWithScan()
+    {
+        final Random random = new Random(42);
+        final double[] values = new double[5000];
+        final ValueRangeTree tree = new ValueRangeTree();
+        for (int i=0; i<values.length; ++i)
+        {
+            values[i] = random.nextGaussian();
+            tree.add(values[i]);
+        }
+        for (int run=0; run<1000; ++run)
+        {
+            final int start = random.nextInt(values.length);
+            final int end = start + random.nextInt(values.length - start);
+            double low = Double.MAX_VALUE, high = -Double.MAX_VALUE;
+            for (int i=start; i<=end; ++i)
+            {
+                low = Math.min(low, values[i]);
+                high = Math.max(high, values[i]);
+            }
+            assertThat(tree.getRange(start, end), equalTo(new ValueRange(low, high)));
+        }
+    }
+}
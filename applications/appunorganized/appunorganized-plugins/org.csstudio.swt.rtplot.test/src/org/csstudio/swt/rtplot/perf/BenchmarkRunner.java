@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.swt.rtplot.perf;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/** Simple benchmark harness
+ *
+ *  <p>Each benchmark is run for some warm-up iterations,
+ *  then for a number of measured iterations.
+ *  Each iteration calls the operation until a minimum time has passed.
+ *
+ *  <p>Results are written as JSON in the layout used by JMH
+ *  ('benchmark', 'params', 'primaryMetric' with 'score' and 'rawData')
+ *  so the same tools can be used to compare results across releases.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class BenchmarkRunner
+{
+    /** Result of one benchmark */
+    public static class Result
+    {
+        final public String benchmark;
+        final public int size;
+        final public List<Double> ns_per_op;
+
+        Result(final String benchmark, final int size, final List<Double> ns_per_op)
+        {
+            this.benchmark = benchmark;
+            this.size = size;
+            this.ns_per_op = ns_per_op;
+        }
+
+        /** @return Average time per operation in nanoseconds */
+        public double getScore()
+        {
+            double sum = 0;
+            for (double ns : ns_per_op)
+                sum += ns;
+            return ns_per_op.isEmpty() ? Double.NaN : sum / ns_per_op.size();
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format("%-40s %12d %16.1f ns/op", benchmark, size, getScore());
+        }
+    }
+
+    final private int warmup;
+    final private int iterations;
+    final private long min_iteration_ns;
+    final private List<Result> results = new ArrayList<>();
+
+    /** Sink for results of operations to prevent dead code elimination */
+    private volatile int sink;
+
+    /** @param warmup Number of warm-up iterations
+     *  @param iterations Number of measured iterations
+     *  @param min_iteration_ms Minimum duration of each iteration
+     */
+    public BenchmarkRunner(final int warmup, final int iterations, final long min_iteration_ms)
+    {
+        this.warmup = warmup;
+        this.iterations = iterations;
+        this.min_iteration_ns = min_iteration_ms * 1000000L;
+    }
+
+    /** Run a benchmark
+     *  @param benchmark Name of the benchmark
+     *  @param size Size of the data set
+     *  @param operation Operation to benchmark. Result is consumed to prevent dead code elimination.
+     *  @return {@link Result}
+     *  @throws Exception on error
+     */
+    public Result run(final String benchmark, final int size, final Callable<?> operation) throws Exception
+    {
+        for (int i=0; i<warmup; ++i)
+            iterate(operation);
+        final List<Double> ns_per_op = new ArrayList<>(iterations);
+        for (int i=0; i<iterations; ++i)
+            ns_per_op.add(iterate(operation));
+        final Result result = new Result(benchmark, size, Collections.unmodifiableList(ns_per_op));
+        results.add(result);
+        System.out.println(result);
+        return result;
+    }
+
+    /** @param operation Operation to call until the minimum iteration time has passed
+     *  @return Nanoseconds per call
+     */
+    private double iterate(final Callable<?> operation) throws Exception
+    {
+        final long start = System.nanoTime();
+        long end;
+        long ops = 0;
+        int hash = 0;
+        do
+        {
+            final Object result = operation.call();
+            if (result != null)
+                hash += result.hashCode();
+            ++ops;
+            end = System.nanoTime();
+        }
+        while (end - start < min_iteration_ns);
+        sink += hash;
+        return (end - start) / (double) ops;
+    }
+
+    /** @return Results of all benchmarks that have been run */
+    public List<Result> getResults()
+    {
+        return Collections.unmodifiableList(results);
+    }
+
+    /** Write results as JSON
+     *  @param file Output file
+     *  @throws Exception on error
+     */
+    public void writeJSON(final File file) throws Exception
+    {
+        try
+        (
+            final PrintWriter out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+        )
+        {
+            out.println("[");
+            for (int r=0; r<results.size(); ++r)
+            {
+                final Result result = results.get(r);
+                out.println("  {");
+                out.println("    \"benchmark\" : \"" + result.benchmark + "\",");
+                out.println("    \"mode\" : \"avgt\",");
+                out.println("    \"warmupIterations\" : " + warmup + ",");
+                out.println("    \"measurementIterations\" : " + iterations + ",");
+                out.println("    \"params\" : { \"size\" : \"" + result.size + "\" },");
+                out.println("    \"primaryMetric\" : {");
+                out.println("      \"score\" : " + result.getScore() + ",");
+                out.println("      \"scoreUnit\" : \"ns/op\",");
+                out.print("      \"rawData\" : [ [ ");
+                for (int i=0; i<result.ns_per_op.size(); ++i)
+                {
+                    if (i > 0)
+                        out.print(", ");
+                    out.print(result.ns_per_op.get(i));
+                }
+                out.println(" ] ]");
+                out.println("    }");
+                out.println(r < results.size()-1 ? "  }," : "  }");
+            }
+            out.println("]");
+        }
+    }
+}
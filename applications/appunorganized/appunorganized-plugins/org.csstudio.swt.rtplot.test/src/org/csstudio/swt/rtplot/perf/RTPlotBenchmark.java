@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.swt.rtplot.perf;
+
+import java.io.File;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Random;
+
+import org.csstudio.swt.rtplot.AxisRange;
+import org.csstudio.swt.rtplot.PointType;
+import org.csstudio.swt.rtplot.SWTMediaPool;
+import org.csstudio.swt.rtplot.TraceType;
+import org.csstudio.swt.rtplot.data.PlotDataSearch;
+import org.csstudio.swt.rtplot.data.TimeDataSearch;
+import org.csstudio.swt.rtplot.internal.LinearTicks;
+import org.csstudio.swt.rtplot.internal.PlotPart;
+import org.csstudio.swt.rtplot.internal.PlotPartListener;
+import org.csstudio.swt.rtplot.internal.PlotProcessor;
+import org.csstudio.swt.rtplot.internal.TimeAxis;
+import org.csstudio.swt.rtplot.internal.TimeTicks;
+import org.csstudio.swt.rtplot.internal.TraceImpl;
+import org.csstudio.swt.rtplot.internal.TracePainter;
+import org.csstudio.swt.rtplot.internal.YAxisImpl;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.widgets.Display;
+
+/** Benchmarks for the hot paths of the plot
+ *
+ *  <p>Run as plain Java application.
+ *  Data search and value range determination run without a display.
+ *  Tick computation and trace painting need SWT, for example
+ *  a virtual X server on a headless Linux host,
+ *  and are skipped when no display can be created.
+ *
+ *  <p>System properties:
+ *  <ul>
+ *  <li>rtplot.benchmark.max_size: Largest data set, default 1e7, up to 1e8
+ *  <li>rtplot.benchmark.output: JSON file for results, default rtplot-benchmark.json
+ *  </ul>
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class RTPlotBenchmark
+{
+    private static final int WIDTH = 800, HEIGHT = 400;
+
+    private static final PlotPartListener ignore = new PlotPartListener()
+    {
+        @Override
+        public void layoutPlotPart(final PlotPart plotPart)
+        {
+            // NOP
+        }
+
+        @Override
+        public void refreshPlotPart(final PlotPart plotPart)
+        {
+            // NOP
+        }
+    };
+
+    final private BenchmarkRunner runner = new BenchmarkRunner(3, 5, 500);
+    final private Random random = new Random(42);
+
+    private void benchmarkSearch(final SyntheticData data) throws Exception
+    {
+        final int size = data.size();
+        final PlotDataSearch<Instant> search = new PlotDataSearch<>();
+        runner.run("PlotDataSearch.findSampleLessOrEqual", size,
+                   () -> search.findSampleLessOrEqual(data, data.getTime(random.nextInt(size)).plusNanos(500)));
+        runner.run("PlotDataSearch.findSampleGreaterOrEqual", size,
+                   () -> search.findSampleGreaterOrEqual(data, data.getTime(random.nextInt(size)).plusNanos(500)));
+        final TimeDataSearch time_search = new TimeDataSearch();
+        runner.run("TimeDataSearch.findClosestSample", size,
+                   () -> time_search.findClosestSample(data, data.getTime(random.nextInt(size)).plusNanos(500)));
+    }
+
+    private void benchmarkValueRange(final SyntheticData data) throws Exception
+    {
+        final PlotProcessor<Instant> processor = new PlotProcessor<>(null);
+        final AxisRange<Instant> range = new AxisRange<>(data.getStart(), data.getEnd());
+        runner.run("PlotProcessor.determineValueRange", data.size(),
+                   () -> processor.determineValueRange(data, range).get());
+    }
+
+    private void benchmarkTicks(final GC gc) throws Exception
+    {
+        final LinearTicks linear = new LinearTicks();
+        runner.run("LinearTicks.compute", 0, () ->
+        {
+            final double low = random.nextDouble() * 100.0;
+            linear.compute(low, low + 1.0 + random.nextDouble() * 1e6, gc, WIDTH);
+            return linear.getStart();
+        });
+        final TimeTicks time = new TimeTicks();
+        final Instant now = Instant.now();
+        runner.run("TimeTicks.compute", 0, () ->
+        {
+            final Instant start = now.minusSeconds(random.nextInt(1000000));
+            time.compute(start, start.plusSeconds(1 + random.nextInt(100000)), gc, WIDTH);
+            return time.getStart();
+        });
+    }
+
+    private void benchmarkPainter(final Display display, final SyntheticData data) throws Exception
+    {
+        final SWTMediaPool media = new SWTMediaPool(display);
+        final Image image = new Image(display, WIDTH, HEIGHT);
+        final GC gc = new GC(image);
+        try
+        {
+            final Rectangle bounds = new Rectangle(0, 0, WIDTH, HEIGHT);
+            final TimeAxis x_axis = new TimeAxis("Time", ignore, data.getStart(), data.getEnd());
+            x_axis.setBounds(0, 0, WIDTH, HEIGHT);
+            final YAxisImpl<Instant> y_axis = new YAxisImpl<>("Value", ignore);
+            y_axis.setBounds(0, 0, 50, HEIGHT);
+            y_axis.setValueRange(-1.5, 1.5);
+            final TracePainter<Instant> painter = new TracePainter<>();
+            for (TraceType type : new TraceType[] { TraceType.SINGLE_LINE_DIRECT, TraceType.AREA })
+            {
+                final TraceImpl<Instant> trace = new TraceImpl<>("Trace", "a.u.", data, new RGB(0, 0, 255),
+                                                                 type, 1, PointType.NONE, 1, 0);
+                runner.run("TracePainter.paint(" + type.name() + ")", data.size(), () ->
+                {
+                    painter.paint(gc, media, bounds, 20, x_axis.getScreenTransform(), y_axis, trace);
+                    return null;
+                });
+            }
+            x_axis.dispose();
+            y_axis.dispose();
+        }
+        finally
+        {
+            gc.dispose();
+            image.dispose();
+            media.dispose();
+        }
+    }
+
+    private static Display createDisplay()
+    {
+        try
+        {
+            return new Display();
+        }
+        catch (Throwable ex)
+        {
+            System.out.println("No display, skipping SWT benchmarks: " + ex.getMessage());
+            return null;
+        }
+    }
+
+    public void run() throws Exception
+    {
+        final int max_size = (int) Double.parseDouble(System.getProperty("rtplot.benchmark.max_size", "1e7"));
+        final File output = new File(System.getProperty("rtplot.benchmark.output", "rtplot-benchmark.json"));
+
+        final Display display = createDisplay();
+        try
+        {
+            for (int size = 1000; size > 0  &&  size <= max_size; size *= 10)
+            {
+                final SyntheticData data = new SyntheticData(Instant.now().minus(Duration.ofMillis(size)),
+                                                             Duration.ofMillis(1), size);
+                benchmarkSearch(data);
+                benchmarkValueRange(data);
+                if (display != null)
+                    benchmarkPainter(display, data);
+            }
+            if (display != null)
+            {
+                final Image image = new Image(display, WIDTH, HEIGHT);
+                final GC gc = new GC(image);
+                try
+                {
+                    benchmarkTicks(gc);
+                }
+                finally
+                {
+                    gc.dispose();
+                    image.dispose();
+                }
+            }
+        }
+        finally
+        {
+            if (display != null)
+                display.dispose();
+        }
+
+        runner.writeJSON(output);
+        System.out.println("Results written to " + output.getAbsolutePath());
+    }
+
+    public static void main(final String[] args) throws Exception
+    {
+        new RTPlotBenchmark().run();
+    }
+}
@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.swt.rtplot.perf;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.csstudio.swt.rtplot.data.PlotDataItem;
+import org.csstudio.swt.rtplot.data.PlotDataProvider;
+import org.csstudio.swt.rtplot.data.SimpleDataItem;
+
+/** Synthetic, time-ordered samples
+ *
+ *  <p>Samples are computed on access,
+ *  so even 1e8 samples don't require the memory
+ *  of an actual sample buffer.
+ *
+ *  @author agent
+ */
+public class SyntheticData implements PlotDataProvider<Instant>
+{
+    final private Lock lock = new ReentrantReadWriteLock().readLock();
+    final private Instant start;
+    final private Duration period;
+    final private int size;
+
+    /** @param start Time stamp of first sample
+     *  @param period Period between samples
+     *  @param size Number of samples
+     */
+    public SyntheticData(final Instant start, final Duration period, final int size)
+    {
+        this.start = start;
+        this.period = period;
+        this.size = size;
+    }
+
+    /** @return Time stamp of first sample */
+    public Instant getStart()
+    {
+        return start;
+    }
+
+    /** @return Time stamp of last sample */
+    public Instant getEnd()
+    {
+        return getTime(size - 1);
+    }
+
+    /** @param index Sample index
+     *  @return Time stamp of that sample
+     */
+    public Instant getTime(final int index)
+    {
+        return start.plus(period.multipliedBy(index));
+    }
+
+    @Override
+    public Lock getLock()
+    {
+        return lock;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public PlotDataItem<Instant> get(final int index)
+    {
+        // Sine wave with some deterministic 'noise'
+        final double noise = ((index * 7919) % 1000) / 10000.0;
+        final double value = Math.sin(2.0*Math.PI * index / 1000.0) + noise;
+        if (index % 3 == 0)
+            return new SimpleDataItem<Instant>(getTime(index), value, 0.1, value - 0.2, value + 0.2, null);
+        return new SimpleDataItem<Instant>(getTime(index), value);
+    }
+}
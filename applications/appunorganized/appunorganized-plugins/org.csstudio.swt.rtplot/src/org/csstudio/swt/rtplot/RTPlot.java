@@ -26,6 +26,7 @@ import org.csstudio.swt.rtplot.internal.ToolbarHandler;
 import org.csstudio.swt.rtplot.internal.TraceImpl;
 import org.csstudio.swt.rtplot.internal.YAxisImpl;
 import org.csstudio.swt.rtplot.undo.UndoableActionManager;
+import org.csstudio.swt.rtplot.util.RenderTiming;
 import org.eclipse.jface.action.Action;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.FontData;
@@ -349,6 +350,24 @@ public class RTPlot<XTYPE extends Comparable<XTYPE>> extends Composite
         plot.requestUpdate();
     }
 
+    /** Request a redraw of the plot after data has been added or changed
+     *
+     *  <p>Compared to a complete redraw, this allows a scrolling
+     *  time axis plot to only re-paint the changed part of the traces.
+     *
+     *  @param position Position of the earliest sample that was added or changed
+     */
+    public void requestUpdate(final XTYPE position)
+    {
+        plot.requestUpdate(position);
+    }
+
+    /** @return Time spent rendering the layers of the plot */
+    public RenderTiming getRenderTiming()
+    {
+        return plot.getRenderTiming();
+    }
+
     /** @param trace Trace to which an annotation should be added
      *  @param text Text for the annotation
      */
@@ -24,18 +24,27 @@ public class ArrayPlotDataProvider<XTYPE extends Comparable<XTYPE>> implements P
     final private ReadWriteLock lock = new ReentrantReadWriteLock();
     final private List<PlotDataItem<XTYPE>> data;
 
+    /** Value ranges of the internal array, <code>null</code> for existing data */
+    final private ValueRangeTree ranges;
+
     /** Construct with existing data
      *  @param data
      */
     public ArrayPlotDataProvider(final List<PlotDataItem<XTYPE>> data)
     {
-        this.data = data;
+        this(data, null);
     }
 
     /** Construct with internal array */
     public ArrayPlotDataProvider()
     {
-        this(new ArrayList<PlotDataItem<XTYPE>>());
+        this(new ArrayList<PlotDataItem<XTYPE>>(), new ValueRangeTree());
+    }
+
+    private ArrayPlotDataProvider(final List<PlotDataItem<XTYPE>> data, final ValueRangeTree ranges)
+    {
+        this.data = data;
+        this.ranges = ranges;
     }
 
     /** @param item Item to add to the list */
@@ -45,6 +54,8 @@ public class ArrayPlotDataProvider<XTYPE extends Comparable<XTYPE>> implements P
         try
         {
             data.add(item);
+            if (ranges != null)
+                ranges.add(item.getValue());
         }
         finally
         {
@@ -69,4 +80,13 @@ public class ArrayPlotDataProvider<XTYPE extends Comparable<XTYPE>> implements P
     {
         return data.get(index);
     }
+
+    @Override
+    public ValueRange getValueRange(final int start, final int end)
+    {
+        // Existing data could have been changed without our knowledge
+        if (ranges == null)
+            return null;
+        return ranges.getRange(start, end);
+    }
 }
@@ -55,4 +55,23 @@ public interface PlotDataProvider<XTYPE extends Comparable<XTYPE>>
      *  @return The Sample of given index.
      */
     public PlotDataItem<XTYPE> get(int index);
+
+    /** Determine the range of sample values.
+     *  <p>
+     *  Caller must hold the lock.
+     *  <p>
+     *  Data providers that maintain a summary of their values,
+     *  for example a {@link ValueRangeTree},
+     *  can implement this to avoid iterating over all samples.
+     *  Default implementation returns <code>null</code>,
+     *  and the plot library will then iterate over the samples.
+     *
+     *  @param start Index of first sample
+     *  @param end Index of last sample, inclusive
+     *  @return {@link ValueRange} of finite values, or <code>null</code> if not supported
+     */
+    default public ValueRange getValueRange(final int start, final int end)
+    {
+        return null;
+    }
 }
@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.swt.rtplot.data;
+
+import java.util.Arrays;
+
+/** Segment tree of value ranges
+ *
+ *  <p>Maintains the minimum and maximum of sample values
+ *  for segments of a data set, so that the value range
+ *  of any index range can be determined in O(log n)
+ *  instead of iterating over all samples.
+ *
+ *  <p>Values are added as samples are appended, each in O(log n).
+ *  Values that are not finite are ignored when determining ranges.
+ *
+ *  <p>Not thread-safe. Data providers using this
+ *  need to update and query it under their data lock.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class ValueRangeTree
+{
+    /** Number of leaves, a power of 2 */
+    private int capacity;
+
+    /** Number of values */
+    private int size = 0;
+
+    /** Minimum and maximum for each node.
+     *  Node 1 is the root, children of node N are 2N and 2N+1,
+     *  leaves start at index 'capacity'.
+     *  Segments without finite values hold +/- infinity.
+     */
+    private double[] min, max;
+
+    /** Initialize empty tree */
+    public ValueRangeTree()
+    {
+        this(1024);
+    }
+
+    /** @param initial_capacity Initial number of values that can be added before resizing */
+    public ValueRangeTree(final int initial_capacity)
+    {
+        capacity = Integer.highestOneBit(Math.max(1, initial_capacity - 1)) << 1;
+        allocate();
+    }
+
+    private void allocate()
+    {
+        min = new double[2*capacity];
+        max = new double[2*capacity];
+        Arrays.fill(min, Double.POSITIVE_INFINITY);
+        Arrays.fill(max, Double.NEGATIVE_INFINITY);
+    }
+
+    /** @return Number of values in the tree */
+    public int size()
+    {
+        return size;
+    }
+
+    /** Remove all values */
+    public void clear()
+    {
+        size = 0;
+        Arrays.fill(min, Double.POSITIVE_INFINITY);
+        Arrays.fill(max, Double.NEGATIVE_INFINITY);
+    }
+
+    /** @param value Value to add at end */
+    public void add(final double value)
+    {
+        if (size >= capacity)
+            grow();
+        set(size++, value);
+    }
+
+    /** @param index Index of value to replace
+     *  @param value New value
+     *  @throws IndexOutOfBoundsException if index is not within 0 .. size()-1
+     */
+    public void set(final int index, final double value)
+    {
+        if (index < 0  ||  index >= size)
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        int node = capacity + index;
+        if (Double.isFinite(value))
+        {
+            min[node] = value;
+            max[node] = value;
+        }
+        else
+        {
+            min[node] = Double.POSITIVE_INFINITY;
+            max[node] = Double.NEGATIVE_INFINITY;
+        }
+        node /= 2;
+        while (node > 0)
+        {
+            min[node] = Math.min(min[2*node], min[2*node+1]);
+            max[node] = Math.max(max[2*node], max[2*node+1]);
+            node /= 2;
+        }
+    }
+
+    /** Double the capacity, re-building the inner nodes */
+    private void grow()
+    {
+        final double[] old_min = min, old_max = max;
+        final int old_capacity = capacity;
+        capacity *= 2;
+        allocate();
+        System.arraycopy(old_min, old_capacity, min, capacity, size);
+        System.arraycopy(old_max, old_capacity, max, capacity, size);
+        for (int node = capacity-1;  node > 0;  --node)
+        {
+            min[node] = Math.min(min[2*node], min[2*node+1]);
+            max[node] = Math.max(max[2*node], max[2*node+1]);
+        }
+    }
+
+    /** Determine value range
+     *  @param start Index of first value
+     *  @param end Index of last value, inclusive
+     *  @return {@link ValueRange} of finite values.
+     *          When there are no finite values, low &gt; high.
+     */
+    public ValueRange getRange(final int start, final int end)
+    {
+        double low = Double.POSITIVE_INFINITY, high = Double.NEGATIVE_INFINITY;
+        int left = capacity + Math.max(0, start);
+        int right = capacity + Math.min(end, size-1) + 1;
+        while (left < right)
+        {
+            if ((left & 1) == 1)
+            {
+                low = Math.min(low, min[left]);
+                high = Math.max(high, max[left]);
+                ++left;
+            }
+            if ((right & 1) == 1)
+            {
+                --right;
+                low = Math.min(low, min[right]);
+                high = Math.max(high, max[right]);
+            }
+            left /= 2;
+            right /= 2;
+        }
+        if (low > high)
+            return new ValueRange(Double.MAX_VALUE, -Double.MAX_VALUE);
+        return new ValueRange(low, high);
+    }
+}
@@ -19,6 +19,7 @@ import java.util.Stack;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 
 import org.csstudio.swt.rtplot.Activator;
@@ -34,6 +35,7 @@ import org.csstudio.swt.rtplot.internal.util.ScreenTransform;
 import org.csstudio.swt.rtplot.undo.ChangeAxisRanges;
 import org.csstudio.swt.rtplot.undo.UndoableActionManager;
 import org.csstudio.swt.rtplot.undo.UpdateAnnotationAction;
+import org.csstudio.swt.rtplot.util.RenderTiming;
 import org.csstudio.swt.rtplot.util.UpdateThrottle;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
@@ -77,6 +79,12 @@ public class Plot<XTYPE extends Comparable<XTYPE>> extends Canvas implements Pai
      */
     private static final int ZOOM_PIXEL_THRESHOLD = 20;
 
+    /** When only part of the plot area is re-painted,
+     *  include this many pixels to the left of the changed region
+     *  to cover line width, point size and anti-aliasing.
+     */
+    private static final int TRACE_MARGIN = 20;
+
     /** Support for un-do and re-do */
     final private UndoableActionManager undo = new UndoableActionManager();
 
@@ -121,6 +129,18 @@ public class Plot<XTYPE extends Comparable<XTYPE>> extends Canvas implements Pai
      */
     private volatile Optional<Image> plot_image = Optional.empty();
 
+    /** Image of plot area with grid and traces, re-used while time axis scrolls */
+    final private PlotAreaCache<XTYPE> area_cache = new PlotAreaCache<>();
+
+    /** Must the complete plot area be re-painted? */
+    final private AtomicBoolean need_full_redraw = new AtomicBoolean(true);
+
+    /** Position of earliest data change since last update, or <code>null</code> */
+    final private AtomicReference<XTYPE> changed_from = new AtomicReference<>();
+
+    /** Time spent rendering the layers of the plot */
+    final private RenderTiming render_timing = new RenderTiming();
+
     final private UpdateThrottle update_throttle;
 
     final private TitlePart title_part;
@@ -178,7 +198,8 @@ public class Plot<XTYPE extends Comparable<XTYPE>> extends Canvas implements Pai
         public void refreshPlotPart(final PlotPart plotPart)
         {
             updateCursor();
-            requestUpdate();
+            // Plot area cache detects changes in axes
+            update_throttle.trigger();
         }
     };
     /** Listener to Title, Y Axis and plot area {@link PlotPart}s */
@@ -193,7 +214,7 @@ public class Plot<XTYPE extends Comparable<XTYPE>> extends Canvas implements Pai
         @Override
         public void refreshPlotPart(final PlotPart plotPart)
         {
-            requestUpdate();
+            update_throttle.trigger();
         }
     };
 
@@ -487,9 +508,32 @@ public class Plot<XTYPE extends Comparable<XTYPE>> extends Canvas implements Pai
     /** Request a complete redraw of the plot */
     final public void requestUpdate()
     {
+        need_full_redraw.set(true);
         update_throttle.trigger();
     }
 
+    /** Request a redraw of the plot after data has been added or changed
+     *
+     *  <p>While the time axis scrolls, the plot area left of the
+     *  changed data can be re-used and only the remaining part
+     *  will be re-painted.
+     *
+     *  @param position Position of the earliest sample that was added or changed
+     */
+    final public void requestUpdate(final XTYPE position)
+    {
+        Objects.requireNonNull(position);
+        changed_from.accumulateAndGet(position,
+                (earliest, added) -> (earliest == null  ||  added.compareTo(earliest) < 0) ? added : earliest);
+        update_throttle.trigger();
+    }
+
+    /** @return Time spent rendering the layers of the plot */
+    public RenderTiming getRenderTiming()
+    {
+        return render_timing;
+    }
+
     /** Redraw the current image and cursors
      *
      *  <p>Like <code>redraw()</code>, but may be called
@@ -677,6 +721,7 @@ public class Plot<XTYPE extends Comparable<XTYPE>> extends Canvas implements Pai
 
         final Rectangle plot_bounds = plot_area.getBounds();
 
+        long start = System.nanoTime();
         gc.setBackground(media.get(background));
         gc.fillRectangle(area_copy);
 
@@ -684,9 +729,10 @@ public class Plot<XTYPE extends Comparable<XTYPE>> extends Canvas implements Pai
         legend.paint(gc, media, legend_font, traces);
 
         // Shade the area in the plot that's in the future.
+        int future_x = Integer.MAX_VALUE;
         if (x_axis instanceof TimeAxis)
         {
-            final int future_x = ((TimeAxis)x_axis).getScreenCoord(Instant.now());
+            future_x = ((TimeAxis)x_axis).getScreenCoord(Instant.now());
             final Color orig = gc.getBackground();
             // Use light gray for bright background, otherwise dark gray
             final Color shade = (background.getHSB()[2] >= 0.5)
@@ -714,15 +760,61 @@ public class Plot<XTYPE extends Comparable<XTYPE>> extends Canvas implements Pai
 
         gc.setClipping(plot_bounds);
         plot_area.paint(gc, media);
+        long end = System.nanoTime();
+        render_timing.record("Axes", end - start);
+
+        // For a time axis, try to re-use the plot area of the previous update,
+        // shifted to the current time range, and only paint what's new
+        final boolean full_redraw = need_full_redraw.getAndSet(false);
+        final XTYPE changed = changed_from.getAndSet(null);
+        final List<Object> signature;
+        int paint_x = plot_bounds.x;
+        if (x_axis instanceof TimeAxis)
+        {
+            signature = getPlotAreaSignature(plot_bounds);
+            if (! full_redraw)
+            {
+                final int dirty_x = changed == null
+                                  ? Integer.MAX_VALUE
+                                  : (int) x_transform.transform(changed);
+                paint_x = area_cache.restore(gc, plot_bounds, signature, x_transform, dirty_x, TRACE_MARGIN);
+            }
+        }
+        else
+            signature = null;
+        final boolean incremental = paint_x > plot_bounds.x;
+        final Optional<XTYPE> paint_start;
+        if (incremental)
+        {
+            gc.setClipping(paint_x, plot_bounds.y, plot_bounds.x + plot_bounds.width - paint_x, plot_bounds.height);
+            paint_start = Optional.of(x_transform.inverse(paint_x - TRACE_MARGIN));
+        }
+        else
+            paint_start = Optional.empty();
 
         for (YAxisImpl<XTYPE> y_axis : y_axes)
             for (Trace<XTYPE> trace : y_axis.getTraces())
-                trace_painter.paint(gc, media, plot_area.getBounds(), opacity, x_transform, y_axis, trace);
+            {
+                start = System.nanoTime();
+                trace_painter.paint(gc, media, plot_area.getBounds(), opacity, x_transform, y_axis, trace, paint_start);
+                end = System.nanoTime();
+                render_timing.record("Trace " + trace.getName(), end - start);
+            }
+
+        if (signature != null)
+        {
+            gc.setClipping((Rectangle) null);
+            area_cache.update(gc, plot_bounds, signature, x_transform, future_x, incremental);
+            gc.setClipping(plot_bounds);
+        }
 
         // Annotations use label font
+        start = System.nanoTime();
         gc.setFont(label_font);
         for (AnnotationImpl<XTYPE> annotation : annotations)
             annotation.paint(gc, media, x_axis, y_axes.get(annotation.getTrace().getYAxis()));
+        if (! annotations.isEmpty())
+            render_timing.record("Annotations", System.nanoTime() - start);
 
         gc.dispose();
 
@@ -738,6 +830,39 @@ public class Plot<XTYPE extends Comparable<XTYPE>> extends Canvas implements Pai
         }
     }
 
+    /** @param plot_bounds Bounds of plot area
+     *  @return Everything except for the horizontal position
+     *          that affects the content of the plot area
+     */
+    private List<Object> getPlotAreaSignature(final Rectangle plot_bounds)
+    {
+        final List<Object> signature = new ArrayList<>();
+        signature.add(plot_bounds);
+        signature.add(background);
+        signature.add(opacity);
+        final AxisRange<Instant> x_range = ((TimeAxis)x_axis).getValueRange();
+        signature.add(Duration.between(x_range.getLow(), x_range.getHigh()));
+        signature.add(x_axis.isGridVisible());
+        signature.add(x_axis.getColor());
+        for (YAxisImpl<XTYPE> y_axis : y_axes)
+        {
+            signature.add(y_axis.getValueRange());
+            signature.add(y_axis.isLogarithmic());
+            signature.add(y_axis.isGridVisible());
+            signature.add(y_axis.getColor());
+            for (Trace<XTYPE> trace : y_axis.getTraces())
+            {
+                signature.add(trace);
+                signature.add(trace.getColor());
+                signature.add(trace.getType());
+                signature.add(trace.getWidth());
+                signature.add(trace.getPointType());
+                signature.add(trace.getPointSize());
+            }
+        }
+        return signature;
+    }
+
     /** PaintListener: {@inheritDoc} */
     @Override
     public void paintControl(final PaintEvent e)
@@ -891,6 +1016,7 @@ public class Plot<XTYPE extends Comparable<XTYPE>> extends Canvas implements Pai
             y_axis.dispose();
         x_axis.dispose();
         plot_area.dispose();
+        area_cache.dispose();
 
         final Image old_image = plot_image.orElse(null);
         plot_image = Optional.empty();
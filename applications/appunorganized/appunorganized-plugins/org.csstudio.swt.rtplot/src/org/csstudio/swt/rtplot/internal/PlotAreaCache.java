@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.swt.rtplot.internal;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.csstudio.swt.rtplot.internal.util.ScreenTransform;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.Rectangle;
+
+/** Cached image of the plot area with grid and traces
+ *
+ *  <p>When a scrolling axis moves the plot area by some pixels
+ *  while nothing else changed, the cached image can be
+ *  shifted, and only the newly exposed strip of the plot area
+ *  needs to be rendered.
+ *
+ *  <p>Only accessed by the thread that updates the plot image,
+ *  except for <code>dispose()</code>.
+ *
+ *  @param <XTYPE> Data type of horizontal axis
+ *  @author agent
+ */
+public class PlotAreaCache<XTYPE extends Comparable<XTYPE>>
+{
+    /** Image of the plot area, <code>null</code> when invalid */
+    private Image image = null;
+
+    /** Everything other than the horizontal position that
+     *  affects the content of the plot area
+     */
+    private List<Object> signature = null;
+
+    /** Horizontal transformation used for the content of the image */
+    private ScreenTransform<XTYPE> x_transform = null;
+
+    /** Sub-pixel remainder of previous shifts */
+    private double shift_error = 0.0;
+
+    /** Screen coordinate right of which the content is in the 'future' */
+    private int future_x = Integer.MAX_VALUE;
+
+    /** Determine from where the plot area needs to be redrawn
+     *
+     *  <p>On success, the cached image has been drawn into the GC,
+     *  shifted to the new position and covering the plot area up to the
+     *  returned coordinate.
+     *
+     *  @param gc GC for the complete plot image
+     *  @param bounds Bounds of the plot area
+     *  @param signature Current state that affects the content of the plot area
+     *  @param transform Current horizontal transformation
+     *  @param dirty_x Screen coordinate where data has changed
+     *  @param margin Pixels to redraw left of the dirty region
+     *  @return Screen coordinate from which the plot area must be painted,
+     *          <code>bounds.x</code> to re-paint the complete plot area
+     */
+    public synchronized int restore(final GC gc, final Rectangle bounds, final List<Object> signature,
+                                    final ScreenTransform<XTYPE> transform, final int dirty_x, final int margin)
+    {
+        if (image == null  ||  ! Objects.equals(this.signature, signature))
+            return bounds.x;
+        if (dirty_x <= bounds.x + margin)
+            return bounds.x;
+        final Rectangle cached = image.getBounds();
+        if (cached.width != bounds.width  ||  cached.height != bounds.height)
+            return bounds.x;
+
+        // Where was the new left edge of the plot area in the cached image?
+        final double exact_shift = x_transform.transform(transform.inverse(bounds.x)) - bounds.x + shift_error;
+        final int shift = (int) Math.round(exact_shift);
+        if (shift < 0  ||  shift >= bounds.width)
+            return bounds.x;
+
+        // Newly exposed strip, previous 'future' region, changed data
+        int x = Math.min(bounds.x + bounds.width - shift, future_x - shift);
+        x = Math.min(x, dirty_x) - margin;
+        if (x <= bounds.x)
+            return bounds.x;
+        if (x >= bounds.x + bounds.width)
+            x = bounds.x + bounds.width;
+
+        gc.drawImage(image, shift, 0, x - bounds.x, bounds.height,
+                     bounds.x, bounds.y, x - bounds.x, bounds.height);
+        shift_error = exact_shift - shift;
+        return x;
+    }
+
+    /** Update cached image from plot image
+     *  @param gc GC for the complete plot image, will copy the plot area
+     *  @param bounds Bounds of the plot area
+     *  @param signature State that affects the content of the plot area
+     *  @param transform Horizontal transformation used for the content
+     *  @param future_x Screen coordinate right of which the content is in the 'future'
+     *  @param incremental Was the content restored and only partially painted?
+     */
+    public synchronized void update(final GC gc, final Rectangle bounds, final List<Object> signature,
+                                    final ScreenTransform<XTYPE> transform, final int future_x,
+                                    final boolean incremental)
+    {
+        if (bounds.width <= 0  ||  bounds.height <= 0)
+        {
+            dispose();
+            return;
+        }
+        if (image == null  ||  image.getBounds().width != bounds.width  ||  image.getBounds().height != bounds.height)
+        {
+            if (image != null)
+                image.dispose();
+            image = new Image(gc.getDevice(), bounds.width, bounds.height);
+        }
+        gc.copyArea(image, bounds.x, bounds.y);
+        this.signature = signature;
+        this.x_transform = transform;
+        this.future_x = future_x;
+        if (! incremental)
+            shift_error = 0.0;
+    }
+
+    /** Invalidate the cache */
+    public synchronized void dispose()
+    {
+        if (image != null)
+            image.dispose();
+        image = null;
+        signature = null;
+        x_transform = null;
+        shift_error = 0.0;
+    }
+}
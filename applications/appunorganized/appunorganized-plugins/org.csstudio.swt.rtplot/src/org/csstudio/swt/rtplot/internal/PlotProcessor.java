@@ -14,6 +14,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
 import java.util.function.Consumer;
 import java.util.logging.Level;
 
@@ -41,6 +42,61 @@ public class PlotProcessor<XTYPE extends Comparable<XTYPE>>
 {
     final private static ExecutorService thread_pool = Executors.newWorkStealingPool();
 
+    /** Traces with more samples are scanned in parallel segments */
+    final private static int SCAN_SEGMENT_SIZE = 100000;
+
+    /** Fork/join task that determines the value range of samples,
+     *  splitting large ranges into segments that are scanned in parallel.
+     *
+     *  <p>Caller must hold the data lock while invoking the task.
+     */
+    private static class ValueRangeScan<XTYPE extends Comparable<XTYPE>> extends RecursiveTask<ValueRange>
+    {
+        private static final long serialVersionUID = 1L;
+        final private PlotDataProvider<XTYPE> data;
+        final private int start, stop;
+
+        /** @param data Data
+         *  @param start Index of first sample
+         *  @param stop Index of last sample, inclusive
+         */
+        ValueRangeScan(final PlotDataProvider<XTYPE> data, final int start, final int stop)
+        {
+            this.data = data;
+            this.start = start;
+            this.stop = stop;
+        }
+
+        @Override
+        protected ValueRange compute()
+        {
+            if (stop - start >= SCAN_SEGMENT_SIZE)
+            {
+                final int mid = (start + stop) / 2;
+                final ValueRangeScan<XTYPE> first = new ValueRangeScan<>(data, start, mid);
+                first.fork();
+                final ValueRange second = new ValueRangeScan<>(data, mid+1, stop).compute();
+                final ValueRange range = first.join();
+                return new ValueRange(Math.min(range.getLow(), second.getLow()),
+                                      Math.max(range.getHigh(), second.getHigh()));
+            }
+            double low = Double.MAX_VALUE;
+            double high = -Double.MAX_VALUE;
+            for (int i=start; i<=stop; ++i)
+            {
+                final PlotDataItem<XTYPE> item = data.get(i);
+                final double value = item.getValue();
+                if (! Double.isFinite(value))
+                    continue;
+                if (value < low)
+                    low = value;
+                if (value > high)
+                    high = value;
+            }
+            return new ValueRange(low, high);
+        }
+    }
+
     final private Plot<XTYPE> plot;
 
     /** @param plot Plot on which this processor operates */
@@ -79,18 +135,13 @@ public class PlotProcessor<XTYPE extends Comparable<XTYPE>>
                             stop = 0;
                         // If data is completely outside the x_range,
                         // we end up using just data[0]
-                        // Check [start .. stop], including stop
-                        for (int i=start; i<=stop; ++i)
-                        {
-                            final PlotDataItem<XTYPE> item = data.get(i);
-                            final double value = item.getValue();
-                            if (! Double.isFinite(value))
-                                continue;
-                            if (value < low)
-                                low = value;
-                            if (value > high)
-                                high = value;
-                        }
+                        // Check [start .. stop], including stop.
+                        // Use summary of data provider, or scan in parallel
+                        ValueRange range = data.getValueRange(start, stop);
+                        if (range == null)
+                            range = new ValueRangeScan<>(data, start, stop).invoke();
+                        low = range.getLow();
+                        high = range.getHigh();
                     }
                 }
                 finally
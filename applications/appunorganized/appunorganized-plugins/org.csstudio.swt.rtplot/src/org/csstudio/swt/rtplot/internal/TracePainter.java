@@ -7,6 +7,8 @@
  ******************************************************************************/
 package org.csstudio.swt.rtplot.internal;
 
+import java.util.Optional;
+
 import org.csstudio.swt.rtplot.Axis;
 import org.csstudio.swt.rtplot.PointType;
 import org.csstudio.swt.rtplot.SWTMediaPool;
@@ -14,6 +16,7 @@ import org.csstudio.swt.rtplot.Trace;
 import org.csstudio.swt.rtplot.TraceType;
 import org.csstudio.swt.rtplot.data.PlotDataItem;
 import org.csstudio.swt.rtplot.data.PlotDataProvider;
+import org.csstudio.swt.rtplot.data.PlotDataSearch;
 import org.csstudio.swt.rtplot.internal.util.IntList;
 import org.csstudio.swt.rtplot.internal.util.ScreenTransform;
 import org.eclipse.swt.SWT;
@@ -48,6 +51,11 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
     final private static int OUTSIDE = 1000;
     private int x_min, x_max, y_min, y_max;
 
+    final private PlotDataSearch<XTYPE> search = new PlotDataSearch<>();
+
+    /** Index of first sample to paint */
+    private int first = 0;
+
     final private int clipX(final double x)
     {
         if (x < x_min)
@@ -75,6 +83,22 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
      */
     final public void paint(final GC gc, final SWTMediaPool media, final Rectangle bounds, final int opacity,
                             final ScreenTransform<XTYPE> x_transform, final YAxisImpl<XTYPE> y_axis, final Trace<XTYPE> trace)
+    {
+        paint(gc, media, bounds, opacity, x_transform, y_axis, trace, Optional.empty());
+    }
+
+    /** @param gc GC
+     *  @param media
+     *  @param bounds Clipping bounds within which to paint
+     *  @param opacity Opacity (0 .. 100 %) of 'area'
+     *  @param x_transform Coordinate transform used by the x axis
+     *  @param trace Trace, has reference to its value axis
+     *  @param start Position from which to paint, skipping samples before the one at-or-before that position.
+     *               Empty to paint all samples.
+     */
+    final public void paint(final GC gc, final SWTMediaPool media, final Rectangle bounds, final int opacity,
+                            final ScreenTransform<XTYPE> x_transform, final YAxisImpl<XTYPE> y_axis, final Trace<XTYPE> trace,
+                            final Optional<XTYPE> start)
     {
         x_min = bounds.x - OUTSIDE;
         x_max = bounds.x + bounds.width + OUTSIDE;
@@ -108,6 +132,7 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
         data.getLock().lock();
         try
         {
+            first = start.isPresent() ? Math.max(0, search.findSampleLessOrEqual(data, start.get())) : 0;
             final TraceType type = trace.getType();
             switch (type)
             {
@@ -187,7 +212,7 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
         final int N = data.size();
         int last_x = -1, last_y = -1;
         gc.setLineWidth(line_width);
-        for (int i=0; i<N; ++i)
+        for (int i=first; i<N; ++i)
         {
             final PlotDataItem<XTYPE> item = data.get(i);
             final int x = clipX(Math.round(x_transform.transform(item.getPosition())));
@@ -231,7 +256,7 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
         final int N = data.size();
         gc.setLineWidth(line_width);
         int last_x = -1, last_y = -1;
-        for (int i=0; i<N; ++i)
+        for (int i=first; i<N; ++i)
         {
             final PlotDataItem<XTYPE> item = data.get(i);
             final int x = clipX(Math.round(x_transform.transform(item.getPosition())));
@@ -270,7 +295,7 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
         final IntList max = new IntList(INITIAL_ARRAY_SIZE);
 
         final int N = data.size();
-        for (int i = 0;  i < N;  ++i)
+        for (int i = first;  i < N;  ++i)
         {
             final PlotDataItem<XTYPE> item = data.get(i);
             double ymin = item.getMin();
@@ -304,7 +329,7 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
         final IntList max = new IntList(INITIAL_ARRAY_SIZE);
 
         final int N = data.size();
-        for (int i = 0;  i < N;  ++i)
+        for (int i = first;  i < N;  ++i)
         {
             final PlotDataItem<XTYPE> item = data.get(i);
             double ymin = item.getMin();
@@ -341,7 +366,7 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
         final IntList upper_poly = new IntList(INITIAL_ARRAY_SIZE);
 
         final int N = data.size();
-        for (int i = 0;  i < N;  ++i)
+        for (int i = first;  i < N;  ++i)
         {
             final PlotDataItem<XTYPE> item = data.get(i);
             double value = item.getValue();
@@ -392,7 +417,7 @@ public class TracePainter<XTYPE extends Comparable<XTYPE>>
     {
         final int N = data.size();
         int last_x = -1, last_y = -1;
-        for (int i=0; i<N; ++i)
+        for (int i=first; i<N; ++i)
         {
             final PlotDataItem<XTYPE> item = data.get(i);
             final int x = clipX(Math.round(x_transform.transform(item.getPosition())));
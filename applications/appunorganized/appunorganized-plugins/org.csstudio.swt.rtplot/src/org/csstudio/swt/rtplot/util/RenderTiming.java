@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.swt.rtplot.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Rendering time statistics for the layers of a plot
+ *
+ *  <p>Layers are identified by name, for example "axes"
+ *  or the name of a trace.
+ *  Times are recorded by the thread that renders the plot
+ *  and may be read from any thread.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class RenderTiming
+{
+    /** Statistics for one layer */
+    public static class LayerTiming
+    {
+        final private String layer;
+        private long count = 0;
+        private long last_ns = 0;
+        private long max_ns = 0;
+        private long total_ns = 0;
+
+        private LayerTiming(final String layer)
+        {
+            this.layer = layer;
+        }
+
+        private LayerTiming(final LayerTiming other)
+        {
+            layer = other.layer;
+            count = other.count;
+            last_ns = other.last_ns;
+            max_ns = other.max_ns;
+            total_ns = other.total_ns;
+        }
+
+        private void record(final long nanos)
+        {
+            ++count;
+            last_ns = nanos;
+            total_ns += nanos;
+            if (nanos > max_ns)
+                max_ns = nanos;
+        }
+
+        /** @return Name of the layer */
+        public String getLayer()
+        {
+            return layer;
+        }
+
+        /** @return Number of times the layer was rendered */
+        public long getCount()
+        {
+            return count;
+        }
+
+        /** @return Duration of last rendering in nanoseconds */
+        public long getLastNanos()
+        {
+            return last_ns;
+        }
+
+        /** @return Longest rendering in nanoseconds */
+        public long getMaxNanos()
+        {
+            return max_ns;
+        }
+
+        /** @return Average rendering time in nanoseconds */
+        public long getAverageNanos()
+        {
+            return count > 0 ? total_ns / count : 0;
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format("%s: %d x, last %.3f ms, avg %.3f ms, max %.3f ms",
+                                 layer, count, last_ns/1e6, getAverageNanos()/1e6, max_ns/1e6);
+        }
+    }
+
+    final private Map<String, LayerTiming> timings = new LinkedHashMap<>();
+
+    /** @param layer Name of layer
+     *  @param nanos Time spent rendering the layer
+     */
+    public synchronized void record(final String layer, final long nanos)
+    {
+        LayerTiming timing = timings.get(layer);
+        if (timing == null)
+        {
+            timing = new LayerTiming(layer);
+            timings.put(layer, timing);
+        }
+        timing.record(nanos);
+    }
+
+    /** @return Snapshot of timing for all layers */
+    public synchronized List<LayerTiming> getTimings()
+    {
+        final List<LayerTiming> copy = new ArrayList<>(timings.size());
+        for (LayerTiming timing : timings.values())
+            copy.add(new LayerTiming(timing));
+        return copy;
+    }
+
+    /** Clear all statistics */
+    public synchronized void reset()
+    {
+        timings.clear();
+    }
+
+    @Override
+    public String toString()
+    {
+        final StringBuilder buf = new StringBuilder();
+        for (LayerTiming timing : getTimings())
+        {
+            if (buf.length() > 0)
+                buf.append("\n");
+            buf.append(timing);
+        }
+        return buf.toString();
+    }
+}
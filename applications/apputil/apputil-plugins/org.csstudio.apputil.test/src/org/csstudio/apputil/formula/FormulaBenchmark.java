@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.apputil.formula;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/** Benchmark for evaluating formulas
+ *
+ *  <p>Compares evaluation of the parse tree with the compiled
+ *  {@link FormulaProgram} for expressions as used by alarm filters,
+ *  where a formula is evaluated on each update of its input PVs.
+ *  Time per evaluation includes updating one input value.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class FormulaBenchmark
+{
+    private static final String[] FORMULAS =
+    {
+        "'Beam:Current' > 0.5",
+        "'Vac:Pressure' < 1e-6 & 'Vac:Valve' == 1",
+        "('Temp:A' + 'Temp:B')/2 > 30 ? 1 : 0",
+        "abs('Flow:Set' - 'Flow:Read') > 0.1*'Flow:Set' | 'Flow:Alarm' != 0",
+        "max('Mag:I1', 'Mag:I2', 'Mag:I3') >= 100 & 'Mode' != 2",
+        "sqrt('X'^2 + 'Y'^2) > 2*PI"
+    };
+
+    private static final int EVALUATIONS = 1000000;
+
+    /** Set variables to random values, a few of them 0 */
+    private void randomize(final Random random, final VariableNode[] variables)
+    {
+        for (VariableNode var : variables)
+            var.setValue(random.nextInt(10) == 0 ? 0.0 : random.nextDouble() * 200.0 - 50.0);
+    }
+
+    @Test
+    public void testCompiled() throws Exception
+    {
+        final Random random = new Random(42);
+        for (String expression : FORMULAS)
+        {
+            final Formula formula = new Formula(expression, true);
+            final FormulaProgram program = new FormulaProgram(formula);
+            System.out.println(expression + ":");
+            System.out.println(program);
+            for (int i=0; i<1000; ++i)
+            {
+                randomize(random, formula.getVariables());
+                final double expected = formula.getTree().eval();
+                // Generated code and interpreter must match the tree
+                assertEquals(expression, expected, formula.eval(), 0.0);
+                assertEquals(expression, expected, program.interpret(), 0.0);
+            }
+        }
+    }
+
+    /** Evaluate formulas in turn, each after updating one of its inputs
+     *  @param title Title
+     *  @param formulas Formulas that provide the variables
+     *  @param nodes Nodes to evaluate for each formula
+     *  @return Sum of results
+     */
+    private double run(final String title, final Formula[] formulas, final Node[] nodes)
+    {
+        final Random random = new Random(42);
+        final double[] values = new double[1024];
+        for (int i=0; i<values.length; ++i)
+            values[i] = random.nextDouble() * 200.0 - 50.0;
+        double check = 0;
+        // Warm up, then measure
+        for (int pass=0; pass<2; ++pass)
+        {
+            final long start = System.nanoTime();
+            for (int i=0; i<EVALUATIONS; ++i)
+            {
+                final int f = i % formulas.length;
+                final VariableNode[] variables = formulas[f].getVariables();
+                variables[i % variables.length].setValue(values[i % values.length]);
+                check += nodes[f].eval();
+            }
+            final long nanos = System.nanoTime() - start;
+            if (pass > 0)
+                System.out.format("%-10s: %8.1f ns per evaluation\n",
+                                  title, (double) nanos / EVALUATIONS);
+        }
+        return check;
+    }
+
+    @Test
+    public void benchmark() throws Exception
+    {
+        final Formula[] formulas = new Formula[FORMULAS.length];
+        final Node[] trees = new Node[FORMULAS.length];
+        double check = 0;
+        for (int i=0; i<FORMULAS.length; ++i)
+        {
+            formulas[i] = new Formula(FORMULAS[i], true);
+            trees[i] = formulas[i].getTree();
+            System.out.println(FORMULAS[i]);
+            check += run("Tree", new Formula[] { formulas[i] }, new Node[] { trees[i] });
+            check += run("Compiled", new Formula[] { formulas[i] }, new Node[] { formulas[i] });
+        }
+        // Alarm server evaluates many different filters
+        System.out.println("All formulas in turn");
+        check += run("Tree", formulas, trees);
+        check += run("Compiled", formulas, formulas);
+        if (check == 42)
+            System.out.println("Unlikely");
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        new FormulaBenchmark().benchmark();
+    }
+}
@@ -10,7 +10,10 @@ package org.csstudio.apputil.formula.test;
 import junit.framework.TestCase;
 
 import org.csstudio.apputil.formula.Formula;
+import org.csstudio.apputil.formula.FormulaProgram;
+import org.csstudio.apputil.formula.Node;
 import org.csstudio.apputil.formula.VariableNode;
+import org.csstudio.apputil.formula.node.AddNode;
 import org.junit.Test;
 
 /** Formula tests.
@@ -271,4 +274,65 @@ public class FormulaUnitTest extends TestCase
         vars[0].setValue(4);
         assertEquals(1.0, f.eval(), epsilon);
     }
+
+    @Test
+    public void testProgram() throws Exception
+    {
+        // Constant sub-expressions are computed when compiling
+        VariableNode x = new VariableNode("x", 2.0);
+        Formula f = new Formula("2*3 + x*(4-1) + sqrt(16)", new VariableNode[] { x });
+        FormulaProgram program = new FormulaProgram(f);
+        System.out.println(program);
+        // CONST 6, VAR x, CONST 3, MUL, ADD, CONST 4, ADD
+        assertEquals(11, program.getSize());
+        assertEquals(16.0, program.eval(), epsilon);
+        x.setValue(3.0);
+        assertEquals(19.0, f.eval(), epsilon);
+        assertTrue(program.hasSubnode(x));
+        assertTrue(program.hasSubnode("x"));
+
+        // Constants before a jump target are not combined
+        f = new Formula("(x > 2 ? 1 : 2) + 3", new VariableNode[] { x });
+        assertEquals(4.0, f.eval(), epsilon);
+        x.setValue(1.0);
+        assertEquals(5.0, f.eval(), epsilon);
+
+        // Boolean operations only evaluate 'right' when needed
+        f = new Formula("x & 1/0", new VariableNode[] { x });
+        assertEquals(1.0, f.eval(), epsilon);
+        x.setValue(0.0);
+        assertEquals(0.0, f.eval(), epsilon);
+        f = new Formula("x | x == 0", new VariableNode[] { x });
+        assertEquals(1.0, f.eval(), epsilon);
+
+        // Nodes that don't compile are evaluated as a whole
+        final Node custom = new Node()
+        {
+            @Override
+            public double eval()
+            {
+                return 40.0;
+            }
+
+            @Override
+            public boolean hasSubnode(final Node node)
+            {
+                return false;
+            }
+
+            @Override
+            public boolean hasSubnode(final String name)
+            {
+                return false;
+            }
+        };
+        program = new FormulaProgram(new AddNode(custom, x));
+        x.setValue(2.0);
+        assertEquals(42.0, program.eval(), epsilon);
+        assertTrue(program.hasSubnode(custom));
+
+        // round() returns long
+        f = new Formula("round(2.7) + round(x/3)", new VariableNode[] { x });
+        assertEquals(4.0, f.eval(), epsilon);
+    }
 }
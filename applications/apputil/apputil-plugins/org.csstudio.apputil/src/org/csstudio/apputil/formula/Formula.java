@@ -49,7 +49,8 @@ import org.csstudio.apputil.formula.node.SubNode;
  *  <li>boolean logic !, &, |,  .. ? .. : ..
  *  </ul>
  *  <p>
- *  The formula string is parsed into a tree, so that subsequent
+ *  The formula string is parsed into a tree, which is then compiled
+ *  into a {@link FormulaProgram}, so that subsequent
  *  evaluations, possibly with modified values for input variables,
  *  are reasonably fast.
  *  <p>
@@ -67,6 +68,9 @@ public class Formula implements Node
 
     final private Node tree;
 
+    /** Compiled tree */
+    final private FormulaProgram program;
+
     final private static VariableNode constants[] = new VariableNode[]
     {
         new VariableNode("E", Math.E),
@@ -140,6 +144,7 @@ public class Formula implements Node
         }
         this.determine_variables = false;
         tree = parse();
+        program = new FormulaProgram(tree);
     }
 
     /** Create formula from string.
@@ -154,6 +159,7 @@ public class Formula implements Node
         this.variables = new ArrayList<VariableNode>();
         this.determine_variables = determine_variables;
         tree = parse();
+        program = new FormulaProgram(tree);
     }
 
     /** @return Original formula that got parsed. */
@@ -169,11 +175,24 @@ public class Formula implements Node
         return variables.toArray(result);
     }
 
+    /** @return Parse tree, for tests that compare it with the compiled program */
+    Node getTree()
+    {
+        return tree;
+    }
+
     /** {@inheritDoc} */
     @Override
     public double eval()
     {
-        return tree.eval();
+        return program.eval();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void compile(final FormulaProgram program)
+    {
+        tree.compile(program);
     }
 
     /** {@inheritDoc} */
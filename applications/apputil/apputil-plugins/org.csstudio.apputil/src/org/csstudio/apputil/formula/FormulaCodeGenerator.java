@@ -0,0 +1,495 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.apputil.formula;
+
+import static org.csstudio.apputil.formula.FormulaProgram.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+
+/** Generates Java byte code for a {@link FormulaProgram}
+ *  <p>
+ *  The program for the formula's stack machine maps almost directly
+ *  onto the stack of the JVM.
+ *  It is translated into the <code>getAsDouble()</code> method
+ *  of a generated class, which the JIT compiler can then
+ *  turn into native code.
+ *  <p>
+ *  Each class is defined by its own class loader,
+ *  so it can be garbage-collected with the formula.
+ *  The class file version predates stack map frames,
+ *  which keeps the generator simple.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+class FormulaCodeGenerator
+{
+    /** Class file version 49 = Java 5, verified without stack map frames */
+    private static final int VERSION = 49;
+
+    private static final String CLASS = "org/csstudio/apputil/formula/GeneratedFormula";
+    private static final String VARIABLE = "org/csstudio/apputil/formula/VariableNode";
+    private static final String NODE_TYPE = "org/csstudio/apputil/formula/Node";
+    private static final String VARIABLES_TYPE = "[L" + VARIABLE + ";";
+    private static final String NODES_TYPE = "[L" + NODE_TYPE + ";";
+
+    // JVM instructions
+    private static final int DCONST_0 = 0x0E, DCONST_1 = 0x0F, SIPUSH = 0x11, LDC2_W = 0x14,
+                             ALOAD_0 = 0x2A, ALOAD_1 = 0x2B, ALOAD_2 = 0x2C,
+                             DLOAD_1 = 0x27, DLOAD_3 = 0x29, DSTORE_1 = 0x48, DSTORE_3 = 0x4A,
+                             AALOAD = 0x32, POP2 = 0x58, DUP2 = 0x5C,
+                             DADD = 0x63, DSUB = 0x67, DMUL = 0x6B, DDIV = 0x6F, L2D = 0x8A,
+                             DCMPL = 0x97, DCMPG = 0x98,
+                             IFEQ = 0x99, IFNE = 0x9A, IFLT = 0x9B, IFGE = 0x9C, IFGT = 0x9D, IFLE = 0x9E,
+                             GOTO = 0xA7, DRETURN = 0xAF, RETURN = 0xB1,
+                             GETFIELD = 0xB4, PUTFIELD = 0xB5,
+                             INVOKEVIRTUAL = 0xB6, INVOKESPECIAL = 0xB7, INVOKESTATIC = 0xB8, INVOKEINTERFACE = 0xB9;
+
+    /** Loader for one generated class */
+    private static class Loader extends ClassLoader
+    {
+        Loader()
+        {
+            super(FormulaCodeGenerator.class.getClassLoader());
+        }
+
+        Class<?> define(final byte[] bytes)
+        {
+            return defineClass(CLASS.replace('/', '.'), bytes, 0, bytes.length);
+        }
+    }
+
+    /** Constant pool */
+    final private ByteArrayOutputStream pool_bytes = new ByteArrayOutputStream();
+    final private DataOutputStream pool = new DataOutputStream(pool_bytes);
+    final private Map<String, Integer> pool_index = new HashMap<>();
+    private int pool_count = 1;
+
+    /** Generated code */
+    final private ByteArrayOutputStream code_bytes = new ByteArrayOutputStream();
+    final private DataOutputStream out = new DataOutputStream(code_bytes);
+
+    final private int[] program;
+
+    /** Byte code offset of each program address */
+    final private int[] offsets;
+
+    /** @param program Program to translate */
+    private FormulaCodeGenerator(final int[] program)
+    {
+        this.program = program;
+        offsets = new int[program.length + 1];
+    }
+
+    /** Generate code for program
+     *  @param program Instructions of the program
+     *  @param constants Constants used by the program
+     *  @param variables Variables used by the program
+     *  @param nodes Nodes used by the program
+     *  @param max_depth Maximum depth of the program's stack
+     *  @return Evaluator for the program
+     *  @throws Exception on error
+     */
+    static DoubleSupplier generate(final int[] program, final double[] constants,
+                                   final VariableNode[] variables, final Node[] nodes,
+                                   final int max_depth) throws Exception
+    {
+        final byte[] bytes = new FormulaCodeGenerator(program).createClass(constants, max_depth);
+        final Class<?> clazz = new Loader().define(bytes);
+        return (DoubleSupplier) clazz.getConstructor(VariableNode[].class, Node[].class)
+                                     .newInstance(variables, nodes);
+    }
+
+    private int addToPool(final String key, final int tag, final Object... items) throws Exception
+    {
+        Integer index = pool_index.get(key);
+        if (index != null)
+            return index;
+        // Add referenced entries before writing this one
+        final int[] refs = new int[items.length];
+        for (int i=0; i<items.length; ++i)
+            if (items[i] instanceof String)
+                refs[i] = utf8((String) items[i]);
+            else if (items[i] instanceof Integer)
+                refs[i] = (Integer) items[i];
+        index = pool_count;
+        pool.writeByte(tag);
+        for (int ref : refs)
+            pool.writeShort(ref);
+        ++pool_count;
+        pool_index.put(key, index);
+        return index;
+    }
+
+    private int utf8(final String text) throws Exception
+    {
+        final String key = "U" + text;
+        Integer index = pool_index.get(key);
+        if (index != null)
+            return index;
+        index = pool_count++;
+        pool.writeByte(1);
+        pool.writeUTF(text);
+        pool_index.put(key, index);
+        return index;
+    }
+
+    private int classRef(final String name) throws Exception
+    {
+        return addToPool("C" + name, 7, name);
+    }
+
+    private int nameAndType(final String name, final String type) throws Exception
+    {
+        return addToPool("N" + name + " " + type, 12, name, type);
+    }
+
+    private int fieldRef(final String name, final String type) throws Exception
+    {
+        return addToPool("F" + name + " " + type, 9, classRef(CLASS), nameAndType(name, type));
+    }
+
+    private int methodRef(final String clazz, final String name, final String type) throws Exception
+    {
+        return addToPool("M" + clazz + "." + name + type, 10, classRef(clazz), nameAndType(name, type));
+    }
+
+    private int interfaceMethodRef(final String clazz, final String name, final String type) throws Exception
+    {
+        return addToPool("I" + clazz + "." + name + type, 11, classRef(clazz), nameAndType(name, type));
+    }
+
+    private int doubleConst(final double value) throws Exception
+    {
+        final long bits = Double.doubleToRawLongBits(value);
+        final String key = "D" + bits;
+        Integer index = pool_index.get(key);
+        if (index != null)
+            return index;
+        index = pool_count;
+        pool.writeByte(6);
+        pool.writeLong(bits);
+        // Double takes two entries
+        pool_count += 2;
+        pool_index.put(key, index);
+        return index;
+    }
+
+    /** @param pc Address of instruction in program
+     *  @return Size of byte code for that instruction
+     */
+    private int getSize(final int pc)
+    {
+        switch (program[pc])
+        {
+        case CONST:                  return 3;
+        case VAR:                    return 11;
+        case NODE:                   return 13;
+        case JUMP:                   return 3;
+        case JUMP_IF_ZERO:           return 5;
+        case JUMP_IF_ZERO_OR_POP:
+        case JUMP_IF_NONZERO_OR_POP: return 12;
+        case FUNC1:                  return "round".equals(getFunction(program[pc+1])) ? 4 : 3;
+        case FUNC2:                  return 3;
+        case BOOL:
+        case NOT:                    return 10;
+        case RND:                    return 4;
+        case PWR:                    return 3;
+        case EQUAL:
+        case NOT_EQUAL:
+        case LESS:
+        case LESS_EQUAL:
+        case GREATER:
+        case GREATER_EQUAL:          return 9;
+        case MIN:
+        case MAX:                    return 13;
+        default:                     return 1;
+        }
+    }
+
+    /** @param pc Address of instruction in program
+     *  @return Address of next instruction
+     */
+    private static int next(final int[] program, final int pc)
+    {
+        return program[pc] < BOOL ? pc + 2 : pc + 1;
+    }
+
+    /** Write branch instruction
+     *  @param opcode Branch instruction
+     *  @param target Byte code offset of target
+     */
+    private void branch(final int opcode, final int target) throws Exception
+    {
+        final int here = code_bytes.size();
+        out.writeByte(opcode);
+        out.writeShort(target - here);
+    }
+
+    /** Write comparison that pushes 1.0 or 0.0
+     *  @param compare DCMPL or DCMPG, selected such that NaN results in 0.0
+     *  @param branch Branch taken for 1.0
+     */
+    private void compare(final int compare, final int branch) throws Exception
+    {
+        final int start = code_bytes.size();
+        out.writeByte(compare);
+        branch(branch, start + 8);
+        out.writeByte(DCONST_0);
+        branch(GOTO, start + 9);
+        out.writeByte(DCONST_1);
+    }
+
+    /** Write selection of the top two values, keeping the lower one
+     *  (for MIN) resp. higher one (for MAX).
+     *  Like MinNode and MaxNode, the new value 'b' only replaces
+     *  the current value 'a' when it is truly lower (higher), not for NaN.
+     */
+    private void select(final int compare, final int branch) throws Exception
+    {
+        out.writeByte(DSTORE_1); // b
+        out.writeByte(DSTORE_3); // a
+        final int start = code_bytes.size();
+        out.writeByte(DLOAD_1);
+        out.writeByte(DLOAD_3);
+        out.writeByte(compare);
+        branch(branch, start + 10);
+        out.writeByte(DLOAD_3);
+        branch(GOTO, start + 11);
+        out.writeByte(DLOAD_1);
+    }
+
+    /** Write conditional jump that keeps the value when jumping, otherwise pops it
+     *  @param branch Branch taken when <u>not</u> jumping
+     *  @param replacement Value to push when jumping
+     *  @param target Byte code offset of jump target
+     */
+    private void jumpOrPop(final int branch, final int replacement, final int target) throws Exception
+    {
+        final int start = code_bytes.size();
+        out.writeByte(DUP2);
+        out.writeByte(DCONST_0);
+        out.writeByte(DCMPL);
+        branch(branch, start + 11);
+        out.writeByte(POP2);
+        out.writeByte(replacement);
+        branch(GOTO, target);
+        out.writeByte(POP2);
+    }
+
+    private void loadArrayElement(final String field, final String type, final int index) throws Exception
+    {
+        out.writeByte(ALOAD_0);
+        out.writeByte(GETFIELD);
+        out.writeShort(fieldRef(field, type));
+        out.writeByte(SIPUSH);
+        out.writeShort(index);
+        out.writeByte(AALOAD);
+    }
+
+    private void invokeMath(final String name, final String type) throws Exception
+    {
+        out.writeByte(INVOKESTATIC);
+        out.writeShort(methodRef("java/lang/Math", name, type));
+    }
+
+    /** Translate program into byte code for getAsDouble() */
+    private void translate(final double[] constants) throws Exception
+    {
+        // Determine byte code offset of each instruction
+        int offset = 0;
+        for (int pc=0; pc<program.length; pc = next(program, pc))
+        {
+            offsets[pc] = offset;
+            offset += getSize(pc);
+        }
+        offsets[program.length] = offset;
+
+        for (int pc=0; pc<program.length; pc = next(program, pc))
+        {
+            final int arg = program[pc] < BOOL ? program[pc+1] : -1;
+            switch (program[pc])
+            {
+            case CONST:
+                out.writeByte(LDC2_W);
+                out.writeShort(doubleConst(constants[arg]));
+                break;
+            case VAR:
+                loadArrayElement("variables", VARIABLES_TYPE, arg);
+                out.writeByte(INVOKEVIRTUAL);
+                out.writeShort(methodRef(VARIABLE, "getValue", "()D"));
+                break;
+            case NODE:
+                loadArrayElement("nodes", NODES_TYPE, arg);
+                out.writeByte(INVOKEINTERFACE);
+                out.writeShort(interfaceMethodRef(NODE_TYPE, "eval", "()D"));
+                out.writeByte(1);
+                out.writeByte(0);
+                break;
+            case JUMP:
+                branch(GOTO, offsets[arg]);
+                break;
+            case JUMP_IF_ZERO:
+                // NaN is considered non-zero
+                out.writeByte(DCONST_0);
+                out.writeByte(DCMPL);
+                branch(IFEQ, offsets[arg]);
+                break;
+            case JUMP_IF_ZERO_OR_POP:
+                jumpOrPop(IFNE, DCONST_0, offsets[arg]);
+                break;
+            case JUMP_IF_NONZERO_OR_POP:
+                jumpOrPop(IFEQ, DCONST_1, offsets[arg]);
+                break;
+            case FUNC1:
+                if ("round".equals(getFunction(arg)))
+                {
+                    invokeMath("round", "(D)J");
+                    out.writeByte(L2D);
+                }
+                else
+                    invokeMath(getFunction(arg), "(D)D");
+                break;
+            case FUNC2:
+                invokeMath(getFunction(arg), "(DD)D");
+                break;
+            case BOOL:
+                out.writeByte(DCONST_0);
+                compare(DCMPL, IFNE);
+                break;
+            case NOT:
+                out.writeByte(DCONST_0);
+                compare(DCMPL, IFEQ);
+                break;
+            case RND:
+                invokeMath("random", "()D");
+                out.writeByte(DMUL);
+                break;
+            case ADD:
+                out.writeByte(DADD);
+                break;
+            case SUB:
+                out.writeByte(DSUB);
+                break;
+            case MUL:
+                out.writeByte(DMUL);
+                break;
+            case DIV:
+                out.writeByte(DDIV);
+                break;
+            case PWR:
+                invokeMath("pow", "(DD)D");
+                break;
+            case EQUAL:
+                compare(DCMPL, IFEQ);
+                break;
+            case NOT_EQUAL:
+                compare(DCMPL, IFNE);
+                break;
+            case LESS:
+                compare(DCMPG, IFLT);
+                break;
+            case LESS_EQUAL:
+                compare(DCMPG, IFLE);
+                break;
+            case GREATER:
+                compare(DCMPL, IFGT);
+                break;
+            case GREATER_EQUAL:
+                compare(DCMPL, IFGE);
+                break;
+            case MIN:
+                select(DCMPG, IFLT);
+                break;
+            case MAX:
+                select(DCMPL, IFGT);
+                break;
+            default:
+                throw new Exception("Invalid instruction " + program[pc] + " at " + pc);
+            }
+            if (code_bytes.size() != offsets[next(program, pc)])
+                throw new Exception("Byte code size mismatch for instruction " + program[pc] + " at " + pc);
+        }
+        out.writeByte(DRETURN);
+    }
+
+    private void writeMethod(final DataOutputStream file, final String name, final String type,
+                             final int max_stack, final int max_locals, final byte[] code) throws Exception
+    {
+        file.writeShort(0x0001); // public
+        file.writeShort(utf8(name));
+        file.writeShort(utf8(type));
+        file.writeShort(1);
+        file.writeShort(utf8("Code"));
+        file.writeInt(2 + 2 + 4 + code.length + 2 + 2);
+        file.writeShort(max_stack);
+        file.writeShort(max_locals);
+        file.writeInt(code.length);
+        file.write(code);
+        file.writeShort(0); // exceptions
+        file.writeShort(0); // attributes
+    }
+
+    private byte[] createClass(final double[] constants, final int max_depth) throws Exception
+    {
+        // Constructor: Set fields from arguments
+        final ByteArrayOutputStream init_bytes = new ByteArrayOutputStream();
+        final DataOutputStream init = new DataOutputStream(init_bytes);
+        init.writeByte(ALOAD_0);
+        init.writeByte(INVOKESPECIAL);
+        init.writeShort(methodRef("java/lang/Object", "<init>", "()V"));
+        init.writeByte(ALOAD_0);
+        init.writeByte(ALOAD_1);
+        init.writeByte(PUTFIELD);
+        init.writeShort(fieldRef("variables", VARIABLES_TYPE));
+        init.writeByte(ALOAD_0);
+        init.writeByte(ALOAD_2);
+        init.writeByte(PUTFIELD);
+        init.writeShort(fieldRef("nodes", NODES_TYPE));
+        init.writeByte(RETURN);
+
+        translate(constants);
+
+        // Class body, which adds remaining entries to the constant pool
+        final ByteArrayOutputStream body_bytes = new ByteArrayOutputStream();
+        final DataOutputStream body = new DataOutputStream(body_bytes);
+        body.writeShort(0x0031); // public final super
+        body.writeShort(classRef(CLASS));
+        body.writeShort(classRef("java/lang/Object"));
+        body.writeShort(1);
+        body.writeShort(classRef("java/util/function/DoubleSupplier"));
+        body.writeShort(2);
+        for (String[] field : new String[][] { { "variables", VARIABLES_TYPE }, { "nodes", NODES_TYPE } })
+        {
+            body.writeShort(0x0012); // private final
+            body.writeShort(utf8(field[0]));
+            body.writeShort(utf8(field[1]));
+            body.writeShort(0);
+        }
+        body.writeShort(2);
+        writeMethod(body, "<init>", "(" + VARIABLES_TYPE + NODES_TYPE + ")V", 2, 3, init_bytes.toByteArray());
+        // Each stack entry is a double, plus room for comparisons and DUP2.
+        // Locals: this, two doubles for MIN/MAX
+        writeMethod(body, "getAsDouble", "()D", 2 * max_depth + 4, 5, code_bytes.toByteArray());
+        body.writeShort(0); // attributes
+
+        final ByteArrayOutputStream class_bytes = new ByteArrayOutputStream();
+        final DataOutputStream file = new DataOutputStream(class_bytes);
+        file.writeInt(0xCAFEBABE);
+        file.writeShort(0);
+        file.writeShort(VERSION);
+        file.writeShort(pool_count);
+        file.write(pool_bytes.toByteArray());
+        file.write(body_bytes.toByteArray());
+        return class_bytes.toByteArray();
+    }
+}
@@ -0,0 +1,561 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.apputil.formula;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.DoubleSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/** Formula compiled into a flat program for a stack machine.
+ *  <p>
+ *  Evaluating the parse tree of a formula involves a virtual call
+ *  for each node.
+ *  The program is a flat array of instructions that push constants and
+ *  variable values onto a stack, combine them, or jump for the
+ *  conditional and boolean operations.
+ *  Sub-expressions that only involve constants are computed
+ *  once while compiling.
+ *  <p>
+ *  The program is then translated into Java byte code
+ *  by the {@link FormulaCodeGenerator}, so it is executed as native code
+ *  once the JIT compiler picks it up.
+ *  If byte code cannot be generated, the program is interpreted.
+ *  <p>
+ *  Nodes add their instructions in {@link Node#compile(FormulaProgram)}.
+ *  Nodes that do not support compilation are evaluated as a whole.
+ *  <p>
+ *  Like the parse tree, the program may be evaluated from several threads.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class FormulaProgram implements Node
+{
+    // Instructions that are followed by an argument in the code
+    /** Push constant, argument is index into constants */
+    public static final int CONST = 0;
+    /** Push value of variable, argument is index into variables */
+    public static final int VAR = 1;
+    /** Push value of node, argument is index into nodes */
+    public static final int NODE = 2;
+    /** Jump, argument is target address */
+    public static final int JUMP = 3;
+    /** Pop value, jump to argument if value is zero */
+    public static final int JUMP_IF_ZERO = 4;
+    /** If value is zero, replace with 0 and jump to argument, else pop value */
+    public static final int JUMP_IF_ZERO_OR_POP = 5;
+    /** If value is non-zero, replace with 1 and jump to argument, else pop value */
+    public static final int JUMP_IF_NONZERO_OR_POP = 6;
+    /** Call function of one argument, argument is index into FUNCTIONS */
+    public static final int FUNC1 = 7;
+    /** Call function of two arguments, argument is index into FUNCTIONS */
+    public static final int FUNC2 = 8;
+
+    // Instructions without argument
+    /** Replace value by 1 if it is non-zero, otherwise 0 */
+    public static final int BOOL = 9;
+    /** Replace value by 1 if it is zero, otherwise 0 */
+    public static final int NOT = 10;
+    /** Replace value by random number between 0 and that value */
+    public static final int RND = 11;
+    /** Binary operations on the top two values */
+    public static final int ADD = 12, SUB = 13, MUL = 14, DIV = 15, PWR = 16,
+                            EQUAL = 17, NOT_EQUAL = 18,
+                            LESS = 19, LESS_EQUAL = 20, GREATER = 21, GREATER_EQUAL = 22,
+                            MIN = 23, MAX = 24;
+
+    final private static String[] NAMES =
+    {
+        "CONST", "VAR", "NODE", "JUMP", "JUMP_IF_ZERO", "JUMP_IF_ZERO_OR_POP", "JUMP_IF_NONZERO_OR_POP",
+        "FUNC1", "FUNC2", "BOOL", "NOT", "RND",
+        "ADD", "SUB", "MUL", "DIV", "PWR", "EQUAL", "NOT_EQUAL",
+        "LESS", "LESS_EQUAL", "GREATER", "GREATER_EQUAL", "MIN", "MAX"
+    };
+
+    /** Supported java.lang.Math functions, first those with one argument, then those with two */
+    final private static String[] FUNCTIONS =
+    {
+        "abs", "acos", "asin", "atan", "ceil", "cos", "cosh", "exp", "expm1", "floor",
+        "log", "log10", "round", "sin", "sinh", "sqrt", "tan", "tanh", "toDegrees", "toRadians",
+        "atan2", "hypot", "pow"
+    };
+
+    /** Index of first function in FUNCTIONS that takes two arguments */
+    final private static int FUNC2_START = 20;
+
+    /** Instructions and their arguments */
+    private int[] code = new int[16];
+
+    /** Number of used elements in code */
+    private int size = 0;
+
+    final private List<Double> constant_list = new ArrayList<>();
+    final private List<VariableNode> variable_list = new ArrayList<>();
+    final private List<Node> node_list = new ArrayList<>();
+
+    private double[] constants;
+    private VariableNode[] variables;
+    private Node[] nodes;
+
+    /** Current and maximum stack depth */
+    private int depth = 0, max_depth = 0;
+
+    /** Evaluates the program */
+    final private DoubleSupplier evaluator;
+
+    /** Addresses of the last two instructions if they pushed constants, else -1.
+     *  Used to compute constant sub-expressions while compiling.
+     */
+    private int prev_const = -1, last_const = -1;
+
+    /** Compile formula
+     *  @param node Root of the formula
+     */
+    public FormulaProgram(final Node node)
+    {
+        node.compile(this);
+        code = Arrays.copyOf(code, size);
+        updateArrays();
+        DoubleSupplier generated;
+        try
+        {
+            generated = FormulaCodeGenerator.generate(code, constants, variables, nodes, max_depth);
+        }
+        catch (Throwable ex)
+        {
+            Logger.getLogger(getClass().getName())
+                  .log(Level.WARNING, "Cannot generate code for formula " + node + ", using interpreter", ex);
+            generated = this::interpret;
+        }
+        evaluator = generated;
+    }
+
+    /** @return Number of instructions and arguments in program */
+    public int getSize()
+    {
+        return size;
+    }
+
+    /** @param function Name of java.lang.Math function
+     *  @return Index into FUNCTIONS, -1 if not supported
+     */
+    private static int findFunction(final String function)
+    {
+        for (int i=0; i<FUNCTIONS.length; ++i)
+            if (FUNCTIONS[i].equals(function))
+                return i;
+        return -1;
+    }
+
+    /** @param index Index of function in FUNCTIONS
+     *  @return Name of the java.lang.Math function
+     */
+    static String getFunction(final int index)
+    {
+        return FUNCTIONS[index];
+    }
+
+    /** @param function Name of java.lang.Math function
+     *  @param args Number of arguments
+     *  @return <code>true</code> if function can be compiled
+     */
+    public static boolean hasFunction(final String function, final int args)
+    {
+        final int index = findFunction(function);
+        return index >= 0  &&  args == (index < FUNC2_START ? 1 : 2);
+    }
+
+    private void emit(final int value)
+    {
+        if (size >= code.length)
+            code = Arrays.copyOf(code, code.length * 2);
+        code[size++] = value;
+    }
+
+    private void changeDepth(final int change)
+    {
+        depth += change;
+        if (depth > max_depth)
+            max_depth = depth;
+    }
+
+    /** @param value Constant to push */
+    public void addConstant(final double value)
+    {
+        int index = constant_list.indexOf(value);
+        if (index < 0)
+        {
+            index = constant_list.size();
+            constant_list.add(value);
+        }
+        prev_const = last_const;
+        last_const = size;
+        emit(CONST);
+        emit(index);
+        changeDepth(1);
+    }
+
+    /** @param variable Variable whose value to push */
+    public void addVariable(final VariableNode variable)
+    {
+        int index = -1;
+        for (int i=0; i<variable_list.size(); ++i)
+            if (variable_list.get(i) == variable)
+            {
+                index = i;
+                break;
+            }
+        if (index < 0)
+        {
+            index = variable_list.size();
+            variable_list.add(variable);
+        }
+        addInstruction(VAR, index, 1);
+    }
+
+    /** @param node Node to evaluate as a whole, pushing its value */
+    public void addNode(final Node node)
+    {
+        addInstruction(NODE, node_list.size(), 1);
+        node_list.add(node);
+    }
+
+    /** @param function Name of java.lang.Math function, see {@link #hasFunction(String, int)},
+     *                  to call with the top value resp. top two values
+     */
+    public void addFunction(final String function)
+    {
+        final int index = findFunction(function);
+        if (index < 0)
+            throw new IllegalArgumentException("Unsupported function " + function);
+        if (index < FUNC2_START)
+            addFoldable(FUNC1, index, 1);
+        else
+            addFoldable(FUNC2, index, 2);
+    }
+
+    /** @param operation BOOL, NOT, RND, ADD, ... operation without argument */
+    public void addOperation(final int operation)
+    {
+        if (operation < BOOL  ||  operation > MAX)
+            throw new IllegalArgumentException("Invalid operation " + operation);
+        // Keep constant on stack for RND, since it yields a new value each time
+        if (operation == RND)
+        {
+            addInstruction(RND, -1, 0);
+            return;
+        }
+        final boolean unary = operation == BOOL  ||  operation == NOT;
+        addFoldable(operation, -1, unary ? 1 : 2);
+    }
+
+    /** @param jump JUMP, JUMP_IF_ZERO, ... instruction
+     *  @return Address of the jump target, to be set via {@link #setJumpTarget(int)}
+     */
+    public int addJump(final int jump)
+    {
+        if (jump < JUMP  ||  jump > JUMP_IF_NONZERO_OR_POP)
+            throw new IllegalArgumentException("Invalid jump " + jump);
+        // Depth tracks the path that continues after the jump.
+        // For JUMP, the value on the stack is that of the path which jumps.
+        addInstruction(jump, -1, -1);
+        return size - 1;
+    }
+
+    /** @param address Address of jump target, see {@link #addJump(int)},
+     *                 to be set to the next instruction
+     */
+    public void setJumpTarget(final int address)
+    {
+        code[address] = size;
+        // Constants before a jump target may be skipped and thus not be combined
+        prev_const = last_const = -1;
+    }
+
+    private void addInstruction(final int instruction, final int argument, final int depth_change)
+    {
+        prev_const = last_const = -1;
+        emit(instruction);
+        if (instruction < BOOL)
+            emit(argument);
+        changeDepth(depth_change);
+    }
+
+    /** Add instruction, replacing it with a constant if its inputs are constants
+     *  @param instruction Instruction
+     *  @param argument Argument or -1
+     *  @param inputs Number of inputs, 1 or 2, which the instruction replaces by its result
+     */
+    private void addFoldable(final int instruction, final int argument, final int inputs)
+    {
+        final int start = inputs == 1 ? last_const : prev_const;
+        addInstruction(instruction, argument, 1 - inputs);
+        if (start < 0)
+            return;
+        updateArrays();
+        final double value = execute(start, size, inputs);
+        size = start;
+        // Remove the result, addConstant() pushes it again
+        depth -= 1;
+        addConstant(value);
+    }
+
+    private void updateArrays()
+    {
+        constants = new double[constant_list.size()];
+        for (int i=0; i<constants.length; ++i)
+            constants[i] = constant_list.get(i);
+        variables = variable_list.toArray(new VariableNode[variable_list.size()]);
+        nodes = node_list.toArray(new Node[node_list.size()]);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double eval()
+    {
+        return evaluator.getAsDouble();
+    }
+
+    /** @return Value of program, computed by the interpreter */
+    double interpret()
+    {
+        return execute(0, size, max_depth);
+    }
+
+    /** Execute (part of) the program
+     *  @param start First instruction
+     *  @param end Address after last instruction
+     *  @param stack_size Maximum stack depth
+     *  @return Value on top of stack
+     */
+    private double execute(final int start, final int end, final int stack_size)
+    {
+        final double[] stack = new double[stack_size];
+        int sp = 0;
+        int pc = start;
+        while (pc < end)
+        {
+            switch (code[pc++])
+            {
+            case CONST:
+                stack[sp++] = constants[code[pc++]];
+                break;
+            case VAR:
+                stack[sp++] = variables[code[pc++]].getValue();
+                break;
+            case NODE:
+                stack[sp++] = nodes[code[pc++]].eval();
+                break;
+            case JUMP:
+                pc = code[pc];
+                break;
+            case JUMP_IF_ZERO:
+                if (stack[--sp] == 0.0)
+                    pc = code[pc];
+                else
+                    ++pc;
+                break;
+            case JUMP_IF_ZERO_OR_POP:
+                if (stack[sp-1] == 0.0)
+                {
+                    stack[sp-1] = 0.0;
+                    pc = code[pc];
+                }
+                else
+                {
+                    --sp;
+                    ++pc;
+                }
+                break;
+            case JUMP_IF_NONZERO_OR_POP:
+                if (stack[sp-1] != 0.0)
+                {
+                    stack[sp-1] = 1.0;
+                    pc = code[pc];
+                }
+                else
+                {
+                    --sp;
+                    ++pc;
+                }
+                break;
+            case FUNC1:
+                stack[sp-1] = call(code[pc++], stack[sp-1]);
+                break;
+            case FUNC2:
+                --sp;
+                stack[sp-1] = call(code[pc++], stack[sp-1], stack[sp]);
+                break;
+            case BOOL:
+                stack[sp-1] = stack[sp-1] != 0.0 ? 1.0 : 0.0;
+                break;
+            case NOT:
+                stack[sp-1] = stack[sp-1] != 0.0 ? 0.0 : 1.0;
+                break;
+            case RND:
+                stack[sp-1] = stack[sp-1] * Math.random();
+                break;
+            case ADD:
+                --sp;
+                stack[sp-1] = stack[sp-1] + stack[sp];
+                break;
+            case SUB:
+                --sp;
+                stack[sp-1] = stack[sp-1] - stack[sp];
+                break;
+            case MUL:
+                --sp;
+                stack[sp-1] = stack[sp-1] * stack[sp];
+                break;
+            case DIV:
+                --sp;
+                stack[sp-1] = stack[sp-1] / stack[sp];
+                break;
+            case PWR:
+                --sp;
+                stack[sp-1] = Math.pow(stack[sp-1], stack[sp]);
+                break;
+            case EQUAL:
+                --sp;
+                stack[sp-1] = stack[sp-1] == stack[sp] ? 1.0 : 0.0;
+                break;
+            case NOT_EQUAL:
+                --sp;
+                stack[sp-1] = stack[sp-1] != stack[sp] ? 1.0 : 0.0;
+                break;
+            case LESS:
+                --sp;
+                stack[sp-1] = stack[sp-1] < stack[sp] ? 1.0 : 0.0;
+                break;
+            case LESS_EQUAL:
+                --sp;
+                stack[sp-1] = stack[sp-1] <= stack[sp] ? 1.0 : 0.0;
+                break;
+            case GREATER:
+                --sp;
+                stack[sp-1] = stack[sp-1] > stack[sp] ? 1.0 : 0.0;
+                break;
+            case GREATER_EQUAL:
+                --sp;
+                stack[sp-1] = stack[sp-1] >= stack[sp] ? 1.0 : 0.0;
+                break;
+            case MIN:
+                // Same as MinNode: Only replace if 'less', not for NaN
+                --sp;
+                if (stack[sp] < stack[sp-1])
+                    stack[sp-1] = stack[sp];
+                break;
+            case MAX:
+                --sp;
+                if (stack[sp] > stack[sp-1])
+                    stack[sp-1] = stack[sp];
+                break;
+            default:
+                throw new IllegalStateException("Invalid instruction " + code[pc-1] + " at " + (pc-1));
+            }
+        }
+        return stack[0];
+    }
+
+    private static double call(final int function, final double x)
+    {
+        switch (function)
+        {
+        case 0:  return Math.abs(x);
+        case 1:  return Math.acos(x);
+        case 2:  return Math.asin(x);
+        case 3:  return Math.atan(x);
+        case 4:  return Math.ceil(x);
+        case 5:  return Math.cos(x);
+        case 6:  return Math.cosh(x);
+        case 7:  return Math.exp(x);
+        case 8:  return Math.expm1(x);
+        case 9:  return Math.floor(x);
+        case 10: return Math.log(x);
+        case 11: return Math.log10(x);
+        case 12: return Math.round(x);
+        case 13: return Math.sin(x);
+        case 14: return Math.sinh(x);
+        case 15: return Math.sqrt(x);
+        case 16: return Math.tan(x);
+        case 17: return Math.tanh(x);
+        case 18: return Math.toDegrees(x);
+        case 19: return Math.toRadians(x);
+        default: throw new IllegalStateException("Invalid function " + function);
+        }
+    }
+
+    private static double call(final int function, final double x, final double y)
+    {
+        switch (function)
+        {
+        case 20: return Math.atan2(x, y);
+        case 21: return Math.hypot(x, y);
+        case 22: return Math.pow(x, y);
+        default: throw new IllegalStateException("Invalid function " + function);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasSubnode(final Node node)
+    {
+        for (VariableNode variable : variables)
+            if (variable == node)
+                return true;
+        for (Node sub : nodes)
+            if (sub == node  ||  sub.hasSubnode(node))
+                return true;
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasSubnode(final String name)
+    {
+        for (VariableNode variable : variables)
+            if (variable.hasSubnode(name))
+                return true;
+        for (Node sub : nodes)
+            if (sub.hasSubnode(name))
+                return true;
+        return false;
+    }
+
+    /** @return Listing of the program */
+    @Override
+    public String toString()
+    {
+        final StringBuilder buf = new StringBuilder();
+        int pc = 0;
+        while (pc < size)
+        {
+            final int instruction = code[pc];
+            buf.append(String.format("%3d %s", pc++, NAMES[instruction]));
+            if (instruction < BOOL)
+            {
+                final int arg = code[pc++];
+                if (instruction == CONST)
+                    buf.append(' ').append(constants[arg]);
+                else if (instruction == VAR)
+                    buf.append(' ').append(variables[arg].getName());
+                else if (instruction == NODE)
+                    buf.append(' ').append(nodes[arg]);
+                else if (instruction == FUNC1  ||  instruction == FUNC2)
+                    buf.append(' ').append(FUNCTIONS[arg]);
+                else
+                    buf.append(' ').append(arg);
+            }
+            buf.append('\n');
+        }
+        return buf.toString();
+    }
+}
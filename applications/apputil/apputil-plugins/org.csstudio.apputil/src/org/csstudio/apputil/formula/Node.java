@@ -27,4 +27,14 @@ public interface Node
      *  @return <code>true</code> if given node name was found under this one.
      */
     public boolean hasSubnode(String name);
+
+    /** Add instructions that compute the value of this node to a program.
+     *  <p>
+     *  By default, the program evaluates the node as a whole.
+     *  @param program Program that is being compiled
+     */
+    default public void compile(final FormulaProgram program)
+    {
+        program.addNode(this);
+    }
 }
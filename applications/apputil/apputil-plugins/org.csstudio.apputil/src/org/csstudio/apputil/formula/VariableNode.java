@@ -56,6 +56,13 @@ public class VariableNode implements Node
         return value;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void compile(final FormulaProgram program)
+    {
+        program.addVariable(this);
+    }
+
     /** {@inheritDoc} */
     @Override
     public boolean hasSubnode(final Node node)
@@ -7,6 +7,7 @@
  ******************************************************************************/
 package org.csstudio.apputil.formula.node;
 
+import org.csstudio.apputil.formula.FormulaProgram;
 import org.csstudio.apputil.formula.Node;
 
 /** Abstract base for binary nodes.
@@ -23,6 +24,17 @@ abstract class AbstractBinaryNode implements Node
         this.right = right;
     }
 
+    /** Compile left and right, then the operation
+     *  @param program Program that is being compiled
+     *  @param operation Operation that combines left and right
+     */
+    protected void compile(final FormulaProgram program, final int operation)
+    {
+        left.compile(program);
+        right.compile(program);
+        program.addOperation(operation);
+    }
+
     /** {@inheritDoc} */
     @Override
     final public boolean hasSubnode(final Node node)
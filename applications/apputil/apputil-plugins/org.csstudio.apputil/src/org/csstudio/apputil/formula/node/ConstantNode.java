@@ -7,6 +7,7 @@
  ******************************************************************************/
 package org.csstudio.apputil.formula.node;
 
+import org.csstudio.apputil.formula.FormulaProgram;
 import org.csstudio.apputil.formula.Node;
 
 /** One computational node.
@@ -27,6 +28,13 @@ public class ConstantNode implements Node
         return value;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void compile(final FormulaProgram program)
+    {
+        program.addConstant(value);
+    }
+
     /** {@inheritDoc} */
     @Override
     public boolean hasSubnode(final Node node)
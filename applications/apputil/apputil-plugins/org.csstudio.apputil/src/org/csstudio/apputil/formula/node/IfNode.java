@@ -7,6 +7,7 @@
  ******************************************************************************/
 package org.csstudio.apputil.formula.node;
 
+import org.csstudio.apputil.formula.FormulaProgram;
 import org.csstudio.apputil.formula.Node;
 
 /** One computational node.
@@ -31,6 +32,19 @@ public class IfNode implements Node
         return (cond.eval() != 0) ? yes.eval() : no.eval();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void compile(final FormulaProgram program)
+    {
+        cond.compile(program);
+        final int to_no = program.addJump(FormulaProgram.JUMP_IF_ZERO);
+        yes.compile(program);
+        final int to_end = program.addJump(FormulaProgram.JUMP);
+        program.setJumpTarget(to_no);
+        no.compile(program);
+        program.setJumpTarget(to_end);
+    }
+
     /** {@inheritDoc} */
     @Override
     public boolean hasSubnode(final Node node)
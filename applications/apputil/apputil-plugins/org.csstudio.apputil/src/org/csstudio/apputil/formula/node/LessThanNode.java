@@ -7,6 +7,7 @@
  ******************************************************************************/
 package org.csstudio.apputil.formula.node;
 
+import org.csstudio.apputil.formula.FormulaProgram;
 import org.csstudio.apputil.formula.Node;
 
 /** One computational node.
@@ -27,6 +28,12 @@ public class LessThanNode extends AbstractBinaryNode
         return (a < b) ? 1.0 : 0.0;
     }
 
+    @Override
+    public void compile(final FormulaProgram program)
+    {
+        compile(program, FormulaProgram.LESS);
+    }
+
     @SuppressWarnings("nls")
     @Override
     public String toString()
@@ -9,6 +9,7 @@ package org.csstudio.apputil.formula.node;
 
 import java.lang.reflect.Method;
 
+import org.csstudio.apputil.formula.FormulaProgram;
 import org.csstudio.apputil.formula.Node;
 
 /** Node for evaluating any of the java.lang.Math.* functions
@@ -50,8 +51,8 @@ public class MathFuncNode implements Node
         try
         {
             Object result = method.invoke(null, arglist );
-            if (result instanceof Double)
-                return ((Double) result).doubleValue();
+            if (result instanceof Number)
+                return ((Number) result).doubleValue();
         }
         catch (Exception e)
         {
@@ -60,6 +61,20 @@ public class MathFuncNode implements Node
         return 0.0;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void compile(final FormulaProgram program)
+    {
+        if (! FormulaProgram.hasFunction(function, args.length))
+        {
+            program.addNode(this);
+            return;
+        }
+        for (Node arg : args)
+            arg.compile(program);
+        program.addFunction(function);
+    }
+
     /** {@inheritDoc} */
     @Override
     public boolean hasSubnode(final Node node)
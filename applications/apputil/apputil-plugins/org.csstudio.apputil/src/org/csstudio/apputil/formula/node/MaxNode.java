@@ -7,6 +7,7 @@
  ******************************************************************************/
 package org.csstudio.apputil.formula.node;
 
+import org.csstudio.apputil.formula.FormulaProgram;
 import org.csstudio.apputil.formula.Node;
 
 /** One computational node.
@@ -34,6 +35,18 @@ public class MaxNode implements Node
         return result;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void compile(final FormulaProgram program)
+    {
+        args[0].compile(program);
+        for (int i = 1; i < args.length; i++)
+        {
+            args[i].compile(program);
+            program.addOperation(FormulaProgram.MAX);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public boolean hasSubnode(Node node)
@@ -7,6 +7,7 @@
  ******************************************************************************/
 package org.csstudio.apputil.formula.node;
 
+import org.csstudio.apputil.formula.FormulaProgram;
 import org.csstudio.apputil.formula.Node;
 
 /** One computational node.
@@ -26,6 +27,14 @@ public class NotNode extends AbstractUnaryNode
         return (a != 0) ? 0.0 : 1.0;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void compile(final FormulaProgram program)
+    {
+        n.compile(program);
+        program.addOperation(FormulaProgram.NOT);
+    }
+
     @SuppressWarnings("nls")
     @Override
     public String toString()
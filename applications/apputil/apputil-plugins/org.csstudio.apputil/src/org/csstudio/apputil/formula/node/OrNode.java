@@ -7,6 +7,7 @@
  ******************************************************************************/
 package org.csstudio.apputil.formula.node;
 
+import org.csstudio.apputil.formula.FormulaProgram;
 import org.csstudio.apputil.formula.Node;
 
 /** One computational node.
@@ -25,6 +26,18 @@ public class OrNode extends AbstractBinaryNode
         return (left.eval() != 0.0   ||   right.eval() != 0.0) ? 1.0 : 0.0;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void compile(final FormulaProgram program)
+    {
+        // Skip 'right' when 'left' is already non-zero
+        left.compile(program);
+        final int skip = program.addJump(FormulaProgram.JUMP_IF_NONZERO_OR_POP);
+        right.compile(program);
+        program.addOperation(FormulaProgram.BOOL);
+        program.setJumpTarget(skip);
+    }
+
     @SuppressWarnings("nls")
     @Override
     public String toString()
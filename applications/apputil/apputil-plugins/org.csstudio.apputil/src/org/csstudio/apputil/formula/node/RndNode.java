@@ -7,6 +7,7 @@
  ******************************************************************************/
 package org.csstudio.apputil.formula.node;
 
+import org.csstudio.apputil.formula.FormulaProgram;
 import org.csstudio.apputil.formula.Node;
 
 /** One computational node.
@@ -26,6 +27,14 @@ public class RndNode extends AbstractUnaryNode
         return a*Math.random();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void compile(final FormulaProgram program)
+    {
+        n.compile(program);
+        program.addOperation(FormulaProgram.RND);
+    }
+
     @SuppressWarnings("nls")
     @Override
     public String toString()
@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser2.imports;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.csstudio.archive.vtype.VTypeHelper;
+import org.diirt.vtype.VStatistics;
+import org.diirt.vtype.VType;
+import org.junit.Test;
+
+/** JUnit test of the {@link CSVLineParser} and {@link SampleCache}
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class SampleCacheUnitTest
+{
+    private static boolean parse(final CSVLineParser parser, final String line)
+    {
+        final ByteBuffer buf = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+        return parser.parse(buf, 0, buf.limit());
+    }
+
+    @Test
+    public void testParser() throws Exception
+    {
+        final ZoneId zone = ZoneId.of("America/New_York");
+        final CSVLineParser parser = new CSVLineParser(',', '.', zone);
+
+        assertTrue(parse(parser, "   2011-09-13 08:57:44.968    84.912000"));
+        final Instant time = LocalDateTime.of(2011, 9, 13, 8, 57, 44, 968000000).atZone(zone).toInstant();
+        assertThat(parser.getEpochSeconds(), equalTo(time.getEpochSecond()));
+        assertThat(parser.getNanos(), equalTo(968000000));
+        assertThat(parser.getValue(), equalTo(84.912));
+        assertTrue(! parser.isStatistics());
+
+        assertTrue(parse(parser, "2011/09/13 08:57:44.123456789\t-1.5e-3, 0.5, 2500.25 # comment"));
+        assertThat(parser.getNanos(), equalTo(123456789));
+        assertThat(parser.getValue(), equalTo(-1.5e-3));
+        assertTrue(parser.isStatistics());
+        assertThat(parser.getMinimum(), equalTo(-1.5e-3 - 0.5));
+        assertThat(parser.getMaximum(), equalTo(-1.5e-3 + 2500.25));
+
+        // Numbers that need the slow path
+        assertTrue(parse(parser, "2011-09-13 08:57:44.968 1.2345678901234567890123"));
+        assertThat(parser.getValue(), equalTo(1.2345678901234567890123));
+        assertTrue(parse(parser, "2011-09-13 08:57:44.968 1e-300"));
+        assertThat(parser.getValue(), equalTo(1e-300));
+
+        // Empty, comments, unknown content
+        assertTrue(! parse(parser, ""));
+        assertTrue(! parse(parser, "   # 2011-09-13 08:57:44.968 1"));
+        assertTrue(! parse(parser, "<![CDATA["));
+        assertTrue(! parse(parser, "2011-09-13 08:57:44.968 Disconnected"));
+        assertTrue(! parse(parser, "2011-13-13 08:57:44.968 1"));
+
+        // Decimal comma
+        final CSVLineParser german = new CSVLineParser('.', ',', zone);
+        assertTrue(parse(german, "2011-09-13 08:57:44.968 1.234,5"));
+        assertThat(german.getValue(), equalTo(1234.5));
+        assertTrue(parse(german, "2011-09-13 08:57:44.968 1,5, 0,5, 1,25"));
+        assertThat(german.getValue(), equalTo(1.5));
+        assertThat(german.getMinimum(), equalTo(1.0));
+        assertThat(german.getMaximum(), equalTo(2.75));
+    }
+
+    @Test
+    public void testCommaSeparator() throws Exception
+    {
+        final ZoneId zone = ZoneId.of("America/New_York");
+        // Comma is a field separator, not a grouping separator
+        final CSVLineParser parser = new CSVLineParser(',', '.', zone);
+        assertTrue(parse(parser, "2011-09-13 08:57:44.968,1,234"));
+        assertThat(parser.getValue(), equalTo(1.0));
+        assertTrue(! parser.isStatistics());
+
+        assertTrue(parse(parser, "2011-09-13 08:57:44.968,1,234,5"));
+        assertThat(parser.getValue(), equalTo(1.0));
+        assertTrue(parser.isStatistics());
+        assertThat(parser.getMinimum(), equalTo(1.0 - 234));
+        assertThat(parser.getMaximum(), equalTo(1.0 + 5));
+
+        // Other grouping separators are still ignored
+        final CSVLineParser swiss = new CSVLineParser('\'', '.', zone);
+        assertTrue(parse(swiss, "2011-09-13 08:57:44.968,1'234.5"));
+        assertThat(swiss.getValue(), equalTo(1234.5));
+    }
+
+    @Test
+    public void testCache() throws Exception
+    {
+        final int N = 100000;
+        final File file = File.createTempFile("sample_cache_test", ".csv");
+        file.deleteOnExit();
+        final LocalDateTime start = LocalDateTime.of(2015, 1, 1, 0, 0);
+        final DateTimeFormatter format = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+        try
+        (
+            final PrintWriter out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+        )
+        {
+            out.println("# Test data");
+            for (int i=0; i<N; ++i)
+            {
+                final String time = format.format(start.plusNanos(i * 10000000L));
+                if (i % 10 == 0)
+                    out.println(time + " " + i + " 0.5 0.5");
+                else
+                    out.println(time + " " + i);
+            }
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try
+        (
+            final SampleCache mapped = SampleCache.create(file, executor, 64 * 1024);
+            final SampleCache streamed = SampleCache.create(new FileInputStream(file));
+        )
+        {
+            assertThat(mapped.size(), equalTo(N));
+            assertThat(streamed.size(), equalTo(N));
+            assertTrue(mapped.isOrdered());
+            for (int i=0; i<N; ++i)
+            {
+                assertThat(mapped.getValue(i), equalTo((double) i));
+                assertThat(streamed.getEpochSeconds(i), equalTo(mapped.getEpochSeconds(i)));
+                assertThat(streamed.getNanos(i), equalTo(mapped.getNanos(i)));
+                if (i % 10 == 0)
+                    assertThat(mapped.getMaximum(i), equalTo(i + 0.5));
+                else
+                    assertTrue(Double.isNaN(mapped.getMinimum(i)));
+            }
+
+            // Summary via blocks matches the plain sum
+            final int first = 17, end = N - 5 * SampleCache.BLOCK_SAMPLES - 3;
+            final SampleCache.Summary summary = mapped.getSummary(first, end);
+            assertThat(summary.getCount(), equalTo(end - first));
+            assertThat(summary.getMinimum(), equalTo((double) first));
+            assertThat(summary.getMaximum(), equalTo(end - 1.0));
+            assertThat(summary.getAverage(), equalTo((first + end - 1) / 2.0));
+
+            // Locate samples by time
+            assertThat(mapped.findSampleLessOrEqual(mapped.getEpochSeconds(0) - 1, 0), equalTo(-1));
+            assertThat(mapped.findSampleLessOrEqual(mapped.getEpochSeconds(42), mapped.getNanos(42)), equalTo(42));
+            assertThat(mapped.findSampleLessOrEqual(mapped.getEpochSeconds(42), mapped.getNanos(42) + 1), equalTo(42));
+            assertThat(mapped.findSampleLessOrEqual(Long.MAX_VALUE, 0), equalTo(N-1));
+
+            // Binned samples begin with the sample before the start time
+            final Instant bin_start = Instant.ofEpochSecond(mapped.getEpochSeconds(1000), mapped.getNanos(1000) + 1);
+            final Instant bin_end = Instant.ofEpochSecond(mapped.getEpochSeconds(2000), mapped.getNanos(2000));
+            final BinnedValueIterator bins = new BinnedValueIterator(mapped, bin_start, bin_end, 10);
+            assertTrue(bins.hasNext());
+            VType value = bins.next();
+            assertThat(VTypeHelper.getTimestamp(value), equalTo(Instant.ofEpochSecond(mapped.getEpochSeconds(1000), mapped.getNanos(1000))));
+            assertThat(VTypeHelper.toDouble(value), equalTo(1000.0));
+            // .. followed by the bins, covering samples 1001 .. 2000
+            int count = 0;
+            while (bins.hasNext())
+            {
+                value = bins.next();
+                assertTrue(VTypeHelper.getTimestamp(value).isAfter(bin_start));
+                count += ((VStatistics) value).getNSamples();
+            }
+            assertThat(count, equalTo(1000));
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+}
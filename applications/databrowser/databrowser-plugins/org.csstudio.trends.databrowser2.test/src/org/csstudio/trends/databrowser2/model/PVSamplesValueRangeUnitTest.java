@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser2.model;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.csstudio.swt.rtplot.data.ValueRange;
+import org.diirt.util.time.Timestamp;
+import org.diirt.vtype.VType;
+import org.diirt.vtype.ValueFactory;
+import org.junit.Test;
+
+/** JUnit test for the value range summary of PVSamples
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class PVSamplesValueRangeUnitTest
+{
+    final private Random random = new Random(42);
+
+    private VType makeValue(final int time)
+    {
+        return ValueFactory.newVDouble(random.nextGaussian(), ValueFactory.newTime(Timestamp.of(time, 0)));
+    }
+
+    /** Compare value range summary with a scan of all samples */
+    private void checkRanges(final PVSamples samples)
+    {
+        final int n = samples.size();
+        for (int start=0; start<n; ++start)
+            for (int end=start; end<n; ++end)
+            {
+                double low = Double.MAX_VALUE, high = -Double.MAX_VALUE;
+                for (int i=start; i<=end; ++i)
+                {
+                    final double value = samples.get(i).getValue();
+                    low = Math.min(low, value);
+                    high = Math.max(high, value);
+                }
+                assertThat("Range " + start + " .. " + end,
+                           samples.getValueRange(start, end), equalTo(new ValueRange(low, high)));
+            }
+    }
+
+    @Test
+    public void testValueRange() throws Exception
+    {
+        final PVSamples samples = new PVSamples(new AtomicInteger(0));
+        samples.setLiveCapacity(20);
+
+        // History 0..59
+        final List<VType> history = new ArrayList<>();
+        for (int i=0; i<60; ++i)
+            history.add(makeValue(i));
+        samples.mergeArchivedData("Test", history);
+        checkRanges(samples);
+
+        // Live data that does not fill the ring buffer
+        for (int i=60; i<70; ++i)
+            samples.addLiveSample(makeValue(i));
+        checkRanges(samples);
+
+        // Ring buffer wraps around, revealing more history
+        for (int i=70; i<95; ++i)
+        {
+            samples.addLiveSample(makeValue(i));
+            checkRanges(samples);
+        }
+
+        // New history is merged
+        history.clear();
+        for (int i=0; i<80; ++i)
+            history.add(makeValue(i));
+        samples.mergeArchivedData("Test", history);
+        checkRanges(samples);
+
+        // Smaller ring buffer keeps the newest samples
+        samples.setLiveCapacity(12);
+        checkRanges(samples);
+        for (int i=95; i<110; ++i)
+        {
+            samples.addLiveSample(makeValue(i));
+            checkRanges(samples);
+        }
+    }
+}
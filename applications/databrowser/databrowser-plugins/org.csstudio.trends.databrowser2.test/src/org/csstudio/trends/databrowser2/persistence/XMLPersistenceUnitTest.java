@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser2.persistence;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.csstudio.trends.databrowser2.model.AnnotationInfo;
+import org.csstudio.trends.databrowser2.model.FormulaInput;
+import org.csstudio.trends.databrowser2.model.FormulaItem;
+import org.csstudio.trends.databrowser2.model.Model;
+import org.eclipse.swt.graphics.Point;
+import org.junit.Test;
+
+/** JUnit test of {@link XMLPersistence}
+ *
+ *  <p>Compares the incremental parser with loading the complete document.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class XMLPersistenceUnitTest
+{
+    /** @param model Model
+     *  @return XML for the model
+     */
+    private static String write(final Model model)
+    {
+        final ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        new XMLPersistence().write(model, buf);
+        return new String(buf.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /** @param xml XML
+     *  @return Model loaded with the incremental parser
+     */
+    private static Model loadStream(final byte[] xml) throws Exception
+    {
+        final Model model = new Model();
+        new XMLPersistence().load(model, new ByteArrayInputStream(xml));
+        return model;
+    }
+
+    /** @param xml XML
+     *  @return Model loaded from complete document
+     */
+    private static Model loadDocument(final byte[] xml) throws Exception
+    {
+        final Model model = new Model();
+        new XMLPersistence().load(model,
+            DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new ByteArrayInputStream(xml)));
+        return model;
+    }
+
+    private byte[] readResource(final String name) throws Exception
+    {
+        final InputStream input = getClass().getResourceAsStream(name);
+        final ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        final byte[] data = new byte[4096];
+        int len;
+        while ((len = input.read(data)) > 0)
+            buf.write(data, 0, len);
+        input.close();
+        return buf.toByteArray();
+    }
+
+    @Test
+    public void testExampleFile() throws Exception
+    {
+        // Example from the BOY examples
+        final byte[] xml = readResource("strip.plt");
+        final Model model = loadStream(xml);
+        assertThat(model.getAxisCount(), equalTo(2));
+        assertThat(model.getItem("$(user):heat_V").getAxis().getName(), equalTo("Voltage"));
+
+        final String streamed = write(model);
+        final String document = write(loadDocument(xml));
+        assertThat(streamed, equalTo(document));
+
+        // Saved file loads into the same model
+        assertThat(write(loadStream(streamed.getBytes(StandardCharsets.UTF_8))), equalTo(streamed));
+    }
+
+    @Test
+    public void testFormulaAndAnnotations() throws Exception
+    {
+        final Model model = loadStream(readResource("strip.plt"));
+        model.addItem(new FormulaItem("diff", "tank-setpoint",
+            new FormulaInput[]
+            {
+                new FormulaInput(model.getItem("$(user):tank"), "tank"),
+                new FormulaInput(model.getItem("$(user):setpoint"), "setpoint")
+            }));
+        model.setAnnotations(Arrays.asList(
+            new AnnotationInfo(0, Instant.ofEpochSecond(1500000000), 42.0, new Point(10, 20), "Tank & <setpoint>")));
+        final byte[] xml = write(model).getBytes(StandardCharsets.UTF_8);
+
+        final String streamed = write(loadStream(xml));
+        final String document = write(loadDocument(xml));
+        assertThat(streamed, equalTo(document));
+        assertThat(streamed, equalTo(new String(xml, StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser2.imports;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.csstudio.archive.reader.ValueIterator;
+import org.csstudio.archive.vtype.ArchiveVStatistics;
+import org.diirt.vtype.AlarmSeverity;
+import org.diirt.vtype.Display;
+import org.diirt.vtype.VType;
+import org.diirt.vtype.ValueFactory;
+
+/** {@link ValueIterator} for optimized, binned samples of a {@link SampleCache}
+ *
+ *  <p>Divides a time range into bins and returns
+ *  the min/max/average of the samples in each bin,
+ *  time-stamped in the center of the bin.
+ *  Bins with a single sample return that sample as is,
+ *  empty bins are skipped.
+ *  Like the raw samples of an archive, the iterator starts with
+ *  the last sample at or before the start time, if there is one,
+ *  so that its value can be extended into the first bin.
+ *
+ *  <p>Requires time-ordered samples.
+ *
+ *  @author agent
+ */
+public class BinnedValueIterator implements ValueIterator
+{
+    final private static Display meta_data = ValueFactory.displayNone();
+
+    final private SampleCache cache;
+    final private Instant start;
+    final private Duration bin_size;
+    final private int bins;
+    final private int end;
+
+    /** Next bin to check */
+    private int bin = 0;
+
+    /** Index of first sample in current bin */
+    private int index;
+
+    /** Next value to return, <code>null</code> when done */
+    private VType next;
+
+    /** @param cache {@link SampleCache} with time-ordered samples
+     *  @param start Start time of first bin
+     *  @param end End time of last bin
+     *  @param bins Number of bins
+     */
+    public BinnedValueIterator(final SampleCache cache, final Instant start, final Instant end, final int bins)
+    {
+        this.cache = cache;
+        this.start = start;
+        this.bins = Math.max(1, bins);
+        bin_size = Duration.between(start, end).dividedBy(this.bins);
+        final int before = cache.findSampleLessOrEqual(start.getEpochSecond(), start.getNano());
+        index = before + 1;
+        this.end = cache.findSampleLessOrEqual(end.getEpochSecond(), end.getNano()) + 1;
+        // Begin with the sample that's valid at the start time
+        if (before >= 0)
+            next = CachedValueIterator.getSample(cache, before);
+        else
+            next = determineNext();
+    }
+
+    private VType determineNext()
+    {
+        while (bin < bins  &&  index < end)
+        {
+            final Instant bin_end = start.plus(bin_size.multipliedBy(bin+1));
+            // Samples up to bin_end, last bin extends to the end of the range
+            final int bin_stop = (bin == bins-1)
+                ? end
+                : Math.min(end, cache.findSampleLessOrEqual(bin_end.getEpochSecond(), bin_end.getNano()) + 1);
+            final int first = index;
+            index = Math.max(index, bin_stop);
+            ++bin;
+            final int count = index - first;
+            if (count <= 0)
+                continue;
+            if (count == 1)
+                return CachedValueIterator.getSample(cache, first);
+            final SampleCache.Summary summary = cache.getSummary(first, index);
+            final Instant bin_time = bin_end.minus(bin_size.dividedBy(2));
+            return new ArchiveVStatistics(bin_time, AlarmSeverity.NONE, "", meta_data, //$NON-NLS-1$
+                                          summary.getAverage(), summary.getMinimum(), summary.getMaximum(),
+                                          summary.getStdDev(), summary.getCount());
+        }
+        return null;
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        return next != null;
+    }
+
+    @Override
+    public VType next() throws Exception
+    {
+        final VType result = next;
+        next = determineNext();
+        return result;
+    }
+
+    @Override
+    public void close()
+    {
+        // NOP
+    }
+}
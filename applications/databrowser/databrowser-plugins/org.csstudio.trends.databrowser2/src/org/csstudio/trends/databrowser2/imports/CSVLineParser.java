@@ -0,0 +1,399 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser2.imports;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormatSymbols;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/** Parser for one line of time and value(s)
+ *
+ *  <p>Handles lines of the form
+ *  <pre>
+ *    YYYY-MM-DD HH:MM:SS.SSS   value  ignore
+ *    YYYY/MM/DD HH:MM:SS.SSSSSSSSS   value    negativeError    positiveError    ignore
+ *  </pre>
+ *  with space, tab or comma separating the fields.
+ *
+ *  <p>A comma is a field separator unless it is the decimal separator.
+ *  It is never treated as a grouping separator, so "1,234"
+ *  is read as the value 1 followed by another field.
+ *
+ *  <p>Parses the bytes of the line without regular expressions
+ *  and, for the common case, without creating strings.
+ *  Numbers are parsed in place unless they have too many digits
+ *  or an exponent that would make that inexact.
+ *
+ *  <p>Not thread-safe. Each thread needs its own parser.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class CSVLineParser
+{
+    /** Powers of 10 that are exactly represented as double */
+    final private static double[] POW10 =
+    {
+        1e0,  1e1,  1e2,  1e3,  1e4,  1e5,  1e6,  1e7,  1e8,  1e9,  1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /** Largest mantissa that is exactly represented as double */
+    final private static long MAX_EXACT_MANTISSA = 1L << 53;
+
+    /** Grouping separator, 0 if none */
+    final private char grouping_separator;
+    final private char decimal_separator;
+    final private ZoneId zone;
+
+    /** Local date and hour for which 'hour_epoch_seconds' was computed */
+    private long hour_key = -1;
+    private long hour_epoch_seconds;
+
+    // Result of last successful parse()
+    private long epoch_seconds;
+    private int nanos;
+    private double value, minimum, maximum;
+    private boolean statistics;
+
+    /** Start and end of value, negative and positive error */
+    final private int[] token = new int[6];
+
+    /** Initialize for default locale and time zone */
+    public CSVLineParser()
+    {
+        this(DecimalFormatSymbols.getInstance().getGroupingSeparator(),
+             DecimalFormatSymbols.getInstance().getDecimalSeparator(),
+             ZoneId.systemDefault());
+    }
+
+    /** @param grouping_separator Grouping separator that is ignored within numbers.
+     *                            A ',' is used as field separator, not for grouping.
+     *  @param decimal_separator Decimal separator, used in addition to '.'
+     *  @param zone Time zone of the time stamps
+     */
+    public CSVLineParser(final char grouping_separator, final char decimal_separator, final ZoneId zone)
+    {
+        this.grouping_separator = grouping_separator == ',' ? 0 : grouping_separator;
+        this.decimal_separator = decimal_separator;
+        this.zone = zone;
+    }
+
+    /** Parse line
+     *  @param buf Buffer with line, accessed via absolute 'get'
+     *  @param start Index of first byte of line
+     *  @param end Index after last byte of line
+     *  @return <code>true</code> if the line contained a sample,
+     *          <code>false</code> for empty lines, comments or unknown content
+     */
+    public boolean parse(final ByteBuffer buf, final int start, final int end)
+    {
+        int pos = skipWhitespace(buf, start, end);
+        // Skip empty lines, comments
+        if (pos >= end  ||  buf.get(pos) == '#')
+            return false;
+
+        // YYYY-MM-DD HH:MM:SS.fraction, date may use '-' or '/'
+        if (pos + 20 > end)
+            return false;
+        final int year = digits(buf, pos, 4);
+        final int month = digits(buf, pos+5, 2);
+        final int day = digits(buf, pos+8, 2);
+        final int hour = digits(buf, pos+11, 2);
+        final int minute = digits(buf, pos+14, 2);
+        final int second = digits(buf, pos+17, 2);
+        if (year < 0  ||  month < 0  ||  day < 0  ||  hour < 0  ||  minute < 0  ||  second < 0  ||
+            ! isDateSeparator(buf.get(pos+4))  ||  ! isDateSeparator(buf.get(pos+7))  ||
+            buf.get(pos+10) != ' '  ||  buf.get(pos+13) != ':'  ||  buf.get(pos+16) != ':'  ||
+            buf.get(pos+19) != '.')
+            return false;
+        pos += 20;
+        // Fraction of seconds, using up to nanoseconds
+        int frac = 0, frac_digits = 0;
+        while (pos < end)
+        {
+            final int digit = buf.get(pos) - '0';
+            if (digit < 0  ||  digit > 9)
+                break;
+            if (frac_digits < 9)
+            {
+                frac = frac * 10 + digit;
+                ++frac_digits;
+            }
+            ++pos;
+        }
+        while (frac_digits < 9)
+        {
+            frac *= 10;
+            ++frac_digits;
+        }
+
+        // Value, optionally negative and positive error
+        int tokens = 0;
+        while (tokens < 3)
+        {
+            final int sep = skipSeparators(buf, pos, end);
+            if (sep == pos  ||  sep >= end)
+                break;
+            final int token_end = skipNumberChars(buf, sep, end);
+            if (token_end == sep)
+                break;
+            token[2*tokens] = sep;
+            token[2*tokens+1] = token_end;
+            ++tokens;
+            pos = token_end;
+        }
+        if (tokens < 1)
+            return false;
+
+        try
+        {
+            final long epoch_hour = getHourEpochSeconds(year, month, day, hour);
+            value = parseNumber(buf, token[0], token[1]);
+            if (tokens == 3)
+            {
+                minimum = value - parseNumber(buf, token[2], token[3]);
+                maximum = value + parseNumber(buf, token[4], token[5]);
+                statistics = true;
+            }
+            else
+            {
+                minimum = maximum = value;
+                statistics = false;
+            }
+            epoch_seconds = epoch_hour + minute * 60 + second;
+            nanos = frac;
+        }
+        catch (Exception ex)
+        {
+            // Invalid date or number
+            return false;
+        }
+        return true;
+    }
+
+    /** @return Seconds since epoch of last parsed sample */
+    public long getEpochSeconds()
+    {
+        return epoch_seconds;
+    }
+
+    /** @return Nanoseconds of last parsed sample */
+    public int getNanos()
+    {
+        return nanos;
+    }
+
+    /** @return Value of last parsed sample */
+    public double getValue()
+    {
+        return value;
+    }
+
+    /** @return <code>true</code> if last parsed sample included negative and positive error */
+    public boolean isStatistics()
+    {
+        return statistics;
+    }
+
+    /** @return Minimum, i.e. value minus negative error, of last parsed statistics sample */
+    public double getMinimum()
+    {
+        return minimum;
+    }
+
+    /** @return Maximum, i.e. value plus positive error, of last parsed statistics sample */
+    public double getMaximum()
+    {
+        return maximum;
+    }
+
+    /** @param year
+     *  @param month
+     *  @param day
+     *  @param hour
+     *  @return Seconds since epoch for start of local hour
+     *  @throws Exception for invalid date
+     */
+    private long getHourEpochSeconds(final int year, final int month, final int day, final int hour) throws Exception
+    {
+        // Time zone rules are only consulted when the hour changes
+        final long key = ((year * 100L + month) * 100L + day) * 100L + hour;
+        if (key != hour_key)
+        {
+            hour_epoch_seconds = LocalDateTime.of(year, month, day, hour, 0).atZone(zone).toEpochSecond();
+            hour_key = key;
+        }
+        return hour_epoch_seconds;
+    }
+
+    /** Parse number, ignoring grouping separators
+     *  @param buf Buffer
+     *  @param start Start of number
+     *  @param end End of number
+     *  @return Number
+     *  @throws NumberFormatException on error
+     */
+    private double parseNumber(final ByteBuffer buf, final int start, final int end) throws NumberFormatException
+    {
+        int pos = start;
+        boolean negative = false;
+        if (buf.get(pos) == '-'  ||  buf.get(pos) == '+')
+            negative = buf.get(pos++) == '-';
+        long mantissa = 0;
+        int exponent = 0, digits = 0;
+        boolean have_digits = false, have_point = false;
+        for (/**/; pos < end; ++pos)
+        {
+            final char c = (char) buf.get(pos);
+            if (c >= '0'  &&  c <= '9')
+            {
+                have_digits = true;
+                if (mantissa == 0  &&  c == '0')
+                {   // Leading zeros don't count towards the exact digits
+                    if (have_point)
+                        --exponent;
+                    continue;
+                }
+                if (++digits > 18)
+                    return parseNumberSlowly(buf, start, end);
+                mantissa = mantissa * 10 + (c - '0');
+                if (have_point)
+                    --exponent;
+            }
+            else if (c == grouping_separator)
+                continue;
+            else if ((c == decimal_separator  ||  c == '.')  &&  ! have_point)
+                have_point = true;
+            else if (c == 'e'  ||  c == 'E')
+            {
+                // Remaining text must be the exponent
+                int exp_pos = pos + 1;
+                boolean exp_negative = false;
+                if (exp_pos < end  &&  (buf.get(exp_pos) == '-'  ||  buf.get(exp_pos) == '+'))
+                    exp_negative = buf.get(exp_pos++) == '-';
+                if (exp_pos >= end  ||  end - exp_pos > 4)
+                    return parseNumberSlowly(buf, start, end);
+                int exp = 0;
+                for (/**/; exp_pos < end; ++exp_pos)
+                {
+                    final int digit = buf.get(exp_pos) - '0';
+                    if (digit < 0  ||  digit > 9)
+                        return parseNumberSlowly(buf, start, end);
+                    exp = exp * 10 + digit;
+                }
+                exponent += exp_negative ? -exp : exp;
+                break;
+            }
+            else
+                return parseNumberSlowly(buf, start, end);
+        }
+        if (! have_digits)
+            throw new NumberFormatException("Missing digits");
+
+        double result;
+        if (mantissa == 0)
+            result = 0.0;
+        else if (mantissa < MAX_EXACT_MANTISSA  &&  exponent >= 0  &&  exponent < POW10.length)
+            result = mantissa * POW10[exponent];
+        else if (mantissa < MAX_EXACT_MANTISSA  &&  exponent < 0  &&  -exponent < POW10.length)
+            result = mantissa / POW10[-exponent];
+        else
+            return parseNumberSlowly(buf, start, end);
+        return negative ? -result : result;
+    }
+
+    /** Parse number via {@link Double#parseDouble(String)}
+     *
+     *  <p>Double.parseDouble only parses numbers in format #.#... or #.#...#E0,
+     *  so grouping separators are removed and the decimal separator replaced by '.'
+     *
+     *  @param buf Buffer
+     *  @param start Start of number
+     *  @param end End of number
+     *  @return Number
+     *  @throws NumberFormatException on error
+     */
+    private double parseNumberSlowly(final ByteBuffer buf, final int start, final int end) throws NumberFormatException
+    {
+        final byte[] bytes = new byte[end - start];
+        for (int i=0; i<bytes.length; ++i)
+            bytes[i] = buf.get(start + i);
+        final StringBuilder text = new StringBuilder(bytes.length);
+        for (char c : new String(bytes, StandardCharsets.ISO_8859_1).toCharArray())
+        {
+            if (c == grouping_separator)
+                continue;
+            text.append(c == decimal_separator ? '.' : c);
+        }
+        return Double.parseDouble(text.toString());
+    }
+
+    /** @return Value of 'count' digits at 'pos', or -1 if not all digits */
+    private static int digits(final ByteBuffer buf, int pos, final int count)
+    {
+        int result = 0;
+        for (int i=0; i<count; ++i)
+        {
+            final int digit = buf.get(pos++) - '0';
+            if (digit < 0  ||  digit > 9)
+                return -1;
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+
+    private static boolean isDateSeparator(final byte b)
+    {
+        return b == '-'  ||  b == '/';
+    }
+
+    private static int skipWhitespace(final ByteBuffer buf, int pos, final int end)
+    {
+        while (pos < end  &&  Character.isWhitespace(buf.get(pos)))
+            ++pos;
+        return pos;
+    }
+
+    private static int skipSeparators(final ByteBuffer buf, int pos, final int end)
+    {
+        while (pos < end)
+        {
+            final byte b = buf.get(pos);
+            if (b != ' '  &&  b != '\t'  &&  b != ',')
+                break;
+            ++pos;
+        }
+        return pos;
+    }
+
+    /** @return Position after characters [-+0-9.eE] and the grouping separator,
+     *          including ',' only if that is the decimal separator,
+     *          and not including a trailing ','
+     */
+    private int skipNumberChars(final ByteBuffer buf, final int start, final int end)
+    {
+        final boolean decimal_comma = decimal_separator == ',';
+        int pos = start;
+        while (pos < end)
+        {
+            final byte b = buf.get(pos);
+            if (! ((b >= '0'  &&  b <= '9')  ||  b == '-'  ||  b == '+'  ||
+                   b == '.'  ||  (b == ','  &&  decimal_comma)  ||  b == 'e'  ||  b == 'E'  ||
+                   (grouping_separator != 0  &&  b == grouping_separator)))
+                break;
+            ++pos;
+        }
+        // Trailing comma is a separator, not part of the number
+        while (pos > start  &&  buf.get(pos-1) == ',')
+            --pos;
+        return pos;
+    }
+}
@@ -7,30 +7,29 @@
  ******************************************************************************/
 package org.csstudio.trends.databrowser2.imports;
 
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.text.DateFormat;
-import java.text.DecimalFormatSymbols;
-import java.text.SimpleDateFormat;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.csstudio.archive.vtype.ArchiveVNumber;
 import org.csstudio.archive.vtype.ArchiveVStatistics;
-import org.csstudio.archive.vtype.TimestampHelper;
 import org.diirt.vtype.AlarmSeverity;
 import org.diirt.vtype.Display;
 import org.diirt.vtype.VType;
 import org.diirt.vtype.ValueFactory;
 
 /** {@link SampleImporter} for Command (space, tab) separated value file of time, value
+ *
+ *  <p>Lines are parsed by the {@link CSVLineParser}.
+ *  For large files, the {@link ImportArchiveReader} uses a {@link SampleCache}
+ *  instead of calling this importer.
+ *
  *  @author Kay Kasemir
  */
 @SuppressWarnings("nls")
@@ -43,96 +42,55 @@ public class CSVSampleImporter implements SampleImporter
     @Override
     public List<VType> importValues(final InputStream input) throws Exception
     {
-        // To be reentrant, need per-call parsers
-        final DateFormat date_parser = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
-        final Pattern pattern = Pattern.compile(
-                //    YYYY-MM-DD HH:MM:SS.SSS   value  ignore
-                // or
-                //    YYYY/MM/DD HH:MM:SS.SSSSSSSSS   value  ignore
-                "\\s*([0-9][0-9][0-9][0-9][-/][0-9][0-9][-/][0-9][0-9] [0-9][0-9]:[0-9][0-9]:[0-9][0-9]\\.[0-9]*)[ \\t,]+([-+0-9.,eE]+)\\s*.*");
-
-        final Pattern statisticsPattern = Pattern.compile(
-                //    YYYY-MM-DD HH:MM:SS.SSS   value    negativeError    positiveError    ignore
-                // or
-                //    YYYY/MM/DD HH:MM:SS.SSSSSSSSS   value    negativeError    positiveError    ignore
-                "\\s*([0-9][0-9][0-9][0-9][-/][0-9][0-9][-/][0-9][0-9] [0-9][0-9]:[0-9][0-9]:[0-9][0-9]\\.[0-9]*)[ \\t,]+([-+0-9.,eE]+)[ \\t,]+([-+0-9.,eE]+)[ \\t,]+([-+0-9.,eE]+)\\s*.*");
-
-
+        // To be reentrant, need per-call parser
+        final CSVLineParser parser = new CSVLineParser();
         final List<VType> values = new ArrayList<VType>();
 
-        final BufferedReader reader =
-                new BufferedReader(new InputStreamReader(input));
-        String line;
-        char groupingSeparator = DecimalFormatSymbols.getInstance().getGroupingSeparator();
-        char decimalSeparator = DecimalFormatSymbols.getInstance().getDecimalSeparator();
-        boolean statistics = true;
-        while ((line = reader.readLine()) != null)
+        try
+        (
+            final InputStream in = new BufferedInputStream(input);
+        )
         {
-            line = line.trim();
-            // Skip empty lines, comments
-            if (line.length() <= 0  ||  line.startsWith("#"))
-                continue;
-            statistics = true;
-            // Locate time and value
-            // Is statistical data?
-            Matcher matcher = statisticsPattern.matcher(line);
-            if (! matcher.matches())
+            ByteBuffer line = ByteBuffer.allocate(1024);
+            int c;
+            do
             {
-                // Not statistical data, try normal
-                matcher = pattern.matcher(line);
-                if (! matcher.matches())
+                c = in.read();
+                if (c >= 0  &&  c != '\n')
                 {
-                    logger.log(Level.INFO, "Ignored input: {0}", line);
+                    if (! line.hasRemaining())
+                    {
+                        final ByteBuffer larger = ByteBuffer.allocate(line.capacity() * 2);
+                        line.flip();
+                        larger.put(line);
+                        line = larger;
+                    }
+                    line.put((byte) c);
                     continue;
                 }
-                statistics = false;
-            }
-
-
-            // Parse
-            // Date may use '-' or '/' as separator. Force '-'
-            String date_text = matcher.group(1).replace('/', '-');
-            // Can only parse up to millisecs, so limit length
-            if (date_text.length() > 23)
-                date_text = date_text.substring(0, 23);
-            final Date date = date_parser.parse(date_text);
-            //Double.parseDouble only parses numbers in format #.#... or #.#...#E0, meaning
-            //that you cannot have any grouping separators, and the decimal separator must be '.'
-            //First remove all grouping separators, then replace the decimal separator with a '.'
-            final double number = Double.parseDouble(
-                    remove(matcher.group(2),groupingSeparator).replace(decimalSeparator, '.'));
-            final Instant time = TimestampHelper.fromMillisecs(date.getTime());
-            if (statistics) {
-                final double min = Double.parseDouble(
-                        remove(matcher.group(3),groupingSeparator).replace(decimalSeparator, '.'));
-                final double max = Double.parseDouble(
-                        remove(matcher.group(4),groupingSeparator).replace(decimalSeparator, '.'));
-                values.add(new ArchiveVStatistics(time, AlarmSeverity.NONE, "", meta_data, number, number-min, number+max, 0, 1));
-            } else {
-                values.add(new ArchiveVNumber(time, AlarmSeverity.NONE, "", meta_data, number));
+                // Complete line, or last line at end of input
+                final int length = line.position();
+                if (parser.parse(line, 0, length))
+                {
+                    final Instant time = Instant.ofEpochSecond(parser.getEpochSeconds(), parser.getNanos());
+                    if (parser.isStatistics())
+                        values.add(new ArchiveVStatistics(time, AlarmSeverity.NONE, "", meta_data,
+                                                          parser.getValue(), parser.getMinimum(), parser.getMaximum(), 0, 1));
+                    else
+                        values.add(new ArchiveVNumber(time, AlarmSeverity.NONE, "", meta_data, parser.getValue()));
+                }
+                else
+                {
+                    final String text = new String(line.array(), 0, length, StandardCharsets.UTF_8).trim();
+                    // Skip empty lines, comments
+                    if (text.length() > 0  &&  ! text.startsWith("#"))
+                        logger.log(Level.INFO, "Ignored input: {0}", text);
+                }
+                line.clear();
             }
+            while (c >= 0);
         }
-        reader.close();
 
         return values;
     }
-
-    /**
-     * Remove all occurrences of the character from the string.
-     *
-     * @param source the string to remove the characters from
-     * @param charToRemove the character to remove
-     * @return the string without any occurrence of the given character
-     */
-    private static String remove(String source, char charToRemove) {
-        if (source.indexOf(charToRemove) < 0) return source;
-        char[] chars = source.toCharArray();
-        int pos = 0;
-        for (int j = 0; j < chars.length; j++) {
-            if (chars[j] != charToRemove) {
-                chars[pos++] = chars[j];
-            }
-        }
-        return new String(chars,0,pos);
-    }
 }
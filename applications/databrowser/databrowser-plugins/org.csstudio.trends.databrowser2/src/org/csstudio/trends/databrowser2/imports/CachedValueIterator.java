@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser2.imports;
+
+import java.time.Instant;
+
+import org.csstudio.archive.reader.ValueIterator;
+import org.csstudio.archive.vtype.ArchiveVNumber;
+import org.csstudio.archive.vtype.ArchiveVStatistics;
+import org.diirt.vtype.AlarmSeverity;
+import org.diirt.vtype.Display;
+import org.diirt.vtype.VType;
+import org.diirt.vtype.ValueFactory;
+
+/** {@link ValueIterator} for range of samples in {@link SampleCache}
+ *  @author agent
+ */
+public class CachedValueIterator implements ValueIterator
+{
+    final private static Display meta_data = ValueFactory.displayNone();
+
+    final private SampleCache cache;
+    final private int end;
+    private int index;
+
+    /** @param cache {@link SampleCache}
+     *  @param start Index of first sample
+     *  @param end Index after last sample
+     */
+    public CachedValueIterator(final SampleCache cache, final int start, final int end)
+    {
+        this.cache = cache;
+        this.index = start;
+        this.end = end;
+    }
+
+    /** @param cache {@link SampleCache}
+     *  @param index Sample index
+     *  @return {@link VType} for that sample
+     */
+    static VType getSample(final SampleCache cache, final int index)
+    {
+        final Instant time = Instant.ofEpochSecond(cache.getEpochSeconds(index), cache.getNanos(index));
+        final double value = cache.getValue(index);
+        final double min = cache.getMinimum(index);
+        if (Double.isNaN(min))
+            return new ArchiveVNumber(time, AlarmSeverity.NONE, "", meta_data, value); //$NON-NLS-1$
+        return new ArchiveVStatistics(time, AlarmSeverity.NONE, "", meta_data, value, min, cache.getMaximum(index), 0, 1); //$NON-NLS-1$
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        return index < end;
+    }
+
+    @Override
+    public VType next() throws Exception
+    {
+        return getSample(cache, index++);
+    }
+
+    @Override
+    public void close()
+    {
+        // NOP
+    }
+}
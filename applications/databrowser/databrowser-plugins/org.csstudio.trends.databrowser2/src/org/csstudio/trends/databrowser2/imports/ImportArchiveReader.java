@@ -7,6 +7,7 @@
  ******************************************************************************/
 package org.csstudio.trends.databrowser2.imports;
 
+import java.io.File;
 import java.time.Instant;
 import java.util.List;
 
@@ -14,6 +15,7 @@ import org.csstudio.archive.reader.ArchiveInfo;
 import org.csstudio.archive.reader.ArchiveReader;
 import org.csstudio.archive.reader.UnknownChannelException;
 import org.csstudio.archive.reader.ValueIterator;
+import org.csstudio.trends.databrowser2.Activator;
 import org.csstudio.utility.singlesource.ResourceHelper;
 import org.csstudio.utility.singlesource.SingleSourcePlugin;
 import org.eclipse.core.runtime.IPath;
@@ -22,6 +24,12 @@ import org.diirt.vtype.VType;
 /** Archive reader that imports data from a file
  *
  *  <p>Performs the import once, reading the complete file.
+ *
+ *  <p>Data handled by the {@link CSVSampleImporter} is parsed into
+ *  a {@link SampleCache} on disk, which allows serving
+ *  optimized requests without keeping all samples in memory.
+ *  Other importers provide a list of values.
+ *
  *  @author Kay Kasemir
  */
 @SuppressWarnings("nls")
@@ -31,6 +39,7 @@ public class ImportArchiveReader implements ArchiveReader
     final private String path;
     final private SampleImporterInfo importer;
     private List<VType> values = null;
+    private SampleCache cache = null;
 
     public ImportArchiveReader(final String url, final String path, final SampleImporterInfo importer)
     {
@@ -82,27 +91,60 @@ public class ImportArchiveReader implements ArchiveReader
         return getNamesByPattern(0, null);
     }
 
-    @Override
-    public ValueIterator getRawValues(final int key, final String name, final Instant start,
-            final Instant end) throws UnknownChannelException, Exception
+    /** Import data, once. Caller must synchronize.
+     *  @throws Exception on error
+     */
+    private void importData() throws Exception
     {
-        if (values == null)
+        if (values != null  ||  cache != null)
+            return;
+        // Locate file
+        final ResourceHelper resources = SingleSourcePlugin.getResourceHelper();
+        final IPath ipath = resources.newPath(path);
+        // Import data
+        if (importer.getImporter() instanceof CSVSampleImporter)
         {
-            // Locate file
-            final ResourceHelper resources = SingleSourcePlugin.getResourceHelper();
-            final IPath ipath = resources.newPath(path);
-            // Import data
-            values = importer.importValues(resources.getInputStream(ipath));
+            // Local file can be memory-mapped, otherwise read stream
+            final File file = ipath.toFile();
+            if (file != null  &&  file.isFile())
+                cache = SampleCache.create(file, Activator.getThreadPool());
+            else
+                cache = SampleCache.create(resources.getInputStream(ipath));
         }
-        return new ArrayValueIterator(values);
+        else
+            values = importer.importValues(resources.getInputStream(ipath));
     }
 
     @Override
-    public ValueIterator getOptimizedValues(int key, String name, Instant start,
+    public synchronized ValueIterator getRawValues(final int key, final String name, final Instant start,
+            final Instant end) throws UnknownChannelException, Exception
+    {
+        importData();
+        if (cache == null)
+            return new ArrayValueIterator(values);
+        if (! cache.isOrdered())
+            return new CachedValueIterator(cache, 0, cache.size());
+        // Samples within range, including the one before start
+        final int first = Math.max(0, cache.findSampleLessOrEqual(start.getEpochSecond(), start.getNano()));
+        final int last = cache.findSampleLessOrEqual(end.getEpochSecond(), end.getNano());
+        return new CachedValueIterator(cache, first, last + 1);
+    }
+
+    @Override
+    public synchronized ValueIterator getOptimizedValues(int key, String name, Instant start,
             Instant end, int count) throws UnknownChannelException, Exception
     {
-        // No optimization. Fall back to raw data.
-        return getRawValues(key, name, start, end);
+        importData();
+        if (cache == null  ||  ! cache.isOrdered())
+        {
+            // No optimization. Fall back to raw data.
+            return getRawValues(key, name, start, end);
+        }
+        final int first = cache.findSampleLessOrEqual(start.getEpochSecond(), start.getNano());
+        final int last = cache.findSampleLessOrEqual(end.getEpochSecond(), end.getNano());
+        if (last - first <= count)
+            return getRawValues(key, name, start, end);
+        return new BinnedValueIterator(cache, start, end, count);
     }
 
     @Override
@@ -114,6 +156,17 @@ public class ImportArchiveReader implements ArchiveReader
     @Override
     public void close()
     {
-        // NOP
+        // NOP, reader is cached and re-used until disposed
+    }
+
+    /** Release imported data */
+    public synchronized void dispose()
+    {
+        values = null;
+        if (cache != null)
+        {
+            cache.close();
+            cache = null;
+        }
     }
 }
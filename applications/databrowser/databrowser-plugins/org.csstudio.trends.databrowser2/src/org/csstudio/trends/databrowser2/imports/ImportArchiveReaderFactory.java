@@ -99,10 +99,13 @@ public class ImportArchiveReaderFactory implements ArchiveReaderFactory
     {
         for (ArchiveDataSource source : sources)
         {
+            final ImportArchiveReader reader;
             synchronized (cache)
             {
-                cache.remove(source.getUrl());
+                reader = cache.remove(source.getUrl());
             }
+            if (reader != null)
+                reader.dispose();
         }
     }
 }
@@ -0,0 +1,607 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.trends.databrowser2.imports;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/** On-disk cache of imported samples
+ *
+ *  <p>Samples are parsed from a text file of time and value(s)
+ *  as handled by the {@link CSVLineParser}
+ *  and written as fixed-size records to a temporary file,
+ *  which is then memory-mapped for access.
+ *  Only a summary of each block of samples is kept in memory,
+ *  allowing to determine the statistics of large sample ranges
+ *  without reading all samples.
+ *
+ *  <p>Local files are memory-mapped and parsed in parallel chunks.
+ *
+ *  <p>Safe for concurrent reading once created.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class SampleCache implements AutoCloseable
+{
+    /** Bytes per sample: Epoch seconds, nanoseconds, value, minimum, maximum */
+    final private static int SAMPLE_BYTES = 8 + 4 + 8 + 8 + 8;
+
+    /** Samples per memory-mapped segment of the cache file */
+    final private static int SEGMENT_SAMPLES = 1 << 24;
+
+    /** Samples per block summary */
+    final static int BLOCK_SAMPLES = 1024;
+
+    /** Bytes of input file that are parsed as one chunk */
+    final private static int CHUNK_BYTES = 16 * 1024 * 1024;
+
+    /** Statistics of a range of samples */
+    public static class Summary
+    {
+        private int count = 0;
+        private double minimum = Double.POSITIVE_INFINITY, maximum = Double.NEGATIVE_INFINITY;
+        private double sum = 0, sum_of_squares = 0;
+
+        void add(final double value, final double min, final double max)
+        {
+            ++count;
+            minimum = Math.min(minimum, min);
+            maximum = Math.max(maximum, max);
+            sum += value;
+            sum_of_squares += value * value;
+        }
+
+        void add(final Summary other)
+        {
+            count += other.count;
+            minimum = Math.min(minimum, other.minimum);
+            maximum = Math.max(maximum, other.maximum);
+            sum += other.sum;
+            sum_of_squares += other.sum_of_squares;
+        }
+
+        /** @return Number of samples */
+        public int getCount()
+        {
+            return count;
+        }
+
+        /** @return Minimum of all samples */
+        public double getMinimum()
+        {
+            return minimum;
+        }
+
+        /** @return Maximum of all samples */
+        public double getMaximum()
+        {
+            return maximum;
+        }
+
+        /** @return Average of sample values */
+        public double getAverage()
+        {
+            return sum / count;
+        }
+
+        /** @return Standard deviation of sample values */
+        public double getStdDev()
+        {
+            final double avg = getAverage();
+            return Math.sqrt(Math.max(0.0, sum_of_squares / count - avg * avg));
+        }
+    }
+
+    /** Samples parsed from one chunk of input */
+    private static class Chunk
+    {
+        int size = 0;
+        long[] seconds;
+        int[] nanos;
+        double[] value, minimum, maximum;
+
+        Chunk(final int capacity)
+        {
+            allocate(Math.max(16, capacity));
+        }
+
+        private void allocate(final int capacity)
+        {
+            seconds = size > 0 ? Arrays.copyOf(seconds, capacity) : new long[capacity];
+            nanos = size > 0 ? Arrays.copyOf(nanos, capacity) : new int[capacity];
+            value = size > 0 ? Arrays.copyOf(value, capacity) : new double[capacity];
+            minimum = size > 0 ? Arrays.copyOf(minimum, capacity) : new double[capacity];
+            maximum = size > 0 ? Arrays.copyOf(maximum, capacity) : new double[capacity];
+        }
+
+        void add(final CSVLineParser parser)
+        {
+            if (size >= seconds.length)
+                allocate(seconds.length * 2);
+            seconds[size] = parser.getEpochSeconds();
+            nanos[size] = parser.getNanos();
+            value[size] = parser.getValue();
+            if (parser.isStatistics())
+            {
+                minimum[size] = parser.getMinimum();
+                maximum[size] = parser.getMaximum();
+            }
+            else
+                minimum[size] = maximum[size] = Double.NaN;
+            ++size;
+        }
+    }
+
+    final private static Logger logger = Logger.getLogger(SampleCache.class.getName());
+
+    final private File file;
+    final private int size;
+    final private boolean ordered;
+    final private ByteBuffer[] segments;
+    final private Summary[] blocks;
+
+    /** Create cache for local file
+     *
+     *  <p>The file is memory-mapped and parsed in chunks,
+     *  using the executor to parse several chunks in parallel.
+     *
+     *  @param input Input file
+     *  @param executor Executor for parsing chunks
+     *  @return {@link SampleCache}
+     *  @throws Exception on error
+     */
+    public static SampleCache create(final File input, final ExecutorService executor) throws Exception
+    {
+        return create(input, executor, CHUNK_BYTES);
+    }
+
+    /** @param input Input file
+     *  @param executor Executor for parsing chunks
+     *  @param chunk_bytes Approximate size of each chunk
+     *  @return {@link SampleCache}
+     *  @throws Exception on error
+     */
+    static SampleCache create(final File input, final ExecutorService executor, final int chunk_bytes) throws Exception
+    {
+        final Builder builder = new Builder();
+        try
+        (
+            final RandomAccessFile raf = new RandomAccessFile(input, "r");
+            final FileChannel channel = raf.getChannel();
+        )
+        {
+            final long length = channel.size();
+            final int parallel = Runtime.getRuntime().availableProcessors();
+            final List<Future<Chunk>> chunks = new ArrayList<>(parallel);
+            long start = 0;
+            while (start < length)
+            {
+                // Submit up to 'parallel' chunks, then add their samples in order
+                while (start < length  &&  chunks.size() < parallel)
+                {
+                    final long chunk_start = start;
+                    final long chunk_end = findLineEnd(channel, Math.min(length, start + chunk_bytes));
+                    chunks.add(executor.submit(() -> parseChunk(channel, chunk_start, chunk_end)));
+                    start = chunk_end;
+                }
+                for (Future<Chunk> chunk : chunks)
+                {
+                    try
+                    {
+                        builder.add(chunk.get());
+                    }
+                    catch (ExecutionException ex)
+                    {
+                        for (Future<Chunk> other : chunks)
+                            other.cancel(true);
+                        if (ex.getCause() instanceof Exception)
+                            throw (Exception) ex.getCause();
+                        throw ex;
+                    }
+                }
+                chunks.clear();
+            }
+        }
+        catch (Exception ex)
+        {
+            builder.abort();
+            throw ex;
+        }
+        return builder.build();
+    }
+
+    /** Create cache from stream
+     *
+     *  <p>For input that is not a local file.
+     *  The stream is read and parsed sequentially.
+     *
+     *  @param input Input stream, will be closed
+     *  @return {@link SampleCache}
+     *  @throws Exception on error
+     */
+    public static SampleCache create(final InputStream input) throws Exception
+    {
+        final Builder builder = new Builder();
+        final CSVLineParser parser = new CSVLineParser();
+        try
+        (
+            final InputStream in = input;
+        )
+        {
+            // Buffer with complete lines at 0 .. end
+            ByteBuffer buf = ByteBuffer.allocate(1024 * 1024);
+            int end = 0;
+            int read;
+            final Chunk chunk = new Chunk(BLOCK_SAMPLES);
+            do
+            {
+                if (end >= buf.capacity())
+                {   // Line longer than buffer
+                    final ByteBuffer larger = ByteBuffer.allocate(buf.capacity() * 2);
+                    larger.put(buf.array(), 0, end);
+                    buf = larger;
+                }
+                read = in.read(buf.array(), end, buf.capacity() - end);
+                if (read > 0)
+                    end += read;
+                // Parse complete lines, or all at end of input
+                int line_start = 0;
+                for (int pos=0; pos<end; ++pos)
+                    if (buf.get(pos) == '\n')
+                    {
+                        if (parser.parse(buf, line_start, pos))
+                            chunk.add(parser);
+                        line_start = pos + 1;
+                    }
+                if (read < 0  &&  line_start < end)
+                {
+                    if (parser.parse(buf, line_start, end))
+                        chunk.add(parser);
+                    line_start = end;
+                }
+                builder.add(chunk);
+                chunk.size = 0;
+                // Move remaining partial line to start of buffer
+                System.arraycopy(buf.array(), line_start, buf.array(), 0, end - line_start);
+                end -= line_start;
+            }
+            while (read >= 0);
+        }
+        catch (Exception ex)
+        {
+            builder.abort();
+            throw ex;
+        }
+        return builder.build();
+    }
+
+    /** @param channel Channel for input file
+     *  @param position Position in file
+     *  @return Position after the end of the line that contains position
+     *  @throws IOException on error
+     */
+    private static long findLineEnd(final FileChannel channel, long position) throws IOException
+    {
+        final long length = channel.size();
+        final ByteBuffer buf = ByteBuffer.allocate(8192);
+        while (position < length)
+        {
+            buf.clear();
+            final int read = channel.read(buf, position);
+            if (read <= 0)
+                break;
+            for (int i=0; i<read; ++i)
+                if (buf.get(i) == '\n')
+                    return position + i + 1;
+            position += read;
+        }
+        return length;
+    }
+
+    /** @param channel Channel for input file
+     *  @param start Start of chunk, beginning of a line
+     *  @param end End of chunk, end of a line
+     *  @return Samples parsed from that chunk
+     *  @throws IOException on error
+     */
+    private static Chunk parseChunk(final FileChannel channel, final long start, final long end) throws IOException
+    {
+        final MappedByteBuffer buf = channel.map(MapMode.READ_ONLY, start, end - start);
+        final int length = buf.limit();
+        final CSVLineParser parser = new CSVLineParser();
+        // Guess about 50 bytes per line
+        final Chunk chunk = new Chunk(length / 50);
+        int line_start = 0;
+        for (int pos=0; pos<length; ++pos)
+            if (buf.get(pos) == '\n')
+            {
+                if (parser.parse(buf, line_start, pos))
+                    chunk.add(parser);
+                line_start = pos + 1;
+            }
+        if (line_start < length  &&  parser.parse(buf, line_start, length))
+            chunk.add(parser);
+        return chunk;
+    }
+
+    /** Writes samples to cache file */
+    private static class Builder
+    {
+        final private File file;
+        final private RandomAccessFile raf;
+        final private FileChannel channel;
+        final private ByteBuffer buf = ByteBuffer.allocate(SAMPLE_BYTES * BLOCK_SAMPLES);
+        final private List<Summary> blocks = new ArrayList<>();
+        private Summary block = null;
+        private int size = 0;
+        private boolean ordered = true;
+        private long last_seconds = Long.MIN_VALUE;
+        private int last_nanos = 0;
+
+        Builder() throws IOException
+        {
+            file = File.createTempFile("databrowser_import", ".cache");
+            file.deleteOnExit();
+            raf = new RandomAccessFile(file, "rw");
+            channel = raf.getChannel();
+        }
+
+        void add(final Chunk chunk) throws IOException
+        {
+            for (int i=0; i<chunk.size; ++i)
+            {
+                if (size == Integer.MAX_VALUE)
+                    throw new IOException("Too many samples");
+                final long seconds = chunk.seconds[i];
+                final int nanos = chunk.nanos[i];
+                if (seconds < last_seconds  ||  (seconds == last_seconds  &&  nanos < last_nanos))
+                    ordered = false;
+                last_seconds = seconds;
+                last_nanos = nanos;
+
+                final double value = chunk.value[i];
+                final double min = chunk.minimum[i], max = chunk.maximum[i];
+                if (block == null)
+                {
+                    block = new Summary();
+                    blocks.add(block);
+                }
+                if (Double.isNaN(min))
+                    block.add(value, value, value);
+                else
+                    block.add(value, min, max);
+                if (block.getCount() >= BLOCK_SAMPLES)
+                    block = null;
+
+                buf.putLong(seconds);
+                buf.putInt(nanos);
+                buf.putDouble(value);
+                buf.putDouble(min);
+                buf.putDouble(max);
+                if (! buf.hasRemaining())
+                    flush();
+                ++size;
+            }
+        }
+
+        private void flush() throws IOException
+        {
+            buf.flip();
+            while (buf.hasRemaining())
+                channel.write(buf);
+            buf.clear();
+        }
+
+        SampleCache build() throws IOException
+        {
+            try
+            {
+                flush();
+                final ByteBuffer[] segments = new ByteBuffer[(size + SEGMENT_SAMPLES - 1) / SEGMENT_SAMPLES];
+                for (int i=0; i<segments.length; ++i)
+                {
+                    final long start = (long) i * SEGMENT_SAMPLES * SAMPLE_BYTES;
+                    final long length = Math.min((long) SEGMENT_SAMPLES * SAMPLE_BYTES, (long) size * SAMPLE_BYTES - start);
+                    segments[i] = channel.map(MapMode.READ_ONLY, start, length);
+                }
+                return new SampleCache(file, size, ordered, segments, blocks.toArray(new Summary[blocks.size()]));
+            }
+            finally
+            {
+                // Mapped segments remain valid after closing the channel
+                channel.close();
+                raf.close();
+            }
+        }
+
+        void abort()
+        {
+            try
+            {
+                channel.close();
+                raf.close();
+            }
+            catch (IOException ex)
+            {
+                // Ignore
+            }
+            file.delete();
+        }
+    }
+
+    private SampleCache(final File file, final int size, final boolean ordered,
+                        final ByteBuffer[] segments, final Summary[] blocks)
+    {
+        this.file = file;
+        this.size = size;
+        this.ordered = ordered;
+        this.segments = segments;
+        this.blocks = blocks;
+        logger.log(Level.FINE, "Cached {0} samples in {1}", new Object[] { size, file });
+    }
+
+    /** @return Number of samples */
+    public int size()
+    {
+        return size;
+    }
+
+    /** @return <code>true</code> if samples are ordered by time */
+    public boolean isOrdered()
+    {
+        return ordered;
+    }
+
+    private ByteBuffer getSegment(final int index)
+    {
+        return segments[index / SEGMENT_SAMPLES];
+    }
+
+    private int getOffset(final int index)
+    {
+        return (index % SEGMENT_SAMPLES) * SAMPLE_BYTES;
+    }
+
+    /** @param index Sample index
+     *  @return Seconds since epoch of that sample
+     */
+    public long getEpochSeconds(final int index)
+    {
+        return getSegment(index).getLong(getOffset(index));
+    }
+
+    /** @param index Sample index
+     *  @return Nanoseconds of that sample
+     */
+    public int getNanos(final int index)
+    {
+        return getSegment(index).getInt(getOffset(index) + 8);
+    }
+
+    /** @param index Sample index
+     *  @return Value of that sample
+     */
+    public double getValue(final int index)
+    {
+        return getSegment(index).getDouble(getOffset(index) + 12);
+    }
+
+    /** @param index Sample index
+     *  @return Minimum of statistics sample, <code>NaN</code> for plain value
+     */
+    public double getMinimum(final int index)
+    {
+        return getSegment(index).getDouble(getOffset(index) + 20);
+    }
+
+    /** @param index Sample index
+     *  @return Maximum of statistics sample, <code>NaN</code> for plain value
+     */
+    public double getMaximum(final int index)
+    {
+        return getSegment(index).getDouble(getOffset(index) + 28);
+    }
+
+    /** @param index Sample index
+     *  @param seconds Seconds since epoch
+     *  @param nanos Nanoseconds
+     *  @return Comparison of sample time with given time
+     */
+    private int compareTime(final int index, final long seconds, final int nanos)
+    {
+        final int cmp = Long.compare(getEpochSeconds(index), seconds);
+        return cmp != 0 ? cmp : Integer.compare(getNanos(index), nanos);
+    }
+
+    /** Locate sample by time
+     *
+     *  <p>Only valid for ordered samples.
+     *
+     *  @param seconds Seconds since epoch
+     *  @param nanos Nanoseconds
+     *  @return Index of last sample at or before the given time, -1 if there is none
+     */
+    public int findSampleLessOrEqual(final long seconds, final int nanos)
+    {
+        int low = 0, high = size - 1;
+        int result = -1;
+        while (low <= high)
+        {
+            final int mid = (low + high) >>> 1;
+            if (compareTime(mid, seconds, nanos) <= 0)
+            {
+                result = mid;
+                low = mid + 1;
+            }
+            else
+                high = mid - 1;
+        }
+        return result;
+    }
+
+    /** Determine statistics for a range of samples
+     *
+     *  <p>Uses the block summaries for blocks that are
+     *  fully inside the range, only reading samples
+     *  for blocks at the start and end of the range.
+     *
+     *  @param start Index of first sample
+     *  @param end Index after the last sample
+     *  @return {@link Summary}
+     */
+    public Summary getSummary(final int start, final int end)
+    {
+        final Summary summary = new Summary();
+        int index = Math.max(0, start);
+        final int stop = Math.min(end, size);
+        while (index < stop)
+        {
+            if (index % BLOCK_SAMPLES == 0  &&  index + BLOCK_SAMPLES <= stop)
+            {
+                summary.add(blocks[index / BLOCK_SAMPLES]);
+                index += BLOCK_SAMPLES;
+            }
+            else
+            {
+                final double value = getValue(index);
+                final double min = getMinimum(index);
+                if (Double.isNaN(min))
+                    summary.add(value, value, value);
+                else
+                    summary.add(value, min, getMaximum(index));
+                ++index;
+            }
+        }
+        return summary;
+    }
+
+    /** Delete the cache file */
+    @Override
+    public void close()
+    {
+        // Memory-mapped file cannot be deleted on all operating systems
+        // until the buffers are garbage-collected. Will then be deleted on exit.
+        if (! file.delete())
+            logger.log(Level.FINE, "Cannot delete {0} until exit", file);
+    }
+}
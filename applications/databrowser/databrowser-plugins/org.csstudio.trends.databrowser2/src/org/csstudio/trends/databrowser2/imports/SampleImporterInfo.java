@@ -40,6 +40,12 @@ public class SampleImporterInfo
         return description;
     }
 
+    /** @return {@link SampleImporter} */
+    public SampleImporter getImporter()
+    {
+        return importer;
+    }
+
     /** Perform value import
      *  @param input Input stream
      *  @return Values
@@ -12,6 +12,8 @@ import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.csstudio.swt.rtplot.data.ValueRange;
+import org.csstudio.swt.rtplot.data.ValueRangeTree;
 import org.diirt.vtype.VType;
 
 /** Holder for 'historic' samples.
@@ -49,6 +51,12 @@ public class HistoricSamples extends PlotSamples
     /** Waveform index */
     final private AtomicInteger waveform_index;
 
+    /** Value ranges of all samples, <code>null</code> when not yet computed */
+    private ValueRangeTree ranges = null;
+
+    /** Waveform index used to compute the <code>ranges</code> */
+    private int ranges_index = -1;
+
     HistoricSamples(final AtomicInteger waveform_index)
     {
         this.waveform_index = waveform_index;
@@ -114,6 +122,24 @@ public class HistoricSamples extends PlotSamples
         return samples[i];
     }
 
+    /** {@inheritDoc} */
+    @Override
+    synchronized public ValueRange getValueRange(final int start, final int end)
+    {
+        // Compute when first needed, or after waveform index changed the sample values.
+        // Callers only hold the read lock, so synchronized.
+        final int index = waveform_index.get();
+        if (ranges == null  ||  ranges_index != index)
+        {
+            final ValueRangeTree computed = new ValueRangeTree(samples.length);
+            for (PlotSample sample : samples)
+                computed.add(sample.getValue());
+            ranges = computed;
+            ranges_index = index;
+        }
+        return ranges.getRange(start, Math.min(end, visible_size-1));
+    }
+
     /** Merge newly received archive data into historic samples
      *  @param source Info about data source
      *  @param result Samples to add/merge
@@ -132,6 +158,7 @@ public class HistoricSamples extends PlotSamples
         if (merged == samples)
             return;
         samples = merged;
+        ranges = null;
         computeVisibleSize();
     }
 
@@ -140,5 +167,6 @@ public class HistoricSamples extends PlotSamples
     {
         visible_size = 0;
         samples = new PlotSample[0];
+        ranges = null;
     }
 }
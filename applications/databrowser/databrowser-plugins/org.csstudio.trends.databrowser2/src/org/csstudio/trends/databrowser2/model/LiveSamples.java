@@ -7,9 +7,12 @@
  ******************************************************************************/
 package org.csstudio.trends.databrowser2.model;
 
+import java.time.Instant;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.csstudio.apputil.ringbuffer.RingBuffer;
+import org.csstudio.swt.rtplot.data.ValueRange;
+import org.csstudio.swt.rtplot.data.ValueRangeTree;
 import org.csstudio.trends.databrowser2.preferences.Preferences;
 
 /** Ring buffer for 'live' samples.
@@ -29,6 +32,19 @@ public class LiveSamples extends PlotSamples
     /** Waveform index */
     final private AtomicInteger waveform_index;
 
+    /** Value ranges of the samples, <code>null</code> when not yet computed.
+     *  Once the ring buffer is full, new samples replace
+     *  the oldest value in here as well, so the ring buffer index <code>i</code>
+     *  is found at <code>(ranges_start + i) % capacity</code>.
+     */
+    private ValueRangeTree ranges = null;
+
+    /** Index of the oldest sample in <code>ranges</code> */
+    private int ranges_start = 0;
+
+    /** Waveform index used to compute the <code>ranges</code> */
+    private int ranges_index = -1;
+
     LiveSamples(final AtomicInteger waveform_index)
     {
         this.waveform_index = waveform_index;
@@ -51,6 +67,7 @@ public class LiveSamples extends PlotSamples
         if (new_capacity < 10)
             new_capacity = 10;
         samples.setCapacity(new_capacity);
+        ranges = null;
     }
 
     /** @param sample Sample to add to ring buffer */
@@ -58,7 +75,17 @@ public class LiveSamples extends PlotSamples
     {
         sample.setWaveformIndex(waveform_index);
         samples.add(sample);
-        have_new_samples.set(true);
+        if (ranges != null)
+        {
+            if (ranges.size() < samples.getCapacity())
+                ranges.add(sample.getValue());
+            else
+            {   // Replace oldest value
+                ranges.set(ranges_start, sample.getValue());
+                ranges_start = (ranges_start + 1) % ranges.size();
+            }
+        }
+        markChanged(sample.getPosition());
     }
 
     @Override
@@ -73,10 +100,41 @@ public class LiveSamples extends PlotSamples
         return samples.get(i);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    synchronized public ValueRange getValueRange(final int start, final int end)
+    {
+        // Compute when first needed, or after waveform index changed the sample values.
+        // Callers only hold the read lock, so synchronized.
+        final int index = waveform_index.get();
+        if (ranges == null  ||  ranges_index != index)
+        {
+            final ValueRangeTree computed = new ValueRangeTree(samples.getCapacity());
+            for (int i=0; i<samples.size(); ++i)
+                computed.add(samples.get(i).getValue());
+            ranges = computed;
+            ranges_start = 0;
+            ranges_index = index;
+        }
+        final int last = Math.min(end, samples.size()-1);
+        if (start > last)
+            return ranges.getRange(start, last);
+        // Range of ring buffer indices may wrap around
+        final int first_slot = (ranges_start + start) % ranges.size();
+        final int last_slot = (ranges_start + last) % ranges.size();
+        if (first_slot <= last_slot)
+            return ranges.getRange(first_slot, last_slot);
+        final ValueRange upper = ranges.getRange(first_slot, ranges.size()-1);
+        final ValueRange lower = ranges.getRange(0, last_slot);
+        return new ValueRange(Math.min(upper.getLow(), lower.getLow()),
+                              Math.max(upper.getHigh(), lower.getHigh()));
+    }
+
     /** Delete all samples */
     public void clear()
     {
         samples.clear();
-        have_new_samples.set(true);
+        ranges = null;
+        markChanged(Instant.MIN);
     }
 }
@@ -909,22 +909,39 @@ public class Model
      */
     public boolean updateItemsAndCheckForNewSamples()
     {
-        boolean anything_new = false;
-        // Update any formulas
+        return updateItemsAndGetChangedFrom().isPresent();
+    }
+
+    /** Test if any ModelItems received new samples,
+     *  if formulas need to be re-computed,
+     *  since the last time this method was called.
+     *  @return Position of the earliest sample that changed,
+     *          {@link Instant#MIN} if any sample might have changed,
+     *          or <code>empty</code> if there were no new samples
+     */
+    public Optional<Instant> updateItemsAndGetChangedFrom()
+    {
+        Instant changed = null;
+        // Update any formulas.
+        // Their samples are re-computed as a whole.
         for (ModelItem item : items)
         {
             if (item instanceof FormulaItem  &&
                 ((FormulaItem)item).reevaluate())
-                    anything_new = true;
+                changed = Instant.MIN;
         }
         // Check and reset PV Items
+        final Instant visible_start = getStartTime();
         for (ModelItem item : items)
         {
-            if (item instanceof PVItem  &&
-                item.getSamples().testAndClearNewSamplesFlag())
-                anything_new = true;
+            if (! (item instanceof PVItem))
+                continue;
+            final Instant item_changed = ((PVItem)item).getSamples().testAndClearChangedFrom(visible_start);
+            if (item_changed != null  &&
+                (changed == null  ||  item_changed.isBefore(changed)))
+                changed = item_changed;
         }
-        return anything_new;
+        return Optional.ofNullable(changed);
     }
 
     /** Notify listeners of changed axis configuration
@@ -11,8 +11,10 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.csstudio.archive.vtype.VTypeHelper;
+import org.csstudio.swt.rtplot.data.ValueRange;
 import org.csstudio.trends.databrowser2.Messages;
 import org.diirt.vtype.AlarmSeverity;
 import org.diirt.vtype.VType;
@@ -50,6 +52,12 @@ public class PVSamples extends PlotSamples
     /** Live samples. Should start after end of historic samples */
     final private LiveSamples live;
 
+    /** Position up to which the start of the samples changed
+     *  because the ring buffer dropped its oldest samples,
+     *  or <code>null</code>
+     */
+    final private AtomicReference<Instant> trimmed_until = new AtomicReference<>();
+
     private boolean emptyHistoryOnAdd = false;
     private int samplesAddedSinceLastRefresh = 0;
 
@@ -126,6 +134,33 @@ public class PVSamples extends PlotSamples
         return live.get(index - num_old);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public ValueRange getValueRange(int start, int end)
+    {
+        final int raw_count = getRawSize();
+        if (raw_count <= 0)
+            return new ValueRange(Double.MAX_VALUE, -Double.MAX_VALUE);
+        // Continuation until 'now' has the value of the last sample
+        end = Math.min(end, raw_count-1);
+        start = Math.min(start, end);
+        final int num_old = history.size();
+        double low = Double.MAX_VALUE, high = -Double.MAX_VALUE;
+        if (start < num_old)
+        {
+            final ValueRange range = history.getValueRange(start, Math.min(end, num_old-1));
+            low = range.getLow();
+            high = range.getHigh();
+        }
+        if (end >= num_old)
+        {
+            final ValueRange range = live.getValueRange(Math.max(start - num_old, 0), end - num_old);
+            low = Math.min(low, range.getLow());
+            high = Math.max(high, range.getHigh());
+        }
+        return new ValueRange(low, high);
+    }
+
     /** Test if samples changed since the last time
      *  <code>testAndClearNewSamplesFlag</code> was called.
      *  @return <code>true</code> if there were new samples
@@ -133,21 +168,51 @@ public class PVSamples extends PlotSamples
     @Override
     public boolean hasNewSamples()
     {
-        return history.hasNewSamples() | live.hasNewSamples();
+        return super.hasNewSamples() | history.hasNewSamples() | live.hasNewSamples();
     }
 
-    /** Test if samples changed since the last time this method was called.
-     *  @return <code>true</code> if there were new samples
-     */
+    /** {@inheritDoc} */
     @Override
-    public boolean testAndClearNewSamplesFlag()
+    public Instant testAndClearChangedFrom()
+    {
+        return testAndClearChangedFrom(Instant.MAX);
+    }
+
+    /** Test if samples changed since the last time this method
+     *  or <code>testAndClearNewSamplesFlag</code> was called.
+     *
+     *  <p>Changes to the start of the samples, caused by the
+     *  ring buffer dropping its oldest samples,
+     *  are ignored when they are before the visible time range.
+     *
+     *  @param visible_start Start of the visible time range
+     *  @return Position of the earliest sample that changed,
+     *          {@link Instant#MIN} if any sample might have changed,
+     *          <code>null</code> if there were no new samples
+     */
+    public Instant testAndClearChangedFrom(final Instant visible_start)
+    {
+        final Instant trimmed = trimmed_until.getAndSet(null);
+        // Must check & __clear__ all sections!
+        final Instant changed = earliest(earliest(super.testAndClearChangedFrom(),
+                                                  history.testAndClearChangedFrom()),
+                                         live.testAndClearChangedFrom());
+        if (trimmed != null  &&  ! trimmed.isBefore(visible_start))
+            return Instant.MIN;
+        return changed;
+    }
+
+    /** @param a Position or <code>null</code>
+     *  @param b Position or <code>null</code>
+     *  @return Earlier of the two positions, <code>null</code> if both are <code>null</code>
+     */
+    private static Instant earliest(final Instant a, final Instant b)
     {
-        // Must check & __clear__ both subsections!
-        // return hist.test() | live.test() would skip
-        // the live.test if hist.test() was already true!
-        final boolean hist_change = history.testAndClearNewSamplesFlag();
-        final boolean live_change = live.testAndClearNewSamplesFlag();
-        return hist_change | live_change;
+        if (a == null)
+            return b;
+        if (b == null  ||  a.isBefore(b))
+            return a;
+        return b;
     }
 
     /** Add data retrieved from an archive to the 'historic' section
@@ -188,6 +253,7 @@ public class PVSamples extends PlotSamples
      */
     public void addLiveSample(final PlotSample sample)
     {
+        Instant changed = null;
         lockForWriting();
         try
         {
@@ -195,15 +261,23 @@ public class PVSamples extends PlotSamples
             if (live.size() == 0  &&
                 VTypeHelper.getSeverity(sample.getVType()) == AlarmSeverity.UNDEFINED)
                 return;
+            final boolean trim = live.size() >= live.getCapacity();
             live.add(sample);
+            changed = sample.getPosition();
             // History ends before the start of 'live' samples.
             // Adding a live sample might have moved the ring buffer,
             // so need to update whenever live data is extended.
             history.setBorderTime(Optional.of(live.get(0).getPosition()));
+            // When the ring buffer was full, the oldest sample was dropped
+            // and more history may have been revealed,
+            // changing the samples up to the new start of the ring buffer
+            if (trim)
+                trimmed_until.accumulateAndGet(live.get(0).getPosition(),
+                        (latest, added) -> (latest == null  ||  added.isAfter(latest)) ? added : latest);
         }
         finally
         {
-            unlockForWriting();
+            unlockForWriting(changed);
         }
         samplesAddedSinceLastRefresh++;
     }
@@ -8,7 +8,7 @@
 package org.csstudio.trends.databrowser2.model;
 
 import java.time.Instant;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -24,10 +24,12 @@ abstract public class PlotSamples implements PlotDataProvider<Instant>
 {
     final private ReadWriteLock lock = new ReentrantReadWriteLock();
 
-    /** To be set when samples change
-     *  @see #testAndClearNewSamplesFlag()
+    /** Position of the earliest sample that changed,
+     *  {@link Instant#MIN} if any sample might have changed,
+     *  <code>null</code> if nothing changed.
+     *  @see #testAndClearChangedFrom()
      */
-    final protected AtomicBoolean have_new_samples = new AtomicBoolean();
+    final private AtomicReference<Instant> changed_from = new AtomicReference<>();
 
     /** Lock for writing */
     public void lockForWriting()
@@ -37,9 +39,28 @@ abstract public class PlotSamples implements PlotDataProvider<Instant>
 
     /** Un-lock after writing */
     public void unlockForWriting()
+    {
+        unlockForWriting(Instant.MIN);
+    }
+
+    /** Un-lock after writing
+     *  @param position Position of the earliest sample that was added or changed,
+     *                  <code>null</code> if nothing changed
+     */
+    public void unlockForWriting(final Instant position)
     {
         lock.writeLock().unlock();
-        have_new_samples.set(true);
+        if (position != null)
+            markChanged(position);
+    }
+
+    /** @param position Position of the earliest sample that was added or changed,
+     *                  {@link Instant#MIN} if any sample might have changed
+     */
+    protected void markChanged(final Instant position)
+    {
+        changed_from.accumulateAndGet(position,
+                (earliest, added) -> (earliest == null  ||  added.isBefore(earliest)) ? added : earliest);
     }
 
     /** {@inheritDoc} */
@@ -63,7 +84,7 @@ abstract public class PlotSamples implements PlotDataProvider<Instant>
      */
     public boolean hasNewSamples()
     {
-        return have_new_samples.get();
+        return changed_from.get() != null;
     }
 
     /** Test if samples changed since the last time this method was called.
@@ -71,7 +92,18 @@ abstract public class PlotSamples implements PlotDataProvider<Instant>
      */
     public boolean testAndClearNewSamplesFlag()
     {
-        return have_new_samples.getAndSet(false);
+        return testAndClearChangedFrom() != null;
+    }
+
+    /** Test if samples changed since the last time this method
+     *  or <code>testAndClearNewSamplesFlag</code> was called.
+     *  @return Position of the earliest sample that changed,
+     *          {@link Instant#MIN} if any sample might have changed,
+     *          <code>null</code> if there were no new samples
+     */
+    public Instant testAndClearChangedFrom()
+    {
+        return changed_from.getAndSet(null);
     }
 
     /** @return Info text about PlotSamples for debugging */
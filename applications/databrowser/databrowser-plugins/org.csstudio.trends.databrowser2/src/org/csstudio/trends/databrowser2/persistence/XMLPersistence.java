@@ -7,18 +7,26 @@
  ******************************************************************************/
 package org.csstudio.trends.databrowser2.persistence;
 
+import java.io.BufferedWriter;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 
-import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
 
 import org.csstudio.apputil.xml.DOMHelper;
 import org.csstudio.apputil.xml.XMLWriter;
@@ -116,29 +124,169 @@ public class XMLPersistence
 
     final private static String TAG_OLD_XYGRAPH_SETTINGS = "xyGraphSettings";
 
-    /** @param model Model to load
+    /** Load model from XML stream
+     *
+     *  <p>The stream is parsed incrementally.
+     *  Only the global settings are kept as a document,
+     *  the potentially long list of PVs and formulas is
+     *  read one item at a time, and PV items are then
+     *  created in parallel.
+     *
+     *  @param model Model to load
      *  @param stream XML stream
      *  @throws Exception on error
      */
     public void load(final Model model, final InputStream stream) throws Exception
     {
-        final DocumentBuilder docBuilder =
-                DocumentBuilderFactory.newInstance().newDocumentBuilder();
-        final Document doc = docBuilder.parse(stream);
-        load(model, doc);
+        if (model.getItems().iterator().hasNext())
+            throw new RuntimeException("Model was already in use");
+
+        final Document doc =
+                DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        final List<Element> pvs = new ArrayList<>();
+        final List<Element> formulas = new ArrayList<>();
+
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        final XMLStreamReader reader = factory.createXMLStreamReader(stream);
+        try
+        {
+            // Check if it's a <databrowser/>.
+            if (! nextElement(reader))
+                throw new Exception("Expected " + TAG_DATABROWSER + " but got empty document");
+            if (! reader.getLocalName().equals(TAG_DATABROWSER))
+                throw new Exception("Expected " + TAG_DATABROWSER + " but got " + reader.getLocalName());
+            final Element root_node = doc.createElement(TAG_DATABROWSER);
+            doc.appendChild(root_node);
+
+            while (nextElement(reader))
+            {
+                if (reader.getLocalName().equals(TAG_PVLIST))
+                {   // Keep PVs and formulas out of the document
+                    while (nextElement(reader))
+                    {
+                        final Element item = readElement(doc, reader);
+                        if (item.getNodeName().equals(TAG_PV))
+                            pvs.add(item);
+                        else if (item.getNodeName().equals(TAG_FORMULA))
+                            formulas.add(item);
+                    }
+                }
+                else
+                    root_node.appendChild(readElement(doc, reader));
+            }
+        }
+        finally
+        {
+            reader.close();
+        }
+        load(model, doc, pvs, formulas);
     }
 
-    private void load(final Model model, final Document doc) throws Exception
+    /** Load model from XML document
+     *
+     *  <p>Requires the complete document in memory.
+     *  {@link #load(Model, InputStream)} is preferred for files,
+     *  this is used to check the incremental parser.
+     *
+     *  @param model Model to load
+     *  @param doc XML document
+     *  @throws Exception on error
+     */
+    void load(final Model model, final Document doc) throws Exception
     {
         if (model.getItems().iterator().hasNext())
             throw new RuntimeException("Model was already in use");
 
-        // Check if it's a <databrowser/>.
-        doc.getDocumentElement().normalize();
         final Element root_node = doc.getDocumentElement();
-        if (!root_node.getNodeName().equals(TAG_DATABROWSER))
+        if (! root_node.getNodeName().equals(TAG_DATABROWSER))
             throw new Exception("Expected " + TAG_DATABROWSER + " but got " + root_node.getNodeName());
 
+        final List<Element> pvs = new ArrayList<>();
+        final List<Element> formulas = new ArrayList<>();
+        final Element list = DOMHelper.findFirstElementNode(root_node.getFirstChild(), TAG_PVLIST);
+        if (list != null)
+        {
+            Element item = DOMHelper.findFirstElementNode(list.getFirstChild(), TAG_PV);
+            while (item != null)
+            {
+                pvs.add(item);
+                item = DOMHelper.findNextElementNode(item, TAG_PV);
+            }
+            item = DOMHelper.findFirstElementNode(list.getFirstChild(), TAG_FORMULA);
+            while (item != null)
+            {
+                formulas.add(item);
+                item = DOMHelper.findNextElementNode(item, TAG_FORMULA);
+            }
+        }
+        load(model, doc, pvs, formulas);
+    }
+
+    /** Advance to the next element within the current element
+     *  @param reader {@link XMLStreamReader}
+     *  @return <code>true</code> if positioned on start of next element,
+     *          <code>false</code> when reaching the end of the current element or document
+     *  @throws Exception on error
+     */
+    private static boolean nextElement(final XMLStreamReader reader) throws Exception
+    {
+        while (reader.hasNext())
+        {
+            final int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT)
+                return true;
+            if (event == XMLStreamConstants.END_ELEMENT)
+                return false;
+        }
+        return false;
+    }
+
+    /** Read the current element, including its attributes and content, into a DOM element
+     *  @param doc Document used to create nodes
+     *  @param reader {@link XMLStreamReader} positioned on start of element.
+     *                Will be positioned on end of that element when done.
+     *  @return {@link Element}
+     *  @throws Exception on error
+     */
+    private static Element readElement(final Document doc, final XMLStreamReader reader) throws Exception
+    {
+        final Element element = doc.createElement(reader.getLocalName());
+        for (int i=0; i<reader.getAttributeCount(); ++i)
+            element.setAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+        while (reader.hasNext())
+        {
+            switch (reader.next())
+            {
+            case XMLStreamConstants.START_ELEMENT:
+                element.appendChild(readElement(doc, reader));
+                break;
+            case XMLStreamConstants.CHARACTERS:
+            case XMLStreamConstants.CDATA:
+            case XMLStreamConstants.SPACE:
+                element.appendChild(doc.createTextNode(reader.getText()));
+                break;
+            case XMLStreamConstants.END_ELEMENT:
+                return element;
+            default:
+                // Ignore comments, processing instructions
+            }
+        }
+        throw new Exception("Incomplete <" + element.getNodeName() + ">");
+    }
+
+    /** @param model Model to load
+     *  @param doc Document with global settings, axes, annotations, ..
+     *  @param pvs PV items
+     *  @param formulas Formula items
+     *  @throws Exception on error
+     */
+    private void load(final Model model, final Document doc,
+                      final List<Element> pvs, final List<Element> formulas) throws Exception
+    {
+        doc.getDocumentElement().normalize();
+        final Element root_node = doc.getDocumentElement();
+
         // Global settings
         String title = DOMHelper.getSubelementString(root_node, TAG_TITLE);
         if (! title.isEmpty())
@@ -258,41 +406,29 @@ public class XMLPersistence
             model.setAnnotations(annotations);
         }
 
-        // Load PVs/Formulas
-        list = DOMHelper.findFirstElementNode(root_node.getFirstChild(), TAG_PVLIST);
-        if (list != null)
+        // Load PV items
+        final List<PVItem> model_items = createPVItems(model, pvs);
+        for (int i=0; i<pvs.size(); ++i)
         {
-            // Load PV items
-            Element item = DOMHelper.findFirstElementNode(
-                    list.getFirstChild(), TAG_PV);
-            while (item != null)
-            {
-                final PVItem model_item = PVItem.fromDocument(model, item);
-                // Adding item creates the axis for it if not already there
-                model.addItem(model_item);
-                // Ancient data browser stored axis configuration with each item: Update axis from that.
-                final AxisConfig axis = model_item.getAxis();
-                String s = DOMHelper.getSubelementString(item, TAG_AUTO_SCALE);
-                if (s.equalsIgnoreCase("true"))
-                    axis.setAutoScale(true);
-                s = DOMHelper.getSubelementString(item, TAG_LOG_SCALE);
-                if (s.equalsIgnoreCase("true"))
-                    axis.setLogScale(true);
-                final double min = DOMHelper.getSubelementDouble(item, TAG_MIN, axis.getMin());
-                final double max = DOMHelper.getSubelementDouble(item, TAG_MAX, axis.getMax());
-                axis.setRange(min, max);
-
-                item = DOMHelper.findNextElementNode(item, TAG_PV);
-            }
-            // Load Formulas
-            item = DOMHelper.findFirstElementNode(
-                    list.getFirstChild(), TAG_FORMULA);
-            while (item != null)
-            {
-                model.addItem(FormulaItem.fromDocument(model, item));
-                item = DOMHelper.findNextElementNode(item, TAG_FORMULA);
-            }
+            final Element item = pvs.get(i);
+            final PVItem model_item = model_items.get(i);
+            // Adding item creates the axis for it if not already there
+            model.addItem(model_item);
+            // Ancient data browser stored axis configuration with each item: Update axis from that.
+            final AxisConfig axis = model_item.getAxis();
+            String s = DOMHelper.getSubelementString(item, TAG_AUTO_SCALE);
+            if (s.equalsIgnoreCase("true"))
+                axis.setAutoScale(true);
+            s = DOMHelper.getSubelementString(item, TAG_LOG_SCALE);
+            if (s.equalsIgnoreCase("true"))
+                axis.setLogScale(true);
+            final double min = DOMHelper.getSubelementDouble(item, TAG_MIN, axis.getMin());
+            final double max = DOMHelper.getSubelementDouble(item, TAG_MAX, axis.getMax());
+            axis.setRange(min, max);
         }
+        // Load Formulas
+        for (Element item : formulas)
+            model.addItem(FormulaItem.fromDocument(model, item));
 
         // Update items from legacy <xyGraphSettings>
         list = DOMHelper.findFirstElementNode(root_node.getFirstChild(), TAG_OLD_XYGRAPH_SETTINGS);
@@ -358,13 +494,67 @@ public class XMLPersistence
         return Optional.of(SWTMediaPool.getFontFromDescription(desc));
     }
 
+    /** Create PV items
+     *
+     *  <p>Items are created in parallel on the {@link Activator} thread pool,
+     *  each thread handling every N'th item.
+     *  Axes referenced by the items are added to the model up front,
+     *  since adding axes while items are created is not thread-safe.
+     *
+     *  @param model Model
+     *  @param pvs PV item configurations
+     *  @return {@link PVItem}s in the order of the configurations
+     *  @throws Exception on error
+     */
+    private List<PVItem> createPVItems(final Model model, final List<Element> pvs) throws Exception
+    {
+        final int count = pvs.size();
+        final PVItem[] items = new PVItem[count];
+        if (count <= 0)
+            return Arrays.asList(items);
+
+        int max_axis = -1;
+        for (Element item : pvs)
+            max_axis = Math.max(max_axis, DOMHelper.getSubelementInt(item, TAG_AXIS, 0));
+        while (model.getAxisCount() <= max_axis)
+            model.addAxis();
+
+        final int threads = Math.min(count, Runtime.getRuntime().availableProcessors());
+        final List<Future<Object>> results = new ArrayList<>(threads);
+        for (int t=0; t<threads; ++t)
+        {
+            final int first = t;
+            results.add(Activator.getThreadPool().submit(() ->
+            {
+                for (int i=first; i<count; i+=threads)
+                    items[i] = PVItem.fromDocument(model, pvs.get(i));
+                return null;
+            }));
+        }
+        for (Future<Object> result : results)
+        {
+            try
+            {
+                result.get();
+            }
+            catch (ExecutionException ex)
+            {
+                if (ex.getCause() instanceof Exception)
+                    throw (Exception) ex.getCause();
+                throw ex;
+            }
+        }
+        return Arrays.asList(items);
+    }
+
     /** Write XML formatted Model content.
      *  @param model Model to write
      *  @param out OutputStream, will NOT be closed when done.
      */
     public void write(final Model model, final OutputStream out)
     {
-        final PrintWriter writer = new PrintWriter(out);
+        // Buffered, and using the encoding announced in the XML header
+        final PrintWriter writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
 
         XMLWriter.header(writer);
         XMLWriter.start(writer, 0, TAG_DATABROWSER);
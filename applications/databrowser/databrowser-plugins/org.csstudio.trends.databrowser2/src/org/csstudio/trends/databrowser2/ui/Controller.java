@@ -652,8 +652,7 @@ public class Controller
             if (window_is_iconized || suppress_redraws)
                 return;
             // Check if anything changed, which also updates formulas
-            if (model.updateItemsAndCheckForNewSamples())
-                plot.redrawTraces();
+            model.updateItemsAndGetChangedFrom().ifPresent(plot::redrawTraces);
         }
         catch (Throwable ex)
         {
@@ -433,4 +433,20 @@ public class ModelBasedPlot
     {
         plot.requestUpdate();
     }
+
+    /** Refresh the plot because the data has changed
+     *
+     *  <p>While the time axis scrolls, the plot will only
+     *  re-paint traces from the changed position on.
+     *
+     *  @param changed_from Position of the earliest sample that changed,
+     *                      {@link Instant#MIN} if any sample might have changed
+     */
+    public void redrawTraces(final Instant changed_from)
+    {
+        if (Instant.MIN.equals(changed_from))
+            plot.requestUpdate();
+        else
+            plot.requestUpdate(changed_from);
+    }
 }
\ No newline at end of file
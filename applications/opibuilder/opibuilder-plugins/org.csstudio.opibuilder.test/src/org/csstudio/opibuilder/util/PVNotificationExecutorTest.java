@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.opibuilder.util;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/** JUnit test of the {@link PVNotificationExecutor}
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class PVNotificationExecutorTest
+{
+    @Test(timeout=10000)
+    public void testOrderPerKey() throws Exception
+    {
+        final PVNotificationExecutor executor = new PVNotificationExecutor(4);
+        final int pvs = 10, updates = 1000;
+        final List<List<Integer>> received = new ArrayList<>();
+        final CountDownLatch done = new CountDownLatch(pvs * updates);
+        for (int pv=0; pv<pvs; ++pv)
+            received.add(new ArrayList<>());
+
+        for (int i=0; i<updates; ++i)
+            for (int pv=0; pv<pvs; ++pv)
+            {
+                final Executor pv_executor = executor.getExecutor("pv" + pv);
+                final List<Integer> values = received.get(pv);
+                final int value = i;
+                pv_executor.execute(() ->
+                {
+                    // Only accessed by the one thread of this PV's stripe
+                    values.add(value);
+                    done.countDown();
+                });
+            }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        for (int pv=0; pv<pvs; ++pv)
+        {
+            final List<Integer> values = received.get(pv);
+            assertThat(values.size(), equalTo(updates));
+            for (int i=0; i<updates; ++i)
+                assertThat(values.get(i), equalTo(i));
+        }
+
+        final PVNotificationExecutor.Statistics stats = executor.getStatistics();
+        System.out.println(stats);
+        assertThat(stats.getThreads(), equalTo(4));
+        assertThat(stats.getExecuted(), equalTo((long) pvs * updates));
+        assertTrue(stats.getMaxLatency() >= stats.getAverageLatency());
+
+        // Reading the statistics does not reset them
+        final PVNotificationExecutor.Statistics again = executor.getStatistics();
+        assertThat(again.getExecuted(), equalTo((long) pvs * updates));
+        assertThat(again.since(stats).getExecuted(), equalTo(0L));
+
+        // Explicit reset
+        executor.reset();
+        assertThat(executor.getStatistics().getExecuted(), equalTo(0L));
+        assertThat(executor.getStatistics().getMaxLatency(), equalTo(0.0));
+    }
+
+    @Test(timeout=10000)
+    public void testSamePV() throws Exception
+    {
+        assertThat(PVNotificationExecutor.getKey("loc://x(2)"), equalTo("loc://x"));
+        assertThat(PVNotificationExecutor.getKey("loc://x<VDouble>(4)"), equalTo("loc://x"));
+        assertThat(PVNotificationExecutor.getKey("loc://x"), equalTo("loc://x"));
+        assertThat(PVNotificationExecutor.getKey("x {\"longString\":true}"), equalTo("x"));
+        assertThat(PVNotificationExecutor.getKey("sim://ramp(1, 10, 0.1)"), equalTo("sim://ramp(1, 10, 0.1)"));
+
+        // Notifications via different names of the same PV stay in order
+        final PVNotificationExecutor executor = new PVNotificationExecutor(8);
+        final String[] names = { "loc://x(2)", "loc://x", "loc://x<VDouble>(4)" };
+        final int updates = 1000;
+        final List<Integer> values = new ArrayList<>();
+        final CountDownLatch done = new CountDownLatch(updates);
+        for (int i=0; i<updates; ++i)
+        {
+            final int value = i;
+            executor.getExecutor(names[i % names.length]).execute(() ->
+            {
+                values.add(value);
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertThat(values.size(), equalTo(updates));
+        for (int i=0; i<updates; ++i)
+            assertThat(values.get(i), equalTo(i));
+    }
+}
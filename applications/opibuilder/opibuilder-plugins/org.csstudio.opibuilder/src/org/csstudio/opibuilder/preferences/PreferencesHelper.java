@@ -71,6 +71,8 @@ public class PreferencesHelper {
     public static final String SHOW_OPI_RUNTIME_STACKS = "show_opi_runtime_stacks"; //$NON-NLS-1$
     public static final String SWITCH_TO_OPI_EDITOR_PERSPECTIVE = "switch_to_opi_editor_perspective"; //$NON-NLS-1$
     public static final String FONT_DEFAULT_PIXELS_OR_POINTS = "font_default_pixels_or_points";
+    public static final String PV_NOTIFICATION_THREADS = "pv_notification_threads"; //$NON-NLS-1$
+    public static final String PV_NOTIFICATION_STATISTICS_PERIOD = "pv_notification_statistics_period"; //$NON-NLS-1$
 
     //The widgets that are hidden from palette.
     public static final String HIDDEN_WIDGETS="hidden_widgets"; //$NON-NLS-1$
@@ -208,6 +210,18 @@ public class PreferencesHelper {
         return service.getInt(OPIBuilderPlugin.PLUGIN_ID, PULSING_ALARM_MAJOR_PERIOD, 1500, null);
     }
 
+    /** @return Number of PV notification threads, 0 to use one per CPU core */
+    public static int getPVNotificationThreads(){
+        final IPreferencesService service = Platform.getPreferencesService();
+        return service.getInt(OPIBuilderPlugin.PLUGIN_ID, PV_NOTIFICATION_THREADS, 0, null);
+    }
+
+    /** @return Period in seconds for writing PV notification statistics to the console, 0 to disable */
+    public static int getPVNotificationStatisticsPeriod(){
+        final IPreferencesService service = Platform.getPreferencesService();
+        return service.getInt(OPIBuilderPlugin.PLUGIN_ID, PV_NOTIFICATION_STATISTICS_PERIOD, 0, null);
+    }
+
     public static boolean isDefaultFontSizeInPixels(){
         return getString(FONT_DEFAULT_PIXELS_OR_POINTS, POINTS).equals(PIXELS);
     }
@@ -1,7 +1,9 @@
 package org.csstudio.opibuilder.util;
 
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.csstudio.opibuilder.preferences.PreferencesHelper;
 import org.csstudio.simplepv.AbstractPVFactory;
@@ -18,10 +20,15 @@ import org.eclipse.swt.widgets.Display;
 public class BOYPVFactory{
 
     /**
-     * The default background thread for PV change event notification.
+     * The background threads for PV change event notification.
+     * Notifications of one PV are always handled by the same thread.
      */
-    private final static ExecutorService BOY_PV_THREAD = Executors
-            .newSingleThreadExecutor();
+    private static PVNotificationExecutor BOY_PV_THREADS = null;
+
+    /**
+     * Periodically writes PV notification statistics to the console, if enabled.
+     */
+    private static ScheduledExecutorService statisticsTimer = null;
 
     private final static ExceptionHandler exceptionHandler = new ExceptionHandler() {
         @Override
@@ -56,6 +63,10 @@ public class BOYPVFactory{
     }
 
     /**Create a PV based on PV connection layer preference.
+     * <p>Listeners of the PV are notified on a background thread.
+     * Notifications for one PV are never concurrent and stay in order,
+     * but notifications for different PVs may be handled concurrently
+     * by different threads, see {@link PVNotificationExecutor}.
      * @param name name of the PV.
      * @param bufferAllValues if all values should be buffered. Only meaningful if it is using
      * PV Manager.
@@ -74,7 +85,47 @@ public class BOYPVFactory{
             if(pvFactory == null)
                 throw new Exception("No such PVFactory extension available: " + pvConnectionLayer);
             return pvFactory.createPV(
-                    name, false, updateDuration, bufferAllValues,  BOY_PV_THREAD, exceptionHandler);
+                    name, false, updateDuration, bufferAllValues,
+                    getNotificationExecutor().getExecutor(name), exceptionHandler);
+    }
+
+    /**@return the executor for PV change event notifications, created on first call.
+     */
+    private static synchronized PVNotificationExecutor getNotificationExecutor(){
+        if(BOY_PV_THREADS == null){
+            int threads = PreferencesHelper.getPVNotificationThreads();
+            if(threads <= 0)
+                threads = Runtime.getRuntime().availableProcessors();
+            BOY_PV_THREADS = new PVNotificationExecutor(threads);
+
+            final int period = PreferencesHelper.getPVNotificationStatisticsPeriod();
+            if(period > 0){
+                statisticsTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    final Thread thread = new Thread(runnable, "BOY PV Notification Statistics"); //$NON-NLS-1$
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                // Report what happened in each period, without resetting the executor's statistics
+                final AtomicReference<PVNotificationExecutor.Statistics> previous =
+                        new AtomicReference<>(BOY_PV_THREADS.getStatistics());
+                statisticsTimer.scheduleWithFixedDelay(() -> {
+                    final PVNotificationExecutor.Statistics current = BOY_PV_THREADS.getStatistics();
+                    final PVNotificationExecutor.Statistics stats = current.since(previous.getAndSet(current));
+                    if(stats.getExecuted() > 0 || stats.getQueued() > 0)
+                        ConsoleService.getInstance().writeInfo(stats.toString());
+                }, period, period, TimeUnit.SECONDS);
+            }
+        }
+        return BOY_PV_THREADS;
+    }
+
+    /**Get PV notification statistics.
+     * Executed notifications and their latency are counted since startup,
+     * see {@link PVNotificationExecutor#getStatistics()}.
+     * @return queue depth and latency of PV change event notifications.
+     */
+    public static PVNotificationExecutor.Statistics getNotificationStatistics(){
+        return getNotificationExecutor().getStatistics();
     }
 
 }
@@ -13,6 +13,8 @@ import java.util.logging.Level;
 import org.csstudio.opibuilder.OPIBuilderPlugin;
 import org.csstudio.opibuilder.datadefinition.WidgetIgnorableUITask;
 import org.csstudio.opibuilder.preferences.PreferencesHelper;
+import org.csstudio.ui.util.thread.UIDispatcher;
+import org.csstudio.ui.util.thread.UIDispatcher.Lane;
 import org.eclipse.swt.widgets.Display;
 
 
@@ -23,6 +25,11 @@ import org.eclipse.swt.widgets.Display;
  * This thread sleeps for a time which can be set in the preference page. It can
  * help throttle the unnecessary repaint caused by fast PV value updating.
  *
+ * In RCP, the tasks are passed on to the {@link UIDispatcher}, using the
+ * data lane for the runtime and the input lane for the editor.
+ * The dispatcher coalesces tasks that have not been executed yet
+ * and limits the time spent on them per frame.
+ *
  * @author Xihui Chen
  *
  */
@@ -50,10 +57,6 @@ public final class GUIRefreshThread implements Runnable {
 
     private long start;
 
-    private volatile boolean asyncEmpty = true;
-
-    private Runnable resetAsyncEmpty;
-
     private Display rcpDisplay;
 
     private boolean isRuntime;
@@ -68,13 +71,6 @@ public final class GUIRefreshThread implements Runnable {
             rcpDisplay = DisplayUtils.getDisplay();
         }
         tasksQueue = new LinkedHashSet<WidgetIgnorableUITask>();
-        resetAsyncEmpty = new Runnable() {
-
-            @Override
-            public void run() {
-                asyncEmpty = true;
-            }
-        };
         reLoadGUIRefreshCycle();
         thread = new Thread(this, "OPI GUI Refresh Thread"); //$NON-NLS-1$
         thread.start();
@@ -155,10 +151,6 @@ public final class GUIRefreshThread implements Runnable {
      * Process the complete queue in RCP.
      */
     private void rcpProcessQueue() {
-        //avoid add too many stuff to Display async queue.
-        if(!asyncEmpty)
-            return;
-        asyncEmpty = false;
         Object[] tasksArray;
         //copy the tasks queue.
         synchronized (this) {
@@ -167,16 +159,19 @@ public final class GUIRefreshThread implements Runnable {
         }
         if (rcpDisplay == null || rcpDisplay.isDisposed())
             return;
+        //the dispatcher replaces tasks of the same widget property
+        //that are still queued, so the display queue cannot grow without limit.
+        final UIDispatcher dispatcher = UIDispatcher.getInstance(rcpDisplay);
+        final Lane lane = isRuntime ? Lane.DATA : Lane.INPUT;
         for (Object o : tasksArray) {
             try {
-                rcpDisplay.asyncExec(((WidgetIgnorableUITask) o)
+                dispatcher.submit(lane, o, ((WidgetIgnorableUITask) o)
                         .getRunnableTask());
             } catch (Exception e) {
                 OPIBuilderPlugin.getLogger().log(Level.WARNING,
                         "Display has been disposed.", e); //$NON-NLS-1$
             }
         }
-        rcpDisplay.asyncExec(resetAsyncEmpty);
     }
 
     /**
@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.opibuilder.util;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Striped executor for PV notifications
+ *
+ *  <p>Each stripe is a single thread.
+ *  All notifications for the same PV are handled by the same stripe,
+ *  while notifications for different PVs are spread over
+ *  several threads.
+ *
+ *  <p>Threading contract for PV listeners:
+ *  <ul>
+ *  <li>Notifications for one PV are never concurrent
+ *      and arrive in the order in which they were submitted.
+ *      This includes different spellings of the same PV,
+ *      like "loc://x(2)" and "loc://x", see {@link #getKey(String)}.
+ *  <li>Notifications for different PVs may be concurrent,
+ *      and are not ordered with respect to each other.
+ *      A widget that uses several PVs may thus receive the update
+ *      of one PV before that of another PV which changed earlier,
+ *      or while it still handles the update of the other PV.
+ *      Listeners that share state across PVs must synchronize.
+ *  </ul>
+ *
+ *  <p>Tracks the queue depth and the latency from
+ *  submitting a notification to its start of execution.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class PVNotificationExecutor
+{
+    final private ThreadPoolExecutor[] stripes;
+
+    final private LongAdder executed = new LongAdder();
+    final private LongAdder total_latency_nanos = new LongAdder();
+    final private AtomicLong max_latency_nanos = new AtomicLong();
+
+    /** Notification that tracks its latency */
+    private class TimedRunnable implements Runnable
+    {
+        final private Runnable runnable;
+        final private long submitted = System.nanoTime();
+
+        TimedRunnable(final Runnable runnable)
+        {
+            this.runnable = runnable;
+        }
+
+        @Override
+        public void run()
+        {
+            final long latency = System.nanoTime() - submitted;
+            executed.increment();
+            total_latency_nanos.add(latency);
+            long max = max_latency_nanos.get();
+            while (latency > max  &&  !max_latency_nanos.compareAndSet(max, latency))
+                max = max_latency_nanos.get();
+            runnable.run();
+        }
+    }
+
+    /** Statistics snapshot */
+    public static class Statistics
+    {
+        final private int threads, queued, max_queued;
+        final private long executed, total_latency_nanos, max_latency_nanos;
+
+        Statistics(final int threads, final int queued, final int max_queued,
+                   final long executed, final long total_latency_nanos, final long max_latency_nanos)
+        {
+            this.threads = threads;
+            this.queued = queued;
+            this.max_queued = max_queued;
+            this.executed = executed;
+            this.total_latency_nanos = total_latency_nanos;
+            this.max_latency_nanos = max_latency_nanos;
+        }
+
+        /** @param previous Earlier snapshot
+         *  @return Statistics for the notifications executed since the earlier snapshot.
+         *          The maximum latency is still that since the last reset.
+         */
+        public Statistics since(final Statistics previous)
+        {
+            return new Statistics(threads, queued, max_queued,
+                                  executed - previous.executed,
+                                  total_latency_nanos - previous.total_latency_nanos,
+                                  max_latency_nanos);
+        }
+
+        /** @return Number of notification threads */
+        public int getThreads()
+        {
+            return threads;
+        }
+
+        /** @return Number of queued notifications */
+        public int getQueued()
+        {
+            return queued;
+        }
+
+        /** @return Largest number of queued notifications for one thread */
+        public int getMaxQueued()
+        {
+            return max_queued;
+        }
+
+        /** @return Number of executed notifications */
+        public long getExecuted()
+        {
+            return executed;
+        }
+
+        /** @return Average latency in ms */
+        public double getAverageLatency()
+        {
+            return executed > 0 ? total_latency_nanos / 1e6 / executed : 0.0;
+        }
+
+        /** @return Maximum latency in ms */
+        public double getMaxLatency()
+        {
+            return max_latency_nanos / 1e6;
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format("PV notifications: %d threads, %d queued (max. %d per thread), %d executed, latency %.1f ms avg., %.1f ms max.",
+                                 threads, queued, max_queued, executed, getAverageLatency(), getMaxLatency());
+        }
+    }
+
+    /** @param threads Number of threads, i.e. stripes */
+    public PVNotificationExecutor(final int threads)
+    {
+        stripes = new ThreadPoolExecutor[Math.max(1, threads)];
+        for (int i=0; i<stripes.length; ++i)
+        {
+            final String name = "BOY PV Notification " + (i+1);
+            stripes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(),
+                runnable ->
+                {
+                    final Thread thread = new Thread(runnable, name);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        }
+    }
+
+    /** Get key for the stripe of a PV
+     *
+     *  <p>Different names that refer to the same PV
+     *  need to use the same stripe.
+     *  Options like <code>name {"longString":true}</code>
+     *  and the type and initial value of local PVs
+     *  like <code>loc://name&lt;VDouble>(4)</code>
+     *  are thus removed.
+     *
+     *  @param name PV name
+     *  @return Key
+     */
+    static String getKey(final String name)
+    {
+        String key = name.trim();
+        int end = key.indexOf(" {");
+        if (end > 0)
+            key = key.substring(0, end).trim();
+        if (key.startsWith("loc://"))
+        {
+            end = key.length();
+            final int init = key.indexOf('(');
+            if (init > 0)
+                end = init;
+            final int type = key.indexOf('<');
+            if (type > 0  &&  type < end)
+                end = type;
+            key = key.substring(0, end);
+        }
+        return key;
+    }
+
+    /** @param name PV name
+     *  @return Executor for that PV
+     */
+    public Executor getExecutor(final String name)
+    {
+        final ThreadPoolExecutor stripe = stripes[Math.floorMod(getKey(name).hashCode(), stripes.length)];
+        return runnable -> stripe.execute(new TimedRunnable(runnable));
+    }
+
+    /** Get statistics
+     *
+     *  <p>Executed notifications and their latency are counted
+     *  since the executor was created or last reset.
+     *
+     *  @return {@link Statistics}
+     *  @see #reset()
+     */
+    public Statistics getStatistics()
+    {
+        int queued = 0, max_queued = 0;
+        for (ThreadPoolExecutor stripe : stripes)
+        {
+            final int size = stripe.getQueue().size();
+            queued += size;
+            max_queued = Math.max(max_queued, size);
+        }
+        return new Statistics(stripes.length, queued, max_queued,
+                              executed.sum(), total_latency_nanos.sum(), max_latency_nanos.get());
+    }
+
+    /** Reset the count of executed notifications and their latency */
+    public void reset()
+    {
+        executed.reset();
+        total_latency_nanos.reset();
+        max_latency_nanos.set(0);
+    }
+}
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.simplepv.vtypepv;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.csstudio.simplepv.IPV;
+import org.csstudio.simplepv.IPVListener;
+import org.csstudio.vtype.pv.PV;
+import org.csstudio.vtype.pv.PVPool;
+import org.csstudio.vtype.pv.local.LocalPVFactory;
+import org.diirt.vtype.VNumber;
+import org.diirt.vtype.VType;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/** JUnit test of the {@link VTypePV} update throttling
+ *
+ *  <p>A local PV changes every millisecond,
+ *  while the {@link VTypePV} notifies at most every 100ms.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class VTypePVUnitTest
+{
+    /** Number of values written to the local PV, including the initial value */
+    final private static int VALUES = 1000;
+
+    @BeforeClass
+    public static void setup()
+    {
+        PVPool.addPVFactory(new LocalPVFactory());
+    }
+
+    private static double getNumber(final VType value)
+    {
+        return ((VNumber) value).getValue().doubleValue();
+    }
+
+    /** Write 1, 2, .., VALUES-1 to a local PV, one value per millisecond
+     *  @param name PV name
+     *  @return Seconds spent writing
+     */
+    private static double writeValues(final String name) throws Exception
+    {
+        final PV local = PVPool.getPV(name);
+        try
+        {
+            final long start = System.nanoTime();
+            for (int i=1; i<VALUES; ++i)
+            {
+                local.write(Double.valueOf(i));
+                TimeUnit.MILLISECONDS.sleep(1);
+            }
+            return (System.nanoTime() - start) / 1e9;
+        }
+        finally
+        {
+            PVPool.releasePV(local);
+        }
+    }
+
+    @Test(timeout=10000)
+    public void testThrottling() throws Exception
+    {
+        final ExecutorService notifications = Executors.newSingleThreadExecutor();
+        final IPV pv = new VTypePV("loc://vtypepv_throttle(0)", false, 100, false, notifications, null);
+        final AtomicInteger updates = new AtomicInteger();
+        final CountDownLatch last = new CountDownLatch(1);
+        pv.addListener(new IPVListener.Stub()
+        {
+            @Override
+            public void valueChanged(final IPV pv)
+            {
+                updates.incrementAndGet();
+                if (getNumber(pv.getValue()) == VALUES - 1)
+                    last.countDown();
+            }
+        });
+        pv.start();
+        try
+        {
+            final double seconds = writeValues(pv.getName());
+            // Last value is always delivered
+            last.await();
+            System.out.println(updates.get() + " notifications for " + VALUES + " values in " + seconds + " seconds");
+            // At most one notification per 100ms, plus initial and final value
+            assertTrue(updates.get() <= seconds * 10 + 2);
+
+            // No more notifications once the PV is idle
+            final int received = updates.get();
+            TimeUnit.MILLISECONDS.sleep(300);
+            assertThat(updates.get(), equalTo(received));
+        }
+        finally
+        {
+            pv.stop();
+            notifications.shutdown();
+        }
+    }
+
+    @Test(timeout=10000)
+    public void testBuffering() throws Exception
+    {
+        final ExecutorService notifications = Executors.newSingleThreadExecutor();
+        final IPV pv = new VTypePV("loc://vtypepv_buffer(0)", false, 100, true, notifications, null);
+        final AtomicInteger updates = new AtomicInteger();
+        final List<VType> received = new ArrayList<>();
+        final CountDownLatch last = new CountDownLatch(1);
+        pv.addListener(new IPVListener.Stub()
+        {
+            @Override
+            public void valueChanged(final IPV pv)
+            {
+                updates.incrementAndGet();
+                final List<VType> values = pv.getAllBufferedValues();
+                received.addAll(values);
+                if (getNumber(values.get(values.size()-1)) == VALUES - 1)
+                    last.countDown();
+            }
+        });
+        pv.start();
+        try
+        {
+            final double seconds = writeValues(pv.getName());
+            last.await();
+            System.out.println(updates.get() + " notifications for " + VALUES + " buffered values in " + seconds + " seconds");
+            assertTrue(updates.get() <= seconds * 10 + 2);
+
+            // Every value is received once, in order
+            assertThat(received.size(), equalTo(VALUES));
+            for (int i=0; i<VALUES; ++i)
+                assertThat(getNumber(received.get(i)), equalTo((double) i));
+        }
+        finally
+        {
+            pv.stop();
+            notifications.shutdown();
+        }
+    }
+}
@@ -7,7 +7,10 @@
  ******************************************************************************/
 package org.csstudio.simplepv.vtypepv;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -19,11 +22,19 @@ import org.csstudio.simplepv.IPV;
 import org.csstudio.simplepv.IPVListener;
 import org.csstudio.vtype.pv.PV;
 import org.csstudio.vtype.pv.PVListener;
+import org.csstudio.vtype.pv.PVListenerAdapter;
 import org.csstudio.vtype.pv.PVPool;
 import org.diirt.vtype.VByteArray;
 import org.diirt.vtype.VType;
 
 /** Opibuilder {@link IPV} based on vtype {@link PV}
+ *
+ *  <p>Value notifications are limited to the minimum update period.
+ *  Updates that arrive faster are coalesced,
+ *  and listeners receive the most recent value.
+ *  When buffering all values, {@link #getAllBufferedValues()}
+ *  provides the values received up to the last notification.
+ *
  *  @author Kay Kasemir
  */
 @SuppressWarnings("nls")
@@ -39,30 +50,81 @@ public class VTypePV implements IPV
     final private AtomicBoolean connected = new AtomicBoolean(false);
     private volatile boolean is_long_string = false;
 
-    /** vtype.PV listener, forwards events to the IPV listener
-     *  on requested thread
+    /** Minimum period between value notifications, 0 for 'every update' */
+    final private long min_update_period_ms;
+
+    /** Buffer all values received between notifications? */
+    final private boolean buffer_all_values;
+
+    /** Values received since the last notification.
+     *  SYNC on the buffer.
+     *  Limited to {@link #MAX_BUFFERED_VALUES}, dropping the oldest values.
      */
-    final private PVListener listener = new PVListener()
+    final private ArrayDeque<VType> buffer = new ArrayDeque<>();
+
+    /** Maximum number of values kept in the buffer */
+    final private static int MAX_BUFFERED_VALUES = 1000;
+
+    /** Values of the most recent notification */
+    private volatile List<VType> buffered_values = Collections.emptyList();
+
+    /** Has connection been reported to the IPV listeners? */
+    final private AtomicBoolean reported_connection = new AtomicBoolean(false);
+
+    /** Is a value notification pending on the notification thread?
+     *  Listeners read the value via getValue(), so one pending notification
+     *  covers any number of updates that arrive before it executes.
+     */
+    final private AtomicBoolean value_notification_pending = new AtomicBoolean(false);
+
+    /** vtype.PV listener that receives every update
+     *  to track the connection state and buffer values
+     */
+    final private PVListener collector = new PVListenerAdapter()
     {
         @Override
         public void valueChanged(final PV pv, final VType value)
         {
-            final boolean first_value = connected.compareAndSet(false, true);
-            if (first_value)
+            if (buffer_all_values)
+                synchronized (buffer)
+                {
+                    if (buffer.size() >= MAX_BUFFERED_VALUES)
+                        buffer.removeFirst();
+                    buffer.addLast(value);
+                }
+            if (connected.compareAndSet(false, true))
                 synchronized (connected)
                 {
                     connected.notifyAll();
                 }
-            for (IPVListener l : listeners)
-                notificationThread.execute(() ->
-                {
-                    if (first_value)
+        }
+
+        @Override
+        public void disconnected(final PV pv)
+        {
+            connected.set(false);
+        }
+    };
+
+    /** vtype.PV listener, forwards events to the IPV listener
+     *  on requested thread.
+     *  Registered with the minimum update period.
+     */
+    final private PVListener listener = new PVListener()
+    {
+        @Override
+        public void valueChanged(final PV pv, final VType value)
+        {
+            if (reported_connection.compareAndSet(false, true))
+                for (IPVListener l : listeners)
+                    notificationThread.execute(() ->
                     {
                         l.connectionChanged(VTypePV.this);
                         l.writePermissionChanged(VTypePV.this);
-                    }
-                    l.valueChanged(VTypePV.this);
-                });
+                    });
+            // Coalesce with a notification that's still queued
+            if (value_notification_pending.compareAndSet(false, true))
+                notificationThread.execute(VTypePV.this::notifyValue);
         }
 
         @Override
@@ -75,7 +137,7 @@ public class VTypePV implements IPV
         @Override
         public void disconnected(final PV pv)
         {
-            connected.set(false);
+            reported_connection.set(false);
             for (IPVListener l : listeners)
                 notificationThread.execute(() -> l.connectionChanged(VTypePV.this));
         }
@@ -83,18 +145,46 @@ public class VTypePV implements IPV
 
     /** @param name PV Name
      *  @param readOnly opibuilder always passes false, so this is ignored
+     *  @param minUpdatePeriodInMs Minimum period between value notifications
+     *  @param bufferAllValues Buffer all values received between notifications?
      *  @param notificationThread Thread on which to call {@link IPVListener}
      *  @param exceptionHandler Not used
      *  @throws Exception
      */
     VTypePV(final String name, final boolean readOnly,
+            final long minUpdatePeriodInMs, final boolean bufferAllValues,
             final Executor notificationThread,
             final ExceptionHandler exceptionHandler) throws Exception
     {
         this.name = parseName(name);
+        this.min_update_period_ms = Math.max(0, minUpdatePeriodInMs);
+        this.buffer_all_values = bufferAllValues;
         this.notificationThread = notificationThread;
     }
 
+    /** Notify IPV listeners of a value update.
+     *  Called on the notification thread.
+     */
+    private void notifyValue()
+    {
+        value_notification_pending.set(false);
+        if (buffer_all_values)
+        {
+            final List<VType> values;
+            synchronized (buffer)
+            {
+                values = new ArrayList<>(buffer);
+                buffer.clear();
+            }
+            // Nothing new since last notification? Keep previous values
+            if (values.isEmpty())
+                return;
+            buffered_values = Collections.unmodifiableList(values);
+        }
+        for (IPVListener l : listeners)
+            l.valueChanged(this);
+    }
+
     /** Check name for special cases used by the PVManager
      *  @param name Original name
      *  @return Potentially adjusted name
@@ -159,7 +249,12 @@ public class VTypePV implements IPV
             throw new Exception("PV " + name + " already started");
         final PV the_pv = PVPool.getPV(name);
         pv = Optional.of(the_pv);
-        the_pv.addListener(listener);
+        // Collector must see each value before the listener sends notification
+        the_pv.addListener(collector);
+        if (min_update_period_ms > 0)
+            the_pv.addListener(listener, min_update_period_ms);
+        else
+            the_pv.addListener(listener);
     }
 
     /** {@inheritDoc} */
@@ -171,6 +266,7 @@ public class VTypePV implements IPV
         if (safe_pv != null)
         {
             safe_pv.removeListener(listener);
+            safe_pv.removeListener(collector);
             PVPool.releasePV(safe_pv);
         }
     }
@@ -227,7 +323,7 @@ public class VTypePV implements IPV
     @Override
     public boolean isBufferingValues()
     {
-        return false;
+        return buffer_all_values;
     }
 
     /** {@inheritDoc} */
@@ -277,6 +373,16 @@ public class VTypePV implements IPV
     @Override
     public List<VType> getAllBufferedValues()
     {
+        if (buffer_all_values)
+        {
+            final List<VType> values = buffered_values;
+            if (! is_long_string)
+                return values;
+            final List<VType> converted = new ArrayList<>(values.size());
+            for (VType value : values)
+                converted.add(value instanceof VByteArray ? ByteHelper.toString((VByteArray) value) : value);
+            return converted;
+        }
         return Arrays.asList(getValue());
     }
 
@@ -25,6 +25,7 @@ public class VTypePVFactory extends AbstractPVFactory
             final Executor notificationThread, final ExceptionHandler exceptionHandler)
             throws Exception
     {
-        return new VTypePV(name, readOnly, notificationThread, exceptionHandler);
+        return new VTypePV(name, readOnly, minUpdatePeriodInMs, bufferAllValues,
+                           notificationThread, exceptionHandler);
     }
 }
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.vtype.pv;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/** JUnit test of the {@link PVPool}
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class PVPoolUnitTest
+{
+    /** Delay of the test factory when creating a PV */
+    private static final long CREATION_MS = 200;
+
+    /** Factory that takes some time to create PVs */
+    private static class SlowFactory implements PVFactory
+    {
+        final AtomicInteger created = new AtomicInteger();
+
+        @Override
+        public String getType()
+        {
+            return "slow";
+        }
+
+        @Override
+        public PV createPV(final String name, final String base_name) throws Exception
+        {
+            TimeUnit.MILLISECONDS.sleep(CREATION_MS);
+            if (base_name.startsWith("bad"))
+                throw new Exception("Cannot create " + name);
+            created.incrementAndGet();
+            // "x(1)" is an alias for "x"
+            final int sep = name.indexOf('(');
+            return new PV(sep > 0 ? name.substring(0, sep) : name)
+            {
+                @Override
+                public void write(final Object new_value) throws Exception
+                {
+                    // NOP
+                }
+            };
+        }
+    }
+
+    @Test(timeout=10000)
+    public void testConcurrentCreation() throws Exception
+    {
+        final SlowFactory factory = new SlowFactory();
+        PVPool.addPVFactory(factory);
+
+        // Request 10 different PVs, each 3 times, from different threads
+        final int N = 10;
+        final ExecutorService executor = Executors.newFixedThreadPool(3 * N);
+        final List<Future<PV>> results = new ArrayList<>();
+        final long start = System.currentTimeMillis();
+        for (int i=0; i<N; ++i)
+            for (int dup=0; dup<3; ++dup)
+            {
+                final String name = "slow://pv" + i;
+                results.add(executor.submit(() -> PVPool.getPV(name)));
+            }
+        final List<PV> pvs = new ArrayList<>();
+        for (Future<PV> result : results)
+            pvs.add(result.get());
+        final long millis = System.currentTimeMillis() - start;
+        executor.shutdown();
+
+        // Created in parallel, not one after the other
+        System.out.println("Created " + N + " PVs in " + millis + " ms");
+        assertTrue(millis < N * CREATION_MS);
+
+        // Duplicates share one instance
+        assertThat(factory.created.get(), equalTo(N));
+        for (int i=0; i<N; ++i)
+        {
+            assertThat(pvs.get(3*i+1), sameInstance(pvs.get(3*i)));
+            assertThat(pvs.get(3*i+2), sameInstance(pvs.get(3*i)));
+        }
+        final PVPoolStatistics stats = PVPool.getStatistics();
+        System.out.println(stats);
+        assertThat(stats.getLiveCount(), equalTo(N));
+        // All N PVs have 3 references, i.e. are in the 2-3 bucket
+        assertThat(stats.getReferenceHistogram()[1], equalTo(N));
+
+        for (PV pv : pvs)
+            PVPool.releasePV(pv);
+        assertThat(PVPool.getPVReferences().size(), equalTo(0));
+    }
+
+    @Test(timeout=10000)
+    public void testAsync() throws Exception
+    {
+        PVPool.addPVFactory(new SlowFactory());
+
+        final CompletableFuture<PV> future = PVPool.getPVAsync("slow://async");
+        final PV pv = PVPool.getPV("slow://async");
+        assertThat(future.get(), sameInstance(pv));
+
+        // Alias is added to the same pool entry
+        final PV alias = PVPool.getPVAsync("slow://async(1)").get();
+        assertThat(alias.getName(), equalTo("slow://async"));
+        assertThat(PVPool.getPVReferences().iterator().next().getReferences(), equalTo(3));
+        PVPool.releasePV(alias);
+        PVPool.releasePV(pv);
+        PVPool.releasePV(pv);
+        assertThat(PVPool.getPVReferences().size(), equalTo(0));
+
+        // Errors are reported to all who requested the PV
+        final CompletableFuture<PV> bad = PVPool.getPVAsync("slow://bad");
+        try
+        {
+            PVPool.getPV("slow://bad");
+            fail("Created bad PV");
+        }
+        catch (Exception ex)
+        {
+            assertThat(ex.getMessage(), equalTo("Cannot create slow://bad"));
+        }
+        assertTrue(bad.handle((result, error) -> error != null).get());
+        assertThat(PVPool.getPVReferences().size(), equalTo(0));
+    }
+}
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.vtype.pv;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.diirt.vtype.VDouble;
+import org.diirt.vtype.VType;
+import org.diirt.vtype.ValueFactory;
+import org.junit.Test;
+
+/** JUnit test of rate-limited {@link PVListener}s
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class ThrottledListenerUnitTest
+{
+    /** PV that allows test to send updates */
+    private static class TestPV extends PV
+    {
+        TestPV()
+        {
+            super("test");
+        }
+
+        void update(final double value)
+        {
+            notifyListenersOfValue(ValueFactory.newVDouble(value));
+        }
+
+        @Override
+        public void write(final Object new_value) throws Exception
+        {
+            // NOP
+        }
+    }
+
+    @Test(timeout=10000)
+    public void testThrottling() throws Exception
+    {
+        final TestPV pv = new TestPV();
+        final AtomicInteger updates = new AtomicInteger();
+        final CountDownLatch last = new CountDownLatch(1);
+        final PVListener listener = new PVListenerAdapter()
+        {
+            @Override
+            public void valueChanged(final PV pv, final VType value)
+            {
+                updates.incrementAndGet();
+                if (((VDouble) value).getValue() == 999.0)
+                    last.countDown();
+            }
+        };
+        pv.addListener(listener, 100);
+
+        // 1000 updates over about 1 second
+        final long start = System.nanoTime();
+        for (int i=0; i<1000; ++i)
+        {
+            pv.update(i);
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        // Last value is always delivered
+        last.await();
+        final double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println(updates.get() + " updates in " + seconds + " seconds, "
+                           + pv.getCoalescedUpdates() + " coalesced");
+        assertTrue(updates.get() <= seconds * 10 + 2);
+        assertThat(updates.get() + pv.getCoalescedUpdates(), equalTo(1000L));
+        assertThat(pv.getDroppedUpdates(), equalTo(0L));
+
+        // No more updates once removed
+        pv.removeListener(listener);
+        final int received = updates.get();
+        pv.update(1);
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertThat(updates.get(), equalTo(received));
+    }
+}
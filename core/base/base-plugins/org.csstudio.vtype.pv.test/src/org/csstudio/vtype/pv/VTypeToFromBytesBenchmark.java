@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.vtype.pv;
+
+import java.time.Instant;
+
+import org.csstudio.vtype.pv.mqtt.VTypeToFromBytes;
+import org.csstudio.vtype.pv.mqtt.VTypeToFromString;
+import org.diirt.util.array.ArrayDouble;
+import org.diirt.vtype.AlarmSeverity;
+import org.diirt.vtype.VType;
+import org.diirt.vtype.ValueFactory;
+import org.junit.Test;
+
+/** Benchmark of the MQTT payload formats
+ *
+ *  <p>Encodes and decodes a large array
+ *  with {@link VTypeToFromString} and {@link VTypeToFromBytes}.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class VTypeToFromBytesBenchmark
+{
+    private static final int ELEMENTS = 100000;
+    private static final int RUNS = 20;
+
+    @Test
+    public void benchmark() throws Exception
+    {
+        final double[] data = new double[ELEMENTS];
+        for (int i=0; i<data.length; ++i)
+            data[i] = Math.sin(i * 0.001) * 1000;
+        final VType value = ValueFactory.newVDoubleArray(new ArrayDouble(data),
+                                                         ValueFactory.newAlarm(AlarmSeverity.MINOR, "HIGH"),
+                                                         ValueFactory.newTime(Instant.ofEpochSecond(1400000000L, 123456789)),
+                                                         ValueFactory.displayNone());
+
+        // First pass warms up the JIT
+        for (int pass=0; pass<2; ++pass)
+        {
+            long start = System.nanoTime();
+            int text_size = 0;
+            for (int run=0; run<RUNS; ++run)
+            {
+                final byte[] payload = VTypeToFromString.ToString(value).getBytes();
+                text_size = payload.length;
+                VTypeToFromString.FromStringVDoubleArray(new String(payload));
+            }
+            final double text_ms = (System.nanoTime() - start) / 1e6 / RUNS;
+
+            start = System.nanoTime();
+            int binary_size = 0;
+            for (int run=0; run<RUNS; ++run)
+            {
+                final byte[] payload = VTypeToFromBytes.toBytes(value);
+                binary_size = payload.length;
+                VTypeToFromBytes.fromBytes(payload);
+            }
+            final double binary_ms = (System.nanoTime() - start) / 1e6 / RUNS;
+
+            if (pass > 0)
+                System.out.format("%d element array: Text %d bytes, %.1f ms; Binary %d bytes, %.1f ms\n",
+                                  ELEMENTS, text_size, text_ms, binary_size, binary_ms);
+        }
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        new VTypeToFromBytesBenchmark().benchmark();
+    }
+}
@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.vtype.pv;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+import org.csstudio.vtype.pv.mqtt.VTypeToFromBytes;
+import org.diirt.util.array.ArrayDouble;
+import org.diirt.util.array.ArrayInt;
+import org.diirt.vtype.Alarm;
+import org.diirt.vtype.AlarmSeverity;
+import org.diirt.vtype.Time;
+import org.diirt.vtype.VDouble;
+import org.diirt.vtype.VDoubleArray;
+import org.diirt.vtype.VEnum;
+import org.diirt.vtype.VIntArray;
+import org.diirt.vtype.VLong;
+import org.diirt.vtype.VString;
+import org.diirt.vtype.VStringArray;
+import org.diirt.vtype.VType;
+import org.diirt.vtype.ValueFactory;
+import org.junit.Test;
+
+/** JUnit tests of {@link VTypeToFromBytes}
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class VTypeToFromBytesTest
+{
+    private static final Time time = ValueFactory.newTime(Instant.ofEpochSecond(1400000000L, 123456789));
+    private static final Alarm alarm = ValueFactory.newAlarm(AlarmSeverity.MINOR, "HIGH");
+
+    private VType roundTrip(final VType value) throws Exception
+    {
+        final byte[] payload = VTypeToFromBytes.toBytes(value);
+        assertTrue(VTypeToFromBytes.isBinary(payload));
+        final VType copy = VTypeToFromBytes.fromBytes(payload);
+        System.out.println(value + " -> " + payload.length + " bytes -> " + copy);
+        assertThat(((Time)copy).getTimestamp(), equalTo(time.getTimestamp()));
+        assertThat(((Alarm)copy).getAlarmSeverity(), equalTo(alarm.getAlarmSeverity()));
+        assertThat(((Alarm)copy).getAlarmName(), equalTo(alarm.getAlarmName()));
+        return copy;
+    }
+
+    @Test
+    public void testScalars() throws Exception
+    {
+        VType value = roundTrip(ValueFactory.newVDouble(3.14, alarm, time, ValueFactory.displayNone()));
+        assertThat(value, instanceOf(VDouble.class));
+        assertThat(((VDouble)value).getValue(), equalTo(3.14));
+
+        value = roundTrip(ValueFactory.newVString("Hello, Dolly! \u00b0C", alarm, time));
+        assertThat(value, instanceOf(VString.class));
+        assertThat(((VString)value).getValue(), equalTo("Hello, Dolly! \u00b0C"));
+
+        value = roundTrip(ValueFactory.newVEnum(1, Arrays.asList("Off", "On"), alarm, time));
+        assertThat(value, instanceOf(VEnum.class));
+        assertThat(((VEnum)value).getIndex(), equalTo(1));
+        assertThat(((VEnum)value).getValue(), equalTo("On"));
+    }
+
+    @Test
+    public void testArrays() throws Exception
+    {
+        VType value = roundTrip(ValueFactory.newVDoubleArray(new ArrayDouble(1.0, 2.5, -3.0), alarm, time, ValueFactory.displayNone()));
+        assertThat(value, instanceOf(VDoubleArray.class));
+        assertThat(((VDoubleArray)value).getData(), equalTo(new ArrayDouble(1.0, 2.5, -3.0)));
+
+        value = roundTrip(ValueFactory.newVIntArray(new ArrayInt(1, 2, 3, 4), alarm, time, ValueFactory.displayNone()));
+        assertThat(value, instanceOf(VIntArray.class));
+        assertThat(((VIntArray)value).getData(), equalTo(new ArrayInt(1, 2, 3, 4)));
+
+        value = roundTrip(ValueFactory.newVStringArray(Arrays.asList("a", "", "b c"), alarm, time));
+        assertThat(value, instanceOf(VStringArray.class));
+        assertThat(((VStringArray)value).getData(), equalTo(Arrays.asList("a", "", "b c")));
+    }
+
+    @Test
+    public void testText() throws Exception
+    {
+        assertThat(VTypeToFromBytes.isBinary("3.14".getBytes()), equalTo(false));
+        assertThat(VTypeToFromBytes.isBinary("[ 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18 ]".getBytes()), equalTo(false));
+        try
+        {
+            final byte[] payload = VTypeToFromBytes.toBytes(ValueFactory.newVDouble(3.14, alarm, time, ValueFactory.displayNone()));
+            VTypeToFromBytes.fromBytes(Arrays.copyOf(payload, payload.length - 2));
+            fail("Decoded truncated payload");
+        }
+        catch (Exception ex)
+        {
+            System.out.println("Detected truncated payload: " + ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testDeclaredType() throws Exception
+    {
+        // Matching type
+        byte[] payload = VTypeToFromBytes.toBytes(ValueFactory.newVDouble(3.14, alarm, time, ValueFactory.displayNone()));
+        VType value = VTypeToFromBytes.fromBytes(payload, VDouble.class);
+        assertThat(((VDouble)value).getValue(), equalTo(3.14));
+
+        // Numbers are converted to the declared type
+        payload = VTypeToFromBytes.toBytes(ValueFactory.newVLong(42L, alarm, time, ValueFactory.displayNone()));
+        assertThat(VTypeToFromBytes.fromBytes(payload), instanceOf(VLong.class));
+        value = VTypeToFromBytes.fromBytes(payload, VDouble.class);
+        assertThat(value, instanceOf(VDouble.class));
+        assertThat(((VDouble)value).getValue(), equalTo(42.0));
+        assertThat(((Time)value).getTimestamp(), equalTo(time.getTimestamp()));
+        assertThat(((Alarm)value).getAlarmName(), equalTo(alarm.getAlarmName()));
+
+        payload = VTypeToFromBytes.toBytes(ValueFactory.newVIntArray(new ArrayInt(1, 2, 3), alarm, time, ValueFactory.displayNone()));
+        value = VTypeToFromBytes.fromBytes(payload, VDoubleArray.class);
+        assertThat(value, instanceOf(VDoubleArray.class));
+        assertThat(((VDoubleArray)value).getData(), equalTo(new ArrayDouble(1.0, 2.0, 3.0)));
+
+        // Other types are rejected
+        try
+        {
+            payload = VTypeToFromBytes.toBytes(ValueFactory.newVString("3.14", alarm, time));
+            VTypeToFromBytes.fromBytes(payload, VDouble.class);
+            fail("Decoded string for double PV");
+        }
+        catch (Exception ex)
+        {
+            System.out.println("Detected type mismatch: " + ex.getMessage());
+        }
+        try
+        {
+            payload = VTypeToFromBytes.toBytes(ValueFactory.newVDouble(3.14, alarm, time, ValueFactory.displayNone()));
+            VTypeToFromBytes.fromBytes(payload, VLong.class);
+            fail("Decoded double for long PV");
+        }
+        catch (Exception ex)
+        {
+            System.out.println("Detected type mismatch: " + ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.vtype.pv.jca;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.diirt.util.array.ListDouble;
+import org.diirt.vtype.VDoubleArray;
+import org.junit.Test;
+
+import gov.aps.jca.dbr.DBR_CTRL_Double;
+import gov.aps.jca.dbr.DBR_TIME_Double;
+import gov.aps.jca.dbr.TimeStamp;
+
+/** Benchmark for decoding large JCA array monitors
+ *
+ *  <p>Decodes a 1M-element waveform the way {@link JCA_PV}
+ *  does for each monitor event and accesses it like a typical
+ *  display would: Data, sizes, limits, format, time stamp.
+ *
+ *  <p>Reports time and memory allocated per event,
+ *  and the resulting garbage per minute at 10 Hz.
+ *  The array of the DBR itself is allocated by the CA library
+ *  for each received event and thus not included.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class DBRDecodeBenchmark
+{
+    private static final int ELEMENTS = 1000000;
+    private static final int EVENTS = 2000;
+
+    private static final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private DBR_CTRL_Double createMetadata()
+    {
+        final DBR_CTRL_Double metadata = new DBR_CTRL_Double();
+        metadata.setUnits("counts");
+        metadata.setPrecision((short) 2);
+        metadata.setLowerDispLimit(0.0);
+        metadata.setUpperDispLimit(100.0);
+        metadata.setLowerCtrlLimit(0.0);
+        metadata.setUpperCtrlLimit(100.0);
+        metadata.setLowerAlarmLimit(Double.NaN);
+        metadata.setUpperAlarmLimit(Double.NaN);
+        metadata.setLowerWarningLimit(Double.NaN);
+        metadata.setUpperWarningLimit(Double.NaN);
+        return metadata;
+    }
+
+    private DBR_TIME_Double createValue()
+    {
+        final double[] data = new double[ELEMENTS];
+        for (int i=0; i<ELEMENTS; ++i)
+            data[i] = i % 100;
+        final DBR_TIME_Double dbr = new DBR_TIME_Double(data);
+        dbr.setTimeStamp(new TimeStamp());
+        return dbr;
+    }
+
+    /** Access value like a display */
+    private double consume(final VDoubleArray value)
+    {
+        final ListDouble data = value.getData();
+        double sum = data.getDouble(0) + data.getDouble(data.size()-1);
+        sum += value.getSizes().getInt(0);
+        sum += value.getLowerDisplayLimit() + value.getUpperDisplayLimit();
+        sum += value.getFormat().getMaximumFractionDigits();
+        sum += value.getUnits().length();
+        sum += value.getTimestamp().getNano();
+        sum += value.getAlarmSeverity().ordinal();
+        return sum;
+    }
+
+    private void run(final String title, final boolean share_display) throws Exception
+    {
+        final DBR_CTRL_Double metadata = createMetadata();
+        final DBR_TIME_Double dbr = createValue();
+        final DBRDisplay display = DBRDisplay.forMetadata(metadata);
+        final long thread = Thread.currentThread().getId();
+
+        double check = 0;
+        // Warm up, then measure
+        for (int pass=0; pass<2; ++pass)
+        {
+            final long start_bytes = threads.getThreadAllocatedBytes(thread);
+            final long start = System.nanoTime();
+            for (int i=0; i<EVENTS; ++i)
+            {
+                final VDoubleArray value = (VDoubleArray) (share_display
+                    ? DBRHelper.decodeValue(true, metadata, display, dbr)
+                    : DBRHelper.decodeValue(true, metadata, dbr));
+                check += consume(value);
+            }
+            final long nanos = System.nanoTime() - start;
+            final long bytes = threads.getThreadAllocatedBytes(thread) - start_bytes;
+            if (pass > 0)
+            {
+                final double bytes_per_event = (double) bytes / EVENTS;
+                System.out.format("%-20s: %8.1f us, %8.1f bytes per event, %8.1f kB/min at 10 Hz\n",
+                                  title,
+                                  TimeUnit.NANOSECONDS.toMicros(nanos) / (double)EVENTS,
+                                  bytes_per_event,
+                                  bytes_per_event * 10 * 60 / 1024);
+            }
+        }
+        if (check == 42)
+            System.out.println("Unlikely");
+    }
+
+    @Test
+    public void testWrapWithoutCopy() throws Exception
+    {
+        final DBR_CTRL_Double metadata = createMetadata();
+        final DBR_TIME_Double dbr = createValue();
+        final VDoubleArray value = (VDoubleArray) DBRHelper.decodeValue(true, metadata, DBRDisplay.forMetadata(metadata), dbr);
+        assertThat(value.getData().size(), equalTo(ELEMENTS));
+        assertThat(value.getData(), sameInstance(value.getData()));
+        dbr.getDoubleValue()[1] = 3.14;
+        assertThat(value.getData().getDouble(1), equalTo(3.14));
+        assertThat(value.getUnits(), equalTo("counts"));
+        assertThat(value.getUpperCtrlLimit(), equalTo(100.0));
+    }
+
+    @Test
+    public void benchmark() throws Exception
+    {
+        System.out.println("Decoding " + ELEMENTS + " element waveform");
+        run("Display per event", false);
+        run("Shared display", true);
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        new DBRDecodeBenchmark().benchmark();
+    }
+}
@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.vtype.pv.replay;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.csstudio.vtype.pv.PV;
+import org.csstudio.vtype.pv.PVListener;
+import org.csstudio.vtype.pv.PVListenerAdapter;
+import org.csstudio.vtype.pv.PVPool;
+import org.csstudio.vtype.pv.local.LocalPVFactory;
+import org.diirt.vtype.VNumber;
+import org.diirt.vtype.VType;
+import org.junit.Test;
+
+/** JUnit test of recording and replaying PVs
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class ReplayUnitTest
+{
+    @Test
+    public void testRecordReplay() throws Exception
+    {
+        PVPool.addPVFactory(new ReplayPVFactory());
+        PVPool.addPVFactory(new LocalPVFactory());
+
+        final File file = File.createTempFile("replay", ".rlog");
+        file.deleteOnExit();
+
+        // Record initial value 0 and then 1..10
+        final PV source = PVPool.getPV("loc://replay_test(0)");
+        try
+        (
+            final PVRecorder recorder = new PVRecorder(file, Arrays.asList("loc://replay_test"));
+        )
+        {
+            for (int i=1; i<=10; ++i)
+            {
+                source.write(i);
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+            assertThat(recorder.getRecordCount(), equalTo(11L));
+        }
+        PVPool.releasePV(source);
+
+        try
+        (
+            final ReplayLogReader reader = new ReplayLogReader(file);
+        )
+        {
+            assertThat(reader.getNames(), equalTo(Arrays.asList("loc://replay_test")));
+        }
+
+        // Replay at 10x
+        final PV pv = PVPool.getPV("replay://replay_test");
+        final List<Double> received = new CopyOnWriteArrayList<>();
+        final PVListener listener = new PVListenerAdapter()
+        {
+            @Override
+            public void valueChanged(final PV pv, final VType value)
+            {
+                received.add(((VNumber) value).getValue().doubleValue());
+            }
+        };
+        pv.addListener(listener);
+        final ReplayEngine engine = ReplayPVFactory.startReplay(file, 10.0, false);
+        pv.addListener(engine.createLatencyProbe());
+        assertTrue(engine.await(10, TimeUnit.SECONDS));
+
+        final ReplayStatistics stats = engine.getStatistics();
+        System.out.println(stats);
+        assertThat(stats.getDelivered(), equalTo(11L));
+        assertThat(received.size(), equalTo(11));
+        for (int i=0; i<=10; ++i)
+            assertThat(received.get(i), equalTo((double) i));
+
+        pv.removeListener(listener);
+        PVPool.releasePV(pv);
+    }
+
+    @Test
+    public void testSeparateNames() throws Exception
+    {
+        PVPool.addPVFactory(new ReplayPVFactory());
+        PVPool.addPVFactory(new LocalPVFactory());
+
+        final File file = File.createTempFile("replay", ".rlog");
+        file.deleteOnExit();
+        final PV source = PVPool.getPV("loc://replay_names(0)");
+        try
+        (
+            final PVRecorder recorder = new PVRecorder(file, Arrays.asList("loc://replay_names"));
+        )
+        {
+            for (int i=1; i<=3; ++i)
+                source.write(i);
+        }
+        PVPool.releasePV(source);
+
+        // Both names receive the recorded values, but are separate PVs
+        final PV plain = PVPool.getPV("replay://replay_names");
+        final PV typed = PVPool.getPV("replay://loc://replay_names");
+        assertThat(plain.getName(), equalTo("replay://replay_names"));
+        assertThat(typed.getName(), equalTo("replay://loc://replay_names"));
+        assertThat(ReplayPVFactory.getPVs("replay_names").size(), equalTo(2));
+
+        // Releasing one name keeps the other
+        PVPool.releasePV(plain);
+        assertThat(ReplayPVFactory.getPVs("replay_names").size(), equalTo(1));
+
+        final List<Double> received = new CopyOnWriteArrayList<>();
+        final PVListener listener = new PVListenerAdapter()
+        {
+            @Override
+            public void valueChanged(final PV pv, final VType value)
+            {
+                received.add(((VNumber) value).getValue().doubleValue());
+            }
+        };
+        typed.addListener(listener);
+        final ReplayEngine engine = ReplayPVFactory.startReplay(file, 10.0, false);
+        assertTrue(engine.await(10, TimeUnit.SECONDS));
+        assertThat(received, equalTo(Arrays.asList(0.0, 1.0, 2.0, 3.0)));
+
+        typed.removeListener(listener);
+        PVPool.releasePV(typed);
+        assertThat(ReplayPVFactory.getPVs("replay_names"), nullValue());
+
+        // New PV for a released name
+        final PV again = PVPool.getPV("replay://replay_names");
+        assertThat(again, not(sameInstance(plain)));
+        PVPool.releasePV(again);
+    }
+}
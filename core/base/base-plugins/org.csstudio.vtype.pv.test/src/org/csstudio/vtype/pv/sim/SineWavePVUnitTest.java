@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.vtype.pv.sim;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+/** JUnit test of the table-based {@link SineWavePV}
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class SineWavePVUnitTest
+{
+    @Test
+    public void testWaveform() throws Exception
+    {
+        // Period 0 keeps the phase at 0
+        final double min = -2, max = 6, wavelength = 17.5;
+        final SineWavePV pv = new SineWavePV("sim://sinewave", 0.0, wavelength, 50, 1.0, min, max);
+        try
+        {
+            final double[] value = pv.compute();
+            assertThat(value.length, equalTo(50));
+            for (int i=0; i<value.length; ++i)
+            {
+                final double expected = min + (Math.sin(2*Math.PI * i / wavelength)+1.0)/2.0 * (max - min);
+                assertEquals(expected, value[i], 1e-9);
+            }
+        }
+        finally
+        {
+            pv.close();
+        }
+    }
+}
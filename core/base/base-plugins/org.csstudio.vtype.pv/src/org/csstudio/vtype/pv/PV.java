@@ -11,6 +11,7 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -40,6 +41,12 @@ abstract public class PV
 
     private volatile VType last_value = null;
 
+    /** Updates to throttled listeners that were replaced by a newer value */
+    final LongAdder coalesced_updates = new LongAdder();
+
+    /** Updates to throttled listeners that were never delivered */
+    final LongAdder dropped_updates = new LongAdder();
+
     /** Initialize
      *  @param name PV name
      */
@@ -74,12 +81,56 @@ abstract public class PV
         listeners.add(listener);
     }
 
+    /** Request notifications of PV updates at a limited rate
+     *
+     *  <p>Updates are delivered on a shared thread pool,
+     *  not on the thread of the underlying network library,
+     *  at most once per period.
+     *  When the PV updates faster, only the most recent value
+     *  is delivered ('coalesced').
+     *  A slow listener will thus receive fewer updates,
+     *  but won't delay other listeners or the network library.
+     *
+     *  @param listener Listener that will receive value updates
+     *  @param min_period_ms Minimum period between updates in milliseconds
+     *  @see #removeListener(PVListener)
+     *  @see #getCoalescedUpdates()
+     */
+    public void addListener(final PVListener listener, final long min_period_ms)
+    {
+        addListener(new ThrottledListener(this, listener, min_period_ms));
+    }
+
     /** @param listener Listener that will no longer receive value updates */
     public void removeListener(final PVListener listener)
     {
+        for (PVListener registered : listeners)
+            if (registered instanceof ThrottledListener  &&
+                ((ThrottledListener) registered).getListener() == listener)
+            {
+                ((ThrottledListener) registered).cancel();
+                listeners.remove(registered);
+                return;
+            }
         listeners.remove(listener);
     }
 
+    /** @return Number of values that were not delivered to rate-limited listeners
+     *          because a newer value arrived within the update period
+     */
+    public long getCoalescedUpdates()
+    {
+        return coalesced_updates.sum();
+    }
+
+    /** @return Number of values that were not delivered to rate-limited listeners
+     *          because the PV disconnected or the listener was removed
+     */
+    public long getDroppedUpdates()
+    {
+        return dropped_updates.sum();
+    }
+
     /** Read current value
      *
      *  <p>Should return the most recent value
@@ -7,10 +7,18 @@
  ******************************************************************************/
 package org.csstudio.vtype.pv;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.csstudio.vtype.pv.RefCountMap.ReferencedEntry;
 
@@ -36,6 +44,11 @@ import org.csstudio.vtype.pv.RefCountMap.ReferencedEntry;
  *  <p>Note also that "loc://x(3.14)" and "loc://x(14)" will be treated
  *  as different PVs.
  *
+ *  <p>PVs are created without holding a lock on the pool,
+ *  so different PVs can be created in parallel.
+ *  Concurrent requests for the same name share one pool entry
+ *  and await the PV created by the first request.
+ *
  *  @author Kay Kasemir
  */
 @SuppressWarnings("nls")
@@ -50,16 +63,38 @@ public class PVPool
     final public static String SEPARATOR = "://";
 
     /** Map of PV type prefixes to PV factories */
-    final private static Map<String, PVFactory> factories = new HashMap<>();
+    final private static Map<String, PVFactory> factories = new ConcurrentHashMap<>();
 
     /** Default PV name type prefix */
-    private static String default_type;
+    private static volatile String default_type;
+
+    /** Entry in the pool: PV, which may still be created, with reference count */
+    private static class PoolEntry
+    {
+        final CompletableFuture<PV> pv = new CompletableFuture<>();
+
+        /** SYNC: Only updated within ConcurrentHashMap.compute..() for the entry */
+        volatile int references = 1;
+    }
 
     /** PV Pool
-     *  SYNC on 'pool':
-     *  Otherwise, two threads concurrently looking for a new PV would both add it.
+     *  Entries are added, referenced and released atomically via 'compute',
+     *  while the PV of a new entry is created outside of the map.
      */
-    final private static RefCountMap<String, PV> pool = new RefCountMap<>();
+    final private static ConcurrentHashMap<String, PoolEntry> pool = new ConcurrentHashMap<>();
+
+    /** Executor for {@link #getPVAsync(String)} */
+    final private static ExecutorService creator = Executors.newCachedThreadPool(runnable ->
+    {
+        final Thread thread = new Thread(runnable, "PVPool");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Metrics
+    final private static LongAdder creations = new LongAdder();
+    final private static LongAdder failures = new LongAdder();
+    final private static LongAdder creation_nanos = new LongAdder();
 
     /** Singleton */
     private PVPool()
@@ -121,21 +156,124 @@ public class PVPool
      */
     public static PV getPV(final String name) throws Exception
     {
-        PV pv;
-        synchronized (pool)
-        {   // Try to locate PV in pool
-            pv = pool.get(name);
-            if (pv == null)
+        final boolean[] is_new = { false };
+        final PoolEntry entry = reference(name, is_new);
+        if (is_new[0])
+            create(name, entry);
+        try
+        {
+            return entry.pv.get();
+        }
+        catch (ExecutionException ex)
+        {
+            if (ex.getCause() instanceof Exception)
+                throw (Exception) ex.getCause();
+            throw ex;
+        }
+    }
+
+    /** Obtain a PV asynchronously
+     *
+     *  <p>Obtains existing PV of that name from pool,
+     *  or creates new PV in a background thread.
+     *  Caller must release the PV once the future provides it.
+     *
+     *  @param name PV name, where prefix might be used to determine the type
+     *  @return {@link CompletableFuture} for the {@link PV}, or the error
+     *  @see #releasePV(PV)
+     */
+    public static CompletableFuture<PV> getPVAsync(final String name)
+    {
+        final boolean[] is_new = { false };
+        final PoolEntry entry = reference(name, is_new);
+        if (is_new[0])
+            creator.execute(() -> create(name, entry));
+        // Don't allow callers to complete the future of the pool entry
+        return entry.pv.thenApply(pv -> pv);
+    }
+
+    /** Add reference to pool entry, adding new entry if necessary
+     *  @param name PV name
+     *  @param is_new Set to <code>true</code> if a new entry was added, and caller needs to create the PV
+     *  @return {@link PoolEntry}
+     */
+    private static PoolEntry reference(final String name, final boolean[] is_new)
+    {
+        return pool.compute(name, (key, entry) ->
+        {
+            if (entry == null)
             {
-                pv = createPV(name);
-                // Actual name may differ from the provided name.
-                // For example, "loc://x(2)", "loc://x" and "loc://x<VDouble>(4)"
-                // will be the same PV "loc://x" in the pool.
-                if (pool.get(pv.getName()) == null) // Increment reference?
-                    pool.put(pv.getName(), pv);     // Add new PV
+                is_new[0] = true;
+                return new PoolEntry();
             }
+            ++entry.references;
+            return entry;
+        });
+    }
+
+    /** Create PV for a new pool entry
+     *  @param name PV name
+     *  @param entry {@link PoolEntry} to complete with the PV or an error
+     */
+    private static void create(final String name, final PoolEntry entry)
+    {
+        final long start = System.nanoTime();
+        final PV pv;
+        try
+        {
+            pv = createPV(name);
+        }
+        catch (Throwable ex)
+        {
+            failures.increment();
+            // Remove entry. All who referenced it receive the error
+            pool.remove(name, entry);
+            entry.pv.completeExceptionally(ex);
+            return;
+        }
+        creations.increment();
+        creation_nanos.add(System.nanoTime() - start);
+
+        if (pv.getName().equals(name))
+        {
+            entry.pv.complete(pv);
+            return;
         }
-        return pv;
+
+        // Actual name may differ from the provided name.
+        // For example, "loc://x(2)", "loc://x" and "loc://x<VDouble>(4)"
+        // will be the same PV "loc://x" in the pool.
+        // Move references from the provided name to the actual name.
+        final int[] references = { 0 };
+        pool.computeIfPresent(name, (key, e) ->
+        {
+            if (e != entry)
+                return e;
+            references[0] = e.references;
+            return null;
+        });
+        final PoolEntry actual = pool.compute(pv.getName(), (key, e) ->
+        {
+            if (e == null)
+            {
+                final PoolEntry moved = new PoolEntry();
+                moved.references = references[0];
+                moved.pv.complete(pv);
+                return moved;
+            }
+            e.references += references[0];
+            return e;
+        });
+        // Use the PV in the pool, which might still be created by another thread
+        actual.pv.whenComplete((pooled, error) ->
+        {
+            if (pooled != pv)
+                pv.close();
+            if (error != null)
+                entry.pv.completeExceptionally(error);
+            else
+                entry.pv.complete(pooled);
+        });
     }
 
     /** Create
@@ -177,21 +315,65 @@ public class PVPool
     /** @param pv PV to be released */
     public static void releasePV(final PV pv)
     {
-        final int references;
-        synchronized (pool)
+        final boolean[] removed = { false };
+        pool.compute(pv.getName(), (key, entry) ->
         {
-            references = pool.release(pv.getName());
-        }
-        if (references == 0)
+            if (entry == null)
+                throw new IllegalStateException("No reference found for " + key);
+            if (--entry.references > 0)
+                return entry;
+            removed[0] = true;
+            return null;
+        });
+        if (removed[0])
             pv.close();
     }
 
     /** @return PVs currently in the pool with reference count information */
     public static Collection<ReferencedEntry<PV>> getPVReferences()
     {
-        synchronized (pool)
+        final List<ReferencedEntry<PV>> entries = new ArrayList<>();
+        for (PoolEntry entry : pool.values())
         {
-            return pool.getEntries();
+            final PV pv = getCreatedPV(entry);
+            if (pv != null)
+                entries.add(new ReferencedEntry<>(pv, entry.references));
+        }
+        return Collections.unmodifiableCollection(entries);
+    }
+
+    /** @param entry {@link PoolEntry}
+     *  @return PV of entry, <code>null</code> while PV is created or when creation failed
+     */
+    private static PV getCreatedPV(final PoolEntry entry)
+    {
+        if (! entry.pv.isDone()  ||  entry.pv.isCompletedExceptionally())
+            return null;
+        return entry.pv.getNow(null);
+    }
+
+    /** @return Current {@link PVPoolStatistics} */
+    public static PVPoolStatistics getStatistics()
+    {
+        int live = 0, pending = 0;
+        final int[] histogram = new int[Integer.SIZE];
+        int buckets = 0;
+        for (PoolEntry entry : pool.values())
+        {
+            if (getCreatedPV(entry) == null)
+            {
+                if (! entry.pv.isDone())
+                    ++pending;
+                continue;
+            }
+            ++live;
+            final int bucket = Integer.SIZE - 1 - Integer.numberOfLeadingZeros(Math.max(1, entry.references));
+            ++histogram[bucket];
+            buckets = Math.max(buckets, bucket+1);
         }
+        final int[] reference_histogram = new int[buckets];
+        System.arraycopy(histogram, 0, reference_histogram, 0, buckets);
+        return new PVPoolStatistics(System.nanoTime(), creations.sum(), failures.sum(),
+                                    creation_nanos.sum(), live, pending, reference_histogram);
     }
 }
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.vtype.pv;
+
+import java.util.Arrays;
+
+/** Snapshot of {@link PVPool} metrics
+ *
+ *  <p>Creation counts are totals since startup.
+ *  Rates are computed by comparing two snapshots.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class PVPoolStatistics
+{
+    final private long nanotime;
+    final private long creations;
+    final private long failures;
+    final private long creation_nanos;
+    final private int live;
+    final private int pending;
+    final private int[] reference_histogram;
+
+    PVPoolStatistics(final long nanotime, final long creations, final long failures,
+                     final long creation_nanos, final int live, final int pending,
+                     final int[] reference_histogram)
+    {
+        this.nanotime = nanotime;
+        this.creations = creations;
+        this.failures = failures;
+        this.creation_nanos = creation_nanos;
+        this.live = live;
+        this.pending = pending;
+        this.reference_histogram = reference_histogram;
+    }
+
+    /** @return Number of PVs created since startup */
+    public long getCreations()
+    {
+        return creations;
+    }
+
+    /** @return Number of failed PV creations since startup */
+    public long getFailures()
+    {
+        return failures;
+    }
+
+    /** @return Average time to create a PV in milliseconds */
+    public double getAverageCreationMillis()
+    {
+        return creations > 0 ? creation_nanos / 1e6 / creations : 0.0;
+    }
+
+    /** @param earlier Earlier snapshot
+     *  @return PV creations per second between the earlier and this snapshot
+     */
+    public double getCreationRate(final PVPoolStatistics earlier)
+    {
+        final long nanos = nanotime - earlier.nanotime;
+        if (nanos <= 0)
+            return 0.0;
+        return (creations - earlier.creations) * 1e9 / nanos;
+    }
+
+    /** @return Number of PVs in the pool */
+    public int getLiveCount()
+    {
+        return live;
+    }
+
+    /** @return Number of PVs that are being created */
+    public int getPendingCount()
+    {
+        return pending;
+    }
+
+    /** Distribution of reference counts
+     *
+     *  <p>Element <code>i</code> holds the number of PVs
+     *  with a reference count of 2<sup>i</sup> to 2<sup>i+1</sup>-1,
+     *  i.e. element 0 counts PVs with 1 reference,
+     *  element 1 those with 2 or 3 references, and so on.
+     *
+     *  @return Histogram of reference counts
+     */
+    public int[] getReferenceHistogram()
+    {
+        return Arrays.copyOf(reference_histogram, reference_histogram.length);
+    }
+
+    @Override
+    public String toString()
+    {
+        final StringBuilder buf = new StringBuilder();
+        buf.append("PVPool: ").append(live).append(" PVs, ")
+           .append(pending).append(" pending, ")
+           .append(creations).append(" created (")
+           .append(failures).append(" failed, ")
+           .append(String.format("%.3f ms avg.)", getAverageCreationMillis()));
+        for (int i=0; i<reference_histogram.length; ++i)
+        {
+            buf.append(i == 0 ? ", references " : ", ");
+            final int low = 1 << i, high = (1 << (i+1)) - 1;
+            if (low == high)
+                buf.append(low);
+            else
+                buf.append(low).append("-").append(high);
+            buf.append(": ").append(reference_histogram[i]);
+        }
+        return buf.toString();
+    }
+}
@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.vtype.pv;
+
+import static org.csstudio.vtype.pv.PV.logger;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import org.diirt.vtype.VType;
+
+/** {@link PVListener} that forwards updates at a limited rate
+ *
+ *  <p>Events from the PV are remembered,
+ *  and delivered to the actual listener on a shared executor
+ *  no more often than the minimum update period.
+ *  When values arrive faster, only the latest value is delivered.
+ *
+ *  <p>Each listener has at most one pending delivery,
+ *  so the executor's queue is bounded by the number of listeners.
+ *  Deliveries to one listener are never concurrent.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+class ThrottledListener implements PVListener
+{
+    /** Shared executor for all throttled listeners */
+    final private static ScheduledExecutorService executor;
+
+    static
+    {
+        final ScheduledThreadPoolExecutor pool = new ScheduledThreadPoolExecutor(
+            Math.max(2, Runtime.getRuntime().availableProcessors()),
+            runnable ->
+            {
+                final Thread thread = new Thread(runnable, "PVListenerDispatch");
+                thread.setDaemon(true);
+                return thread;
+            });
+        pool.setRemoveOnCancelPolicy(true);
+        executor = pool;
+    }
+
+    final private PV pv;
+    final private PVListener listener;
+    final private long period_nanos;
+
+    // SYNC on this for pending events and scheduling
+    private VType pending_value = null;
+    private boolean pending_disconnect = false;
+    private Boolean pending_readonly = null;
+    private boolean scheduled = false;
+    private boolean cancelled = false;
+    private long last_delivery;
+
+    /** @param pv PV that provides events
+     *  @param listener Listener to which events are forwarded
+     *  @param min_period_ms Minimum period between updates in milliseconds
+     */
+    ThrottledListener(final PV pv, final PVListener listener, final long min_period_ms)
+    {
+        this.pv = pv;
+        this.listener = listener;
+        this.period_nanos = TimeUnit.MILLISECONDS.toNanos(min_period_ms);
+        // Allow immediate delivery of the first event
+        last_delivery = System.nanoTime() - period_nanos;
+    }
+
+    /** @return Listener to which events are forwarded */
+    PVListener getListener()
+    {
+        return listener;
+    }
+
+    @Override
+    public void permissionsChanged(final PV pv, final boolean readonly)
+    {
+        synchronized (this)
+        {
+            pending_readonly = readonly;
+            schedule();
+        }
+    }
+
+    @Override
+    public void valueChanged(final PV pv, final VType value)
+    {
+        synchronized (this)
+        {
+            if (pending_value != null)
+                pv.coalesced_updates.increment();
+            pending_value = value;
+            schedule();
+        }
+    }
+
+    @Override
+    public void disconnected(final PV pv)
+    {
+        synchronized (this)
+        {
+            // Value that was not delivered is obsoleted by the disconnect
+            if (pending_value != null)
+            {
+                pv.dropped_updates.increment();
+                pending_value = null;
+            }
+            pending_disconnect = true;
+            schedule();
+        }
+    }
+
+    /** Stop forwarding events, dropping pending updates */
+    void cancel()
+    {
+        synchronized (this)
+        {
+            cancelled = true;
+            if (pending_value != null)
+            {
+                pv.dropped_updates.increment();
+                pending_value = null;
+            }
+            pending_disconnect = false;
+            pending_readonly = null;
+        }
+    }
+
+    /** Schedule delivery unless already scheduled. Caller must hold lock. */
+    private void schedule()
+    {
+        if (scheduled  ||  cancelled)
+            return;
+        scheduled = true;
+        final long delay = Math.max(0, last_delivery + period_nanos - System.nanoTime());
+        executor.schedule(this::deliver, delay, TimeUnit.NANOSECONDS);
+    }
+
+    /** Deliver pending events to listener */
+    private void deliver()
+    {
+        final VType value;
+        final boolean disconnect;
+        final Boolean readonly;
+        synchronized (this)
+        {
+            value = pending_value;
+            disconnect = pending_disconnect;
+            readonly = pending_readonly;
+            pending_value = null;
+            pending_disconnect = false;
+            pending_readonly = null;
+        }
+        try
+        {
+            if (readonly != null)
+                listener.permissionsChanged(pv, readonly);
+            if (disconnect)
+                listener.disconnected(pv);
+            if (value != null)
+                listener.valueChanged(pv, value);
+        }
+        catch (Throwable ex)
+        {
+            logger.log(Level.WARNING, pv.getName() + " PVListener error", ex);
+        }
+        synchronized (this)
+        {
+            last_delivery = System.nanoTime();
+            scheduled = false;
+            // Handle events that arrived during delivery
+            if (pending_value != null  ||  pending_disconnect  ||  pending_readonly != null)
+                schedule();
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return listener + " (throttled to " + TimeUnit.NANOSECONDS.toMillis(period_nanos) + " ms)";
+    }
+}
@@ -38,4 +38,33 @@ public class Preferences
         return getString(PVPlugin.ID, "mqtt_broker", MQTT_PVFactory.BROKER_URL);
     }
 
+    public static boolean useMQTTBinaryFormat()
+    {
+        final IPreferencesService service = Platform.getPreferencesService();
+        if (service == null)
+            return false;
+        return service.getBoolean(PVPlugin.ID, "mqtt_binary", false, null);
+    }
+
+    public static String getReplayFile()
+    {
+        return getString(PVPlugin.ID, "replay_file", "");
+    }
+
+    public static double getReplaySpeed()
+    {
+        final IPreferencesService service = Platform.getPreferencesService();
+        if (service == null)
+            return 1.0;
+        return service.getDouble(PVPlugin.ID, "replay_speed", 1.0, null);
+    }
+
+    public static boolean getReplayLoop()
+    {
+        final IPreferencesService service = Platform.getPreferencesService();
+        if (service == null)
+            return false;
+        return service.getBoolean(PVPlugin.ID, "replay_loop", false, null);
+    }
+
 }
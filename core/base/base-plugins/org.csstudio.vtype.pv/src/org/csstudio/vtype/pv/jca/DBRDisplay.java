@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.vtype.pv.jca;
+
+import java.text.NumberFormat;
+
+import org.diirt.util.text.NumberFormats;
+import org.diirt.vtype.Display;
+
+import gov.aps.jca.dbr.CTRL;
+import gov.aps.jca.dbr.GR;
+import gov.aps.jca.dbr.PRECISION;
+
+/** Immutable VType Display for DBR meta data
+ *
+ *  <p>Created once when the meta data of a channel
+ *  is received, then shared by all values of the channel
+ *  until the meta data changes.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class DBRDisplay implements Display
+{
+    /** Display for missing meta data */
+    final public static DBRDisplay NONE = new DBRDisplay(null);
+
+    final private Double lower_display, lower_ctrl, lower_alarm, lower_warning,
+                         upper_warning, upper_alarm, upper_ctrl, upper_display;
+    final private String units;
+    final private NumberFormat format;
+
+    /** @param metadata Meta data, may be <code>null</code> or not GR
+     *  @return {@link DBRDisplay}
+     */
+    public static DBRDisplay forMetadata(final Object metadata)
+    {
+        if (metadata instanceof GR)
+            return new DBRDisplay((GR) metadata);
+        return NONE;
+    }
+
+    private DBRDisplay(final GR metadata)
+    {
+        if (metadata == null)
+        {
+            lower_display = lower_ctrl = lower_alarm = lower_warning = Double.NaN;
+            upper_warning = upper_alarm = upper_ctrl = upper_display = Double.NaN;
+            units = "?";
+        }
+        else
+        {
+            lower_display = metadata.getLowerDispLimit().doubleValue();
+            lower_alarm = metadata.getLowerAlarmLimit().doubleValue();
+            lower_warning = metadata.getLowerWarningLimit().doubleValue();
+            upper_warning = metadata.getUpperWarningLimit().doubleValue();
+            upper_alarm = metadata.getUpperAlarmLimit().doubleValue();
+            upper_display = metadata.getUpperDispLimit().doubleValue();
+            units = metadata.getUnits();
+            if (metadata instanceof CTRL)
+            {
+                lower_ctrl = ((CTRL)metadata).getLowerCtrlLimit().doubleValue();
+                upper_ctrl = ((CTRL)metadata).getUpperCtrlLimit().doubleValue();
+            }
+            else
+            {
+                lower_ctrl = lower_display;
+                upper_ctrl = upper_display;
+            }
+        }
+
+        if (metadata instanceof PRECISION)
+        {
+            final int precision = ((PRECISION) metadata).getPrecision();
+            if (precision >= 0)
+                format = NumberFormats.format(precision);
+            else
+                format = NumberFormats.toStringFormat();
+        }
+        else
+            format = NumberFormats.format(0);
+    }
+
+    @Override
+    public Double getLowerDisplayLimit()
+    {
+        return lower_display;
+    }
+
+    @Override
+    public Double getLowerCtrlLimit()
+    {
+        return lower_ctrl;
+    }
+
+    @Override
+    public Double getLowerAlarmLimit()
+    {
+        return lower_alarm;
+    }
+
+    @Override
+    public Double getLowerWarningLimit()
+    {
+        return lower_warning;
+    }
+
+    @Override
+    public String getUnits()
+    {
+        return units;
+    }
+
+    @Override
+    public NumberFormat getFormat()
+    {
+        return format;
+    }
+
+    @Override
+    public Double getUpperWarningLimit()
+    {
+        return upper_warning;
+    }
+
+    @Override
+    public Double getUpperAlarmLimit()
+    {
+        return upper_alarm;
+    }
+
+    @Override
+    public Double getUpperCtrlLimit()
+    {
+        return upper_ctrl;
+    }
+
+    @Override
+    public Double getUpperDisplayLimit()
+    {
+        return upper_display;
+    }
+}
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.vtype.pv.jca;
+
+/** Snapshot of {@link JCAContext} connection metrics
+ *
+ *  <p>Counts are totals since startup.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class JCAConnectStatistics
+{
+    final private long connections;
+    final private long connect_nanos;
+    final private long max_connect_nanos;
+    final private int pending;
+    final private long flush_requests;
+    final private long flushes;
+
+    JCAConnectStatistics(final long connections, final long connect_nanos, final long max_connect_nanos,
+                         final int pending, final long flush_requests, final long flushes)
+    {
+        this.connections = connections;
+        this.connect_nanos = connect_nanos;
+        this.max_connect_nanos = max_connect_nanos;
+        this.pending = pending;
+        this.flush_requests = flush_requests;
+        this.flushes = flushes;
+    }
+
+    /** @return Number of channels that connected since startup */
+    public long getConnections()
+    {
+        return connections;
+    }
+
+    /** @return Average time from creating a channel to its first connection in milliseconds */
+    public double getAverageConnectMillis()
+    {
+        return connections > 0 ? connect_nanos / 1e6 / connections : 0.0;
+    }
+
+    /** @return Longest time from creating a channel to its first connection in milliseconds */
+    public double getMaxConnectMillis()
+    {
+        return max_connect_nanos / 1e6;
+    }
+
+    /** @return Number of channels that have been created but never connected */
+    public int getPendingCount()
+    {
+        return pending;
+    }
+
+    /** @return Number of requests to flush */
+    public long getFlushRequests()
+    {
+        return flush_requests;
+    }
+
+    /** @return Number of actual flushes, which combine one or more flush requests */
+    public long getFlushes()
+    {
+        return flushes;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("JCA: %d connected (%.3f ms avg., %.3f ms max.), %d pending, %d flush requests in %d flushes",
+                             connections, getAverageConnectMillis(), getMaxConnectMillis(),
+                             pending, flush_requests, flushes);
+    }
+}
@@ -13,6 +13,13 @@ import java.lang.reflect.Method;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 
 import com.cosylab.epics.caj.CAJContext;
@@ -28,6 +35,12 @@ import gov.aps.jca.event.ContextMessageListener;
 import gov.aps.jca.event.ContextVirtualCircuitExceptionEvent;
 
 /** Handler for JCA context
+ *
+ *  <p>Channel searches, meta data requests and subscriptions
+ *  of many PVs are combined by requesting a delayed flush,
+ *  which is then performed once for all requests
+ *  that arrive within the flush delay.
+ *
  *  @author Kay Kasemir
  */
 @SuppressWarnings("nls")
@@ -39,6 +52,22 @@ public class JCAContext implements ContextMessageListener, ContextExceptionListe
     final private Context context;
     final private boolean is_var_array_supported;
 
+    /** Delay for combining flush requests */
+    final private long flush_delay_ms;
+
+    /** Timer for delayed flush */
+    final private ScheduledExecutorService flush_timer;
+
+    /** Is a flush scheduled? */
+    final private AtomicBoolean flush_pending = new AtomicBoolean(false);
+
+    final private LongAdder flush_requests = new LongAdder();
+    final private LongAdder flushes = new LongAdder();
+    final private LongAdder connections = new LongAdder();
+    final private LongAdder connect_nanos = new LongAdder();
+    final private AtomicLong max_connect_nanos = new AtomicLong();
+    final private AtomicInteger pending_connections = new AtomicInteger();
+
     private JCAContext() throws Exception
     {
         final boolean use_caj = JCA_Preferences.getInstance().usePureJava();
@@ -109,6 +138,14 @@ public class JCAContext implements ContextMessageListener, ContextExceptionListe
             break;
         }
         is_var_array_supported = supported;
+
+        flush_delay_ms = JCA_Preferences.getInstance().getFlushDelay();
+        flush_timer = Executors.newSingleThreadScheduledExecutor(runnable ->
+        {
+            final Thread thread = new Thread(runnable, "JCAFlush");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     /** Invoke a private(!) static method
@@ -140,13 +177,73 @@ public class JCAContext implements ContextMessageListener, ContextExceptionListe
         return instance;
     }
 
-    // TODO Thread for periodic flushIO, to run certain JNI calls on same thread?
-
     public Context getContext()
     {
         return context;
     }
 
+    /** Request a flush of pending requests
+     *
+     *  <p>Requests that arrive within the flush delay
+     *  are sent out with one flush.
+     */
+    public void requestFlush()
+    {
+        flush_requests.increment();
+        if (flush_delay_ms <= 0)
+            flush();
+        else if (flush_pending.compareAndSet(false, true))
+            flush_timer.schedule(this::flush, flush_delay_ms, TimeUnit.MILLISECONDS);
+    }
+
+    /** Flush pending requests */
+    private void flush()
+    {
+        // Requests that arrive while flushing need another flush
+        flush_pending.set(false);
+        flushes.increment();
+        try
+        {
+            context.flushIO();
+        }
+        catch (Exception ex)
+        {
+            logger.log(Level.WARNING, "Cannot flush", ex);
+        }
+    }
+
+    /** Called when a channel has been created */
+    void channelCreated()
+    {
+        pending_connections.incrementAndGet();
+    }
+
+    /** Called when a channel connected for the first time
+     *  @param nanos Time since creating the channel in nanoseconds
+     */
+    void channelConnected(final long nanos)
+    {
+        pending_connections.decrementAndGet();
+        connections.increment();
+        connect_nanos.add(nanos);
+        long max = max_connect_nanos.get();
+        while (nanos > max  &&  !max_connect_nanos.compareAndSet(max, nanos))
+            max = max_connect_nanos.get();
+    }
+
+    /** Called when a channel is closed without ever connecting */
+    void channelAbandoned()
+    {
+        pending_connections.decrementAndGet();
+    }
+
+    /** @return Connection statistics */
+    public JCAConnectStatistics getConnectStatistics()
+    {
+        return new JCAConnectStatistics(connections.sum(), connect_nanos.sum(), max_connect_nanos.get(),
+                                        pending_connections.get(), flush_requests.sum(), flushes.sum());
+    }
+
     /** Determine how many array elements to request
      *  @param channel
      *  @return Array request count
@@ -9,6 +9,7 @@ package org.csstudio.vtype.pv.jca;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 
@@ -60,6 +61,12 @@ public class JCA_PV extends PV implements ConnectionListener, MonitorListener, A
     /** Array with more than LARGE_ARRAY_THRESHOLD elements? */
     private volatile boolean is_large_array = false;
 
+    /** JCA context */
+    final private JCAContext jca_context;
+
+    /** Time when channel was created, 0 once connected */
+    final private AtomicLong connect_start = new AtomicLong();
+
     /** JCA Channel */
     private volatile Channel channel;
 
@@ -74,6 +81,9 @@ public class JCA_PV extends PV implements ConnectionListener, MonitorListener, A
      */
     private volatile DBR metadata = null;
 
+    /** Display info for the meta data, shared by all values */
+    private volatile DBRDisplay display = DBRDisplay.NONE;
+
     /** Listener to initial get-callback for meta data */
     final private GetListener meta_get_listener = (GetEvent ev) ->
     {
@@ -84,11 +94,13 @@ public class JCA_PV extends PV implements ConnectionListener, MonitorListener, A
         if (ev.getStatus().isSuccessful())
         {
             metadata = ev.getDBR();
+            display = DBRDisplay.forMetadata(metadata);
             logger.log(Level.FINE, "{0} received meta data: {1}", new Object[] { getName(), metadata });
         }
         else
         {
             metadata = null;
+            display = DBRDisplay.NONE;
             logger.log(Level.FINE, "{0} has no meta data: {1}", new Object[] { getName(), ev.getStatus() });
         }
         // If channel changed its type, cancel potentially existing subscription
@@ -106,6 +118,7 @@ public class JCA_PV extends PV implements ConnectionListener, MonitorListener, A
         if (ev.getStatus().isSuccessful())
         {
             metadata = ev.getDBR();
+            display = DBRDisplay.forMetadata(metadata);
             logger.log(Level.FINE, "{0} received new meta data: {1}", new Object[] { getName(), metadata });
             monitorChanged(ev);
         }
@@ -136,6 +149,7 @@ public class JCA_PV extends PV implements ConnectionListener, MonitorListener, A
             throw new Exception("Empty PV name '" + name + "'");
         // .RTYP does not provide meta data
         plain_dbr = base_name.endsWith(".RTYP");
+        jca_context = JCAContext.getInstance();
         createChannel(base_name);
     }
 
@@ -144,8 +158,12 @@ public class JCA_PV extends PV implements ConnectionListener, MonitorListener, A
         final short priority = is_large_array
                              ? base_priority
                              : (short) (base_priority + 1);
-        channel = JCAContext.getInstance().getContext().createChannel(base_name, this, priority);
-        channel.getContext().flushIO();
+        // Time from the original creation, not a re-creation for large arrays
+        if (connect_start.compareAndSet(0, Math.max(1, System.nanoTime())))
+            jca_context.channelCreated();
+        channel = jca_context.getContext().createChannel(base_name, this, priority);
+        // Combine the search request with those of other PVs
+        jca_context.requestFlush();
     }
 
     /** JCA connection listener */
@@ -176,6 +194,10 @@ public class JCA_PV extends PV implements ConnectionListener, MonitorListener, A
                 return;
             }
 
+            final long start = connect_start.getAndSet(0);
+            if (start != 0)
+                jca_context.channelConnected(System.nanoTime() - start);
+
             final boolean is_readonly = ! channel.getWriteAccess();
             notifyListenersOfPermissions(is_readonly);
             getMetaData(); // .. and start subscription
@@ -198,9 +220,9 @@ public class JCA_PV extends PV implements ConnectionListener, MonitorListener, A
             // (i.e. fetching the string as a BYTE[])
             // crashes the IOC.
             // --> Using the same request count as for the subscription
-            final int request_count = JCAContext.getInstance().getRequestCount(channel);
+            final int request_count = jca_context.getRequestCount(channel);
             channel.get(DBRHelper.getCtrlType(plain_dbr, channel.getFieldType()), request_count, meta_get_listener);
-            channel.getContext().flushIO();
+            jca_context.requestFlush();
         }
         catch (Exception ex)
         {
@@ -221,7 +243,7 @@ public class JCA_PV extends PV implements ConnectionListener, MonitorListener, A
         {
             logger.log(Level.FINE, getName() + " subscribes");
             final int mask = JCA_Preferences.getInstance().getMonitorMask();
-            final int request_count = JCAContext.getInstance().getRequestCount(channel);
+            final int request_count = jca_context.getRequestCount(channel);
             final Monitor new_monitor = channel.addMonitor(DBRHelper.getTimeType(plain_dbr, channel.getFieldType()), request_count, mask, this);
 
             final Monitor old_monitor = value_monitor.getAndSet(new_monitor);
@@ -269,7 +291,7 @@ public class JCA_PV extends PV implements ConnectionListener, MonitorListener, A
                 }
             }
             channel.addAccessRightsListener(this);
-            channel.getContext().flushIO();
+            jca_context.requestFlush();
         }
         catch (Exception ex)
         {
@@ -338,7 +360,7 @@ public class JCA_PV extends PV implements ConnectionListener, MonitorListener, A
             final CAStatus status = ev.getStatus();
             if (status != null  &&  status.isSuccessful())
             {
-                final VType value = DBRHelper.decodeValue(is_array, metadata, ev.getDBR());
+                final VType value = DBRHelper.decodeValue(is_array, metadata, display, ev.getDBR());
                 logger.log(Level.FINE, "{0} = {1}", new Object[] { getName(), value });
                 notifyListenersOfValue(value);
             }
@@ -362,7 +384,7 @@ public class JCA_PV extends PV implements ConnectionListener, MonitorListener, A
             {
                 if (ev.getStatus().isSuccessful())
                 {
-                    final VType value = DBRHelper.decodeValue(is_array, metadata, ev.getDBR());
+                    final VType value = DBRHelper.decodeValue(is_array, metadata, display, ev.getDBR());
                     logger.log(Level.FINE, "{0} get-callback {1}", new Object[] { getName(), value });
                     complete(value);
                 }
@@ -556,6 +578,8 @@ public class JCA_PV extends PV implements ConnectionListener, MonitorListener, A
     @Override
     protected void close()
     {
+        if (connect_start.getAndSet(0) != 0)
+            jca_context.channelAbandoned();
         channel.dispose();
     }
 }
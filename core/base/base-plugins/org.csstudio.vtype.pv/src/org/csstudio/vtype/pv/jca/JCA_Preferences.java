@@ -48,6 +48,8 @@ public class JCA_Preferences
 
     private int large_array_threshold = 100000;
 
+    private int flush_delay = 10;
+
     /** Initialize */
     private JCA_Preferences()
     {
@@ -83,6 +85,8 @@ public class JCA_Preferences
 
             large_array_threshold = prefs.getInt(PVPlugin.ID, "large_array_threshold", large_array_threshold, null);
 
+            flush_delay = prefs.getInt(PVPlugin.ID, "flush_delay", flush_delay, null);
+
             // Set the 'CAJ' and 'JNI' copies of the settings
             setSystemProperty("com.cosylab.epics.caj.CAJContext.use_pure_java", Boolean.toString(use_pure_java));
             final String addr_list = dp.getString(ChannelAccess.PREF_ADDR_LIST);
@@ -246,4 +250,12 @@ public class JCA_Preferences
     {
         return large_array_threshold;
     }
+
+    /** @return Delay in milliseconds for combining search and subscription requests
+     *          before flushing them, 0 to flush each one right away
+     */
+    public int getFlushDelay()
+    {
+        return flush_delay;
+    }
 }
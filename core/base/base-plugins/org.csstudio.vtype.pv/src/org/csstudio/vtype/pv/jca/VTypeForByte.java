@@ -8,7 +8,6 @@
 package org.csstudio.vtype.pv.jca;
 
 import gov.aps.jca.dbr.DBR_TIME_Byte;
-import gov.aps.jca.dbr.GR;
 
 import org.diirt.vtype.VByte;
 import org.diirt.vtype.VTypeToString;
@@ -20,9 +19,9 @@ import org.diirt.vtype.VTypeToString;
  */
 public class VTypeForByte extends DBRAlarmTimeDisplayWrapper<DBR_TIME_Byte> implements VByte
 {
-    public VTypeForByte(final GR metadata, final DBR_TIME_Byte dbr)
+    public VTypeForByte(final DBRDisplay display, final DBR_TIME_Byte dbr)
     {
-        super(metadata, dbr);
+        super(display, dbr);
     }
 
     @Override
@@ -8,7 +8,6 @@
 package org.csstudio.vtype.pv.jca;
 
 import gov.aps.jca.dbr.DBR_TIME_Byte;
-import gov.aps.jca.dbr.GR;
 
 import java.util.List;
 
@@ -28,27 +27,40 @@ import org.diirt.vtype.ValueUtil;
  */
 public class VTypeForByteArray extends DBRAlarmTimeDisplayWrapper<DBR_TIME_Byte> implements VByteArray
 {
-    public VTypeForByteArray(final GR metadata, final DBR_TIME_Byte dbr)
+    final private ListByte data;
+    final private ListInt sizes;
+    private volatile List<ArrayDimensionDisplay> dimension_display = null;
+
+    /** @param display Display info, shared by all values of a channel
+     *  @param dbr Value, its array is wrapped without copying
+     */
+    public VTypeForByteArray(final DBRDisplay display, final DBR_TIME_Byte dbr)
     {
-        super(metadata, dbr);
+        super(display, dbr);
+        final byte[] array = dbr.getByteValue();
+        data = new ArrayByte(array);
+        sizes = new ArrayInt(array.length);
     }
 
     @Override
     public List<ArrayDimensionDisplay> getDimensionDisplay()
     {
-        return ValueUtil.defaultArrayDisplay(this);
+        List<ArrayDimensionDisplay> result = dimension_display;
+        if (result == null)
+            dimension_display = result = ValueUtil.defaultArrayDisplay(this);
+        return result;
     }
 
     @Override
     public ListInt getSizes()
     {
-        return new ArrayInt(dbr.getByteValue().length);
+        return sizes;
     }
 
     @Override
     public ListByte getData()
     {
-        return new ArrayByte(dbr.getByteValue());
+        return data;
     }
 
     @Override
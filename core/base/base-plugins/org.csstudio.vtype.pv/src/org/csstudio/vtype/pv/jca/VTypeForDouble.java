@@ -8,7 +8,6 @@
 package org.csstudio.vtype.pv.jca;
 
 import gov.aps.jca.dbr.DBR_TIME_Double;
-import gov.aps.jca.dbr.GR;
 
 import org.diirt.vtype.VDouble;
 import org.diirt.vtype.VTypeToString;
@@ -20,9 +19,9 @@ import org.diirt.vtype.VTypeToString;
  */
 public class VTypeForDouble extends DBRAlarmTimeDisplayWrapper<DBR_TIME_Double> implements VDouble
 {
-    public VTypeForDouble(final GR metadata, final DBR_TIME_Double dbr)
+    public VTypeForDouble(final DBRDisplay display, final DBR_TIME_Double dbr)
     {
-        super(metadata, dbr);
+        super(display, dbr);
     }
 
     @Override
@@ -8,7 +8,6 @@
 package org.csstudio.vtype.pv.jca;
 
 import gov.aps.jca.dbr.DBR_TIME_Double;
-import gov.aps.jca.dbr.GR;
 
 import java.util.List;
 
@@ -28,27 +27,40 @@ import org.diirt.vtype.ValueUtil;
  */
 public class VTypeForDoubleArray extends DBRAlarmTimeDisplayWrapper<DBR_TIME_Double> implements VDoubleArray
 {
-    public VTypeForDoubleArray(final GR metadata, final DBR_TIME_Double dbr)
+    final private ListDouble data;
+    final private ListInt sizes;
+    private volatile List<ArrayDimensionDisplay> dimension_display = null;
+
+    /** @param display Display info, shared by all values of a channel
+     *  @param dbr Value, its array is wrapped without copying
+     */
+    public VTypeForDoubleArray(final DBRDisplay display, final DBR_TIME_Double dbr)
     {
-        super(metadata, dbr);
+        super(display, dbr);
+        final double[] array = dbr.getDoubleValue();
+        data = new ArrayDouble(array);
+        sizes = new ArrayInt(array.length);
     }
 
     @Override
     public List<ArrayDimensionDisplay> getDimensionDisplay()
     {
-        return ValueUtil.defaultArrayDisplay(this);
+        List<ArrayDimensionDisplay> result = dimension_display;
+        if (result == null)
+            dimension_display = result = ValueUtil.defaultArrayDisplay(this);
+        return result;
     }
 
     @Override
     public ListInt getSizes()
     {
-        return new ArrayInt(dbr.getDoubleValue().length);
+        return sizes;
     }
 
     @Override
     public ListDouble getData()
     {
-        return new ArrayDouble(dbr.getDoubleValue());
+        return data;
     }
 
     @Override
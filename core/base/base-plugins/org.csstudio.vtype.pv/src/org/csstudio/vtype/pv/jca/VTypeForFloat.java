@@ -8,7 +8,6 @@
 package org.csstudio.vtype.pv.jca;
 
 import gov.aps.jca.dbr.DBR_TIME_Float;
-import gov.aps.jca.dbr.GR;
 
 import org.diirt.vtype.VFloat;
 import org.diirt.vtype.VTypeToString;
@@ -20,9 +19,9 @@ import org.diirt.vtype.VTypeToString;
  */
 public class VTypeForFloat extends DBRAlarmTimeDisplayWrapper<DBR_TIME_Float> implements VFloat
 {
-    public VTypeForFloat(final GR metadata, final DBR_TIME_Float dbr)
+    public VTypeForFloat(final DBRDisplay display, final DBR_TIME_Float dbr)
     {
-        super(metadata, dbr);
+        super(display, dbr);
     }
 
     @Override
@@ -8,7 +8,6 @@
 package org.csstudio.vtype.pv.jca;
 
 import gov.aps.jca.dbr.DBR_TIME_Float;
-import gov.aps.jca.dbr.GR;
 
 import java.util.List;
 
@@ -28,27 +27,40 @@ import org.diirt.vtype.ValueUtil;
  */
 public class VTypeForFloatArray extends DBRAlarmTimeDisplayWrapper<DBR_TIME_Float> implements VFloatArray
 {
-    public VTypeForFloatArray(final GR metadata, final DBR_TIME_Float dbr)
+    final private ListFloat data;
+    final private ListInt sizes;
+    private volatile List<ArrayDimensionDisplay> dimension_display = null;
+
+    /** @param display Display info, shared by all values of a channel
+     *  @param dbr Value, its array is wrapped without copying
+     */
+    public VTypeForFloatArray(final DBRDisplay display, final DBR_TIME_Float dbr)
     {
-        super(metadata, dbr);
+        super(display, dbr);
+        final float[] array = dbr.getFloatValue();
+        data = new ArrayFloat(array);
+        sizes = new ArrayInt(array.length);
     }
 
     @Override
     public List<ArrayDimensionDisplay> getDimensionDisplay()
     {
-        return ValueUtil.defaultArrayDisplay(this);
+        List<ArrayDimensionDisplay> result = dimension_display;
+        if (result == null)
+            dimension_display = result = ValueUtil.defaultArrayDisplay(this);
+        return result;
     }
 
     @Override
     public ListInt getSizes()
     {
-        return new ArrayInt(dbr.getFloatValue().length);
+        return sizes;
     }
 
     @Override
     public ListFloat getData()
     {
-        return new ArrayFloat(dbr.getFloatValue());
+        return data;
     }
 
     @Override
@@ -8,7 +8,6 @@
 package org.csstudio.vtype.pv.jca;
 
 import gov.aps.jca.dbr.DBR_TIME_Int;
-import gov.aps.jca.dbr.GR;
 
 import org.diirt.vtype.VInt;
 import org.diirt.vtype.VTypeToString;
@@ -20,9 +19,9 @@ import org.diirt.vtype.VTypeToString;
  */
 public class VTypeForInt extends DBRAlarmTimeDisplayWrapper<DBR_TIME_Int> implements VInt
 {
-    public VTypeForInt(final GR metadata, final DBR_TIME_Int dbr)
+    public VTypeForInt(final DBRDisplay display, final DBR_TIME_Int dbr)
     {
-        super(metadata, dbr);
+        super(display, dbr);
     }
 
     @Override
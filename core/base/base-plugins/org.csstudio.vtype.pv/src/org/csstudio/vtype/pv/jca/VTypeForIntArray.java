@@ -8,7 +8,6 @@
 package org.csstudio.vtype.pv.jca;
 
 import gov.aps.jca.dbr.DBR_TIME_Int;
-import gov.aps.jca.dbr.GR;
 
 import java.util.List;
 
@@ -26,27 +25,40 @@ import org.diirt.vtype.ValueUtil;
  */
 public class VTypeForIntArray extends DBRAlarmTimeDisplayWrapper<DBR_TIME_Int> implements VIntArray
 {
-    public VTypeForIntArray(final GR metadata, final DBR_TIME_Int dbr)
+    final private ListInt data;
+    final private ListInt sizes;
+    private volatile List<ArrayDimensionDisplay> dimension_display = null;
+
+    /** @param display Display info, shared by all values of a channel
+     *  @param dbr Value, its array is wrapped without copying
+     */
+    public VTypeForIntArray(final DBRDisplay display, final DBR_TIME_Int dbr)
     {
-        super(metadata, dbr);
+        super(display, dbr);
+        final int[] array = dbr.getIntValue();
+        data = new ArrayInt(array);
+        sizes = new ArrayInt(array.length);
     }
 
     @Override
     public List<ArrayDimensionDisplay> getDimensionDisplay()
     {
-        return ValueUtil.defaultArrayDisplay(this);
+        List<ArrayDimensionDisplay> result = dimension_display;
+        if (result == null)
+            dimension_display = result = ValueUtil.defaultArrayDisplay(this);
+        return result;
     }
 
     @Override
     public ListInt getSizes()
     {
-        return new ArrayInt(dbr.getIntValue().length);
+        return sizes;
     }
 
     @Override
     public ListInt getData()
     {
-        return new ArrayInt(dbr.getIntValue());
+        return data;
     }
 
     @Override
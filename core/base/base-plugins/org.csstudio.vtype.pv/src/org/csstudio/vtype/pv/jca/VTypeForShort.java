@@ -8,7 +8,6 @@
 package org.csstudio.vtype.pv.jca;
 
 import gov.aps.jca.dbr.DBR_TIME_Short;
-import gov.aps.jca.dbr.GR;
 
 import org.diirt.vtype.VShort;
 import org.diirt.vtype.VTypeToString;
@@ -20,9 +19,9 @@ import org.diirt.vtype.VTypeToString;
  */
 public class VTypeForShort extends DBRAlarmTimeDisplayWrapper<DBR_TIME_Short> implements VShort
 {
-    public VTypeForShort(final GR metadata, final DBR_TIME_Short dbr)
+    public VTypeForShort(final DBRDisplay display, final DBR_TIME_Short dbr)
     {
-        super(metadata, dbr);
+        super(display, dbr);
     }
 
     @Override
@@ -8,7 +8,6 @@
 package org.csstudio.vtype.pv.jca;
 
 import gov.aps.jca.dbr.DBR_TIME_Short;
-import gov.aps.jca.dbr.GR;
 
 import java.util.List;
 
@@ -28,27 +27,40 @@ import org.diirt.vtype.ValueUtil;
  */
 public class VTypeForShortArray extends DBRAlarmTimeDisplayWrapper<DBR_TIME_Short> implements VShortArray
 {
-    public VTypeForShortArray(final GR metadata, final DBR_TIME_Short dbr)
+    final private ListShort data;
+    final private ListInt sizes;
+    private volatile List<ArrayDimensionDisplay> dimension_display = null;
+
+    /** @param display Display info, shared by all values of a channel
+     *  @param dbr Value, its array is wrapped without copying
+     */
+    public VTypeForShortArray(final DBRDisplay display, final DBR_TIME_Short dbr)
     {
-        super(metadata, dbr);
+        super(display, dbr);
+        final short[] array = dbr.getShortValue();
+        data = new ArrayShort(array);
+        sizes = new ArrayInt(array.length);
     }
 
     @Override
     public List<ArrayDimensionDisplay> getDimensionDisplay()
     {
-        return ValueUtil.defaultArrayDisplay(this);
+        List<ArrayDimensionDisplay> result = dimension_display;
+        if (result == null)
+            dimension_display = result = ValueUtil.defaultArrayDisplay(this);
+        return result;
     }
 
     @Override
     public ListInt getSizes()
     {
-        return new ArrayInt(dbr.getShortValue().length);
+        return sizes;
     }
 
     @Override
     public ListShort getData()
     {
-        return new ArrayShort(dbr.getShortValue());
+        return data;
     }
 
     @Override
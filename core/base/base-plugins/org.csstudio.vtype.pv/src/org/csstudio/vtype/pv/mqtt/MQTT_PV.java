@@ -11,6 +11,7 @@ import java.util.List;
 import java.util.logging.Level;
 
 import org.csstudio.vtype.pv.PV;
+import org.csstudio.vtype.pv.internal.Preferences;
 import org.diirt.vtype.VDouble;
 import org.diirt.vtype.VDoubleArray;
 import org.diirt.vtype.VEnum;
@@ -148,20 +149,41 @@ public class MQTT_PV extends PV
         if (new_value == null)
             throw new Exception(getName() + " got null");
 
-        final String pubMsg;
+        final VType value;
         try
         {
-            final VType value = VTypeToFromString.convert(new_value, type, read());
-            pubMsg = VTypeToFromString.ToString(value);
+            value = VTypeToFromString.convert(new_value, type, read());
         }
         catch (Exception ex)
         {
             throw new Exception("Failed to adapt object '" + new_value + "' to " + getName(), ex);
         }
 
+        // Binary format if enabled and supported for the type, otherwise text
+        byte[] payload = null;
+        if (Preferences.useMQTTBinaryFormat())
+        {
+            try
+            {
+                payload = VTypeToFromBytes.toBytes(value);
+            }
+            catch (Exception ex)
+            {
+                logger.log(Level.FINE, getName() + " falls back to text format", ex);
+            }
+        }
+        try
+        {
+            if (payload == null)
+                payload = VTypeToFromString.ToString(value).getBytes();
+        }
+        catch (Exception ex)
+        {
+            throw new Exception("Failed to adapt object '" + new_value + "' to " + getName(), ex);
+        }
 
         try {
-            conx.publishTopic(topicStr, pubMsg, 0, true);
+            conx.publishTopic(topicStr, payload, 0, true);
         } catch (Exception ex) {
             throw new Exception("Failed to write '" + new_value + "' to " + getName(), ex);
         }
@@ -188,28 +210,29 @@ public class MQTT_PV extends PV
      */
     public void messageArrived(String topic, MqttMessage msg) throws Exception
     {
-        final String new_value = msg.toString();
-        System.out.println("MQTT_PV Message arrived: " + topic + " : " + msg.toString());
-
         if (!topic.equals(topicStr))
         {
             logger.log(Level.SEVERE, "Got message with topic " + topic + " != " + topicStr);
             throw new Exception(getName() + " topic mismatch");
         }
 
+        final byte[] payload = msg.getPayload();
         try
         {
-            final VType value = VTypeToFromString.convert(new_value, type, read());
+            final VType value;
+            if (VTypeToFromBytes.isBinary(payload))
+                value = VTypeToFromBytes.fromBytes(payload, type);
+            else
+            {
+                final String new_value = new String(payload);
+                logger.log(Level.FINER, "MQTT_PV Message arrived: {0} : {1}", new Object[] { topic, new_value });
+                value = VTypeToFromString.convert(new_value, type, read());
+            }
             notifyListenersOfValue(value);
         }
         catch (Exception ex)
         {
-            logger.log(Level.SEVERE, "Could not parse message: '" + new_value + "' to " + getName());
-            ex.printStackTrace();
-            //throw new Exception("Failed to parse message", ex);
+            logger.log(Level.SEVERE, "Could not parse message to " + getName(), ex);
         }
     }
-
-
-
 }
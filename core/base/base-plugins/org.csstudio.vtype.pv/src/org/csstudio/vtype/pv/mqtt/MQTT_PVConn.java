@@ -60,20 +60,14 @@ public class MQTT_PVConn implements MqttCallback
     @Override
     public void messageArrived(String topic, MqttMessage msg) throws Exception
     {
-        System.out.println("MQTT Connections Message arrived: " + topic + " : " + msg.toString());
-
-        //Synchronize this so a pv can't unsubscribe and leave an invalid pointer in the map while we deliver message
-        synchronized(subscribers)
-        {
-            if (subscribers.containsKey(topic))
-            {
-                for (MQTT_PV pv : subscribers.get(topic))
-                {
-                    pv.messageArrived(topic, msg);
-                }
-            }
-        }
-
+        PV.logger.log(Level.FINER, "MQTT Connections Message arrived: {0}", topic);
+
+        // Map and sets are concurrent, so no need to lock.
+        // A PV that just unsubscribed may still see this last message.
+        final Set<MQTT_PV> pvs = subscribers.get(topic);
+        if (pvs != null)
+            for (MQTT_PV pv : pvs)
+                pv.messageArrived(topic, msg);
     }
 
     public void subscribeTopic (String topicStr, MQTT_PV pv) throws Exception
@@ -85,19 +79,19 @@ public class MQTT_PVConn implements MqttCallback
             throw new Exception("MQTT subscribe failed: no broker connection");
         }
 
-        if (!subscribers.containsKey(topicStr))
+        // Lock to add topic or remove unused topic and (un)subscribe as one step
+        synchronized(subscribers)
         {
-            synchronized(subscribers)
+            Set<MQTT_PV> pvs = subscribers.get(topicStr);
+            if (pvs == null)
             {
-                if (!subscribers.containsKey(topicStr))
-                {
-                    subscribers.put(topicStr, ConcurrentHashMap.newKeySet());
-                    int subQoS = 0;
-                    myClient.subscribe(topicStr, subQoS);
-                }
+                pvs = ConcurrentHashMap.newKeySet();
+                subscribers.put(topicStr, pvs);
+                int subQoS = 0;
+                myClient.subscribe(topicStr, subQoS);
             }
+            pvs.add(pv);
         }
-        subscribers.get(topicStr).add(pv);
     }
 
     public void unsubscribeTopic (String topicStr, MQTT_PV pv) throws Exception
@@ -109,34 +103,33 @@ public class MQTT_PVConn implements MqttCallback
             throw new Exception("MQTT unsubscribe failed: no broker connection");
         }
 
-        if (!subscribers.containsKey(topicStr))
+        synchronized(subscribers)
         {
-            PV.logger.log(Level.WARNING, "Could not unsubscribe to mqtt topic \"" + topicStr
-                    + "\" due to no internal record of topic");
-            throw new Exception("MQTT unsubscribe failed: no topic record");
-        }
-
-        subscribers.get(topicStr).remove(pv);
+            final Set<MQTT_PV> pvs = subscribers.get(topicStr);
+            if (pvs == null)
+            {
+                PV.logger.log(Level.WARNING, "Could not unsubscribe to mqtt topic \"" + topicStr
+                        + "\" due to no internal record of topic");
+                throw new Exception("MQTT unsubscribe failed: no topic record");
+            }
 
-        if (subscribers.get(topicStr).size() == 0)
-        {
-            synchronized(subscribers)
+            pvs.remove(pv);
+            if (pvs.isEmpty())
             {
-                if (subscribers.get(topicStr).size() == 0)
-                {
-                    subscribers.remove(topicStr);
-                    myClient.unsubscribe(topicStr);
-                }
+                subscribers.remove(topicStr);
+                myClient.unsubscribe(topicStr);
                 if (subscribers.isEmpty())
-                {
                     disconnect();
-                }
             }
         }
-
     }
 
     public void publishTopic(String topicStr, String pubMsg, int pubQoS, boolean retained) throws Exception
+    {
+        publishTopic(topicStr, pubMsg.getBytes(), pubQoS, retained);
+    }
+
+    public void publishTopic(String topicStr, byte[] payload, int pubQoS, boolean retained) throws Exception
     {
         if ((!is_connected) && (!connect()))
         {
@@ -146,12 +139,13 @@ public class MQTT_PVConn implements MqttCallback
         }
 
         MqttTopic topic = myClient.getTopic(topicStr);
-        MqttMessage message = new MqttMessage(pubMsg.getBytes());
+        MqttMessage message = new MqttMessage(payload);
         message.setQos(pubQoS);
         message.setRetained(retained);
 
         // Publish the message
-        System.out.println("Publishing \"" + pubMsg + "\" to topic \"" + topic + "\" qos " + pubQoS);
+        PV.logger.log(Level.FINER, "Publishing {0} bytes to topic \"{1}\" qos {2}",
+                      new Object[] { payload.length, topic, pubQoS });
         MqttDeliveryToken token = null;
         try {
             // publish message to broker
@@ -0,0 +1,407 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.vtype.pv.mqtt;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.diirt.util.array.ArrayDouble;
+import org.diirt.util.array.ArrayFloat;
+import org.diirt.util.array.ArrayInt;
+import org.diirt.util.array.ListByte;
+import org.diirt.util.array.ListFloat;
+import org.diirt.util.array.ListInt;
+import org.diirt.util.array.ListNumber;
+import org.diirt.util.array.ListShort;
+import org.diirt.vtype.Alarm;
+import org.diirt.vtype.AlarmSeverity;
+import org.diirt.vtype.Time;
+import org.diirt.vtype.VByte;
+import org.diirt.vtype.VDouble;
+import org.diirt.vtype.VDoubleArray;
+import org.diirt.vtype.VEnum;
+import org.diirt.vtype.VInt;
+import org.diirt.vtype.VLong;
+import org.diirt.vtype.VNumber;
+import org.diirt.vtype.VNumberArray;
+import org.diirt.vtype.VShort;
+import org.diirt.vtype.VString;
+import org.diirt.vtype.VStringArray;
+import org.diirt.vtype.VType;
+import org.diirt.vtype.ValueFactory;
+import org.diirt.vtype.ValueUtil;
+
+/** Binary encoding of VTypes for MQTT payloads
+ *
+ *  <p>Compact alternative to {@link VTypeToFromString},
+ *  mostly for arrays, which are written and read in bulk
+ *  instead of formatting and parsing each element as text.
+ *
+ *  <p>Format, all numbers in big endian byte order:
+ *  <pre>
+ *  byte[3]  MAGIC: 0, 'V', 'T'
+ *  byte     VERSION
+ *  byte     Type code
+ *  long     Seconds since epoch
+ *  int      Nanoseconds
+ *  byte     Alarm severity (ordinal of AlarmSeverity)
+ *  string   Alarm name
+ *  ...      Value, depending on type
+ *  </pre>
+ *  Strings are written as int length and UTF-8 bytes,
+ *  arrays as int length and elements.
+ *
+ *  <p>Binary payloads start with a zero byte,
+ *  which text payloads never do,
+ *  so both formats can be used on the same topic.
+ *
+ *  <p>When decoding for a PV of a declared type,
+ *  numbers are converted to that type where this is exact,
+ *  for example a long to a double or an int array to a double array.
+ *  Other payloads that don't match the declared type are rejected.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class VTypeToFromBytes
+{
+    private static final byte[] MAGIC = { 0, 'V', 'T' };
+    private static final byte VERSION = 1;
+
+    private static final byte DOUBLE = 1,
+                              LONG = 2,
+                              STRING = 3,
+                              ENUM = 4,
+                              DOUBLE_ARRAY = 5,
+                              FLOAT_ARRAY = 6,
+                              INT_ARRAY = 7,
+                              STRING_ARRAY = 8;
+
+    /** Size of header up to and including the alarm severity */
+    private static final int HEADER_SIZE = MAGIC.length + 1 + 1 + 8 + 4 + 1;
+
+    private static final AlarmSeverity[] severities = AlarmSeverity.values();
+
+    /** @param payload Payload of a message
+     *  @return <code>true</code> if payload uses the binary format
+     */
+    public static boolean isBinary(final byte[] payload)
+    {
+        if (payload.length < HEADER_SIZE)
+            return false;
+        for (int i=0; i<MAGIC.length; ++i)
+            if (payload[i] != MAGIC[i])
+                return false;
+        return true;
+    }
+
+    /** Update the time stamp of a binary payload
+     *  @param payload Binary payload
+     *  @param timestamp New time stamp
+     *  @throws Exception if payload is not binary
+     */
+    public static void setTimestamp(final byte[] payload, final Instant timestamp) throws Exception
+    {
+        if (! isBinary(payload))
+            throw new Exception("Not a binary VType payload");
+        final ByteBuffer buffer = ByteBuffer.wrap(payload);
+        buffer.position(MAGIC.length + 1 + 1);
+        buffer.putLong(timestamp.getEpochSecond());
+        buffer.putInt(timestamp.getNano());
+    }
+
+    private static byte[] encode(final String text)
+    {
+        return text == null ? new byte[0] : text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void putString(final ByteBuffer buffer, final byte[] text)
+    {
+        buffer.putInt(text.length);
+        buffer.put(text);
+    }
+
+    private static String getString(final ByteBuffer buffer)
+    {
+        final int length = buffer.getInt();
+        final String text = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return text;
+    }
+
+    /** @param strings Strings to encode
+     *  @param encoded Encoded strings are added to this list
+     *  @return Total size of the encoded strings, including length info
+     */
+    private static int encode(final List<String> strings, final List<byte[]> encoded)
+    {
+        int size = 4;
+        for (String text : strings)
+        {
+            final byte[] bytes = encode(text);
+            encoded.add(bytes);
+            size += 4 + bytes.length;
+        }
+        return size;
+    }
+
+    /** @param value VType
+     *  @return Binary payload
+     *  @throws Exception if type is not supported
+     */
+    public static byte[] toBytes(final VType value) throws Exception
+    {
+        final byte type;
+        int size;
+        List<byte[]> strings = null;
+        if (value instanceof VNumberArray)
+        {
+            final ListNumber data = ((VNumberArray) value).getData();
+            if (data instanceof ListFloat)
+            {
+                type = FLOAT_ARRAY;
+                size = 4 + data.size() * 4;
+            }
+            else if (data instanceof ListInt  ||  data instanceof ListShort  ||  data instanceof ListByte)
+            {
+                type = INT_ARRAY;
+                size = 4 + data.size() * 4;
+            }
+            else
+            {   // Long arrays are also sent as double
+                type = DOUBLE_ARRAY;
+                size = 4 + data.size() * 8;
+            }
+        }
+        else if (value instanceof VStringArray)
+        {
+            type = STRING_ARRAY;
+            strings = new ArrayList<>();
+            size = encode(((VStringArray) value).getData(), strings);
+        }
+        else if (value instanceof VLong  ||  value instanceof VInt  ||
+                 value instanceof VShort  ||  value instanceof VByte)
+        {
+            type = LONG;
+            size = 8;
+        }
+        else if (value instanceof VNumber)
+        {
+            type = DOUBLE;
+            size = 8;
+        }
+        else if (value instanceof VString)
+        {
+            type = STRING;
+            strings = new ArrayList<>();
+            strings.add(encode(((VString) value).getValue()));
+            size = 4 + strings.get(0).length;
+        }
+        else if (value instanceof VEnum)
+        {
+            type = ENUM;
+            strings = new ArrayList<>();
+            size = 4 + encode(((VEnum) value).getLabels(), strings);
+        }
+        else
+            throw new Exception("Cannot encode " + (value == null ? "null" : value.getClass().getName()));
+
+        final Alarm alarm = value instanceof Alarm ? (Alarm) value : ValueFactory.alarmNone();
+        final Instant stamp = value instanceof Time ? ((Time) value).getTimestamp() : null;
+        final Instant timestamp = stamp == null ? Instant.now() : stamp;
+        final byte[] alarm_name = encode(alarm.getAlarmName());
+
+        final ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + 4 + alarm_name.length + size);
+        buffer.put(MAGIC);
+        buffer.put(VERSION);
+        buffer.put(type);
+        buffer.putLong(timestamp.getEpochSecond());
+        buffer.putInt(timestamp.getNano());
+        buffer.put((byte) alarm.getAlarmSeverity().ordinal());
+        putString(buffer, alarm_name);
+
+        switch (type)
+        {
+        case DOUBLE:
+            buffer.putDouble(((VNumber) value).getValue().doubleValue());
+            break;
+        case LONG:
+            buffer.putLong(((VNumber) value).getValue().longValue());
+            break;
+        case STRING:
+            putString(buffer, strings.get(0));
+            break;
+        case ENUM:
+            buffer.putInt(((VEnum) value).getIndex());
+            // Fall through to write labels
+        case STRING_ARRAY:
+            buffer.putInt(strings.size());
+            for (byte[] text : strings)
+                putString(buffer, text);
+            break;
+        case DOUBLE_ARRAY:
+        {
+            final ListNumber data = ((VNumberArray) value).getData();
+            final int N = data.size();
+            buffer.putInt(N);
+            final DoubleBuffer doubles = buffer.asDoubleBuffer();
+            for (int i=0; i<N; ++i)
+                doubles.put(i, data.getDouble(i));
+            break;
+        }
+        case FLOAT_ARRAY:
+        {
+            final ListNumber data = ((VNumberArray) value).getData();
+            final int N = data.size();
+            buffer.putInt(N);
+            final FloatBuffer floats = buffer.asFloatBuffer();
+            for (int i=0; i<N; ++i)
+                floats.put(i, data.getFloat(i));
+            break;
+        }
+        case INT_ARRAY:
+        {
+            final ListNumber data = ((VNumberArray) value).getData();
+            final int N = data.size();
+            buffer.putInt(N);
+            final IntBuffer ints = buffer.asIntBuffer();
+            for (int i=0; i<N; ++i)
+                ints.put(i, data.getInt(i));
+            break;
+        }
+        }
+        return buffer.array();
+    }
+
+    /** @param payload Binary payload
+     *  @param type Declared type of the PV
+     *  @return VType of the declared type
+     *  @throws Exception on error, including payload that's not binary
+     *                   or doesn't match the declared type
+     */
+    public static VType fromBytes(final byte[] payload, final Class<? extends VType> type) throws Exception
+    {
+        final VType value = fromBytes(payload);
+        if (type.isInstance(value))
+            return value;
+        if (type == VDouble.class  &&  value instanceof VLong)
+        {
+            final VLong number = (VLong) value;
+            return ValueFactory.newVDouble(number.getValue().doubleValue(), number, number, ValueFactory.displayNone());
+        }
+        if (type == VDoubleArray.class  &&  value instanceof VNumberArray)
+        {
+            final VNumberArray array = (VNumberArray) value;
+            final ListNumber data = array.getData();
+            final double[] doubles = new double[data.size()];
+            for (int i=0; i<doubles.length; ++i)
+                doubles[i] = data.getDouble(i);
+            return ValueFactory.newVDoubleArray(new ArrayDouble(doubles), array, array, ValueFactory.displayNone());
+        }
+        throw new Exception("Binary payload of type " + ValueUtil.typeOf(value).getSimpleName() +
+                            " does not match " + type.getSimpleName());
+    }
+
+    /** @param payload Binary payload
+     *  @return VType
+     *  @throws Exception on error, including payload that's not binary
+     */
+    public static VType fromBytes(final byte[] payload) throws Exception
+    {
+        if (! isBinary(payload))
+            throw new Exception("Not a binary VType payload");
+        try
+        {
+            final ByteBuffer buffer = ByteBuffer.wrap(payload);
+            buffer.position(MAGIC.length);
+            final byte version = buffer.get();
+            if (version != VERSION)
+                throw new Exception("Cannot decode version " + version);
+            final byte type = buffer.get();
+            final long seconds = buffer.getLong();
+            final int nanos = buffer.getInt();
+            final int severity = buffer.get();
+            final String alarm_name = getString(buffer);
+
+            final Alarm alarm = ValueFactory.newAlarm(severity >= 0  &&  severity < severities.length
+                                                      ? severities[severity]
+                                                      : AlarmSeverity.UNDEFINED,
+                                                      alarm_name);
+            final Time time = ValueFactory.newTime(Instant.ofEpochSecond(seconds, nanos));
+
+            switch (type)
+            {
+            case DOUBLE:
+                return ValueFactory.newVDouble(buffer.getDouble(), alarm, time, ValueFactory.displayNone());
+            case LONG:
+                return ValueFactory.newVLong(buffer.getLong(), alarm, time, ValueFactory.displayNone());
+            case STRING:
+                return ValueFactory.newVString(getString(buffer), alarm, time);
+            case ENUM:
+            {
+                final int index = buffer.getInt();
+                return ValueFactory.newVEnum(index, getStrings(buffer), alarm, time);
+            }
+            case STRING_ARRAY:
+                return ValueFactory.newVStringArray(getStrings(buffer), alarm, time);
+            case DOUBLE_ARRAY:
+            {
+                final double[] data = new double[getArraySize(buffer, 8)];
+                buffer.asDoubleBuffer().get(data);
+                return ValueFactory.newVDoubleArray(new ArrayDouble(data), alarm, time, ValueFactory.displayNone());
+            }
+            case FLOAT_ARRAY:
+            {
+                final float[] data = new float[getArraySize(buffer, 4)];
+                buffer.asFloatBuffer().get(data);
+                return ValueFactory.newVFloatArray(new ArrayFloat(data), alarm, time, ValueFactory.displayNone());
+            }
+            case INT_ARRAY:
+            {
+                final int[] data = new int[getArraySize(buffer, 4)];
+                buffer.asIntBuffer().get(data);
+                return ValueFactory.newVIntArray(new ArrayInt(data), alarm, time, ValueFactory.displayNone());
+            }
+            default:
+                throw new Exception("Cannot decode type " + type);
+            }
+        }
+        catch (RuntimeException ex)
+        {   // BufferUnderflowException, NegativeArraySizeException, ..
+            throw new Exception("Corrupted binary VType payload", ex);
+        }
+    }
+
+    /** @param buffer Buffer positioned on array size
+     *  @param element_size Bytes per array element
+     *  @return Array size, checked against remaining buffer
+     */
+    private static int getArraySize(final ByteBuffer buffer, final int element_size)
+    {
+        final int N = buffer.getInt();
+        if (N < 0  ||  N > buffer.remaining() / element_size)
+            throw new IllegalArgumentException("Invalid array size " + N);
+        return N;
+    }
+
+    private static List<String> getStrings(final ByteBuffer buffer)
+    {
+        // Each string has at least its 4-byte length
+        final int N = getArraySize(buffer, 4);
+        final List<String> strings = new ArrayList<>(N);
+        for (int i=0; i<N; ++i)
+            strings.add(getString(buffer));
+        return strings;
+    }
+}
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.vtype.pv.replay;
+
+import static org.csstudio.vtype.pv.PV.logger;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.zip.GZIPOutputStream;
+
+import org.csstudio.vtype.pv.PV;
+import org.csstudio.vtype.pv.PVListener;
+import org.csstudio.vtype.pv.PVListenerAdapter;
+import org.csstudio.vtype.pv.PVPool;
+import org.csstudio.vtype.pv.mqtt.VTypeToFromBytes;
+import org.diirt.vtype.VType;
+
+/** Record PV updates into a replay log
+ *
+ *  <p>Subscribes to PVs from any {@link PVPool} factory
+ *  and writes their value updates and disconnects
+ *  into a compressed binary {@link ReplayLog}.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class PVRecorder implements AutoCloseable
+{
+    final private DataOutputStream out;
+    final private long start = System.nanoTime();
+    final private List<PV> pvs = new ArrayList<>();
+    final private List<PVListener> listeners = new ArrayList<>();
+    final private LongAdder records = new LongAdder();
+    final private LongAdder skipped = new LongAdder();
+
+    /** SYNC on out */
+    private boolean closed = false;
+
+    /** Listener that records updates of one PV */
+    private class RecordingListener extends PVListenerAdapter
+    {
+        final private int index;
+        final private AtomicBoolean warned = new AtomicBoolean();
+
+        RecordingListener(final int index)
+        {
+            this.index = index;
+        }
+
+        @Override
+        public void valueChanged(final PV pv, final VType value)
+        {
+            final byte[] payload;
+            try
+            {
+                payload = VTypeToFromBytes.toBytes(value);
+            }
+            catch (Exception ex)
+            {
+                skipped.increment();
+                if (! warned.getAndSet(true))
+                    logger.log(Level.WARNING, "Cannot record " + pv.getName(), ex);
+                return;
+            }
+            write(ReplayLog.VALUE, index, payload);
+        }
+
+        @Override
+        public void disconnected(final PV pv)
+        {
+            write(ReplayLog.DISCONNECT, index, null);
+        }
+    }
+
+    /** Start recording
+     *  @param file Log file to create
+     *  @param names Names of PVs to record
+     *  @throws Exception on error
+     */
+    public PVRecorder(final File file, final List<String> names) throws Exception
+    {
+        out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(file))));
+        try
+        {
+            for (String name : names)
+                pvs.add(PVPool.getPV(name));
+            out.writeInt(ReplayLog.MAGIC);
+            out.writeInt(pvs.size());
+            for (PV pv : pvs)
+                out.writeUTF(pv.getName());
+            for (int i=0; i<pvs.size(); ++i)
+            {
+                final PVListener listener = new RecordingListener(i);
+                listeners.add(listener);
+                pvs.get(i).addListener(listener);
+            }
+        }
+        catch (Exception ex)
+        {
+            close();
+            throw ex;
+        }
+    }
+
+    private void write(final byte kind, final int index, final byte[] payload)
+    {
+        synchronized (out)
+        {
+            if (closed)
+                return;
+            // Time stamp within the lock to keep the log in time order
+            final long nanos = System.nanoTime() - start;
+            try
+            {
+                out.writeByte(kind);
+                out.writeLong(nanos);
+                out.writeInt(index);
+                if (payload != null)
+                {
+                    out.writeInt(payload.length);
+                    out.write(payload);
+                }
+            }
+            catch (IOException ex)
+            {
+                logger.log(Level.WARNING, "Cannot write replay log, stopping", ex);
+                closed = true;
+                return;
+            }
+        }
+        records.increment();
+    }
+
+    /** @return Number of recorded updates */
+    public long getRecordCount()
+    {
+        return records.sum();
+    }
+
+    /** @return Number of updates that could not be recorded because of their data type */
+    public long getSkippedCount()
+    {
+        return skipped.sum();
+    }
+
+    /** Stop recording and close the log */
+    @Override
+    public void close() throws Exception
+    {
+        for (int i=0; i<listeners.size(); ++i)
+            pvs.get(i).removeListener(listeners.get(i));
+        for (PV pv : pvs)
+            PVPool.releasePV(pv);
+        synchronized (out)
+        {
+            closed = true;
+            out.close();
+        }
+    }
+}
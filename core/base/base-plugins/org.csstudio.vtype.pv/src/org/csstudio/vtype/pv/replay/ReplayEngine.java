@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.vtype.pv.replay;
+
+import static org.csstudio.vtype.pv.PV.logger;
+
+import java.io.File;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+
+import org.csstudio.vtype.pv.PV;
+import org.csstudio.vtype.pv.PVListener;
+import org.csstudio.vtype.pv.PVListenerAdapter;
+import org.csstudio.vtype.pv.mqtt.VTypeToFromBytes;
+import org.diirt.vtype.Time;
+import org.diirt.vtype.VType;
+
+/** Replays a log into the {@link ReplayPV}s
+ *
+ *  <p>Records are sent at their recorded time,
+ *  divided by the speed factor.
+ *  Replayed values are time-stamped with the time they are sent,
+ *  so consumers can measure the latency from replay to consumption,
+ *  for example via {@link #createLatencyProbe()}.
+ *
+ *  <p>Listeners of a {@link PV} are notified on the replay thread.
+ *  Slow consumers therefore delay the replay,
+ *  which shows as 'lag' in the {@link ReplayStatistics}.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class ReplayEngine
+{
+    final private File file;
+    final private double speed;
+    final private boolean loop;
+    final private Thread thread;
+    private volatile boolean running = true;
+
+    // Metrics
+    private volatile long start_nanos = 0, end_nanos = 0;
+    final private LongAdder records = new LongAdder();
+    final private LongAdder delivered = new LongAdder();
+    final private LongAdder lag_nanos = new LongAdder();
+    final private AtomicLong max_lag_nanos = new AtomicLong();
+    final private LongAdder notify_nanos = new LongAdder();
+    final private AtomicLong max_notify_nanos = new AtomicLong();
+    final private LongAdder consumed = new LongAdder();
+    final private LongAdder latency_nanos = new LongAdder();
+    final private AtomicLong max_latency_nanos = new AtomicLong();
+
+    /** Start replay
+     *  @param file Replay log
+     *  @param speed Speed factor 1 .. 100
+     *  @param loop Restart at the end of the log?
+     */
+    ReplayEngine(final File file, final double speed, final boolean loop)
+    {
+        this.file = file;
+        this.speed = Math.max(1.0, Math.min(speed, 100.0));
+        this.loop = loop;
+        thread = new Thread(this::replay, "Replay");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static void updateMax(final AtomicLong max, final long value)
+    {
+        long current = max.get();
+        while (value > current  &&  !max.compareAndSet(current, value))
+            current = max.get();
+    }
+
+    private void replay()
+    {
+        logger.log(Level.INFO, "Replaying " + file + " at " + speed + "x");
+        start_nanos = System.nanoTime();
+        try
+        {
+            do
+            {
+                final long start = System.nanoTime();
+                try
+                (
+                    final ReplayLogReader reader = new ReplayLogReader(file);
+                )
+                {
+                    ReplayLogReader.Record record;
+                    while (running  &&  (record = reader.next()) != null)
+                    {
+                        final long due = start + (long) (record.getNanos() / speed);
+                        long wait = due - System.nanoTime();
+                        while (running  &&  wait > 0)
+                        {
+                            LockSupport.parkNanos(wait);
+                            wait = due - System.nanoTime();
+                        }
+                        if (! running)
+                            break;
+                        final long lag = -wait;
+                        lag_nanos.add(lag);
+                        updateMax(max_lag_nanos, lag);
+                        deliver(record);
+                    }
+                }
+            }
+            while (running  &&  loop);
+        }
+        catch (Exception ex)
+        {
+            logger.log(Level.WARNING, "Replay of " + file + " failed", ex);
+        }
+        end_nanos = System.nanoTime();
+        running = false;
+        logger.log(Level.INFO, "Replay of " + file + " ended. " + getStatistics());
+    }
+
+    private void deliver(final ReplayLogReader.Record record) throws Exception
+    {
+        records.increment();
+        final List<ReplayPV> pvs = ReplayPVFactory.getPVs(ReplayLog.getBaseName(record.getName()));
+        if (pvs == null)
+            return;
+        final byte[] payload = record.getPayload();
+        final long start = System.nanoTime();
+        if (payload == null)
+            for (ReplayPV pv : pvs)
+                pv.disconnect();
+        else
+        {
+            VTypeToFromBytes.setTimestamp(payload, Instant.now());
+            final VType value = VTypeToFromBytes.fromBytes(payload);
+            for (ReplayPV pv : pvs)
+                pv.update(value);
+        }
+        final long nanos = System.nanoTime() - start;
+        delivered.increment();
+        notify_nanos.add(nanos);
+        updateMax(max_notify_nanos, nanos);
+    }
+
+    /** Record that a consumer handled a replayed value
+     *
+     *  <p>May be called by consumers which process values
+     *  on a different thread, after the PV listener was invoked.
+     *
+     *  @param value Value that was replayed
+     */
+    public void consumed(final VType value)
+    {
+        if (! (value instanceof Time))
+            return;
+        final Duration latency = Duration.between(((Time) value).getTimestamp(), Instant.now());
+        final long nanos = Math.max(0, latency.toNanos());
+        consumed.increment();
+        latency_nanos.add(nanos);
+        updateMax(max_latency_nanos, nanos);
+    }
+
+    /** @return Listener that records the latency of each received value */
+    public PVListener createLatencyProbe()
+    {
+        return new PVListenerAdapter()
+        {
+            @Override
+            public void valueChanged(final PV pv, final VType value)
+            {
+                consumed(value);
+            }
+        };
+    }
+
+    /** @return <code>true</code> while replaying */
+    public boolean isRunning()
+    {
+        return running;
+    }
+
+    /** Wait for replay to end
+     *  @param timeout Timeout
+     *  @param unit Unit of timeout
+     *  @return <code>true</code> if replay ended
+     *  @throws InterruptedException on interruption
+     */
+    public boolean await(final long timeout, final TimeUnit unit) throws InterruptedException
+    {
+        thread.join(unit.toMillis(timeout));
+        return ! thread.isAlive();
+    }
+
+    /** Stop replay */
+    void stop()
+    {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+
+    /** @return Current replay metrics */
+    public ReplayStatistics getStatistics()
+    {
+        final long start = start_nanos;
+        final long end = end_nanos > 0 ? end_nanos : System.nanoTime();
+        return new ReplayStatistics(speed, start > 0 ? end - start : 0,
+                                    records.sum(), delivered.sum(),
+                                    lag_nanos.sum(), max_lag_nanos.get(),
+                                    notify_nanos.sum(), max_notify_nanos.get(),
+                                    consumed.sum(), latency_nanos.sum(), max_latency_nanos.get());
+    }
+}
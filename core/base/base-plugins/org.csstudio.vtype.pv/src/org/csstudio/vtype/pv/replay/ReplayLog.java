@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.vtype.pv.replay;
+
+import org.csstudio.vtype.pv.PVPool;
+
+/** Format of a replay log
+ *
+ *  <p>GZIP-compressed stream of, all numbers in big endian byte order:
+ *  <pre>
+ *  int      MAGIC
+ *  int      Number of PV names
+ *  utf[]    PV names
+ *  record[] Records until end of file
+ *  </pre>
+ *
+ *  <p>Each record starts with a byte for the kind of record,
+ *  the time in nanoseconds since the start of the recording
+ *  and the index of the PV name:
+ *  <pre>
+ *  byte     VALUE
+ *  long     Nanoseconds
+ *  int      PV index
+ *  int      Payload length
+ *  byte[]   Payload as written by VTypeToFromBytes
+ *
+ *  byte     DISCONNECT
+ *  long     Nanoseconds
+ *  int      PV index
+ *  </pre>
+ *
+ *  @author agent
+ */
+class ReplayLog
+{
+    /** 'PVR1' */
+    static final int MAGIC = 0x50565231;
+
+    /** Record kinds */
+    static final byte VALUE = 1,
+                      DISCONNECT = 2;
+
+    /** @param name PV name, "base" or "type://base"
+     *  @return Base name, used to match replayed PVs to recorded PVs
+     */
+    static String getBaseName(final String name)
+    {
+        final int sep = name.indexOf(PVPool.SEPARATOR);
+        return sep > 0 ? name.substring(sep + PVPool.SEPARATOR.length()) : name;
+    }
+}
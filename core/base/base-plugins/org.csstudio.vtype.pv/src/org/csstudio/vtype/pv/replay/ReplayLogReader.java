@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.vtype.pv.replay;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/** Read a replay log
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class ReplayLogReader implements AutoCloseable
+{
+    /** Record read from the log */
+    public static class Record
+    {
+        final private long nanos;
+        final private String name;
+        final private byte[] payload;
+
+        Record(final long nanos, final String name, final byte[] payload)
+        {
+            this.nanos = nanos;
+            this.name = name;
+            this.payload = payload;
+        }
+
+        /** @return Nanoseconds since start of recording */
+        public long getNanos()
+        {
+            return nanos;
+        }
+
+        /** @return Name of the recorded PV */
+        public String getName()
+        {
+            return name;
+        }
+
+        /** @return Binary value, <code>null</code> for a disconnect */
+        public byte[] getPayload()
+        {
+            return payload;
+        }
+    }
+
+    final private DataInputStream in;
+    final private List<String> names;
+
+    /** @param file Log file to read
+     *  @throws Exception on error
+     */
+    public ReplayLogReader(final File file) throws Exception
+    {
+        in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))));
+        try
+        {
+            if (in.readInt() != ReplayLog.MAGIC)
+                throw new Exception(file + " is not a replay log");
+            final int N = in.readInt();
+            final List<String> names = new ArrayList<>(N);
+            for (int i=0; i<N; ++i)
+                names.add(in.readUTF());
+            this.names = Collections.unmodifiableList(names);
+        }
+        catch (Exception ex)
+        {
+            in.close();
+            throw ex;
+        }
+    }
+
+    /** @return Names of the recorded PVs */
+    public List<String> getNames()
+    {
+        return names;
+    }
+
+    /** @return Next record or <code>null</code> at end of log
+     *  @throws Exception on error
+     */
+    public Record next() throws Exception
+    {
+        final byte kind;
+        try
+        {
+            kind = in.readByte();
+        }
+        catch (EOFException ex)
+        {
+            return null;
+        }
+        final long nanos = in.readLong();
+        final int index = in.readInt();
+        if (index < 0  ||  index >= names.size())
+            throw new Exception("Invalid PV index " + index);
+        final String name = names.get(index);
+        switch (kind)
+        {
+        case ReplayLog.VALUE:
+        {
+            final byte[] payload = new byte[in.readInt()];
+            in.readFully(payload);
+            return new Record(nanos, name, payload);
+        }
+        case ReplayLog.DISCONNECT:
+            return new Record(nanos, name, null);
+        default:
+            throw new Exception("Invalid record kind " + kind);
+        }
+    }
+
+    @Override
+    public void close() throws Exception
+    {
+        in.close();
+    }
+}
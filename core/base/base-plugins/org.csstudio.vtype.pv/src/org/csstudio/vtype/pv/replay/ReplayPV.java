@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.vtype.pv.replay;
+
+import org.csstudio.vtype.pv.PV;
+import org.diirt.vtype.VType;
+
+/** PV that receives values from a {@link ReplayEngine}
+ *
+ *  <p>Read-only, remains disconnected until
+ *  a replay provides the first value.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class ReplayPV extends PV
+{
+    final private String key, base_name;
+
+    /** @param name PV name
+     *  @param key Requested name, used by the factory
+     *  @param base_name Base name, used to match recorded PV
+     */
+    ReplayPV(final String name, final String key, final String base_name)
+    {
+        super(name);
+        this.key = key;
+        this.base_name = base_name;
+        notifyListenersOfPermissions(true);
+    }
+
+    /** @return Requested name, "name" or "any_type://name" */
+    String getKey()
+    {
+        return key;
+    }
+
+    /** @return Base name, used to match recorded PV */
+    String getBaseName()
+    {
+        return base_name;
+    }
+
+    /** @param value Replayed value */
+    void update(final VType value)
+    {
+        notifyListenersOfValue(value);
+    }
+
+    /** Replay a disconnect */
+    void disconnect()
+    {
+        notifyListenersOfDisconnect();
+    }
+
+    @Override
+    public void write(final Object new_value) throws Exception
+    {
+        throw new Exception(getName() + " is read-only");
+    }
+
+    @Override
+    protected void close()
+    {
+        ReplayPVFactory.releasePV(this);
+        super.close();
+    }
+}
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.vtype.pv.replay;
+
+import static org.csstudio.vtype.pv.PV.logger;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+
+import org.csstudio.vtype.pv.PV;
+import org.csstudio.vtype.pv.PVFactory;
+import org.csstudio.vtype.pv.PVPool;
+import org.csstudio.vtype.pv.internal.Preferences;
+
+/** Factory for creating {@link ReplayPV}s
+ *
+ *  <p>"replay://name" receives the values recorded for "name",
+ *  or for "any_type://name", in the replay log.
+ *  "replay://name" and "replay://any_type://name" are separate PVs
+ *  which receive the same values.
+ *
+ *  <p>The replay is started by {@link #startReplay(File, double, boolean)},
+ *  or when the first PV is created and the preferences
+ *  configure a replay log.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class ReplayPVFactory implements PVFactory
+{
+    final public static String TYPE = "replay";
+
+    /** Replay PVs by requested name, "name" or "any_type://name" */
+    private static final Map<String, ReplayPV> replay_pvs = new ConcurrentHashMap<>();
+
+    /** Replay PVs by base name of the recorded PV, "name".
+     *  Lists are only modified within <code>compute</code> for their key.
+     */
+    private static final Map<String, List<ReplayPV>> recorded_pvs = new ConcurrentHashMap<>();
+
+    /** SYNC on ReplayPVFactory.class */
+    private static ReplayEngine engine = null;
+
+    @Override
+    public String getType()
+    {
+        return TYPE;
+    }
+
+    @Override
+    public PV createPV(final String name, final String base_name) throws Exception
+    {
+        final PV pv = replay_pvs.computeIfAbsent(base_name, key ->
+        {
+            final ReplayPV replay = new ReplayPV(TYPE + PVPool.SEPARATOR + key, key, ReplayLog.getBaseName(key));
+            recorded_pvs.compute(replay.getBaseName(), (recorded, pvs) ->
+            {
+                final List<ReplayPV> result = pvs == null ? new CopyOnWriteArrayList<>() : pvs;
+                result.add(replay);
+                return result;
+            });
+            return replay;
+        });
+        startFromPreferences();
+        return pv;
+    }
+
+    /** @param base_name Base name of recorded PV
+     *  @return {@link ReplayPV}s for that PV or <code>null</code>
+     */
+    static List<ReplayPV> getPVs(final String base_name)
+    {
+        return recorded_pvs.get(base_name);
+    }
+
+    static void releasePV(final ReplayPV pv)
+    {
+        if (! replay_pvs.remove(pv.getKey(), pv))
+            return;
+        recorded_pvs.computeIfPresent(pv.getBaseName(), (recorded, pvs) ->
+        {
+            pvs.remove(pv);
+            return pvs.isEmpty() ? null : pvs;
+        });
+    }
+
+    private static synchronized void startFromPreferences()
+    {
+        if (engine != null)
+            return;
+        final String file = Preferences.getReplayFile();
+        if (file.isEmpty())
+            return;
+        try
+        {
+            engine = new ReplayEngine(new File(file), Preferences.getReplaySpeed(), Preferences.getReplayLoop());
+        }
+        catch (Exception ex)
+        {
+            logger.log(Level.WARNING, "Cannot start replay of " + file, ex);
+        }
+    }
+
+    /** Start replay, stopping a previous replay
+     *  @param file Replay log
+     *  @param speed Speed factor 1 .. 100
+     *  @param loop Restart at the end of the log?
+     *  @return {@link ReplayEngine}
+     *  @throws Exception on error
+     */
+    public static synchronized ReplayEngine startReplay(final File file, final double speed, final boolean loop) throws Exception
+    {
+        stopReplay();
+        engine = new ReplayEngine(file, speed, loop);
+        return engine;
+    }
+
+    /** @return Active {@link ReplayEngine} or <code>null</code> */
+    public static synchronized ReplayEngine getReplay()
+    {
+        return engine;
+    }
+
+    /** Stop replay */
+    public static synchronized void stopReplay()
+    {
+        if (engine != null)
+        {
+            engine.stop();
+            engine = null;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.vtype.pv.replay;
+
+/** Snapshot of {@link ReplayEngine} metrics
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class ReplayStatistics
+{
+    final private double speed;
+    final private long elapsed_nanos;
+    final private long records;
+    final private long delivered;
+    final private long lag_nanos;
+    final private long max_lag_nanos;
+    final private long notify_nanos;
+    final private long max_notify_nanos;
+    final private long consumed;
+    final private long latency_nanos;
+    final private long max_latency_nanos;
+
+    ReplayStatistics(final double speed, final long elapsed_nanos,
+                     final long records, final long delivered,
+                     final long lag_nanos, final long max_lag_nanos,
+                     final long notify_nanos, final long max_notify_nanos,
+                     final long consumed, final long latency_nanos, final long max_latency_nanos)
+    {
+        this.speed = speed;
+        this.elapsed_nanos = elapsed_nanos;
+        this.records = records;
+        this.delivered = delivered;
+        this.lag_nanos = lag_nanos;
+        this.max_lag_nanos = max_lag_nanos;
+        this.notify_nanos = notify_nanos;
+        this.max_notify_nanos = max_notify_nanos;
+        this.consumed = consumed;
+        this.latency_nanos = latency_nanos;
+        this.max_latency_nanos = max_latency_nanos;
+    }
+
+    /** @return Replay speed factor */
+    public double getSpeed()
+    {
+        return speed;
+    }
+
+    /** @return Number of records read from the log */
+    public long getRecords()
+    {
+        return records;
+    }
+
+    /** @return Number of records delivered to a {@link ReplayPV} */
+    public long getDelivered()
+    {
+        return delivered;
+    }
+
+    /** @return Delivered records per second */
+    public double getThroughput()
+    {
+        return elapsed_nanos > 0 ? delivered * 1e9 / elapsed_nanos : 0.0;
+    }
+
+    /** @return Average delay of records behind their scheduled replay time in milliseconds */
+    public double getAverageLagMillis()
+    {
+        return records > 0 ? lag_nanos / 1e6 / records : 0.0;
+    }
+
+    /** @return Maximum delay of records behind their scheduled replay time in milliseconds */
+    public double getMaxLagMillis()
+    {
+        return max_lag_nanos / 1e6;
+    }
+
+    /** @return Average time spent in PV listeners per record in milliseconds */
+    public double getAverageNotifyMillis()
+    {
+        return delivered > 0 ? notify_nanos / 1e6 / delivered : 0.0;
+    }
+
+    /** @return Maximum time spent in PV listeners for one record in milliseconds */
+    public double getMaxNotifyMillis()
+    {
+        return max_notify_nanos / 1e6;
+    }
+
+    /** @return Number of values reported as consumed */
+    public long getConsumed()
+    {
+        return consumed;
+    }
+
+    /** @return Average latency from replay to consumption in milliseconds */
+    public double getAverageLatencyMillis()
+    {
+        return consumed > 0 ? latency_nanos / 1e6 / consumed : 0.0;
+    }
+
+    /** @return Maximum latency from replay to consumption in milliseconds */
+    public double getMaxLatencyMillis()
+    {
+        return max_latency_nanos / 1e6;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("Replay at %.1fx: %d records, %d delivered (%.1f per sec), " +
+                             "lag %.3f ms avg., %.3f ms max., notify %.3f ms avg., %.3f ms max., " +
+                             "%d consumed, latency %.3f ms avg., %.3f ms max.",
+                             speed, records, delivered, getThroughput(),
+                             getAverageLagMillis(), getMaxLagMillis(),
+                             getAverageNotifyMillis(), getMaxNotifyMillis(),
+                             consumed, getAverageLatencyMillis(), getMaxLatencyMillis());
+    }
+}
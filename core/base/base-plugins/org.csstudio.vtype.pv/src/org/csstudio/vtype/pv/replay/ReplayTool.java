@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.vtype.pv.replay;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.csstudio.vtype.pv.PV;
+import org.csstudio.vtype.pv.PVListener;
+import org.csstudio.vtype.pv.PVPool;
+import org.csstudio.vtype.pv.jca.JCA_PVFactory;
+import org.csstudio.vtype.pv.local.LocalPVFactory;
+import org.csstudio.vtype.pv.sim.SimPVFactory;
+
+/** Command-line tool to record and replay PVs
+ *
+ *  <p>Record:
+ *  <pre>
+ *  ReplayTool record /path/to/log.rlog seconds pv1 pv2 ...
+ *  </pre>
+ *
+ *  <p>Replay:
+ *  <pre>
+ *  ReplayTool replay /path/to/log.rlog speed [loop]
+ *  </pre>
+ *  subscribes to "replay://.." for all PVs in the log
+ *  and reports the replay statistics once per second.
+ *
+ *  <p>To replay into an application, configure its PVs as "replay://..."
+ *  and set the <code>replay_file</code> preference.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+public class ReplayTool
+{
+    private static void usage()
+    {
+        System.out.println("USAGE: ReplayTool record /path/to/log.rlog seconds pv1 pv2 ...");
+        System.out.println("       ReplayTool replay /path/to/log.rlog speed [loop]");
+    }
+
+    private static void record(final File file, final double seconds, final List<String> names) throws Exception
+    {
+        PVPool.addPVFactory(new SimPVFactory());
+        PVPool.addPVFactory(new LocalPVFactory());
+        // JCA is default
+        PVPool.addPVFactory(new JCA_PVFactory());
+
+        try
+        (
+            final PVRecorder recorder = new PVRecorder(file, names);
+        )
+        {
+            final long end = System.currentTimeMillis() + Math.round(seconds * 1000);
+            while (System.currentTimeMillis() < end)
+            {
+                TimeUnit.SECONDS.sleep(1);
+                System.out.println("Recorded " + recorder.getRecordCount() + " updates, skipped " + recorder.getSkippedCount());
+            }
+        }
+    }
+
+    private static void replay(final File file, final double speed, final boolean loop) throws Exception
+    {
+        PVPool.addPVFactory(new ReplayPVFactory());
+
+        final List<String> names;
+        try
+        (
+            final ReplayLogReader reader = new ReplayLogReader(file);
+        )
+        {
+            names = reader.getNames();
+        }
+
+        // Subscribe before starting the replay to receive all values
+        final List<PV> pvs = new ArrayList<>();
+        for (String name : names)
+            pvs.add(PVPool.getPV(ReplayPVFactory.TYPE + PVPool.SEPARATOR + ReplayLog.getBaseName(name)));
+        final ReplayEngine engine = ReplayPVFactory.startReplay(file, speed, loop);
+        final PVListener probe = engine.createLatencyProbe();
+        for (PV pv : pvs)
+            pv.addListener(probe);
+
+        while (! engine.await(1, TimeUnit.SECONDS))
+            System.out.println(engine.getStatistics());
+        System.out.println(engine.getStatistics());
+
+        for (PV pv : pvs)
+        {
+            pv.removeListener(probe);
+            PVPool.releasePV(pv);
+        }
+    }
+
+    public static void main(final String[] args) throws Exception
+    {
+        if (args.length >= 4  &&  args[0].equals("record"))
+            record(new File(args[1]), Double.parseDouble(args[2]), Arrays.asList(args).subList(3, args.length));
+        else if ((args.length == 3  ||  args.length == 4)  &&  args[0].equals("replay"))
+            replay(new File(args[1]), Double.parseDouble(args[2]), args.length == 4  &&  args[3].equals("loop"));
+        else
+            usage();
+    }
+}
@@ -8,6 +8,7 @@
 package org.csstudio.vtype.pv.sim;
 
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 import org.csstudio.vtype.pv.PV;
 
@@ -55,6 +56,6 @@ public class IntermittentPV extends SimulatedDoublePV
     @Override
     public double compute()
     {
-        return min + Math.random() * range;
+        return min + ThreadLocalRandom.current().nextDouble() * range;
     }
 }
@@ -8,6 +8,7 @@
 package org.csstudio.vtype.pv.sim;
 
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 import org.csstudio.vtype.pv.PV;
 
@@ -39,6 +40,6 @@ public class NoisePV extends SimulatedDoublePV
     @Override
     public double compute()
     {
-        return min + Math.random() * range;
+        return min + ThreadLocalRandom.current().nextDouble() * range;
     }
 }
@@ -8,6 +8,7 @@
 package org.csstudio.vtype.pv.sim;
 
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 import org.csstudio.vtype.pv.PV;
 
@@ -51,9 +52,10 @@ public class NoiseWavePV extends SimulatedDoubleArrayPV
     @Override
     public double[] compute()
     {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
         final double[] value = new double[size];
         for (int i=0; i<size; ++i)
-            value[i] = min + Math.random() * range;
+            value[i] = min + random.nextDouble() * range;
         return value;
     }
 }
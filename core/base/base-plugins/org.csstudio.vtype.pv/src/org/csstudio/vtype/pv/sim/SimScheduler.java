@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.vtype.pv.sim;
+
+import static org.csstudio.vtype.pv.PV.logger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/** Scheduler for simulated PVs
+ *
+ *  <p>PVs with the same update period form a group.
+ *  Each group has one periodic timer task, aligned to
+ *  multiples of the period, which updates all PVs of the group.
+ *  Large groups are split into batches that are updated
+ *  on several worker threads.
+ *
+ *  <p>If the previous update of a group is still running
+ *  when the next one is due, that tick is skipped,
+ *  so each PV is only updated by one thread at a time.
+ *
+ *  @author agent
+ */
+@SuppressWarnings("nls")
+class SimScheduler
+{
+    /** Number of PVs below which a group is updated on the timer thread */
+    private static final int BATCH_SIZE = 100;
+
+    /** Timer for periodic ticks */
+    private static final ScheduledExecutorService timer =
+        Executors.newSingleThreadScheduledExecutor(target ->
+        {
+            final Thread thread = new Thread(target, "SimPV");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    /** Number of worker threads */
+    private static final int workers = Runtime.getRuntime().availableProcessors();
+
+    /** Counter for worker thread names */
+    private static final AtomicInteger worker_count = new AtomicInteger();
+
+    /** Workers for updating batches of PVs */
+    private static final ExecutorService pool =
+        Executors.newFixedThreadPool(workers, target ->
+        {
+            final Thread thread = new Thread(target, "SimPVWorker" + worker_count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    /** Groups by period in milliseconds */
+    private static final Map<Long, Group> groups = new ConcurrentHashMap<>();
+
+    /** Number of skipped ticks */
+    private static final LongAdder skipped = new LongAdder();
+
+    /** PVs that share an update period */
+    private static class Group
+    {
+        final long period_ms;
+        final CopyOnWriteArrayList<SimulatedPV> pvs = new CopyOnWriteArrayList<>();
+        final AtomicBoolean busy = new AtomicBoolean();
+        ScheduledFuture<?> task;
+
+        Group(final long period_ms)
+        {
+            this.period_ms = period_ms;
+        }
+
+        void start()
+        {
+            // Align ticks to multiples of the period
+            final long delay = period_ms - System.currentTimeMillis() % period_ms;
+            task = timer.scheduleAtFixedRate(this::tick, delay, period_ms, TimeUnit.MILLISECONDS);
+        }
+
+        void tick()
+        {
+            if (! busy.compareAndSet(false, true))
+            {
+                skipped.increment();
+                return;
+            }
+            final Object[] snapshot = pvs.toArray();
+            final int N = snapshot.length;
+            if (N <= BATCH_SIZE)
+            {
+                update(snapshot, 0, N);
+                busy.set(false);
+                return;
+            }
+            // Split into batches, at least BATCH_SIZE, a few per worker
+            final int batch = Math.max(BATCH_SIZE, (N + 4*workers - 1) / (4*workers));
+            final int batches = (N + batch - 1) / batch;
+            final AtomicInteger pending = new AtomicInteger(batches);
+            for (int start=0; start<N; start+=batch)
+            {
+                final int first = start, end = Math.min(N, start + batch);
+                pool.execute(() ->
+                {
+                    update(snapshot, first, end);
+                    if (pending.decrementAndGet() == 0)
+                        busy.set(false);
+                });
+            }
+        }
+
+        private void update(final Object[] snapshot, final int start, final int end)
+        {
+            for (int i=start; i<end; ++i)
+            {
+                final SimulatedPV pv = (SimulatedPV) snapshot[i];
+                try
+                {
+                    pv.update();
+                }
+                catch (Throwable ex)
+                {
+                    logger.log(Level.WARNING, pv.getName() + " update error", ex);
+                }
+            }
+        }
+    }
+
+    /** @param pv PV to update periodically
+     *  @param period_ms Update period in milliseconds
+     */
+    static void add(final SimulatedPV pv, final long period_ms)
+    {
+        groups.compute(period_ms, (period, group) ->
+        {
+            if (group == null)
+            {
+                group = new Group(period);
+                group.start();
+            }
+            group.pvs.add(pv);
+            return group;
+        });
+    }
+
+    /** @param pv PV to no longer update
+     *  @param period_ms Update period in milliseconds used to add the PV
+     *  @return <code>true</code> if PV was removed
+     */
+    static boolean remove(final SimulatedPV pv, final long period_ms)
+    {
+        final AtomicBoolean removed = new AtomicBoolean();
+        groups.computeIfPresent(period_ms, (period, group) ->
+        {
+            removed.set(group.pvs.remove(pv));
+            if (! group.pvs.isEmpty())
+                return group;
+            group.task.cancel(false);
+            return null;
+        });
+        return removed.get();
+    }
+
+    /** @return Number of ticks skipped because the previous update was still running */
+    static long getSkippedTicks()
+    {
+        return skipped.sum();
+    }
+}
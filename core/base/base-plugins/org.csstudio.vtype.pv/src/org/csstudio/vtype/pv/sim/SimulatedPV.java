@@ -7,27 +7,22 @@
  ******************************************************************************/
 package org.csstudio.vtype.pv.sim;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 import org.csstudio.vtype.pv.PV;
 
 /** Base for simulated PVs
+ *
+ *  <p>Updates are performed by the {@link SimScheduler},
+ *  which updates all PVs with the same period together.
  *
  *  @author Kay Kasemir, based on similar code in org.csstudio.utility.pv and diirt
  */
 @SuppressWarnings("nls")
 abstract public class SimulatedPV extends PV
 {
-    /** Timer for periodic updates */
-    private final static ScheduledExecutorService executor =
-        Executors.newScheduledThreadPool(1, (Runnable target) -> new Thread(target, "SimPV"));
-
-    /** Task that was submitted for periodic updates */
-    private ScheduledFuture<?> task;
+    /** Update period in milliseconds, 0 when not started */
+    private volatile long period_ms = 0;
 
     /** @param name Full PV name */
     public SimulatedPV(final String name)
@@ -43,8 +38,8 @@ abstract public class SimulatedPV extends PV
      */
     protected void start(final double update_seconds)
     {
-        final long milli = Math.round(Math.max(update_seconds, 0.1) * 1000);
-        task = executor.scheduleAtFixedRate(this::update, milli, milli, TimeUnit.MILLISECONDS);
+        period_ms = Math.round(Math.max(update_seconds, 0.1) * 1000);
+        SimScheduler.add(this, period_ms);
     }
 
     /** Prohibit write access */
@@ -60,7 +55,7 @@ abstract public class SimulatedPV extends PV
     @Override
     protected void close()
     {
-        if (! task.cancel(false))
+        if (! SimScheduler.remove(this, period_ms))
             logger.log(Level.WARNING, "Cannot cancel updates for " + getName());
         super.close();
     }
@@ -19,8 +19,9 @@ import org.csstudio.vtype.pv.PV;
 @SuppressWarnings("nls")
 public class SineWavePV extends SimulatedDoubleArrayPV
 {
-    private final double min, range, period, wavelength;
-    private final int size;
+    private final double offset, amplitude, period;
+    /** sin and cos of 2 pi i / wavelength for each element i */
+    private final double[] sin_table, cos_table;
     private final Instant start = Instant.now();
 
     public static PV forParameters(final String name, List<Double> parameters) throws Exception
@@ -48,11 +49,17 @@ public class SineWavePV extends SimulatedDoubleArrayPV
         if (sample_wavelength <= 0)
             sample_wavelength = size;
 
-        this.min = min;
-        this.range =  max - min;
+        this.amplitude = (max - min) / 2.0;
+        this.offset = min + amplitude;
         this.period = period_seconds;
-        this.size = size;
-        this.wavelength = sample_wavelength;
+        sin_table = new double[size];
+        cos_table = new double[size];
+        for (int i=0; i<size; ++i)
+        {
+            final double x = 2*Math.PI * i / sample_wavelength;
+            sin_table[i] = Math.sin(x);
+            cos_table[i] = Math.cos(x);
+        }
         start(min, max, update_seconds);
     }
 
@@ -63,12 +70,14 @@ public class SineWavePV extends SimulatedDoubleArrayPV
         final double t = dist.getSeconds() + dist.getNano()*1e-9;
         final double x0 = period > 0 ? t / period : 0.0;
 
+        // sin(a + b) = sin(a) cos(b) + cos(a) sin(b),
+        // so only the phase a needs sin, cos for each update
+        final double sin_a = amplitude * Math.sin(2*Math.PI * x0);
+        final double cos_a = amplitude * Math.cos(2*Math.PI * x0);
+        final int size = sin_table.length;
         final double[] value = new double[size];
         for (int i=0; i<size; ++i)
-        {
-            final double x = 2*Math.PI * (x0 + i / wavelength);
-            value[i] = min + (Math.sin(x)+1.0)/2.0 * range;
-        }
+            value[i] = offset + sin_a * cos_table[i] + cos_a * sin_table[i];
         return value;
     }
 }
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.ui.util.thread;
+
+import java.util.concurrent.TimeUnit;
+
+import org.csstudio.ui.util.thread.UIDispatcher.Lane;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+
+/**
+ * Demo of the {@link UIDispatcher} under heavy data load.
+ *
+ * <p>A background thread floods labels with updates,
+ * each of which takes some time on the UI thread.
+ * The button should still react right away.
+ *
+ * @author agent
+ */
+@SuppressWarnings("nls")
+public class UIDispatcherDemo {
+    private static final int LABELS = 20;
+
+    private static void busy(final long micros) {
+        final long end = System.nanoTime() + micros * 1000;
+        while (System.nanoTime() < end)
+            ;
+    }
+
+    public static void main(String[] args) {
+        final Display display = new Display();
+        final Shell shell = new Shell(display);
+        shell.setLayout(new GridLayout(1, false));
+
+        final Button button = new Button(shell, SWT.PUSH);
+        button.setText("Click me");
+        final Label clicks = new Label(shell, SWT.NONE);
+        clicks.setText("No clicks   ");
+        final Label[] labels = new Label[LABELS];
+        for (int i = 0; i < LABELS; ++i) {
+            labels[i] = new Label(shell, SWT.NONE);
+            labels[i].setText("Value ...................");
+        }
+
+        final UIDispatcher dispatcher = UIDispatcher.getInstance(display);
+        final int[] count = { 0 };
+        button.addListener(SWT.Selection, event -> {
+            final long clicked = System.nanoTime();
+            // Simulate handling the click in the background
+            new Thread(() -> dispatcher.submit(Lane.INPUT, clicks, () -> {
+                clicks.setText("Clicks: " + ++count[0] + ", " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - clicked) + " ms");
+            })).start();
+        });
+
+        final Thread producer = new Thread(() -> {
+            long value = 0;
+            while (!display.isDisposed()) {
+                for (int i = 0; i < LABELS; ++i) {
+                    final Label label = labels[i];
+                    final long v = ++value;
+                    dispatcher.submit(Lane.DATA, label, () -> {
+                        if (!label.isDisposed()) {
+                            // Expensive update
+                            busy(2000);
+                            label.setText("Value " + v);
+                        }
+                    });
+                }
+                try {
+                    TimeUnit.MILLISECONDS.sleep(1);
+                } catch (InterruptedException ex) {
+                    return;
+                }
+            }
+        }, "Producer");
+        producer.setDaemon(true);
+        producer.start();
+
+        display.timerExec(1000, new Runnable() {
+            @Override
+            public void run() {
+                System.out.println(dispatcher.getStatistics());
+                display.timerExec(1000, this);
+            }
+        });
+
+        shell.pack();
+        shell.open();
+        while (!shell.isDisposed()) {
+            if (!display.readAndDispatch())
+                display.sleep();
+        }
+        display.dispose();
+    }
+}
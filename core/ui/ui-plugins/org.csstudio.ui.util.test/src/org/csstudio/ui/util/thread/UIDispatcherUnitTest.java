@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.ui.util.thread;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.csstudio.ui.util.thread.UIDispatcher.Lane;
+import org.junit.Test;
+
+/**
+ * JUnit test of the {@link UIDispatcher} lanes.
+ *
+ * <p>Frames are queued by a test scheduler
+ * and run by the test instead of a UI thread.
+ *
+ * @author agent
+ */
+@SuppressWarnings("nls")
+public class UIDispatcherUnitTest {
+    /** Scheduler that queues frames until the test runs them */
+    private static class TestScheduler implements UIDispatcher.FrameScheduler {
+        final LinkedList<Runnable> frames = new LinkedList<>();
+
+        @Override
+        public void asyncExec(final Runnable frame) {
+            frames.add(frame);
+        }
+
+        @Override
+        public void timerExec(final int delay_ms, final Runnable frame) {
+            frames.add(frame);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return false;
+        }
+
+        /** Run the oldest queued frame */
+        void runFrame() {
+            assertTrue("Frame is scheduled", !frames.isEmpty());
+            frames.removeFirst().run();
+        }
+    }
+
+    private final TestScheduler scheduler = new TestScheduler();
+    private final UIDispatcher dispatcher = new UIDispatcher(scheduler);
+    private final List<String> executed = new ArrayList<>();
+
+    private void submit(final Lane lane, final String task) {
+        dispatcher.submit(lane, () -> executed.add(task));
+    }
+
+    @Test
+    public void testInputFrame() {
+        dispatcher.setFrameTiming(1, 1000);
+        submit(Lane.DATA, "D1");
+        submit(Lane.INPUT, "I1");
+        submit(Lane.DATA, "D2");
+        submit(Lane.INPUT, "I2");
+        // One frame per lane
+        assertEquals(2, scheduler.frames.size());
+
+        // Data frame runs queued input before data
+        scheduler.runFrame();
+        assertEquals(Arrays.asList("I1", "I2", "D1", "D2"), executed);
+
+        // Input frame has nothing left to do
+        scheduler.runFrame();
+        assertEquals(4, executed.size());
+
+        // Input frame runs only input, leaving data for the data frame
+        executed.clear();
+        submit(Lane.INPUT, "I3");
+        submit(Lane.DATA, "D3");
+        submit(Lane.INPUT, "I4");
+        scheduler.runFrame();
+        assertEquals(Arrays.asList("I3", "I4"), executed);
+        // Data frame may be delayed by a timer until one frame period has passed
+        while (! scheduler.frames.isEmpty())
+            scheduler.runFrame();
+        assertEquals(Arrays.asList("I3", "I4", "D3"), executed);
+        assertEquals(7, dispatcher.getStatistics().getExecuted());
+    }
+
+    @Test
+    public void testCoalescing() {
+        dispatcher.setFrameTiming(1, 1000);
+        final Object key = new Object();
+        dispatcher.submit(Lane.DATA, key, () -> executed.add("old"));
+        dispatcher.submit(Lane.DATA, key, () -> executed.add("new"));
+        submit(Lane.DATA, "other");
+        scheduler.runFrame();
+        assertEquals(Arrays.asList("new", "other"), executed);
+        assertEquals(1, dispatcher.getStatistics().getCoalesced());
+    }
+}
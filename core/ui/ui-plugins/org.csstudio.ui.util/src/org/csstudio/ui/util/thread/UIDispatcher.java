@@ -0,0 +1,362 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Oak Ridge National Laboratory.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ ******************************************************************************/
+package org.csstudio.ui.util.thread;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Dispatches tasks to the UI thread in frames.
+ *
+ * <p>Tasks are submitted with a key.
+ * When a task is submitted while an earlier task with the same key
+ * is still queued, the new task replaces the earlier one,
+ * so for example only the most recent value of a widget property is drawn.
+ *
+ * <p>Tasks for user input and for data updates are kept in separate lanes.
+ * Input frames are dispatched right away and only run the queued input tasks.
+ * Data frames are at least one frame period apart. They run all queued
+ * input tasks, then data tasks until the frame budget is used up.
+ * Remaining data tasks are carried over to the next data frame,
+ * where they may be replaced by newer updates.
+ * The UI thread thus keeps time to handle operator clicks
+ * even under heavy data load.
+ *
+ * @author agent
+ */
+@SuppressWarnings("nls")
+public class UIDispatcher {
+    /** Lanes for tasks */
+    public enum Lane {
+        /** Tasks triggered by user input, run in the next frame */
+        INPUT,
+
+        /** Data updates, run within the frame budget */
+        DATA
+    }
+
+    /** Snapshot of dispatcher metrics */
+    public static class Statistics {
+        final private int queued;
+        final private int max_queued;
+        final private long executed;
+        final private long coalesced;
+        final private long frames;
+        final private long carried;
+        final private double average_frame_ms;
+        final private double max_frame_ms;
+
+        Statistics(final int queued, final int max_queued,
+                final long executed, final long coalesced,
+                final long frames, final long carried,
+                final double average_frame_ms, final double max_frame_ms) {
+            this.queued = queued;
+            this.max_queued = max_queued;
+            this.executed = executed;
+            this.coalesced = coalesced;
+            this.frames = frames;
+            this.carried = carried;
+            this.average_frame_ms = average_frame_ms;
+            this.max_frame_ms = max_frame_ms;
+        }
+
+        /** @return Number of currently queued tasks */
+        public int getQueued() {
+            return queued;
+        }
+
+        /** @return Maximum number of queued tasks since last statistics */
+        public int getMaxQueued() {
+            return max_queued;
+        }
+
+        /** @return Total number of executed tasks */
+        public long getExecuted() {
+            return executed;
+        }
+
+        /** @return Total number of tasks replaced by newer tasks with the same key */
+        public long getCoalesced() {
+            return coalesced;
+        }
+
+        /** @return Total number of frames */
+        public long getFrames() {
+            return frames;
+        }
+
+        /** @return Total number of frames that carried data tasks over to the next frame */
+        public long getCarriedOver() {
+            return carried;
+        }
+
+        /** @return Average frame time in milliseconds since last statistics */
+        public double getAverageFrameMillis() {
+            return average_frame_ms;
+        }
+
+        /** @return Maximum frame time in milliseconds since last statistics */
+        public double getMaxFrameMillis() {
+            return max_frame_ms;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("UI: %d queued (%d max), %d executed, %d coalesced, %d frames (%d carried over), frame time %.3f ms avg., %.3f ms max.",
+                    queued, max_queued, executed, coalesced, frames, carried, average_frame_ms, max_frame_ms);
+        }
+    }
+
+    /** Scheduler for frames on the UI thread */
+    interface FrameScheduler {
+        /** @param frame Frame to run on the UI thread as soon as possible */
+        void asyncExec(Runnable frame);
+
+        /**
+         * @param delay_ms Delay in milliseconds
+         * @param frame Frame to run on the UI thread after the delay
+         */
+        void timerExec(int delay_ms, Runnable frame);
+
+        /** @return <code>true</code> if frames can no longer be scheduled */
+        boolean isDisposed();
+    }
+
+    /** Dispatchers by display */
+    private static final Map<Display, UIDispatcher> instances = new HashMap<>();
+
+    private final FrameScheduler scheduler;
+
+    /** Queued tasks by key. SYNC on this */
+    private final LinkedHashMap<Object, Runnable> input = new LinkedHashMap<>(),
+                                                  data = new LinkedHashMap<>();
+
+    /** Is a frame for input resp. data scheduled? SYNC on this */
+    private boolean input_pending = false, data_pending = false;
+
+    private volatile int frame_period_ms = 20;
+
+    private volatile int frame_budget_ms = 10;
+
+    /** End of last data frame. Only accessed on UI thread */
+    private long last_frame_end = 0;
+
+    // Metrics, SYNC on this
+    private int max_queued = 0;
+    private long executed = 0, coalesced = 0, frames = 0, carried = 0;
+    private long frame_nanos = 0, max_frame_nanos = 0, measured_frames = 0;
+
+    private final Runnable input_frame = () -> {
+        synchronized (UIDispatcher.this) {
+            input_pending = false;
+        }
+        runFrame(false);
+    };
+
+    private final Runnable data_frame = () -> {
+        synchronized (UIDispatcher.this) {
+            data_pending = false;
+        }
+        runFrame(true);
+    };
+
+    /** Schedules data frame at least one frame period after the last one */
+    private final Runnable schedule_data_frame = this::scheduleDataFrame;
+
+    /**
+     * Gets the dispatcher for a display.
+     *
+     * @param display Display
+     * @return {@link UIDispatcher} for that display
+     */
+    public static synchronized UIDispatcher getInstance(final Display display) {
+        UIDispatcher dispatcher = instances.get(display);
+        if (dispatcher == null) {
+            dispatcher = new UIDispatcher(display);
+            instances.put(display, dispatcher);
+            // Forget dispatcher when display is disposed
+            display.asyncExec(() -> display.disposeExec(() -> {
+                synchronized (UIDispatcher.class) {
+                    instances.remove(display);
+                }
+            }));
+        }
+        return dispatcher;
+    }
+
+    private UIDispatcher(final Display display) {
+        this(new FrameScheduler() {
+            @Override
+            public void asyncExec(final Runnable frame) {
+                display.asyncExec(frame);
+            }
+
+            @Override
+            public void timerExec(final int delay_ms, final Runnable frame) {
+                display.timerExec(delay_ms, frame);
+            }
+
+            @Override
+            public boolean isDisposed() {
+                return display.isDisposed();
+            }
+        });
+    }
+
+    /** @param scheduler Scheduler for frames on the UI thread */
+    UIDispatcher(final FrameScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * @param frame_period_ms Minimum time between data frames in milliseconds
+     * @param frame_budget_ms Time in milliseconds that a frame may spend on data tasks
+     */
+    public void setFrameTiming(final int frame_period_ms, final int frame_budget_ms) {
+        this.frame_period_ms = Math.max(1, frame_period_ms);
+        this.frame_budget_ms = Math.max(1, frame_budget_ms);
+    }
+
+    /**
+     * Submit a task without coalescing.
+     *
+     * @param lane Lane for the task
+     * @param task Task to run on the UI thread
+     */
+    public void submit(final Lane lane, final Runnable task) {
+        // Unique key
+        submit(lane, new Object(), task);
+    }
+
+    /**
+     * Submit a task.
+     *
+     * @param lane Lane for the task
+     * @param key Key of the task. Replaces a queued task with an equal key.
+     * @param task Task to run on the UI thread
+     */
+    public void submit(final Lane lane, final Object key, final Runnable task) {
+        final Runnable schedule;
+        synchronized (this) {
+            final Map<Object, Runnable> queue = lane == Lane.INPUT ? input : data;
+            if (queue.put(key, task) != null)
+                ++coalesced;
+            max_queued = Math.max(max_queued, input.size() + data.size());
+            if (lane == Lane.INPUT  &&  !input_pending) {
+                input_pending = true;
+                schedule = input_frame;
+            }
+            else if (lane == Lane.DATA  &&  !data_pending) {
+                data_pending = true;
+                schedule = schedule_data_frame;
+            }
+            else
+                schedule = null;
+        }
+        if (schedule != null  &&  !scheduler.isDisposed())
+            scheduler.asyncExec(schedule);
+    }
+
+    /** Run data frame now or after the remaining frame period */
+    private void scheduleDataFrame() {
+        final long delay = last_frame_end + frame_period_ms - System.currentTimeMillis();
+        if (delay <= 0)
+            data_frame.run();
+        else
+            scheduler.timerExec((int) delay, data_frame);
+    }
+
+    /**
+     * Run one frame on the UI thread
+     *
+     * @param run_data Run data tasks, or only input tasks?
+     */
+    private void runFrame(final boolean run_data) {
+        final long start = System.nanoTime();
+        final long deadline = start + frame_budget_ms * 1000000L;
+
+        // Run all input tasks
+        final Runnable[] input_tasks;
+        synchronized (this) {
+            input_tasks = input.values().toArray(new Runnable[input.size()]);
+            input.clear();
+        }
+        for (Runnable task : input_tasks)
+            execute(task);
+        int count = input_tasks.length;
+
+        // Run data tasks until budget is used up, at least one
+        boolean carry = false;
+        while (run_data) {
+            final Runnable task;
+            synchronized (this) {
+                final Iterator<Runnable> tasks = data.values().iterator();
+                if (! tasks.hasNext())
+                    break;
+                if (count > 0  &&  System.nanoTime() > deadline) {
+                    carry = !data_pending;
+                    data_pending = true;
+                    break;
+                }
+                task = tasks.next();
+                tasks.remove();
+            }
+            execute(task);
+            ++count;
+        }
+
+        final long end = System.nanoTime();
+        if (run_data)
+            last_frame_end = System.currentTimeMillis();
+        if (carry)
+            scheduler.timerExec(frame_period_ms, data_frame);
+
+        synchronized (this) {
+            executed += count;
+            ++frames;
+            if (carry)
+                ++carried;
+            ++measured_frames;
+            frame_nanos += end - start;
+            max_frame_nanos = Math.max(max_frame_nanos, end - start);
+        }
+    }
+
+    private void execute(final Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable ex) {
+            Logger.getLogger(UIDispatcher.class.getName()).log(Level.WARNING, "UI task error", ex);
+        }
+    }
+
+    /**
+     * Get metrics.
+     *
+     * <p>Resets the maximum queue length and the frame time information.
+     *
+     * @return {@link Statistics}
+     */
+    public synchronized Statistics getStatistics() {
+        final Statistics stats = new Statistics(input.size() + data.size(), max_queued,
+                executed, coalesced, frames, carried,
+                measured_frames > 0 ? frame_nanos / 1e6 / measured_frames : 0.0,
+                max_frame_nanos / 1e6);
+        max_queued = input.size() + data.size();
+        measured_frames = 0;
+        frame_nanos = 0;
+        max_frame_nanos = 0;
+        return stats;
+    }
+}